@@ -0,0 +1,93 @@
+package com.atd.benchmark;
+
+import com.atd.communication.Communicator;
+import com.atd.communication.data.CommunicationMessage;
+import com.atd.communication.data.Message;
+import com.atd.config.AirplaneData;
+import com.atd.simulation.Airplane;
+import com.atd.simulation.ControllerSettings;
+import com.atd.simulation.RunwayRegistry;
+import com.atd.simulation.RunwayState;
+import com.atd.simulation.TrafficController;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of routing of messages by {@link Communicator} between {@code fleetSize} registered airplanes and traffic
+ * controllers: lookup of participants, building of message and its delivery. Delivered messages are dropped.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommunicatorBenchmark {
+
+    @Param({"100", "100000"})
+    private int fleetSize;
+
+    private Communicator communicator;
+    private int next;
+    private long delivered;
+
+    @Setup
+    public void setUp() {
+        Logger.getRootLogger().setLevel(Level.WARN);
+        NoOpScheduler scheduler = new NoOpScheduler();
+        RunwayRegistry runwayRegistry = RunwayRegistry.defaultRegistry();
+        RunwayState runwayState = new RunwayState(runwayRegistry.getRunwaysCount());
+        communicator = new Communicator() {
+            @Override
+            protected void deliver(TrafficController controller, CommunicationMessage message) {
+                delivered++;
+            }
+        };
+        for (int id = 0; id < 2; id++) {
+            new TrafficController(ControllerSettings.builder()
+                    .id(id)
+                    .controllersCount(2)
+                    .communicator(communicator)
+                    .runwayRegistry(runwayRegistry)
+                    .scheduler(scheduler)
+                    .build());
+        }
+        for (int id = 0; id < fleetSize; id++) {
+            new Airplane(id, AirplaneData.builder()
+                    .airplaneName("Plane-" + id)
+                    .airplaneType(AirplaneData.AirplaneType.REGULAR)
+                    .landingType(AirplaneData.LandingType.NORMAL)
+                    .noOfSeconds(0)
+                    .build(), communicator, runwayState, scheduler);
+        }
+    }
+
+    @Benchmark
+    public int requestForLanding() throws InterruptedException {
+        return communicator.requestForLanding(nextAirplaneId());
+    }
+
+    @Benchmark
+    public void sendResponseToAirplane() throws InterruptedException {
+        communicator.sendResponseToAirplane(0, nextAirplaneId(), Message.MessageType.WAITING_AROUND,
+                Message.UNDEFINED);
+    }
+
+    private int nextAirplaneId() {
+        next = next + 1 == fleetSize ? 0 : next + 1;
+        return next;
+    }
+}
@@ -0,0 +1,74 @@
+package com.atd.benchmark;
+
+import com.atd.config.AirplaneData;
+import com.atd.config.ConfigurationReader;
+import com.atd.config.ScheduleGenerator;
+import com.atd.config.ScheduleReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading of airplanes schedule with {@code linesCount} lines, loaded into list or streamed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ConfigurationReaderBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int linesCount;
+
+    private Path config;
+
+    @Setup
+    public void setUp() throws IOException {
+        config = Files.createTempFile("benchmark-config", ".txt");
+        ScheduleGenerator.builder()
+                .flightsCount(linesCount)
+                .largeShare(0.33)
+                .emergencyRate(0.02)
+                .build()
+                .write(config);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(config);
+    }
+
+    @Benchmark
+    public List<AirplaneData> read() {
+        return ConfigurationReader.read(config);
+    }
+
+    @Benchmark
+    public int streamInParallel() {
+        int count = 0;
+        try (ScheduleReader reader = new ScheduleReader(config, Runtime.getRuntime().availableProcessors())) {
+            while (reader.hasNext()) {
+                reader.next();
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,79 @@
+package com.atd.benchmark;
+
+import com.atd.config.SimulationSettings;
+import com.atd.simulation.TrafficSimulationExecutor;
+import com.atd.simulation.data.AirplaneLandingReport;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of discrete-event simulation of {@link #AIRPLANES_COUNT} landings depending on {@code controllersCount}, so
+ * landing decisions per second are {@link #AIRPLANES_COUNT} divided by score. Measured time is spent only on decision
+ * making and synchronisation of proposals between controllers, without waiting for landings. Arrivals every 2 seconds
+ * keep several requests waiting in each controller.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ControllerScalingBenchmark {
+
+    private static final int AIRPLANES_COUNT = 5000;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int controllersCount;
+
+    private Path config;
+    private SimulationSettings settings;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Logging of each message would dominate measurements.
+        Logger.getRootLogger().setLevel(Level.WARN);
+        config = Files.createTempFile("scaling-config", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(config)) {
+            for (int index = 0; index < AIRPLANES_COUNT; index++) {
+                writer.write(String.format("Plane-%d, %s, %s, %d%n", index,
+                        index % 3 == 0 ? "Large" : "Regular",
+                        index % 50 == 0 ? "Emergency" : "Normal",
+                        index * 2));
+            }
+        }
+        settings = SimulationSettings.builder()
+                .configPath(config.toString())
+                .mode(SimulationSettings.Mode.DISCRETE_EVENT)
+                .controllersCount(controllersCount)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(config);
+    }
+
+    @Benchmark
+    public List<AirplaneLandingReport> simulate() throws InterruptedException {
+        return new TrafficSimulationExecutor().simulate(settings);
+    }
+}
@@ -0,0 +1,90 @@
+package com.atd.benchmark;
+
+import com.atd.config.SimulationSettings;
+import com.atd.simulation.TrafficSimulationExecutor;
+import com.atd.simulation.data.AirplaneLandingReport;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency from request for landing till order to land in real-time simulation of {@link #AIRPLANES_COUNT} airplanes,
+ * reported as {@link Latency} counters. Airplanes arrive every 4 seconds alternating regular and large type, so runway
+ * is always free on arrival and measured latency is spent only on message passing and decision making of traffic
+ * controllers.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LandingOrderLatencyBenchmark {
+
+    private static final int AIRPLANES_COUNT = 8;
+
+    private Path config;
+    private SimulationSettings settings;
+
+    /**
+     * Request-to-landing-order latency in milliseconds of the last simulation run.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Latency {
+        public double averageMillis;
+        public double maxMillis;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        // Logging of each message would affect measurements.
+        Logger.getRootLogger().setLevel(Level.WARN);
+        config = Files.createTempFile("latency-config", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(config)) {
+            for (int index = 0; index < AIRPLANES_COUNT; index++) {
+                writer.write(String.format("Plane-%d, %s, Normal, %d%n", index,
+                        index % 2 == 0 ? "Regular" : "Large", index * 4));
+            }
+        }
+        settings = SimulationSettings.builder()
+                .configPath(config.toString())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(config);
+    }
+
+    @Benchmark
+    public List<AirplaneLandingReport> simulate(Latency latency) throws InterruptedException {
+        List<AirplaneLandingReport> reports = new TrafficSimulationExecutor().simulate(settings);
+        LongSummaryStatistics statistics = reports.stream()
+                .filter(AirplaneLandingReport::isLanded)
+                .mapToLong(AirplaneLandingReport::getLandingOrderLatencyInMillis)
+                .summaryStatistics();
+        latency.averageMillis = statistics.getAverage();
+        latency.maxMillis = statistics.getMax();
+        return reports;
+    }
+}
@@ -0,0 +1,70 @@
+package com.atd.benchmark;
+
+import com.atd.config.AirplaneData;
+import com.atd.simulation.data.LandingRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link LandingRequest#selectMorePreferable}, decided by each of its criteria.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LandingRequestBenchmark {
+
+    private LandingRequest emergency;
+    private LandingRequest normal;
+    private LandingRequest normalLater;
+    private LandingRequest normalSameTime;
+
+    @Setup
+    public void setUp() {
+        emergency = request(1, AirplaneData.LandingType.EMERGENCY, 1000);
+        normal = request(2, AirplaneData.LandingType.NORMAL, 1000);
+        normalLater = request(3, AirplaneData.LandingType.NORMAL, 2000);
+        normalSameTime = request(4, AirplaneData.LandingType.NORMAL, 1000);
+    }
+
+    @Benchmark
+    public LandingRequest selectByLandingType() {
+        return LandingRequest.selectMorePreferable(normal, emergency);
+    }
+
+    @Benchmark
+    public LandingRequest selectByRequestTime() {
+        return LandingRequest.selectMorePreferable(normalLater, normal);
+    }
+
+    @Benchmark
+    public LandingRequest selectByAirplaneId() {
+        return LandingRequest.selectMorePreferable(normalSameTime, normal);
+    }
+
+    @Benchmark
+    public LandingRequest selectWithRunwayInProgress() {
+        return LandingRequest.selectMorePreferable(normal, LandingRequest.ALREADY_IN_PROGRESS);
+    }
+
+    static LandingRequest request(int airplaneId, AirplaneData.LandingType landingType, long requestTimeMillis) {
+        return LandingRequest.builder()
+                .airplaneId(airplaneId)
+                .airplaneType(AirplaneData.AirplaneType.values()[airplaneId % AirplaneData.AirplaneType.values().length])
+                .landingType(landingType)
+                .requestTimeMillis(requestTimeMillis)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.atd.benchmark;
+
+import com.atd.config.AirplaneData;
+import com.atd.simulation.LandingRequestStorage;
+import com.atd.simulation.data.LandingRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of removal and re-insertion of request at {@code position} of queue of {@link LandingRequestStorage} holding
+ * {@code queueDepth} requests of single landing and airplane type, compared with ordered set of request objects, which
+ * the storage replaced. Requests are dated one millisecond apart, as by monotonic clock of controller.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LandingRequestStorageBenchmark {
+
+    private static final AirplaneData.AirplaneType AIRPLANE_TYPE = AirplaneData.AirplaneType.MEDIUM;
+    private static final AirplaneData.LandingType LANDING_TYPE = AirplaneData.LandingType.NORMAL;
+
+    public enum Position {
+        HEAD,
+        MIDDLE,
+        TAIL
+    }
+
+    @Param({"10", "1000", "100000"})
+    private int queueDepth;
+
+    @Param({"HEAD", "MIDDLE", "TAIL"})
+    private Position position;
+
+    private LandingRequestStorage storage;
+    private NavigableSet<LandingRequest> orderedSet;
+    private LandingRequest request;
+
+    @Setup
+    public void setUp() {
+        storage = new LandingRequestStorage();
+        orderedSet = new TreeSet<>(LandingRequest.PRIORITY_ORDER);
+        for (int id = 0; id < queueDepth; id++) {
+            storage.addLandingRequest(id, AIRPLANE_TYPE, LANDING_TYPE, id);
+            orderedSet.add(createRequest(id));
+        }
+        int id = position == Position.HEAD ? 0 : position == Position.MIDDLE ? queueDepth / 2 : queueDepth - 1;
+        request = createRequest(id);
+    }
+
+    @Benchmark
+    public int removeAndAdd() {
+        storage.removeLandingRequest(request);
+        storage.addLandingRequest(request.getAirplaneId(), AIRPLANE_TYPE, LANDING_TYPE,
+                request.getRequestTimeMillis());
+        return storage.size();
+    }
+
+    @Benchmark
+    public int removeAndAddToOrderedSet() {
+        orderedSet.remove(request);
+        orderedSet.add(request);
+        return orderedSet.size();
+    }
+
+    private static LandingRequest createRequest(int id) {
+        return LandingRequest.builder()
+                .airplaneId(id)
+                .airplaneType(AIRPLANE_TYPE)
+                .landingType(LANDING_TYPE)
+                .requestTimeMillis(id)
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.atd.benchmark;
+
+import com.atd.communication.Communicator;
+import com.atd.communication.data.ControllerSynchMessage;
+import com.atd.communication.data.Message;
+import com.atd.communication.wire.MessageEncoder;
+import com.atd.communication.wire.MessageFlyweight;
+import com.atd.config.AirplaneData;
+import com.atd.simulation.ControllerSettings;
+import com.atd.simulation.RunwayRegistry;
+import com.atd.simulation.TrafficController;
+import com.atd.simulation.data.LandingRequest;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of encoding of synchronisation message with proposals for {@code runwaysCount} runways to direct buffer and of
+ * reading all its fields by flyweight in place.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageCodecBenchmark {
+
+    @Param({"2", "16"})
+    private int runwaysCount;
+
+    private ControllerSynchMessage message;
+    private ByteBuffer buffer;
+    private final MessageFlyweight flyweight = new MessageFlyweight();
+
+    @Setup
+    public void setUp() {
+        Logger.getRootLogger().setLevel(Level.WARN);
+        NoOpScheduler scheduler = new NoOpScheduler();
+        Communicator communicator = new Communicator();
+        RunwayRegistry runwayRegistry = RunwayRegistry.defaultRegistry();
+        TrafficController controller = new TrafficController(ControllerSettings.builder()
+                .id(0)
+                .controllersCount(2)
+                .communicator(communicator)
+                .runwayRegistry(runwayRegistry)
+                .scheduler(scheduler)
+                .build());
+        TrafficController otherController = new TrafficController(ControllerSettings.builder()
+                .id(1)
+                .controllersCount(2)
+                .communicator(communicator)
+                .runwayRegistry(runwayRegistry)
+                .scheduler(scheduler)
+                .build());
+        Map<Integer, LandingRequest> proposals = new LinkedHashMap<>();
+        for (int runwayIndex = 0; runwayIndex < runwaysCount; runwayIndex++) {
+            proposals.put(runwayIndex, runwayIndex % 4 == 0 ? LandingRequest.ALREADY_IN_PROGRESS :
+                    LandingRequestBenchmark.request(runwayIndex, AirplaneData.LandingType.NORMAL, runwayIndex));
+        }
+        message = ControllerSynchMessage.builder()
+                .message(Message.builder()
+                        .type(Message.MessageType.SYNCHRONISATION_BETWEEN_CONTROLLER)
+                        .sender(controller)
+                        .receiver(otherController)
+                        .controllerId(controller.getId())
+                        .build())
+                .requestForProcessing(proposals)
+                .build();
+        buffer = ByteBuffer.allocateDirect(MessageEncoder.encodedLength(message));
+        MessageEncoder.encode(message, buffer, 0);
+    }
+
+    @Benchmark
+    public int encode() {
+        return MessageEncoder.encode(message, buffer, 0);
+    }
+
+    @Benchmark
+    public long decode() {
+        flyweight.wrap(buffer, 0);
+        long checksum = flyweight.getType().ordinal() + flyweight.getControllerId() +
+                flyweight.getReceiverControllerId();
+        int count = flyweight.getProposalsCount();
+        for (int index = 0; index < count; index++) {
+            checksum += flyweight.getProposalRunwayIndex(index) + flyweight.getProposalAirplaneId(index);
+            if (!flyweight.isProposalInProgress(index)) {
+                checksum += flyweight.getProposalRequestTimeMillis(index) +
+                        flyweight.getProposalAirplaneType(index).ordinal();
+            }
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,24 @@
+package com.atd.benchmark;
+
+import com.atd.simulation.event.SimulationEvent;
+import com.atd.simulation.event.SimulationScheduler;
+import com.atd.simulation.event.SimulationTimer;
+import com.atd.simulation.event.VirtualClock;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SimulationScheduler}, which drops all scheduled actions, so benchmarks measure only the code path under test
+ * without accumulating events.
+ */
+class NoOpScheduler implements SimulationScheduler {
+
+    @Getter
+    private final VirtualClock clock = new VirtualClock();
+
+    @Override
+    public SimulationTimer schedule(long delay, TimeUnit unit, int priority, SimulationEvent.Action action) {
+        return () -> { };
+    }
+}
@@ -0,0 +1,80 @@
+package com.atd.benchmark;
+
+import com.atd.config.AirplaneData;
+import com.atd.simulation.data.LandingRequest;
+import com.atd.utils.RequestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of merge of own proposals with proposals of other traffic controllers in one synchronisation round.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestUtilsBenchmark {
+
+    @Param({"2", "8"})
+    private int controllersCount;
+    @Param({"2", "16"})
+    private int runwaysCount;
+
+    private Map<Integer, LandingRequest> proposals;
+    private Collection<Map<Integer, LandingRequest>> othersProposals;
+
+    @Setup
+    public void setUp() {
+        proposals = proposals(0);
+        List<Map<Integer, LandingRequest>> others = new ArrayList<>();
+        for (int controllerId = 1; controllerId < controllersCount; controllerId++) {
+            others.add(proposals(controllerId));
+        }
+        othersProposals = others;
+    }
+
+    @Benchmark
+    public Map<Integer, LandingRequest> getSynchronisedProposals() {
+        return RequestUtils.getSynchronisedProposals(proposals, othersProposals);
+    }
+
+    @Benchmark
+    public long getRunwaysInProgress() {
+        return RequestUtils.getRunwaysInProgress(othersProposals);
+    }
+
+    /**
+     * Returns proposals of traffic controller with passed-in {@code controllerId}: every fourth runway is occupied by
+     * its landing, other runways are proposed for its requests.
+     */
+    private Map<Integer, LandingRequest> proposals(int controllerId) {
+        Map<Integer, LandingRequest> controllerProposals = new HashMap<>();
+        for (int runwayIndex = 0; runwayIndex < runwaysCount; runwayIndex++) {
+            int airplaneId = controllerId * runwaysCount + runwayIndex;
+            controllerProposals.put(runwayIndex, (runwayIndex + controllerId) % 4 == 0 ?
+                    LandingRequest.ALREADY_IN_PROGRESS :
+                    LandingRequestBenchmark.request(airplaneId,
+                            airplaneId % 7 == 0 ? AirplaneData.LandingType.EMERGENCY : AirplaneData.LandingType.NORMAL,
+                            airplaneId % 5));
+        }
+        return controllerProposals;
+    }
+}
@@ -0,0 +1,103 @@
+package com.atd.benchmark;
+
+import com.atd.config.AirplaneData;
+import com.atd.config.ScheduleGenerator;
+import com.atd.config.SimulationSettings;
+import com.atd.simulation.TrafficSimulationExecutor;
+import com.atd.simulation.data.AirplaneLandingReport;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of discrete-event simulation of {@link #AIRPLANES_COUNT} generated arrivals per
+ * {@link SimulationSettings.RunwayScheduling} strategy and {@link ScheduleGenerator.ArrivalProcess}, on default airport
+ * with one short and one long runway, so large airplanes compete with regular ones for long runway. Arrival rate
+ * doubles at rush hours. Runway throughput and mean wait for landing order of the strategy are reported as
+ * {@link Outcome} counters, which are the same in every iteration, since simulation is deterministic.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RunwaySchedulingBenchmark {
+
+    private static final int AIRPLANES_COUNT = 20000;
+
+    @Param({"POISSON", "RUSH_HOUR"})
+    private ScheduleGenerator.ArrivalProcess arrivalProcess;
+
+    @Param({"GREEDY", "LOOK_AHEAD"})
+    private SimulationSettings.RunwayScheduling runwayScheduling;
+
+    private List<AirplaneData> schedule;
+    private SimulationSettings settings;
+
+    /**
+     * Outcome of the last simulation run.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcome {
+        public double throughputPerHour;
+        public double meanWaitInSecs;
+    }
+
+    @Setup
+    public void setUp() {
+        Logger.getRootLogger().setLevel(Level.WARN);
+        schedule = new ArrayList<>();
+        ScheduleGenerator.builder()
+                .flightsCount(AIRPLANES_COUNT)
+                .arrivalProcess(arrivalProcess)
+                .arrivalsPerHour(900)
+                .largeShare(0.5)
+                .peakFactor(1)
+                .seed(1)
+                .build()
+                .forEach(schedule::add);
+        settings = SimulationSettings.builder()
+                .mode(SimulationSettings.Mode.DISCRETE_EVENT)
+                .messageLogging(false)
+                .runwayScheduling(runwayScheduling)
+                .build();
+    }
+
+    @Benchmark
+    public List<AirplaneLandingReport> simulate(Outcome outcome) throws InterruptedException {
+        List<AirplaneLandingReport> reports = new TrafficSimulationExecutor().simulate(schedule.iterator(), settings);
+        long landings = 0;
+        long totalWaitMillis = 0;
+        long firstArrival = Long.MAX_VALUE;
+        long lastLanding = 0;
+        for (AirplaneLandingReport report : reports) {
+            firstArrival = Math.min(firstArrival, report.getStartOffsetInSecs());
+            if (report.isLanded()) {
+                landings++;
+                totalWaitMillis += report.getLandingOrderLatencyInMillis();
+                lastLanding = Math.max(lastLanding, report.getStartOffsetInSecs() + report.getExecutionTime());
+            }
+        }
+        outcome.throughputPerHour = (double) landings * TimeUnit.HOURS.toSeconds(1) /
+                Math.max(1, lastLanding - firstArrival);
+        outcome.meanWaitInSecs = landings == 0 ? 0 : totalWaitMillis / 1000.0 / landings;
+        return reports;
+    }
+}
@@ -0,0 +1,64 @@
+package com.atd.benchmark;
+
+import com.atd.config.AirplaneData;
+import com.atd.simulation.LandingRequestStorage;
+import com.atd.simulation.data.LandingRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pause of decision thread of traffic controller for snapshot of {@link LandingRequestStorage} holding
+ * {@code requestsCount} requests, which is taken for checkpoint: copy of storage alone and copy followed by removal and
+ * re-insertion of request in the middle of queue, which pays copies of pages shared with the snapshot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StorageSnapshotBenchmark {
+
+    private static final AirplaneData.AirplaneType AIRPLANE_TYPE = AirplaneData.AirplaneType.MEDIUM;
+    private static final AirplaneData.LandingType LANDING_TYPE = AirplaneData.LandingType.NORMAL;
+
+    @Param({"1000", "100000", "1000000"})
+    private int requestsCount;
+
+    private LandingRequestStorage storage;
+    private LandingRequest request;
+
+    @Setup
+    public void setUp() {
+        storage = new LandingRequestStorage();
+        for (int id = 0; id < requestsCount; id++) {
+            storage.addLandingRequest(id, AIRPLANE_TYPE, LANDING_TYPE, id);
+        }
+        request = storage.getRequest(LANDING_TYPE, AIRPLANE_TYPE, requestsCount / 2);
+    }
+
+    @Benchmark
+    public LandingRequestStorage copy() {
+        return storage.copy();
+    }
+
+    @Benchmark
+    public LandingRequestStorage copyAndChange() {
+        LandingRequestStorage snapshot = storage.copy();
+        storage.removeLandingRequest(request);
+        storage.addLandingRequest(request.getAirplaneId(), AIRPLANE_TYPE, LANDING_TYPE,
+                request.getRequestTimeMillis());
+        return snapshot;
+    }
+}
@@ -0,0 +1,107 @@
+package com.atd.benchmark;
+
+import com.atd.communication.data.Message;
+import com.atd.config.SimulationSettings;
+import com.atd.metrics.MetricsRegistry;
+import com.atd.simulation.TrafficSimulationExecutor;
+import com.atd.simulation.data.AirplaneLandingReport;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of accelerated real-time simulation of {@link #AIRPLANES_COUNT} airplanes arriving in bursts of
+ * {@code burstSize} at the same second, bursts are {@link #BURSTS_PERIOD_IN_SECS} apart, and land on
+ * {@link #RUNWAYS_COUNT} runways. Number of synchronisation messages between traffic controllers per landing is
+ * reported as {@link Synchronisations} counter.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SynchronisationBurstBenchmark {
+
+    private static final int AIRPLANES_COUNT = 400;
+    private static final int RUNWAYS_COUNT = 8;
+    private static final int BURSTS_PERIOD_IN_SECS = 100;
+    private static final double TIME_SCALE = 200;
+
+    @Param({"50", "100"})
+    private int burstSize;
+
+    private Path config;
+    private Path runwaysConfig;
+    private SimulationSettings settings;
+
+    /**
+     * Synchronisation messages per landing of the last simulation run.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Synchronisations {
+        public double perLanding;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        Logger.getRootLogger().setLevel(Level.WARN);
+        config = Files.createTempFile("benchmark-config", ".txt");
+        runwaysConfig = Files.createTempFile("benchmark-runways", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(config)) {
+            for (int index = 0; index < AIRPLANES_COUNT; index++) {
+                writer.write(String.format("Plane-%d, %s, %s, %d%n", index,
+                        index % 3 == 0 ? "Large" : "Regular",
+                        index % 50 == 0 ? "Emergency" : "Normal",
+                        index / burstSize * BURSTS_PERIOD_IN_SECS));
+            }
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(runwaysConfig)) {
+            for (int index = 0; index < RUNWAYS_COUNT; index++) {
+                writer.write(String.format("Runway-%d, %s%n", index, index % 2 == 0 ? "Short" : "Long"));
+            }
+        }
+        settings = SimulationSettings.builder()
+                .configPath(config.toString())
+                .runwaysConfigPath(runwaysConfig.toString())
+                .timeScale(TIME_SCALE)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(config);
+        Files.delete(runwaysConfig);
+    }
+
+    @Benchmark
+    public List<AirplaneLandingReport> simulate(Synchronisations synchronisations) throws InterruptedException {
+        TrafficSimulationExecutor simulationExecutor = new TrafficSimulationExecutor();
+        List<AirplaneLandingReport> reports = simulationExecutor.simulate(settings);
+        long landings = reports.stream().filter(AirplaneLandingReport::isLanded).count();
+        long messages = simulationExecutor.getMetrics().snapshot().getCounter(
+                MetricsRegistry.messagesCounter(Message.MessageType.SYNCHRONISATION_BETWEEN_CONTROLLER));
+        synchronisations.perLanding = (double) messages / landings;
+        return reports;
+    }
+}
@@ -0,0 +1,91 @@
+package com.atd.benchmark;
+
+import com.atd.communication.Communicator;
+import com.atd.communication.data.Message;
+import com.atd.config.AirplaneData;
+import com.atd.simulation.Airplane;
+import com.atd.simulation.ControllerSettings;
+import com.atd.simulation.RunwayRegistry;
+import com.atd.simulation.RunwayState;
+import com.atd.simulation.TrafficController;
+import com.atd.simulation.data.LandingRequest;
+import com.google.common.collect.ImmutableMap;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link TrafficController#getProposalForProcessing()} with {@code queueDepth} airplanes waiting for landing.
+ * Requests are stored by regular processing of messages, while the other traffic controller occupies all runways in
+ * every synchronisation round, so requests stay in queue and all runways are locally available for proposals.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrafficControllerBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int queueDepth;
+
+    private TrafficController controller;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        Logger.getRootLogger().setLevel(Level.WARN);
+        NoOpScheduler scheduler = new NoOpScheduler();
+        RunwayRegistry runwayRegistry = RunwayRegistry.defaultRegistry();
+        RunwayState runwayState = new RunwayState(runwayRegistry.getRunwaysCount());
+        Communicator communicator = new Communicator();
+        controller = new TrafficController(ControllerSettings.builder()
+                .id(0)
+                .controllersCount(2)
+                .communicator(communicator)
+                .runwayRegistry(runwayRegistry)
+                .scheduler(scheduler)
+                .build());
+        Map<Integer, LandingRequest> otherProposals =
+                ImmutableMap.of(0, LandingRequest.ALREADY_IN_PROGRESS, 1, LandingRequest.ALREADY_IN_PROGRESS);
+        for (int id = 0; id < queueDepth; id++) {
+            AirplaneData data = AirplaneData.builder()
+                    .airplaneName("Plane-" + id)
+                    .airplaneType(AirplaneData.AirplaneType.values()[id % AirplaneData.AirplaneType.values().length])
+                    .landingType(id % 50 == 0 ? AirplaneData.LandingType.EMERGENCY : AirplaneData.LandingType.NORMAL)
+                    .noOfSeconds(0)
+                    .build();
+            Airplane airplane = new Airplane(id, data, communicator, runwayState, scheduler);
+            controller.receiveProposals(1, otherProposals);
+            controller.send(Message.builder()
+                    .type(data.getLandingType() == AirplaneData.LandingType.EMERGENCY ?
+                            Message.MessageType.EMERGENCY_CALL_TO_LAND : Message.MessageType.READY_TO_LAND)
+                    .sender(airplane)
+                    .receiver(controller)
+                    .airplaneId(id)
+                    .controllerId(0)
+                    .build());
+        }
+        // One more round is made after all messages are processed.
+        controller.receiveProposals(1, otherProposals);
+        controller.step();
+    }
+
+    @Benchmark
+    public Map<Integer, LandingRequest> getProposalForProcessing() {
+        return controller.getProposalForProcessing();
+    }
+}
@@ -1,5 +1,6 @@
 package com.atd;
 
+import com.atd.config.SimulationSettings;
 import com.atd.simulation.TrafficSimulationExecutor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -9,8 +10,12 @@ public class Main {
     public static void main(String[] args) throws InterruptedException {
         log.info("Simulation started.");
         TrafficSimulationExecutor simulationExecutor = new TrafficSimulationExecutor();
-        // TODO: currently hardcode config.txt, could be passed as argument.
-        simulationExecutor.simulate("config.txt");
+        // TODO: currently hardcode config.txt and runways.txt, could be passed as arguments.
+        simulationExecutor.simulate(
+                SimulationSettings.builder()
+                        .configPath("config.txt")
+                        .runwaysConfigPath("runways.txt")
+                        .build());
         log.info("Simulation finished.");
     }
 }
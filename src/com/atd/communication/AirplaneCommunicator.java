@@ -1,7 +1,6 @@
 package com.atd.communication;
 
 import com.atd.simulation.Airplane;
-import com.atd.simulation.RunwayState;
 import com.atd.simulation.TrafficController;
 
 /**
@@ -13,16 +12,17 @@ public interface AirplaneCommunicator {
      * Sends request for landing to dispatcher in {@link Communicator}, returns id of traffic controller, to which
      * airplane established connection and will be guide for landing.
      */
-    int requestForLanding(String airplaneName) throws InterruptedException;
+    int requestForLanding(int airplaneId) throws InterruptedException;
 
     /**
      * Sends message to Traffic controller with {@code controllerId} with provement of successfully finished landing
-     * on a runway of passed-in {@link RunwayState.RunwayType}.
+     * on a runway with passed-in {@code runwayIndex}.
      */
-    void confirmOfSuccessLanding(int controllerId, String airplaneName, RunwayState.RunwayType runwayType) throws InterruptedException;
+    void confirmOfSuccessLanding(int controllerId, int airplaneId, int runwayIndex) throws InterruptedException;
 
     /**
-     * Register - subscribe passed-in {@link Airplane} for communication using {@link Communicator}.
+     * Register - subscribe passed-in {@link Airplane} for communication using {@link Communicator}. Airplane is
+     * addressed by its id afterwards.
      */
     void registerForCommunication(Airplane airplane);
 }
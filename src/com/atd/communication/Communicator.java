@@ -1,137 +1,345 @@
 package com.atd.communication;
 
+import com.atd.communication.data.CommunicationMessage;
 import com.atd.communication.data.ControllerSynchMessage;
 import com.atd.communication.data.Message;
+import com.atd.communication.journal.EventJournal;
+import com.atd.communication.journal.LogEventJournal;
+import com.atd.communication.transport.InJvmTransport;
+import com.atd.communication.transport.MessageTransport;
+import com.atd.communication.wire.MessageFlyweight;
 import com.atd.config.AirplaneData;
+import com.atd.metrics.MetricsRegistry;
 import com.atd.simulation.Airplane;
-import com.atd.simulation.RunwayState;
 import com.atd.simulation.TrafficController;
 import com.atd.simulation.data.LandingRequest;
-import lombok.extern.slf4j.Slf4j;
+import com.atd.simulation.event.SystemClock;
+import lombok.Getter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-
-import static com.atd.communication.data.Message.MAYDAY;
-import static com.atd.communication.data.Message.READY_TO_LAND;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Communicator, used as message dispatcher and router.
+ * Participants are resolved on registration to handles in arrays indexed by their ids, so each message is built with
+ * sender and receiver resolved once by array access and is delivered by single enqueue to the receiver handle.
+ * Messages are handed to receivers by {@link MessageTransport}, so participants of one simulation could be hosted by
+ * different processes: each process has own communicator, which routes messages of local participants to transport and
+ * delivers messages received by transport to local participants (see {@link #receive}).
  */
-@Slf4j
 public class Communicator implements AirplaneCommunicator, TrafficControllerCommunicator {
 
-    private ConcurrentMap<String, Airplane> airplaneByNames = new ConcurrentHashMap<>();
-    private ConcurrentMap<Integer, TrafficController> trafficControllersById = new ConcurrentHashMap<>();
+    private static final int INITIAL_AIRPLANES_CAPACITY = 1024;
 
     /**
-     * {@link TrafficController}'s index counter used during round-robin selection strategy.
+     * Registered {@link Airplane}s indexed by their ids, which are dense, so lookup of receiver of each message is
+     * array access instead of hashing of airplane name. Array is replaced by bigger copy, when it is full, writes are
+     * published by volatile write of array reference.
+     */
+    private volatile Airplane[] airplanesById = new Airplane[INITIAL_AIRPLANES_CAPACITY];
+    /**
+     * Registered {@link TrafficController}s indexed by their ids, replaced by copy on each registration.
+     */
+    private volatile TrafficController[] trafficControllersById = new TrafficController[0];
+    /**
+     * Registered {@link TrafficController}s, replaced by copy on each registration.
+     */
+    private volatile List<TrafficController> trafficControllers = Collections.emptyList();
+
+    /**
+     * {@link TrafficController}'s index counter used during round-robin selection strategy, incremented by
+     * concurrent airplanes.
+     */
+    private final AtomicInteger controllerCounter = new AtomicInteger();
+
+    /**
+     * Number of registered {@link Airplane}s, which have not confirmed landing yet, plus one while registration of
+     * new airplanes is still expected (see {@link #completeRegistration()}).
+     */
+    private final AtomicInteger outstandingAirplanes = new AtomicInteger(1);
+    /**
+     * Completed when all registered {@link Airplane}s have landed.
+     */
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    @Getter
+    private final MetricsRegistry metrics;
+    /**
+     * Counters of routed messages per ordinal of {@link Message.MessageType}.
+     */
+    private final LongAdder[] messageCounters;
+    /**
+     * Journal of routed messages, by default messages are logged.
      */
-    private int controllerCounter = 0;
+    private final EventJournal journal;
+    private final MessageTransport transport;
+
+    public Communicator() {
+        this(new MetricsRegistry(new SystemClock()), new LogEventJournal());
+    }
+
+    public Communicator(MetricsRegistry metrics, EventJournal journal) {
+        this(metrics, journal, new InJvmTransport());
+    }
+
+    public Communicator(MetricsRegistry metrics, EventJournal journal, MessageTransport transport) {
+        this.metrics = metrics;
+        this.journal = journal;
+        this.transport = transport;
+        messageCounters = new LongAdder[Message.MessageType.values().length];
+        for (Message.MessageType type : Message.MessageType.values()) {
+            messageCounters[type.ordinal()] = metrics.counter(MetricsRegistry.messagesCounter(type));
+        }
+    }
 
     /**
      * Returns {@link Message.MessageBuilder} with populated receiver and sender based on passed-in
-     * {@code controllerId} and {@code airplaneName}, direction is defined by option {@code toController}.
+     * {@code trafficController} and {@code airplane}, direction is defined by option {@code toController}.
      */
-    private Message.MessageBuilder prepareBaseMessageBuilder(int controllerId, String airplaneName,
-                                                             boolean toController) {
-        TrafficController trafficController = trafficControllersById.get(controllerId);
-        Airplane airplane = airplaneByNames.get(airplaneName);
+    private static Message.MessageBuilder prepareBaseMessageBuilder(TrafficController trafficController,
+                                                                    Airplane airplane, boolean toController) {
         return Message.builder()
                 .receiver(toController ? trafficController : airplane)
-                .sender(toController ? airplane : trafficController);
+                .sender(toController ? airplane : trafficController)
+                .airplaneId(airplane.getId())
+                .controllerId(trafficController.getId());
     }
 
     /**
      * Returns {@link Message.MessageBuilder} with populated receiver and sender based on passed-in
-     * {@code targetControllerId} and {@code controllerId}.
+     * {@code targetController} and {@code controller}.
      */
-    private Message.MessageBuilder prepareBaseMessageBuilder(int targetControllerId, int controllerId) {
+    private static Message.MessageBuilder prepareBaseMessageBuilder(TrafficController targetController,
+                                                                    TrafficController controller) {
         return Message.builder()
-                .receiver(trafficControllersById.get(targetControllerId))
-                .sender(trafficControllersById.get(controllerId));
+                .receiver(targetController)
+                .sender(controller)
+                .controllerId(controller.getId());
     }
 
     /**
      * Round-robin strategy of traffic controller selection for {@link LandingRequest} processing.
      */
-    private int selectTrafficControllerForRequestProcessing() {
-        controllerCounter = (controllerCounter + 1) % 2;
-        return controllerCounter;
+    private TrafficController selectTrafficControllerForRequestProcessing() {
+        List<TrafficController> controllers = trafficControllers;
+        return controllers.get(Math.floorMod(controllerCounter.incrementAndGet(), controllers.size()));
     }
 
     @Override
-    public void registerForCommunication(Airplane airplane) {
-        airplaneByNames.put(airplane.getData().getAirplaneName(), airplane);
+    public synchronized void registerForCommunication(Airplane airplane) {
+        Airplane[] airplanes = airplanesById;
+        if (airplane.getId() >= airplanes.length) {
+            airplanes = Arrays.copyOf(airplanes, Math.max(airplanes.length * 2, airplane.getId() + 1));
+        }
+        if (airplanes[airplane.getId()] != null) {
+            return;
+        }
+        airplanes[airplane.getId()] = airplane;
+        airplanesById = airplanes;
+        outstandingAirplanes.incrementAndGet();
+        journal.airplaneRegistered(airplane);
+        transport.airplaneRegistered(airplane);
     }
 
     @Override
-    public void registerForCommunication(TrafficController controller) {
-        trafficControllersById.put(controller.getId(), controller);
+    public synchronized void registerForCommunication(TrafficController controller) {
+        TrafficController[] controllers = Arrays.copyOf(trafficControllersById,
+                Math.max(trafficControllersById.length, controller.getId() + 1));
+        controllers[controller.getId()] = controller;
+        List<TrafficController> registeredControllers = new ArrayList<>();
+        for (TrafficController registeredController : controllers) {
+            if (registeredController != null) {
+                registeredControllers.add(registeredController);
+            }
+        }
+        trafficControllers = Collections.unmodifiableList(registeredControllers);
+        trafficControllersById = controllers;
     }
 
     @Override
     public void synchroniseDecisions(int controllerId,
-                                     Map<RunwayState.RunwayType, LandingRequest> preparedDecisions) throws InterruptedException {
-        // Added checker if all airplanes were landed, then 'kill' traffic controller processes.
-        if (allAirplanesLanded()) {
-            trafficControllersById.get(0).send(Message.builder().type(Message.MessageType.TERMINATED).build());
-            trafficControllersById.get(1).send(Message.builder().type(Message.MessageType.TERMINATED).build());
+                                     Map<Integer, LandingRequest> preparedDecisions) throws InterruptedException {
+        TrafficController controller = trafficControllersById[controllerId];
+        // Broadcast proposals to all other traffic controllers.
+        for (TrafficController targetController : trafficControllers) {
+            if (targetController == controller) {
+                continue;
+            }
+            Message message =
+                    prepareBaseMessageBuilder(targetController, controller)
+                            .type(Message.MessageType.SYNCHRONISATION_BETWEEN_CONTROLLER)
+                            .build();
+            ControllerSynchMessage synchMessage =
+                    ControllerSynchMessage.builder().message(message).requestForProcessing(preparedDecisions).build();
+            trace(synchMessage);
+            deliver(targetController, synchMessage);
         }
-        int targetControllerId = controllerId == 0 ? 1 : 0;
-        Message message =
-                prepareBaseMessageBuilder(targetControllerId, controllerId)
-                        .text("Lets synchronise decisions")
-                        .type(Message.MessageType.SYNCHRONISATION_BETWEEN_CONTROLLER)
-                        .build();
-        ControllerSynchMessage synchMessage =
-                ControllerSynchMessage.builder().message(message).requestForProcessing(preparedDecisions).build();
-        log.info(synchMessage.toString());
-        trafficControllersById.get(targetControllerId).send(synchMessage);
     }
 
     @Override
-    public int requestForLanding(String airplaneName) throws InterruptedException {
-        int controllerId = selectTrafficControllerForRequestProcessing();
-        Message.MessageBuilder messageBuilder = prepareBaseMessageBuilder(controllerId, airplaneName, true);
+    public int requestForLanding(int airplaneId) throws InterruptedException {
+        TrafficController controller = selectTrafficControllerForRequestProcessing();
+        Airplane airplane = airplanesById[airplaneId];
+        Message.MessageBuilder messageBuilder = prepareBaseMessageBuilder(controller, airplane, true);
         Message message;
-        if (airplaneByNames.get(airplaneName).getData().getLandingType() == AirplaneData.LandingType.EMERGENCY) {
-            message = messageBuilder.type(Message.MessageType.EMERGENCY_CALL_TO_LAND).text(MAYDAY).build();
+        if (airplane.getData().getLandingType() == AirplaneData.LandingType.EMERGENCY) {
+            message = messageBuilder.type(Message.MessageType.EMERGENCY_CALL_TO_LAND).build();
         } else {
-            message = messageBuilder.type(Message.MessageType.READY_TO_LAND).text(READY_TO_LAND).build();
+            message = messageBuilder.type(Message.MessageType.READY_TO_LAND).build();
         }
-        log.info(message.toString());
-        trafficControllersById.get(controllerId).send(message);
-        return controllerId;
+        trace(message);
+        deliver(controller, message);
+        return controller.getId();
     }
 
     @Override
-    public void confirmOfSuccessLanding(int controllerId, String airplaneName,
-                                        RunwayState.RunwayType runwayType) throws InterruptedException {
-        Message.MessageBuilder messageBuilder = prepareBaseMessageBuilder(controllerId, airplaneName, true);
+    public void confirmOfSuccessLanding(int controllerId, int airplaneId,
+                                        int runwayIndex) throws InterruptedException {
+        TrafficController controller = trafficControllersById[controllerId];
+        Message.MessageBuilder messageBuilder = prepareBaseMessageBuilder(controller, airplanesById[airplaneId], true);
         Message message =
                 messageBuilder
                         .type(Message.MessageType.LANDING_APPROVED)
-                        .text(String.format(Message.LANDED_ON_RUNWAY_X, runwayType.getIndex()))
+                        .runwayIndex(runwayIndex)
                         .build();
-        log.info(message.toString());
-        trafficControllersById.get(controllerId).send(message);
+        trace(message);
+        deliver(controller, message);
+        if (outstandingAirplanes.decrementAndGet() == 0) {
+            complete();
+        }
     }
 
     @Override
-    public void sendResponseToAirplane(int controllerId, String airplaneName,
-                                       Message.MessageType type, String text) throws InterruptedException {
-        Message.MessageBuilder messageBuilder = prepareBaseMessageBuilder(controllerId, airplaneName, false);
-        Message message = messageBuilder.type(type).text(text).build();
-        log.info(message.toString());
-        airplaneByNames.get(airplaneName).send(message);
+    public void sendResponseToAirplane(int controllerId, int airplaneId,
+                                       Message.MessageType type, int runwayIndex) throws InterruptedException {
+        Airplane airplane = airplanesById[airplaneId];
+        Message.MessageBuilder messageBuilder =
+                prepareBaseMessageBuilder(trafficControllersById[controllerId], airplane, false);
+        Message message = messageBuilder.type(type).runwayIndex(runwayIndex).build();
+        trace(message);
+        deliver(airplane, message);
+    }
+
+    /**
+     * Counts and journals passed-in {@code message}, which is routed to its receiver.
+     */
+    private void trace(CommunicationMessage message) {
+        messageCounters[message.getMessage().getType().ordinal()].increment();
+        journal.messageRouted(message);
+    }
+
+    /**
+     * Delivers passed-in {@code message} to {@link TrafficController}.
+     */
+    protected void deliver(TrafficController controller, CommunicationMessage message) throws InterruptedException {
+        transport.deliver(controller, message);
+    }
+
+    /**
+     * Delivers passed-in {@code message} to {@link Airplane}.
+     */
+    protected void deliver(Airplane airplane, Message message) throws InterruptedException {
+        transport.deliver(airplane, message);
+    }
+
+    /**
+     * Delivers message read by passed-in {@code flyweight} from transport to its receiver, participants of message are
+     * resolved by their ids. Receiver is hosted by this process, except proposals of remote traffic controllers, which
+     * are relayed by transport to process of receiving controller.
+     */
+    public void receive(MessageFlyweight flyweight) throws InterruptedException {
+        Message.MessageType type = flyweight.getType();
+        switch (type) {
+            case WAITING_AROUND:
+            case LAND_ON_A_RUNWAY: {
+                Airplane airplane = airplanesById[flyweight.getAirplaneId()];
+                Message message =
+                        prepareBaseMessageBuilder(trafficControllersById[flyweight.getControllerId()], airplane, false)
+                                .type(type)
+                                .runwayIndex(flyweight.getRunwayIndex())
+                                .build();
+                trace(message);
+                deliver(airplane, message);
+                break;
+            }
+            case TERMINATED:
+                deliver(trafficControllersById[flyweight.getControllerId()],
+                        Message.builder().type(type).controllerId(flyweight.getControllerId()).build());
+                break;
+            case SYNCHRONISATION_BETWEEN_CONTROLLER: {
+                Message message =
+                        prepareBaseMessageBuilder(trafficControllersById[flyweight.getReceiverControllerId()],
+                                trafficControllersById[flyweight.getControllerId()])
+                                .type(type)
+                                .build();
+                ControllerSynchMessage synchMessage = ControllerSynchMessage.builder()
+                        .message(message)
+                        .requestForProcessing(flyweight.getProposals())
+                        .build();
+                trace(synchMessage);
+                deliver(trafficControllersById[flyweight.getReceiverControllerId()], synchMessage);
+                break;
+            }
+            default: {
+                TrafficController controller = trafficControllersById[flyweight.getControllerId()];
+                Message message = prepareBaseMessageBuilder(controller, airplanesById[flyweight.getAirplaneId()], true)
+                        .type(type)
+                        .runwayIndex(flyweight.getRunwayIndex())
+                        .build();
+                trace(message);
+                deliver(controller, message);
+            }
+        }
+    }
+
+    /**
+     * Returns all registered {@link TrafficController}s.
+     */
+    protected Collection<TrafficController> getTrafficControllers() {
+        return trafficControllers;
     }
 
     /**
-     * Returns 'true' if all {@link Airplane}s were landed and simulation could be finished, otherwise returns 'false'.
+     * Returns registered {@link TrafficController} with passed-in {@code controllerId}.
      */
-    private boolean allAirplanesLanded() {
-        return airplaneByNames.values().stream().allMatch(Airplane::isLanded);
+    protected TrafficController getTrafficController(int controllerId) {
+        return trafficControllersById[controllerId];
+    }
+
+    /**
+     * Notifies that no more {@link Airplane}s will be registered, so simulation is completed as soon as all registered
+     * ones have landed.
+     */
+    public void completeRegistration() throws InterruptedException {
+        if (outstandingAirplanes.decrementAndGet() == 0) {
+            complete();
+        }
+    }
+
+    /**
+     * Returns future, which is completed when all {@link Airplane}s have landed after registration was completed.
+     */
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * Completes simulation, invoked once, when the last outstanding airplane is gone: 'kills' traffic controller
+     * processes and signals {@link #getCompletion()}. Termination is handed to transport first, so owner of transport
+     * could close it as soon as completion is signalled.
+     */
+    private void complete() throws InterruptedException {
+        for (TrafficController controller : trafficControllers) {
+            transport.deliver(controller,
+                    Message.builder().type(Message.MessageType.TERMINATED).controllerId(controller.getId()).build());
+        }
+        completion.complete(null);
     }
 }
@@ -0,0 +1,90 @@
+package com.atd.communication;
+
+import com.atd.communication.data.CommunicationMessage;
+import com.atd.communication.data.Message;
+import com.atd.communication.journal.EventJournal;
+import com.atd.communication.journal.LogEventJournal;
+import com.atd.metrics.MetricsRegistry;
+import com.atd.simulation.TrafficController;
+import com.atd.simulation.data.LandingRequest;
+import com.atd.simulation.event.DiscreteEventScheduler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Communicator} used by discrete-event simulation. Instead of waking up threads of traffic controllers, each
+ * message delivered to {@link TrafficController} schedules processing step of that controller as
+ * {@link com.atd.simulation.event.SimulationEvent} executed at current virtual time, with priority of message, so
+ * emergency requests are processed before regular ones arrived at the same time. Airplanes schedule processing of
+ * their messages themselves.
+ * Since all participants are executed by single thread, synchronisation of decisions is done instantly by asking
+ * other traffic controllers about their current proposals.
+ */
+public class DiscreteEventCommunicator extends Communicator {
+
+    /**
+     * Base priority of traffic controller processing steps. It is lower than default priority of other events, so
+     * steps are executed after all arrivals and landings of the same virtual time, when all requests arrived at the
+     * same time are already known to traffic controllers.
+     */
+    private static final int STEP_PRIORITY = -Message.MessageType.values().length;
+
+    private final DiscreteEventScheduler scheduler;
+    /**
+     * Priorities of processing steps per ids of traffic controllers, which already have scheduled step at current
+     * virtual time.
+     */
+    private final Map<Integer, Integer> scheduledControllers;
+
+    public DiscreteEventCommunicator(DiscreteEventScheduler scheduler) {
+        this(scheduler, new MetricsRegistry(scheduler.getClock()), new LogEventJournal());
+    }
+
+    public DiscreteEventCommunicator(DiscreteEventScheduler scheduler, MetricsRegistry metrics,
+                                     EventJournal journal) {
+        super(metrics, journal);
+        this.scheduler = scheduler;
+        this.scheduledControllers = new HashMap<>();
+    }
+
+    @Override
+    public void synchroniseDecisions(int controllerId,
+                                     Map<Integer, LandingRequest> preparedDecisions) throws InterruptedException {
+        TrafficController requester = getTrafficController(controllerId);
+        for (TrafficController other : getTrafficControllers()) {
+            if (other == requester) {
+                continue;
+            }
+            requester.receiveProposals(other.getId(), other.getProposalForProcessing());
+        }
+    }
+
+    @Override
+    protected void deliver(TrafficController controller, CommunicationMessage message) throws InterruptedException {
+        controller.send(message);
+        scheduleStep(controller, STEP_PRIORITY + message.getMessage().getType().getPriority());
+    }
+
+    /**
+     * Schedules processing step of passed-in {@link TrafficController} at current virtual time with passed-in
+     * {@code priority}, if it is not scheduled yet with the same or higher priority. If step changed state of
+     * controller, all controllers are scheduled again, because their decisions depend on proposals of this one.
+     */
+    private void scheduleStep(TrafficController controller, int priority) {
+        Integer scheduledPriority = scheduledControllers.get(controller.getId());
+        if (scheduledPriority != null && scheduledPriority >= priority) {
+            return;
+        }
+        scheduledControllers.put(controller.getId(), priority);
+        scheduler.schedule(0, TimeUnit.SECONDS, priority, () -> {
+            scheduledControllers.remove(controller.getId());
+            if (controller.step()) {
+                for (TrafficController other : getTrafficControllers()) {
+                    scheduleStep(other, STEP_PRIORITY);
+                }
+            }
+        });
+    }
+}
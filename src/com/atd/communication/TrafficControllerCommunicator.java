@@ -1,7 +1,7 @@
 package com.atd.communication;
 
 import com.atd.communication.data.Message;
-import com.atd.simulation.RunwayState;
+import com.atd.metrics.MetricsRegistry;
 import com.atd.simulation.TrafficController;
 import com.atd.simulation.data.LandingRequest;
 
@@ -18,16 +18,21 @@ public interface TrafficControllerCommunicator {
     void registerForCommunication(TrafficController controller);
 
     /**
-     * Sends message from traffic controller with {@code controllerId} to Airplane with name {@code airplaneName}
-     * of passed-in type {@link Message.MessageType}, which contains {@code text} value.
+     * Sends message from traffic controller with {@code controllerId} to Airplane with id {@code airplaneId}
+     * of passed-in type {@link Message.MessageType}, which refers to runway with {@code runwayIndex}, if applicable.
      * Used for sending messages like 'wait around airport' or 'land on a defined runway'.
      */
-    void sendResponseToAirplane(int controllerId, String airplaneName,
-                                Message.MessageType type, String text) throws InterruptedException;
+    void sendResponseToAirplane(int controllerId, int airplaneId,
+                                Message.MessageType type, int runwayIndex) throws InterruptedException;
 
     /**
-     * Send from Traffic controller with {@code controllerId} request to other traffic controller for data proposals
-     * synchronisation, represented by {@code preparedDecisions}.
+     * Send from Traffic controller with {@code controllerId} request to all other traffic controllers for data
+     * proposals synchronisation, represented by {@code preparedDecisions}.
      */
-    void synchroniseDecisions(int controllerId, Map<RunwayState.RunwayType, LandingRequest> preparedDecisions) throws InterruptedException;
+    void synchroniseDecisions(int controllerId, Map<Integer, LandingRequest> preparedDecisions) throws InterruptedException;
+
+    /**
+     * Returns {@link MetricsRegistry} of simulation run, used by traffic controllers to register their metrics.
+     */
+    MetricsRegistry getMetrics();
 }
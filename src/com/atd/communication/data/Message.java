@@ -4,39 +4,49 @@ import com.atd.communication.CommunicatorParticipant;
 import lombok.Builder;
 import lombok.Getter;
 
-import java.util.regex.Pattern;
-
 /**
  * Common message structure data used for communication between traffic controllers and airplanes.
+ * Payload is carried by typed fields, human-readable text is rendered only on demand, e.g. when message is logged.
  */
 @Getter
 @Builder
 public class Message implements CommunicationMessage, Comparable<Message> {
 
     /*
-     * Constant messages used for sending via Communicator.
+     * Text templates of messages, rendered with runway index where applicable.
      */
     public static final String PLEASE_CIRCLE_AROUND_THE_AIRPORT = "Please circle around the airport.";
     public static final String READY_TO_LAND = "Ready to land.";
     public static final String MAYDAY = "Mayday.";
     public static final String LANDED_ON_RUNWAY_X = "Landed on runway %d.";
     public static final String PLEASE_LAND_ON_A_RUNWAY_X = "Please land on a runway %d";
-    public static final String EMERGENCY_LANDING_NOTIFICATION_OF_SIZE_X = "I have an emergency landing for airplane size %s";
-    public static final String NORMAL_LANDING_NOTIFICATION_OF_SIZE_X = "I have an regular landing for airplane size %s";
-    public static final String GOING_TO_OCCUPY_RUNWAY_X = "I'm going to start landing for airplane on a runway %d";
+    public static final String LETS_SYNCHRONISE_DECISIONS = "Lets synchronise decisions";
+    public static final String TERMINATED = "Terminated.";
+    public static final String TIME_TO_REEVALUATE = "Time to re-evaluate proposals.";
 
     /**
-     * Pattern used to detect index of runway from text of the message. Example:
-     * <pre>
-     *     Please land on a runway 1
-     * </pre>
+     * Value of id or index field, which is not defined for the message.
      */
-    public static final Pattern RUNWAY_X = Pattern.compile(".* (?<index>\\d+)");
+    public static final int UNDEFINED = -1;
 
     private MessageType type;
-    private String text;
     private CommunicatorParticipant receiver;
     private CommunicatorParticipant sender;
+    /**
+     * Index of runway, which is ordered for landing or released after landing.
+     */
+    @Builder.Default
+    private int runwayIndex = UNDEFINED;
+    /**
+     * Id of airplane, which sends or receives the message.
+     */
+    @Builder.Default
+    private int airplaneId = UNDEFINED;
+    /**
+     * Id of traffic controller, which sends the message to airplane or other controller, or receives it from airplane.
+     */
+    @Builder.Default
+    private int controllerId = UNDEFINED;
 
     @Override
     public Message getMessage() {
@@ -48,6 +58,14 @@ public class Message implements CommunicationMessage, Comparable<Message> {
         return null;
     }
 
+    /**
+     * Renders human-readable text of the message.
+     */
+    public String getText() {
+        return type.getTextTemplate().contains("%d") ?
+                String.format(type.getTextTemplate(), runwayIndex) : type.getTextTemplate();
+    }
+
     @Override
     public int compareTo(Message o) {
         return o.getType().getPriority() - this.type.getPriority();
@@ -55,28 +73,35 @@ public class Message implements CommunicationMessage, Comparable<Message> {
 
     public enum MessageType {
         // Types used for messages passed to traffic controller:
-        LANDING_APPROVED(4),
-        EMERGENCY_CALL_TO_LAND(3),
-        READY_TO_LAND(2),
-        TERMINATED(1),
-        SYNCHRONISATION_BETWEEN_CONTROLLER(0),
+        LANDING_APPROVED(4, LANDED_ON_RUNWAY_X),
+        EMERGENCY_CALL_TO_LAND(3, MAYDAY),
+        READY_TO_LAND(2, Message.READY_TO_LAND),
+        TERMINATED(1, Message.TERMINATED),
+        SYNCHRONISATION_BETWEEN_CONTROLLER(0, LETS_SYNCHRONISE_DECISIONS),
+        REEVALUATION(0, TIME_TO_REEVALUATE),
         // Types used for messages passed to airplane:
-        WAITING_AROUND(0),
-        LAND_ON_A_RUNWAY(0),;
+        WAITING_AROUND(0, PLEASE_CIRCLE_AROUND_THE_AIRPORT),
+        LAND_ON_A_RUNWAY(0, PLEASE_LAND_ON_A_RUNWAY_X),;
 
         /**
          * Priority of message type, used for ordering messages sent to traffic controller.
          */
         @Getter
         private int priority;
+        /**
+         * Template of human-readable text of message type.
+         */
+        @Getter
+        private String textTemplate;
 
-        MessageType(int priority) {
+        MessageType(int priority, String textTemplate) {
             this.priority = priority;
+            this.textTemplate = textTemplate;
         }
     }
 
     @Override
     public String toString() {
-        return "[" + sender.getParticipantName() + " -> " + receiver.getParticipantName() + ": " + text + "]";
+        return "[" + sender.getParticipantName() + " -> " + receiver.getParticipantName() + ": " + getText() + "]";
     }
 }
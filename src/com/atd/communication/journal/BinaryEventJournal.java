@@ -0,0 +1,234 @@
+package com.atd.communication.journal;
+
+import com.atd.communication.data.CommunicationMessage;
+import com.atd.communication.data.Message;
+import com.atd.config.AirplaneData;
+import com.atd.simulation.Airplane;
+import com.atd.simulation.TrafficController;
+import com.atd.simulation.data.LandingRequest;
+import com.atd.simulation.event.SimulationClock;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link EventJournal}, which writes events as fixed-size binary records (see {@link JournalFormat}) to
+ * memory-mapped file, to be rendered offline by {@link JournalRenderer}.
+ * Participants don't format or write anything on the message path: they claim slots of preallocated ring buffer by
+ * atomic increment of sequence, put fields of event into slots and publish them. Background writer thread copies
+ * published records in order of sequence to mapped file. Recording doesn't allocate, except name of airplane on
+ * registration; if ring buffer is full, participants wait till writer frees slots, so events are never dropped.
+ * Records are dated by {@link SimulationClock} of simulation, so in discrete-event mode they carry virtual time.
+ */
+@Slf4j
+public class BinaryEventJournal implements EventJournal {
+
+    /**
+     * Number of records in ring buffer, power of two.
+     */
+    private static final int RING_CAPACITY = 1 << 16;
+    private static final int RING_MASK = RING_CAPACITY - 1;
+    /**
+     * Size of mapped region of file, next region is mapped when current one is filled.
+     */
+    private static final int REGION_SIZE = 16 * 1024 * 1024;
+    /**
+     * Time of waiting for published records by writer or for free slots by participants.
+     */
+    private static final long WAIT_NANOS = 50_000;
+
+    private final ByteBuffer ring;
+    /**
+     * Sequence of record published in each slot of ring buffer.
+     */
+    private final AtomicLongArray publishedSequences;
+    private final AtomicLong claimedSequence;
+    private volatile long writtenSequence;
+    private final SimulationClock clock;
+    private final FileChannel channel;
+    private final Thread writer;
+    private volatile boolean closed;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long writtenBytes;
+
+    public BinaryEventJournal(Path path, SimulationClock clock) {
+        this.clock = clock;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            region = channel.map(FileChannel.MapMode.READ_WRITE, 0, REGION_SIZE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Opening of journal file failed: " + path, ex);
+        }
+        ring = ByteBuffer.allocateDirect(RING_CAPACITY * JournalFormat.RECORD_SIZE);
+        publishedSequences = new AtomicLongArray(RING_CAPACITY);
+        for (int slot = 0; slot < RING_CAPACITY; slot++) {
+            publishedSequences.set(slot, -1);
+        }
+        claimedSequence = new AtomicLong();
+        writer = new Thread(this::write, "event-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void airplaneRegistered(Airplane airplane) {
+        if (closed) {
+            return;
+        }
+        AirplaneData data = airplane.getData();
+        byte[] name = data.getAirplaneName().getBytes(StandardCharsets.UTF_8);
+        int nameLength = Math.min(name.length, JournalFormat.MAX_NAME_LENGTH);
+        long sequence = claim(1);
+        int offset = clearRecord(sequence);
+        ring.put(offset + JournalFormat.KIND, JournalFormat.AIRPLANE_KIND);
+        ring.put(offset + JournalFormat.AIRPLANE_TYPE, (byte) data.getAirplaneType().ordinal());
+        ring.put(offset + JournalFormat.LANDING_TYPE, (byte) data.getLandingType().ordinal());
+        ring.put(offset + JournalFormat.NAME_LENGTH, (byte) nameLength);
+        ring.putInt(offset + JournalFormat.AIRPLANE_ID, airplane.getId());
+        for (int index = 0; index < nameLength; index++) {
+            ring.put(offset + JournalFormat.NAME + index, name[index]);
+        }
+        publishedSequences.lazySet(slot(sequence), sequence);
+    }
+
+    @Override
+    public void messageRouted(CommunicationMessage communicationMessage) {
+        if (closed) {
+            return;
+        }
+        Message message = communicationMessage.getMessage();
+        @SuppressWarnings("unchecked")
+        Map<Integer, LandingRequest> proposals =
+                message.getType() == Message.MessageType.SYNCHRONISATION_BETWEEN_CONTROLLER ?
+                        (Map<Integer, LandingRequest>) communicationMessage.getData() : null;
+        int proposalsCount = proposals == null ? 0 : proposals.size();
+        int recordsCount = JournalFormat.messageRecordsCount(proposalsCount);
+        long sequence = claim(recordsCount);
+        for (int record = 0; record < recordsCount; record++) {
+            int offset = clearRecord(sequence + record);
+            ring.put(offset + JournalFormat.KIND,
+                    record == 0 ? JournalFormat.MESSAGE_KIND : JournalFormat.PROPOSALS_KIND);
+        }
+        int offset = slot(sequence) * JournalFormat.RECORD_SIZE;
+        ring.put(offset + JournalFormat.MESSAGE_TYPE, (byte) message.getType().ordinal());
+        ring.putInt(offset + JournalFormat.AIRPLANE_ID, message.getAirplaneId());
+        ring.putInt(offset + JournalFormat.CONTROLLER_ID, message.getControllerId());
+        ring.putInt(offset + JournalFormat.RECEIVER_CONTROLLER_ID, proposals == null ?
+                Message.UNDEFINED : ((TrafficController) message.getReceiver()).getId());
+        ring.putInt(offset + JournalFormat.RUNWAY_INDEX, message.getRunwayIndex());
+        ring.putInt(offset + JournalFormat.PROPOSALS_COUNT, proposalsCount);
+        if (proposals != null) {
+            int index = 0;
+            for (Map.Entry<Integer, LandingRequest> proposal : proposals.entrySet()) {
+                int proposalOffset = slot(sequence + JournalFormat.proposalRecord(index)) * JournalFormat.RECORD_SIZE
+                        + JournalFormat.proposalOffset(index);
+                LandingRequest request = proposal.getValue();
+                ring.putInt(proposalOffset, proposal.getKey());
+                ring.putInt(proposalOffset + Integer.BYTES, request.isInProgress() ?
+                        Message.UNDEFINED : request.getAirplaneId());
+                index++;
+            }
+        }
+        for (int record = 0; record < recordsCount; record++) {
+            publishedSequences.lazySet(slot(sequence + record), sequence + record);
+        }
+    }
+
+    /**
+     * Writes all published records to file and closes it, events recorded after closing are ignored.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            region.force();
+            channel.truncate(writtenBytes);
+            channel.close();
+        } catch (IOException ex) {
+            log.warn("Closing of journal file failed.", ex);
+        }
+    }
+
+    /**
+     * Claims passed-in {@code count} of consecutive slots, waiting till they are freed by writer, returns sequence of
+     * the first one.
+     */
+    private long claim(int count) {
+        long sequence = claimedSequence.getAndAdd(count);
+        while (sequence + count - writtenSequence > RING_CAPACITY) {
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+        return sequence;
+    }
+
+    /**
+     * Zeroes slot of record with passed-in {@code sequence} and sets time of record, returns offset of slot.
+     */
+    private int clearRecord(long sequence) {
+        int offset = slot(sequence) * JournalFormat.RECORD_SIZE;
+        for (int position = 0; position < JournalFormat.RECORD_SIZE; position += Long.BYTES) {
+            ring.putLong(offset + position, 0);
+        }
+        ring.putLong(offset + JournalFormat.TIME, clock.currentTimeMillis());
+        return offset;
+    }
+
+    private static int slot(long sequence) {
+        return (int) (sequence & RING_MASK);
+    }
+
+    /**
+     * Loop of writer thread: copies published records to file in order of sequence, till journal is closed and all
+     * claimed records are written.
+     */
+    private void write() {
+        long sequence = 0;
+        while (true) {
+            int slot = slot(sequence);
+            if (publishedSequences.get(slot) == sequence) {
+                copyRecord(slot);
+                writtenSequence = ++sequence;
+            } else if (closed && sequence == claimedSequence.get()) {
+                return;
+            } else {
+                LockSupport.parkNanos(WAIT_NANOS);
+            }
+        }
+    }
+
+    private void copyRecord(int slot) {
+        if (writtenBytes - regionStart + JournalFormat.RECORD_SIZE > REGION_SIZE) {
+            region.force();
+            regionStart = writtenBytes;
+            try {
+                region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, REGION_SIZE);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Mapping of journal file failed", ex);
+            }
+        }
+        int source = slot * JournalFormat.RECORD_SIZE;
+        int target = (int) (writtenBytes - regionStart);
+        for (int position = 0; position < JournalFormat.RECORD_SIZE; position += Long.BYTES) {
+            region.putLong(target + position, ring.getLong(source + position));
+        }
+        writtenBytes += JournalFormat.RECORD_SIZE;
+    }
+}
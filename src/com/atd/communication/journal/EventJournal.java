@@ -0,0 +1,46 @@
+package com.atd.communication.journal;
+
+import com.atd.communication.data.CommunicationMessage;
+import com.atd.simulation.Airplane;
+
+import java.io.Closeable;
+
+/**
+ * Journal of events routed by {@link com.atd.communication.Communicator}: registrations of airplanes and messages
+ * between airplanes and traffic controllers.
+ */
+public interface EventJournal extends Closeable {
+
+    /**
+     * Journal, which drops all events.
+     */
+    EventJournal NONE = new EventJournal() {
+        @Override
+        public void airplaneRegistered(Airplane airplane) {
+        }
+
+        @Override
+        public void messageRouted(CommunicationMessage message) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /**
+     * Records registration of passed-in {@link Airplane} for communication.
+     */
+    void airplaneRegistered(Airplane airplane);
+
+    /**
+     * Records passed-in {@code message}, which is routed to its receiver.
+     */
+    void messageRouted(CommunicationMessage message);
+
+    /**
+     * Flushes recorded events and releases resources of journal.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,71 @@
+package com.atd.communication.journal;
+
+/**
+ * Layout of fixed-size records of binary event journal, shared by {@link BinaryEventJournal} and
+ * {@link JournalRenderer}. All values are big-endian.
+ * <pre>
+ * Airplane registration:  time(8) kind(1) airplaneType(1) landingType(1) nameLength(1) airplaneId(4) name(48)
+ * Message:                time(8) kind(1) messageType(1) reserved(2) airplaneId(4) controllerId(4)
+ *                         receiverControllerId(4) runwayIndex(4) proposalsCount(4) proposals(4 x 8)
+ * Proposals continuation: time(8) kind(1) reserved(7) proposals(6 x 8)
+ * </pre>
+ * Proposal is pair of runway index and airplane id, or {@link com.atd.communication.data.Message#UNDEFINED} id for
+ * runway with landing already in progress. Proposals, which don't fit into message record, follow it in
+ * continuation records. Zero kind marks end of journal.
+ */
+final class JournalFormat {
+
+    static final int RECORD_SIZE = 64;
+
+    static final byte AIRPLANE_KIND = 1;
+    static final byte MESSAGE_KIND = 2;
+    static final byte PROPOSALS_KIND = 3;
+
+    static final int TIME = 0;
+    static final int KIND = 8;
+
+    static final int AIRPLANE_TYPE = 9;
+    static final int LANDING_TYPE = 10;
+    static final int NAME_LENGTH = 11;
+    static final int AIRPLANE_ID = 12;
+    static final int NAME = 16;
+    static final int MAX_NAME_LENGTH = RECORD_SIZE - NAME;
+
+    static final int MESSAGE_TYPE = 9;
+    static final int CONTROLLER_ID = 16;
+    static final int RECEIVER_CONTROLLER_ID = 20;
+    static final int RUNWAY_INDEX = 24;
+    static final int PROPOSALS_COUNT = 28;
+    static final int MESSAGE_PROPOSALS = 32;
+
+    static final int CONTINUATION_PROPOSALS = 16;
+
+    static final int PROPOSAL_SIZE = 8;
+    private static final int MESSAGE_CAPACITY = (RECORD_SIZE - MESSAGE_PROPOSALS) / PROPOSAL_SIZE;
+    private static final int CONTINUATION_CAPACITY = (RECORD_SIZE - CONTINUATION_PROPOSALS) / PROPOSAL_SIZE;
+
+    private JournalFormat() {
+    }
+
+    /**
+     * Returns number of records required for message with passed-in number of proposals.
+     */
+    static int messageRecordsCount(int proposalsCount) {
+        return proposalsCount == 0 ? 1 : proposalRecord(proposalsCount - 1) + 1;
+    }
+
+    /**
+     * Returns index of record relative to message record, which contains proposal with passed-in {@code index}.
+     */
+    static int proposalRecord(int index) {
+        return index < MESSAGE_CAPACITY ? 0 : 1 + (index - MESSAGE_CAPACITY) / CONTINUATION_CAPACITY;
+    }
+
+    /**
+     * Returns offset of proposal with passed-in {@code index} in its record.
+     */
+    static int proposalOffset(int index) {
+        return index < MESSAGE_CAPACITY ? MESSAGE_PROPOSALS + index * PROPOSAL_SIZE :
+                CONTINUATION_PROPOSALS + (index - MESSAGE_CAPACITY) % CONTINUATION_CAPACITY * PROPOSAL_SIZE;
+    }
+}
@@ -0,0 +1,197 @@
+package com.atd.communication.journal;
+
+import com.atd.communication.CommunicatorParticipant;
+import com.atd.communication.data.ControllerSynchMessage;
+import com.atd.communication.data.Message;
+import com.atd.config.AirplaneData;
+import com.atd.simulation.TrafficController;
+import com.atd.simulation.data.LandingRequest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Offline tool, which renders binary journal written by {@link BinaryEventJournal} to the same human-readable lines
+ * as logged by {@link LogEventJournal}, prefixed by time of event. Usage:
+ * <pre>
+ *     java com.atd.communication.journal.JournalRenderer journal.bin [output.log]
+ * </pre>
+ * Lines are written to standard output, if output file is not passed.
+ */
+public class JournalRenderer {
+
+    private static final int READ_BUFFER_RECORDS = 1024;
+
+    private final Map<Integer, AirplaneData> airplanesById = new HashMap<>();
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: JournalRenderer <journal file> [output file]");
+            System.exit(1);
+        }
+        Writer output = args.length == 2 ?
+                Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8) :
+                new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        try {
+            new JournalRenderer().render(Paths.get(args[0]), output);
+        } finally {
+            output.flush();
+            if (args.length == 2) {
+                output.close();
+            }
+        }
+    }
+
+    /**
+     * Renders all events of journal with passed-in {@code path} to {@code output}, line per routed message.
+     */
+    public void render(Path path, Appendable output) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_RECORDS * JournalFormat.RECORD_SIZE);
+            PendingMessage pending = null;
+            while (channel.read(buffer) >= 0 || buffer.position() > 0) {
+                buffer.flip();
+                while (buffer.remaining() >= JournalFormat.RECORD_SIZE) {
+                    int offset = buffer.position();
+                    byte kind = buffer.get(offset + JournalFormat.KIND);
+                    if (kind == 0) {
+                        renderPending(pending, output);
+                        return;
+                    }
+                    if (kind == JournalFormat.PROPOSALS_KIND) {
+                        pending.readContinuation(buffer, offset);
+                    } else {
+                        renderPending(pending, output);
+                        pending = null;
+                        if (kind == JournalFormat.AIRPLANE_KIND) {
+                            readAirplane(buffer, offset);
+                        } else {
+                            pending = new PendingMessage(buffer, offset);
+                        }
+                    }
+                    buffer.position(offset + JournalFormat.RECORD_SIZE);
+                }
+                if (buffer.hasRemaining() && channel.position() == channel.size()) {
+                    throw new IllegalStateException("Journal ends with incomplete record: " + path);
+                }
+                buffer.compact();
+            }
+            renderPending(pending, output);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Rendering of journal failed: " + path, ex);
+        }
+    }
+
+    private void readAirplane(ByteBuffer buffer, int offset) {
+        byte[] name = new byte[buffer.get(offset + JournalFormat.NAME_LENGTH)];
+        for (int index = 0; index < name.length; index++) {
+            name[index] = buffer.get(offset + JournalFormat.NAME + index);
+        }
+        airplanesById.put(buffer.getInt(offset + JournalFormat.AIRPLANE_ID), AirplaneData.builder()
+                .airplaneName(new String(name, StandardCharsets.UTF_8))
+                .airplaneType(AirplaneData.AirplaneType.values()[buffer.get(offset + JournalFormat.AIRPLANE_TYPE)])
+                .landingType(AirplaneData.LandingType.values()[buffer.get(offset + JournalFormat.LANDING_TYPE)])
+                .build());
+    }
+
+    private void renderPending(PendingMessage pending, Appendable output) throws IOException {
+        if (pending == null) {
+            return;
+        }
+        output.append(dateFormat.format(new Date(pending.time))).append(' ')
+                .append(pending.render()).append(System.lineSeparator());
+    }
+
+    /**
+     * Message record with proposals read so far from its continuation records.
+     */
+    private class PendingMessage {
+        private final long time;
+        private final Message.MessageType type;
+        private final int airplaneId;
+        private final int controllerId;
+        private final int receiverControllerId;
+        private final int runwayIndex;
+        private final int[] proposals;
+        private int proposalsRead;
+
+        private PendingMessage(ByteBuffer buffer, int offset) {
+            time = buffer.getLong(offset + JournalFormat.TIME);
+            type = Message.MessageType.values()[buffer.get(offset + JournalFormat.MESSAGE_TYPE)];
+            airplaneId = buffer.getInt(offset + JournalFormat.AIRPLANE_ID);
+            controllerId = buffer.getInt(offset + JournalFormat.CONTROLLER_ID);
+            receiverControllerId = buffer.getInt(offset + JournalFormat.RECEIVER_CONTROLLER_ID);
+            runwayIndex = buffer.getInt(offset + JournalFormat.RUNWAY_INDEX);
+            proposals = new int[2 * buffer.getInt(offset + JournalFormat.PROPOSALS_COUNT)];
+            readProposals(buffer, offset, 0);
+        }
+
+        private void readContinuation(ByteBuffer buffer, int offset) {
+            readProposals(buffer, offset, JournalFormat.proposalRecord(proposalsRead));
+        }
+
+        /**
+         * Reads proposals stored in record with passed-in index relative to message record.
+         */
+        private void readProposals(ByteBuffer buffer, int offset, int record) {
+            while (2 * proposalsRead < proposals.length && JournalFormat.proposalRecord(proposalsRead) == record) {
+                int proposalOffset = offset + JournalFormat.proposalOffset(proposalsRead);
+                proposals[2 * proposalsRead] = buffer.getInt(proposalOffset);
+                proposals[2 * proposalsRead + 1] = buffer.getInt(proposalOffset + Integer.BYTES);
+                proposalsRead++;
+            }
+        }
+
+        private String render() {
+            CommunicatorParticipant airplane = () -> airplanesById.get(airplaneId).getAirplaneName();
+            CommunicatorParticipant controller = () -> TrafficController.participantName(controllerId);
+            Message.MessageBuilder builder = Message.builder().type(type).runwayIndex(runwayIndex);
+            switch (type) {
+                case LANDING_APPROVED:
+                case EMERGENCY_CALL_TO_LAND:
+                case READY_TO_LAND:
+                    return builder.sender(airplane).receiver(controller).build().toString();
+                case SYNCHRONISATION_BETWEEN_CONTROLLER:
+                    Message message = builder.sender(controller)
+                            .receiver(() -> TrafficController.participantName(receiverControllerId))
+                            .build();
+                    Map<Integer, LandingRequest> requests = new LinkedHashMap<>();
+                    for (int index = 0; index < proposals.length; index += 2) {
+                        requests.put(proposals[index], toLandingRequest(proposals[index + 1]));
+                    }
+                    return ControllerSynchMessage.builder().message(message).requestForProcessing(requests).build()
+                            .toString();
+                default:
+                    return builder.sender(controller).receiver(airplane).build().toString();
+            }
+        }
+
+        private LandingRequest toLandingRequest(int proposedAirplaneId) {
+            if (proposedAirplaneId == Message.UNDEFINED) {
+                return LandingRequest.ALREADY_IN_PROGRESS;
+            }
+            AirplaneData data = airplanesById.get(proposedAirplaneId);
+            return LandingRequest.builder()
+                    .airplaneId(proposedAirplaneId)
+                    .airplaneType(data.getAirplaneType())
+                    .landingType(data.getLandingType())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.atd.communication.journal;
+
+import com.atd.communication.data.CommunicationMessage;
+import com.atd.simulation.Airplane;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link EventJournal}, which logs human-readable text of each routed message, rendered synchronously on the message
+ * path. Used when no binary journal is configured.
+ */
+@Slf4j
+public class LogEventJournal implements EventJournal {
+
+    @Override
+    public void airplaneRegistered(Airplane airplane) {
+        // Registration is not logged, airplane name is part of each logged message.
+    }
+
+    @Override
+    public void messageRouted(CommunicationMessage message) {
+        log.info("{}", message);
+    }
+
+    @Override
+    public void close() {
+    }
+}
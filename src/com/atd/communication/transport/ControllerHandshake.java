@@ -0,0 +1,119 @@
+package com.atd.communication.transport;
+
+import com.atd.simulation.event.AcceleratedClock;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Handshake of process hosting airplanes with process hosting traffic controller, exchanged over blocking channel
+ * before {@link SocketTransport} is started on it. Process of airplanes passes clock of simulation, so both processes
+ * date requests and landings by the same time, and state of controller known by it, so controller restarted from
+ * checkpoint could catch up with simulation. Process of controller replies with ids of airplanes, which requests it
+ * restored, so only requests lost with previous process are sent again.
+ */
+@Builder
+@Getter
+public class ControllerHandshake {
+
+    private static final int SIZE = Long.BYTES + Double.BYTES + Long.BYTES + Integer.BYTES;
+
+    /**
+     * Origin of clock of simulation in wall-clock milliseconds.
+     */
+    private final long originMillis;
+    private final double timeScale;
+    /**
+     * Bitset of runways with landings ordered by controller, which are not approved yet.
+     */
+    private final long landingsInProgress;
+    /**
+     * Number of airplanes, which registrations are sent right after handshake, before any message referring them.
+     */
+    private final int airplanesCount;
+
+    /**
+     * Returns clock of the same origin and scale as clock of simulation.
+     */
+    public AcceleratedClock createClock() {
+        return new AcceleratedClock(timeScale, originMillis);
+    }
+
+    /**
+     * Writes handshake to passed-in blocking {@code channel}.
+     */
+    public void write(SocketChannel channel) {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+        buffer.putLong(originMillis).putDouble(timeScale).putLong(landingsInProgress).putInt(airplanesCount).flip();
+        writeFully(channel, buffer);
+    }
+
+    /**
+     * Reads handshake written by {@link #write} from passed-in blocking {@code channel}.
+     */
+    public static ControllerHandshake read(SocketChannel channel) {
+        ByteBuffer buffer = readFully(channel, SIZE);
+        return ControllerHandshake.builder()
+                .originMillis(buffer.getLong())
+                .timeScale(buffer.getDouble())
+                .landingsInProgress(buffer.getLong())
+                .airplanesCount(buffer.getInt())
+                .build();
+    }
+
+    /**
+     * Writes reply with passed-in ids of airplanes, which requests are restored by controller, to blocking
+     * {@code channel}.
+     */
+    public static void writeRestoredRequests(SocketChannel channel, int[] airplaneIds) {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * (airplaneIds.length + 1));
+        buffer.putInt(airplaneIds.length);
+        for (int airplaneId : airplaneIds) {
+            buffer.putInt(airplaneId);
+        }
+        buffer.flip();
+        writeFully(channel, buffer);
+    }
+
+    /**
+     * Reads ids of airplanes written by {@link #writeRestoredRequests} from blocking {@code channel}.
+     */
+    public static int[] readRestoredRequests(SocketChannel channel) {
+        int[] airplaneIds = new int[readFully(channel, Integer.BYTES).getInt()];
+        ByteBuffer buffer = readFully(channel, Integer.BYTES * airplaneIds.length);
+        for (int index = 0; index < airplaneIds.length; index++) {
+            airplaneIds[index] = buffer.getInt();
+        }
+        return airplaneIds;
+    }
+
+    private static void writeFully(SocketChannel channel, ByteBuffer buffer) {
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Sending of handshake failed", ex);
+        }
+    }
+
+    private static ByteBuffer readFully(SocketChannel channel, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Connection closed during handshake");
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Receiving of handshake failed", ex);
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
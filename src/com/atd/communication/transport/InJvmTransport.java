@@ -0,0 +1,23 @@
+package com.atd.communication.transport;
+
+import com.atd.communication.data.CommunicationMessage;
+import com.atd.communication.data.Message;
+import com.atd.simulation.Airplane;
+import com.atd.simulation.TrafficController;
+
+/**
+ * {@link MessageTransport} of participants hosted by the same process: message is put directly to queue of
+ * {@link TrafficController} or scheduled for processing by {@link Airplane}, without copying.
+ */
+public class InJvmTransport implements MessageTransport {
+
+    @Override
+    public void deliver(TrafficController controller, CommunicationMessage message) throws InterruptedException {
+        controller.send(message);
+    }
+
+    @Override
+    public void deliver(Airplane airplane, Message message) {
+        airplane.send(message);
+    }
+}
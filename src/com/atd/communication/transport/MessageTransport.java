@@ -0,0 +1,39 @@
+package com.atd.communication.transport;
+
+import com.atd.communication.data.CommunicationMessage;
+import com.atd.communication.data.Message;
+import com.atd.simulation.Airplane;
+import com.atd.simulation.TrafficController;
+
+import java.io.Closeable;
+
+/**
+ * Transport of messages routed by {@link com.atd.communication.Communicator} to their receivers. Participants of
+ * simulation are the same in any process, transport defines only whether receiver is handed message directly, like
+ * {@link InJvmTransport}, or message is sent to process hosting receiver, like {@link SocketTransport}.
+ */
+public interface MessageTransport extends Closeable {
+
+    /**
+     * Delivers passed-in {@code message} to {@link TrafficController}.
+     */
+    void deliver(TrafficController controller, CommunicationMessage message) throws InterruptedException;
+
+    /**
+     * Delivers passed-in {@code message} to {@link Airplane}.
+     */
+    void deliver(Airplane airplane, Message message) throws InterruptedException;
+
+    /**
+     * Notifies that passed-in {@link Airplane} is registered for communication, before it sends any message.
+     */
+    default void airplaneRegistered(Airplane airplane) {
+    }
+
+    /**
+     * Delivers messages accepted before and releases resources of transport.
+     */
+    @Override
+    default void close() {
+    }
+}
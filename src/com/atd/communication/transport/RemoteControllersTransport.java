@@ -0,0 +1,514 @@
+package com.atd.communication.transport;
+
+import com.atd.communication.data.CommunicationMessage;
+import com.atd.communication.data.Message;
+import com.atd.communication.wire.MessageFlyweight;
+import com.atd.config.AirplaneData;
+import com.atd.metrics.MetricsRegistry;
+import com.atd.simulation.Airplane;
+import com.atd.simulation.AtomicRunwayLedger;
+import com.atd.simulation.RunwayLedger;
+import com.atd.simulation.TrafficController;
+import com.atd.simulation.event.AcceleratedClock;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@link MessageTransport} of process hosting airplanes, whose traffic controllers are hosted each by own process
+ * connected by {@link SocketTransport}. Messages to traffic controller are sent over connection with its id, airplanes
+ * are registered in all processes. Proposals of traffic controllers are read by I/O thread of sender connection and
+ * relayed to receiver connection by single relay thread, so I/O thread never waits for room in batch of other
+ * connection, while proposals of each controller are still relayed in order they were sent.
+ * Runways are reserved in single {@link AtomicRunwayLedger} of this process, so controllers of different processes
+ * never hold the same runway: claims of controllers (see {@link RemoteRunwayLedger}) are answered by relay thread, and
+ * runway is released, when approval of its landing is passed to controller, which ordered it.
+ * If connection is lost, e.g. process of controller is killed, transport reconnects to the same address, where
+ * controller is expected to be restarted from its checkpoint. Messages to controller are dropped while it is down:
+ * requests not answered by landing order are sent again, approved landings are passed by handshake (see
+ * {@link ControllerHandshake}), and synchronisation rounds of other controllers are realigned with restarted one.
+ * Reservations of lost process are kept for its ordered landings, runways claimed by it without landing order are
+ * released on realignment.
+ */
+@Slf4j
+public class RemoteControllersTransport implements MessageTransport {
+
+    /**
+     * Wall-clock time, during which restarted controller is expected to listen again, after that simulation fails.
+     */
+    private static final long RECONNECT_TIMEOUT_IN_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long RECONNECT_PERIOD_IN_MILLIS = 100;
+
+    private final AcceleratedClock clock;
+    private final MetricsRegistry metrics;
+    private final AtomicRunwayLedger runwayLedger;
+    /**
+     * Connections to processes of traffic controllers indexed by their ids.
+     */
+    private final Connection[] connections;
+    /**
+     * Registered airplanes in order of their ids, which are registered again in restarted controller, guarded by
+     * itself.
+     */
+    private final List<Airplane> airplanes = new ArrayList<>();
+    private final ExecutorService relay = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "transport-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * Transports, which proposals are relayed to, per id of receiving controller. Following arrays are indexed by ids
+     * of sending and receiving controllers: numbers of relayed proposals, the last relayed proposals and numbers of
+     * proposals, which should be dropped, since they respond to rounds of controller lost with its process. All of
+     * them are accessed only by relay thread.
+     */
+    private final SocketTransport[] relayTransports;
+    private final long[][] relayedProposals;
+    private final CommunicationMessage[][] lastProposals;
+    private final int[][] droppedProposals;
+    private volatile TransportListener listener;
+    private volatile boolean closed;
+
+    /**
+     * Connects to traffic controllers at passed-in 'host:port' {@code addresses} indexed by their ids and passes them
+     * {@code clock} of simulation. Controllers reserve {@code runwaysCount} runways in ledger of this transport.
+     */
+    public RemoteControllersTransport(List<String> addresses, int runwaysCount, AcceleratedClock clock,
+                                      MetricsRegistry metrics) {
+        this.clock = clock;
+        this.metrics = metrics;
+        runwayLedger = new AtomicRunwayLedger(runwaysCount, metrics);
+        int controllersCount = addresses.size();
+        connections = new Connection[controllersCount];
+        relayTransports = new SocketTransport[controllersCount];
+        relayedProposals = new long[controllersCount][controllersCount];
+        lastProposals = new CommunicationMessage[controllersCount][controllersCount];
+        droppedProposals = new int[controllersCount][controllersCount];
+        try {
+            for (int id = 0; id < controllersCount; id++) {
+                connections[id] = new Connection(id, addresses.get(id), runwaysCount);
+                SocketTransport transport = connections[id].open(connect(addresses.get(id)));
+                connections[id].transport = transport;
+                relayTransports[id] = transport;
+            }
+        } catch (RuntimeException ex) {
+            close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Starts I/O threads of all connections, which pass read frames to {@code listener}. Listener is notified about
+     * loss of connection, only if controller is not restarted in time, since the others can't synchronise decisions
+     * without it.
+     */
+    public void start(TransportListener listener) {
+        this.listener = listener;
+        for (Connection connection : connections) {
+            connection.transport.start(connection);
+        }
+    }
+
+    @Override
+    public void deliver(TrafficController controller, CommunicationMessage message) throws InterruptedException {
+        if (message.getMessage().getType() != Message.MessageType.SYNCHRONISATION_BETWEEN_CONTROLLER) {
+            connections[controller.getId()].deliver(controller, message);
+            return;
+        }
+        try {
+            relay.execute(() -> relay(controller, message));
+        } catch (RejectedExecutionException ex) {
+            // Transport is closed, since simulation is completed, so proposals have nobody to serve.
+            log.debug("Proposals to traffic controller {} are dropped after close", controller.getId());
+        }
+    }
+
+    @Override
+    public void deliver(Airplane airplane, Message message) {
+        if (message.getType() == Message.MessageType.LAND_ON_A_RUNWAY) {
+            Connection connection = connections[message.getControllerId()];
+            connection.landingsInProgress.accumulateAndGet(1L << message.getRunwayIndex(), (runways, runway) ->
+                    runways | runway);
+            connection.pendingRequests.remove(airplane.getId());
+        }
+        airplane.send(message);
+    }
+
+    @Override
+    public void airplaneRegistered(Airplane airplane) {
+        synchronized (airplanes) {
+            airplanes.add(airplane);
+            for (Connection connection : connections) {
+                connection.register(airplane);
+            }
+        }
+    }
+
+    /**
+     * Relays proposals to receiving traffic controller, unless they respond to round of its lost process. Invoked by
+     * relay thread.
+     */
+    private void relay(TrafficController receiver, CommunicationMessage message) {
+        int senderId = message.getMessage().getControllerId();
+        int receiverId = receiver.getId();
+        relayedProposals[senderId][receiverId]++;
+        lastProposals[senderId][receiverId] = message;
+        if (droppedProposals[senderId][receiverId] > 0) {
+            droppedProposals[senderId][receiverId]--;
+            return;
+        }
+        try {
+            relayTransports[receiverId].deliver(receiver, message);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IllegalStateException ex) {
+            // Controller is down, its restarted process is realigned by the last proposals.
+            log.debug("Proposals to traffic controller {} are dropped while it is down", receiverId);
+        }
+    }
+
+    /**
+     * Claims runway with passed-in {@code runwayIndex} for traffic controller with {@code controllerId} and answers it
+     * with granted reservation. Invoked by relay thread, so answer is sent to current process of controller only, if
+     * claim is sent by it.
+     */
+    private void claim(int controllerId, int runwayIndex) {
+        long reservation = runwayLedger.claim(runwayIndex, controllerId);
+        if (reservation == RunwayLedger.NO_RESERVATION) {
+            log.warn("Claim of runway {} by traffic controller {} is refused, since it is held by controller {}",
+                    runwayIndex, controllerId, runwayLedger.getOwner(runwayIndex));
+        } else {
+            connections[controllerId].reservations.set(runwayIndex, reservation);
+        }
+        try {
+            relayTransports[controllerId].answerClaim(controllerId, runwayIndex, reservation);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IllegalStateException ex) {
+            // Controller is down, runway without landing order is released on realignment with restarted process.
+            log.debug("Answer to claim of traffic controller {} is dropped while it is down", controllerId);
+        }
+    }
+
+    /**
+     * Relays following proposals to passed-in {@code restarted} connection to controller with passed-in {@code id}
+     * and realigns synchronisation rounds with it: restarted controller receives the last proposals of each controller,
+     * which still waits for its response, and responses to rounds of its lost process are dropped. Runways claimed by
+     * lost process, which didn't order their landings, are released. Invoked by relay thread, before any proposals or
+     * claims of restarted controller are read.
+     */
+    private void realign(int id, SocketTransport restarted) {
+        relayTransports[id] = restarted;
+        connections[id].releaseUnorderedRunways();
+        for (int otherId = 0; otherId < connections.length; otherId++) {
+            if (otherId == id) {
+                continue;
+            }
+            long balance = relayedProposals[otherId][id] - relayedProposals[id][otherId];
+            droppedProposals[otherId][id] = (int) Math.max(0, -balance);
+            try {
+                for (; balance > 0; balance--) {
+                    CommunicationMessage proposals = lastProposals[otherId][id];
+                    restarted.deliver((TrafficController) proposals.getMessage().getReceiver(), proposals);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IllegalStateException ex) {
+                log.debug("Proposals to traffic controller {} are dropped while it is down", id);
+            }
+        }
+    }
+
+    /**
+     * Relays proposals accepted before, then closes all connections.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        relay.shutdown();
+        try {
+            relay.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (Connection connection : connections) {
+                if (connection != null) {
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns channel connected to passed-in {@code address} in 'host:port' form.
+     */
+    private static SocketChannel connect(String address) {
+        int separator = address.lastIndexOf(':');
+        try {
+            return SocketChannel.open(new InetSocketAddress(address.substring(0, separator),
+                    Integer.parseInt(address.substring(separator + 1))));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Connection to traffic controller failed: " + address, ex);
+        }
+    }
+
+    /**
+     * Connection to process of single traffic controller, which is replaced, when controller is restarted.
+     */
+    private class Connection implements TransportListener {
+
+        private final int controllerId;
+        private final String address;
+        /**
+         * Transport of current process of controller, null while it is down, guarded by this connection.
+         */
+        private SocketTransport transport;
+        /**
+         * Bitset of runways with landings ordered by controller, which are not approved yet.
+         */
+        private final AtomicLong landingsInProgress = new AtomicLong();
+        /**
+         * Requests sent to controller, which airplanes are not ordered to land yet, per airplane id. Updated under
+         * lock of this connection, when request is sent.
+         */
+        private final Map<Integer, CommunicationMessage> pendingRequests = new ConcurrentHashMap<>();
+        /**
+         * Reservations granted to controller per runway index, till approval of landing is passed to it.
+         */
+        private final AtomicLongArray reservations;
+        /**
+         * Set when controller is terminated, so it is not reconnected after its process exits.
+         */
+        private volatile boolean terminated;
+
+        Connection(int controllerId, String address, int runwaysCount) {
+            this.controllerId = controllerId;
+            this.address = address;
+            reservations = new AtomicLongArray(runwaysCount);
+        }
+
+        /**
+         * Passes handshake to process of controller started for new simulation over passed-in {@code channel} and
+         * returns transport over it.
+         */
+        SocketTransport open(SocketChannel channel) {
+            return open(channel, 0, new int[1][]);
+        }
+
+        /**
+         * Passes handshake to process of controller over passed-in {@code channel} and returns transport over it. Ids
+         * of airplanes, which requests are restored by controller, are passed as the only element of
+         * {@code restoredRequests}.
+         */
+        private SocketTransport open(SocketChannel channel, int airplanesCount, int[][] restoredRequests) {
+            try {
+                ControllerHandshake.builder()
+                        .originMillis(clock.getOriginMillis())
+                        .timeScale(clock.getTimeScale())
+                        .landingsInProgress(landingsInProgress.get())
+                        .airplanesCount(airplanesCount)
+                        .build()
+                        .write(channel);
+                restoredRequests[0] = ControllerHandshake.readRestoredRequests(channel);
+                return new SocketTransport(channel, Message.UNDEFINED, metrics);
+            } catch (RuntimeException ex) {
+                try {
+                    channel.close();
+                } catch (IOException closeEx) {
+                    ex.addSuppressed(closeEx);
+                }
+                throw ex;
+            }
+        }
+
+        synchronized void deliver(TrafficController controller,
+                                  CommunicationMessage message) throws InterruptedException {
+            Message.MessageType type = message.getMessage().getType();
+            if (type == Message.MessageType.READY_TO_LAND || type == Message.MessageType.EMERGENCY_CALL_TO_LAND) {
+                pendingRequests.put(message.getMessage().getAirplaneId(), message);
+            } else if (type == Message.MessageType.LANDING_APPROVED) {
+                int runwayIndex = message.getMessage().getRunwayIndex();
+                landingsInProgress.accumulateAndGet(1L << runwayIndex, (runways, approved) -> runways & ~approved);
+                if (!runwayLedger.release(runwayIndex, reservations.getAndSet(runwayIndex,
+                        RunwayLedger.NO_RESERVATION))) {
+                    log.warn("Traffic controller {} didn't hold reservation of runway {}", controllerId, runwayIndex);
+                }
+            } else if (type == Message.MessageType.TERMINATED) {
+                terminated = true;
+            }
+            if (transport == null) {
+                // Controller is down, request is sent again and approval is passed by handshake after restart.
+                return;
+            }
+            try {
+                transport.deliver(controller, message);
+            } catch (IllegalStateException ex) {
+                log.debug("Message to traffic controller {} is dropped, since connection is lost", controllerId);
+            }
+        }
+
+        synchronized void register(Airplane airplane) {
+            if (transport == null) {
+                return;
+            }
+            try {
+                transport.airplaneRegistered(airplane);
+            } catch (IllegalStateException ex) {
+                log.debug("Airplane is registered by traffic controller {} after restart", controllerId);
+            }
+        }
+
+        @Override
+        public void airplaneRegistered(int airplaneId, AirplaneData data) {
+            throw new IllegalStateException("Airplanes are not expected from traffic controller");
+        }
+
+        @Override
+        public void runwayClaimed(int claimingControllerId, int runwayIndex) {
+            try {
+                relay.execute(() -> claim(controllerId, runwayIndex));
+            } catch (RejectedExecutionException ex) {
+                log.debug("Claim of traffic controller {} is dropped after close", controllerId);
+            }
+        }
+
+        @Override
+        public void messageReceived(MessageFlyweight flyweight) throws InterruptedException {
+            listener.messageReceived(flyweight);
+        }
+
+        @Override
+        public void disconnected() {
+            if (closed || terminated) {
+                return;
+            }
+            log.warn("Connection to traffic controller {} is lost, waiting for its restart", controllerId);
+            SocketTransport lost;
+            synchronized (this) {
+                lost = transport;
+                transport = null;
+            }
+            Thread reconnection = new Thread(() -> {
+                lost.close();
+                reconnect();
+            }, "transport-reconnect-" + controllerId);
+            reconnection.setDaemon(true);
+            reconnection.start();
+        }
+
+        /**
+         * Connects to restarted process of controller, registers all airplanes and sends again requests, which it
+         * didn't restore. Notifies listener about loss of connection, if controller is not restarted in time.
+         */
+        private void reconnect() {
+            long deadline = System.currentTimeMillis() + RECONNECT_TIMEOUT_IN_MILLIS;
+            while (!closed && !terminated) {
+                SocketChannel channel;
+                try {
+                    channel = connect(address);
+                } catch (UncheckedIOException ex) {
+                    if (System.currentTimeMillis() > deadline) {
+                        log.error("Traffic controller {} is not restarted", controllerId, ex);
+                        listener.disconnected();
+                        return;
+                    }
+                    try {
+                        Thread.sleep(RECONNECT_PERIOD_IN_MILLIS);
+                    } catch (InterruptedException interruptedEx) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    resume(channel);
+                    return;
+                } catch (RuntimeException ex) {
+                    log.warn("Reconnection to traffic controller {} failed", controllerId, ex);
+                }
+            }
+        }
+
+        private void resume(SocketChannel channel) {
+            synchronized (airplanes) {
+                int[][] restoredRequests = new int[1][];
+                SocketTransport restarted = open(channel, airplanes.size(), restoredRequests);
+                relay.execute(() -> realign(controllerId, restarted));
+                restarted.start(this);
+                for (Airplane airplane : airplanes) {
+                    restarted.airplaneRegistered(airplane);
+                }
+                synchronized (this) {
+                    transport = restarted;
+                    resendRequests(restoredRequests[0]);
+                }
+            }
+            log.info("Traffic controller {} is restarted", controllerId);
+        }
+
+        /**
+         * Sends again pending requests, which are not restored by controller, emergency ones first. Restored requests
+         * stay pending till their landings are ordered, so they are sent again, if controller is lost again before
+         * its next checkpoint keeps them. Invoked under lock of this connection.
+         */
+        private void resendRequests(int[] restoredRequests) {
+            Map<Integer, CommunicationMessage> requestsToResend = new HashMap<>(pendingRequests);
+            for (int airplaneId : restoredRequests) {
+                requestsToResend.remove(airplaneId);
+            }
+            List<CommunicationMessage> requests = new ArrayList<>(requestsToResend.values());
+            requests.sort(Comparator.comparing((CommunicationMessage request) -> request.getMessage().getType()
+                    != Message.MessageType.EMERGENCY_CALL_TO_LAND)
+                    .thenComparingInt(request -> request.getMessage().getAirplaneId()));
+            try {
+                for (CommunicationMessage request : requests) {
+                    transport.deliver((TrafficController) request.getMessage().getReceiver(), request);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Releases runways reserved for controller, which landings are not ordered, since its process was lost
+         * between claim and landing order.
+         */
+        void releaseUnorderedRunways() {
+            long orderedRunways = landingsInProgress.get();
+            for (int runwayIndex = 0; runwayIndex < reservations.length(); runwayIndex++) {
+                long reservation = reservations.get(runwayIndex);
+                if (reservation != RunwayLedger.NO_RESERVATION && (orderedRunways & 1L << runwayIndex) == 0 &&
+                        reservations.compareAndSet(runwayIndex, reservation, RunwayLedger.NO_RESERVATION)) {
+                    log.info("Runway {} claimed by lost process of traffic controller {} is released", runwayIndex,
+                            controllerId);
+                    runwayLedger.release(runwayIndex, reservation);
+                }
+            }
+        }
+
+        void close() {
+            SocketTransport closing;
+            synchronized (this) {
+                closing = transport;
+            }
+            if (closing != null) {
+                closing.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.atd.communication.transport;
+
+import com.atd.simulation.RunwayLedger;
+
+/**
+ * {@link RunwayLedger} of traffic controller hosted by {@link com.atd.simulation.ControllerHost}, which claims runways
+ * in the single ledger of process hosting airplanes (see {@link RemoteControllersTransport}), so controllers of
+ * different processes never hold the same runway. Each claim is a round trip over {@link SocketTransport}.
+ * Process of airplanes releases runway, when it passes approval of landing to controller, and keeps reservations of
+ * controller, while its process is restarted, so release and reinstating of reservation are done there.
+ */
+public class RemoteRunwayLedger implements RunwayLedger {
+
+    private final SocketTransport transport;
+
+    public RemoteRunwayLedger(SocketTransport transport) {
+        this.transport = transport;
+    }
+
+    @Override
+    public long claim(int runwayIndex, int ownerId) throws InterruptedException {
+        return transport.claim(runwayIndex, ownerId);
+    }
+
+    /**
+     * Returns 'true', since runway is released by process of airplanes, when it passes approval of landing.
+     */
+    @Override
+    public boolean release(int runwayIndex, long reservation) {
+        return true;
+    }
+
+    /**
+     * Returns 'true', since process of airplanes keeps reservations of controller, till their landings are approved.
+     */
+    @Override
+    public boolean reinstate(int runwayIndex, long reservation) {
+        return true;
+    }
+
+    /**
+     * Returns {@link #NO_OWNER}, since owners are known only by process of airplanes, which logs refused claims.
+     */
+    @Override
+    public int getOwner(int runwayIndex) {
+        return NO_OWNER;
+    }
+}
@@ -0,0 +1,406 @@
+package com.atd.communication.transport;
+
+import com.atd.communication.data.CommunicationMessage;
+import com.atd.communication.data.Message;
+import com.atd.communication.wire.MessageEncoder;
+import com.atd.communication.wire.MessageFlyweight;
+import com.atd.metrics.LatencyHistogram;
+import com.atd.metrics.MetricsRegistry;
+import com.atd.simulation.Airplane;
+import com.atd.simulation.RunwayLedger;
+import com.atd.simulation.TrafficController;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link MessageTransport} between two processes connected by socket channel, e.g. over loopback: one process hosts
+ * single traffic controller, other one hosts airplanes and relays proposals between controllers of all processes
+ * (see {@link RemoteControllersTransport}). Messages to participants of other process are encoded to wire form
+ * (see {@link MessageEncoder}), messages to local participants are delivered directly. Frames read from channel are
+ * passed to {@link TransportListener}, which delivers them to local participants.
+ * Before transport is started, processes exchange {@link ControllerHandshake} over the channel.
+ * Channel is non-blocking and served by single I/O thread. Senders encode frames under lock into pending batch buffer
+ * and wake up I/O thread only when batch becomes non-empty, while I/O thread writes previous batch. So idle transport
+ * flushes each message at once, and under load all frames encoded during previous write are flushed by single write:
+ * size of batch adapts to load without timers. Senders wait, while pending batch is full.
+ * Traffic controller claims runways in ledger of process hosting airplanes by round trip of claim frame (see
+ * {@link #claim(int, int)}), which is answered by that process (see {@link #answerClaim(int, int, long)}).
+ */
+@Slf4j
+public class SocketTransport implements MessageTransport {
+
+    /**
+     * Capacity of batch buffers, each frame must fit into it.
+     */
+    private static final int BATCH_CAPACITY = 64 * 1024;
+    private static final int INITIAL_AIRPLANES_CAPACITY = 1024;
+
+    private final SocketChannel channel;
+    /**
+     * Id of traffic controller hosted by this process, or {@link Message#UNDEFINED} if this process hosts airplanes
+     * and all traffic controllers are remote.
+     */
+    private final int localControllerId;
+    private final Selector selector;
+    private final Object lock = new Object();
+    /**
+     * Batch filled by senders, guarded by {@link #lock}.
+     */
+    private ByteBuffer pending;
+    /**
+     * Batch written by I/O thread, swapped with {@link #pending} when written completely.
+     */
+    private ByteBuffer writing;
+    /**
+     * Buffer of bytes read by I/O thread, each valid frame fits into it.
+     */
+    private final ByteBuffer reading;
+    private final MessageFlyweight flyweight = new MessageFlyweight();
+    /**
+     * Wall-clock times of sent requests for landing per airplane id, which are not responded yet, zero if there is no
+     * such request, guarded by {@link #lock}. Used only if this process hosts airplanes.
+     */
+    private long[] requestTimes;
+    /**
+     * Reservation answered to the last claim of runway, guarded by {@link #lock}. Used only if this process hosts
+     * traffic controller.
+     */
+    private long claimAnswer;
+    private boolean claimAnswered;
+    /**
+     * Set when transport is closed or connection is lost, guarded by {@link #lock}.
+     */
+    private boolean closed;
+    private Thread ioThread;
+
+    private final LongAdder sentMessages;
+    private final LongAdder receivedMessages;
+    private final LongAdder writes;
+    private final LatencyHistogram requestRoundTrip;
+
+    /**
+     * Creates transport over connected {@code channel} of process hosting traffic controller with passed-in
+     * {@code localControllerId}, or of process hosting airplanes if it is {@link Message#UNDEFINED}.
+     */
+    public SocketTransport(SocketChannel channel, int localControllerId, MetricsRegistry metrics) {
+        this.channel = channel;
+        this.localControllerId = localControllerId;
+        try {
+            channel.configureBlocking(false);
+            // Frames are batched by transport, so Nagle's delay would only add latency.
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            selector = Selector.open();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Configuration of transport channel failed", ex);
+        }
+        pending = ByteBuffer.allocateDirect(BATCH_CAPACITY);
+        writing = ByteBuffer.allocateDirect(BATCH_CAPACITY);
+        writing.flip();
+        reading = ByteBuffer.allocateDirect(BATCH_CAPACITY);
+        requestTimes = new long[hostsAirplanes() ? INITIAL_AIRPLANES_CAPACITY : 0];
+        sentMessages = metrics.counter(MetricsRegistry.TRANSPORT_SENT_MESSAGES);
+        receivedMessages = metrics.counter(MetricsRegistry.TRANSPORT_RECEIVED_MESSAGES);
+        writes = metrics.counter(MetricsRegistry.TRANSPORT_WRITES);
+        requestRoundTrip = metrics.histogram(MetricsRegistry.TRANSPORT_REQUEST_ROUND_TRIP);
+    }
+
+    /**
+     * Starts I/O thread, which writes sent frames and passes read frames to {@code listener}.
+     */
+    public void start(TransportListener listener) {
+        ioThread = new Thread(() -> run(listener), "transport-io");
+        ioThread.setDaemon(true);
+        ioThread.start();
+    }
+
+    @Override
+    public void deliver(TrafficController controller, CommunicationMessage message) throws InterruptedException {
+        if (controller.getId() == localControllerId) {
+            controller.send(message);
+        } else {
+            send(message);
+        }
+    }
+
+    @Override
+    public void deliver(Airplane airplane, Message message) throws InterruptedException {
+        if (hostsAirplanes()) {
+            airplane.send(message);
+        } else {
+            send(message);
+        }
+    }
+
+    @Override
+    public void airplaneRegistered(Airplane airplane) {
+        if (!hostsAirplanes()) {
+            return;
+        }
+        int length = MessageEncoder.encodedLength(airplane.getData());
+        synchronized (lock) {
+            try {
+                int offset = reserve(length);
+                MessageEncoder.encodeAirplane(airplane.getId(), airplane.getData(), pending, offset);
+                commit(offset, length);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Registration of airplane was interrupted", ex);
+            }
+        }
+    }
+
+    /**
+     * Encodes passed-in {@code message} to pending batch, waits while there is no room for it.
+     */
+    private void send(CommunicationMessage message) throws InterruptedException {
+        int length = MessageEncoder.encodedLength(message);
+        synchronized (lock) {
+            int offset = reserve(length);
+            MessageEncoder.encode(message, pending, offset);
+            Message.MessageType type = message.getMessage().getType();
+            if (type == Message.MessageType.READY_TO_LAND || type == Message.MessageType.EMERGENCY_CALL_TO_LAND) {
+                int airplaneId = message.getMessage().getAirplaneId();
+                if (airplaneId >= requestTimes.length) {
+                    requestTimes = Arrays.copyOf(requestTimes, Math.max(requestTimes.length * 2, airplaneId + 1));
+                }
+                requestTimes[airplaneId] = System.nanoTime();
+            }
+            sentMessages.increment();
+            commit(offset, length);
+        }
+    }
+
+    /**
+     * Claims runway with passed-in {@code runwayIndex} for local traffic controller in ledger of process hosting
+     * airplanes, waits for answer and returns granted reservation, or {@link RunwayLedger#NO_RESERVATION} if runway is
+     * held by other controller or transport is closed. Invoked only by thread of local controller, so there is at most
+     * single claim in flight.
+     */
+    public long claim(int runwayIndex, int controllerId) throws InterruptedException {
+        synchronized (lock) {
+            claimAnswered = false;
+            int offset = reserve(MessageEncoder.CLAIM_LENGTH);
+            MessageEncoder.encodeClaim(controllerId, runwayIndex, RunwayLedger.NO_RESERVATION, pending, offset);
+            commit(offset, MessageEncoder.CLAIM_LENGTH);
+            while (!claimAnswered && !closed) {
+                lock.wait();
+            }
+            return claimAnswered ? claimAnswer : RunwayLedger.NO_RESERVATION;
+        }
+    }
+
+    /**
+     * Answers claim of runway with passed-in {@code runwayIndex} by traffic controller with {@code controllerId} with
+     * {@code reservation} granted by ledger of this process. Must not be invoked by I/O thread, since it waits for room
+     * in pending batch.
+     */
+    public void answerClaim(int controllerId, int runwayIndex, long reservation) throws InterruptedException {
+        synchronized (lock) {
+            int offset = reserve(MessageEncoder.CLAIM_LENGTH);
+            MessageEncoder.encodeClaim(controllerId, runwayIndex, reservation, pending, offset);
+            commit(offset, MessageEncoder.CLAIM_LENGTH);
+        }
+    }
+
+    private boolean hostsAirplanes() {
+        return localControllerId == Message.UNDEFINED;
+    }
+
+    /**
+     * Returns offset in pending batch, at which frame of passed-in {@code length} is encoded, waits while there is no
+     * room for it. Invoked under {@link #lock}.
+     */
+    private int reserve(int length) throws InterruptedException {
+        if (length > BATCH_CAPACITY) {
+            throw new IllegalArgumentException("Frame is longer than batch: " + length);
+        }
+        while (!closed && pending.remaining() < length) {
+            lock.wait();
+        }
+        if (closed) {
+            throw new IllegalStateException("Transport is closed");
+        }
+        return pending.position();
+    }
+
+    /**
+     * Appends frame encoded at {@code offset} to pending batch, wakes up I/O thread, if batch was empty. Otherwise
+     * I/O thread is already going to write the batch. Invoked under {@link #lock}.
+     */
+    private void commit(int offset, int length) {
+        pending.position(offset + length);
+        if (offset == 0) {
+            selector.wakeup();
+        }
+    }
+
+    private void run(TransportListener listener) {
+        boolean disconnected = false;
+        try {
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            while (true) {
+                selector.select();
+                if (selector.selectedKeys().remove(key) && key.isReadable() && !read(listener)) {
+                    disconnected = true;
+                    break;
+                }
+                if (flush(key) && isClosed()) {
+                    break;
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.error("Transport failed", ex);
+            disconnected = true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (lock) {
+                closed = true;
+                lock.notifyAll();
+            }
+        }
+        if (disconnected) {
+            listener.disconnected();
+        }
+    }
+
+    private boolean isClosed() {
+        synchronized (lock) {
+            return closed;
+        }
+    }
+
+    /**
+     * Writes batches till all of them are written or channel can't accept more bytes, returns 'true' if nothing is
+     * left to write. Pending batch is taken for writing only when previous one is written completely.
+     */
+    private boolean flush(SelectionKey key) throws IOException {
+        while (true) {
+            if (!writing.hasRemaining()) {
+                synchronized (lock) {
+                    if (pending.position() == 0) {
+                        key.interestOps(SelectionKey.OP_READ);
+                        return true;
+                    }
+                    ByteBuffer batch = pending;
+                    pending = writing;
+                    writing = batch;
+                    pending.clear();
+                    lock.notifyAll();
+                }
+                writing.flip();
+            }
+            channel.write(writing);
+            writes.increment();
+            if (writing.hasRemaining()) {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Reads available bytes and passes all complete frames to {@code listener}, returns 'false' if channel was closed
+     * by other process. Closes channel and throws {@link IOException}, if length prefix of frame is shorter than the
+     * shortest frame or longer than batch, since the rest of the stream can't be split into frames then.
+     */
+    private boolean read(TransportListener listener) throws IOException, InterruptedException {
+        if (channel.read(reading) < 0) {
+            return false;
+        }
+        reading.flip();
+        while (reading.remaining() >= Integer.BYTES) {
+            int length = reading.getInt(reading.position());
+            if (length < MessageFlyweight.MIN_LENGTH || length > BATCH_CAPACITY) {
+                channel.close();
+                throw new IOException("Invalid length of received frame: " + length);
+            }
+            if (reading.remaining() < length) {
+                break;
+            }
+            dispatch(flyweight.wrap(reading, reading.position()), listener);
+            reading.position(reading.position() + length);
+        }
+        reading.compact();
+        return true;
+    }
+
+    private void dispatch(MessageFlyweight frame, TransportListener listener) throws InterruptedException {
+        if (frame.isAirplane()) {
+            listener.airplaneRegistered(frame.getAirplaneId(), frame.getAirplaneData());
+            return;
+        }
+        if (frame.isClaim()) {
+            if (hostsAirplanes()) {
+                listener.runwayClaimed(frame.getControllerId(), frame.getClaimRunwayIndex());
+            } else {
+                synchronized (lock) {
+                    claimAnswer = frame.getClaimReservation();
+                    claimAnswered = true;
+                    lock.notifyAll();
+                }
+            }
+            return;
+        }
+        receivedMessages.increment();
+        if (hostsAirplanes()) {
+            recordRoundTrip(frame);
+        }
+        listener.messageReceived(frame);
+    }
+
+    /**
+     * Records time since request for landing of airplane, if passed-in {@code frame} is the first response to it.
+     */
+    private void recordRoundTrip(MessageFlyweight frame) {
+        Message.MessageType type = frame.getType();
+        if (type != Message.MessageType.WAITING_AROUND && type != Message.MessageType.LAND_ON_A_RUNWAY) {
+            return;
+        }
+        long requestTime;
+        synchronized (lock) {
+            int airplaneId = frame.getAirplaneId();
+            if (airplaneId >= requestTimes.length || requestTimes[airplaneId] == 0) {
+                return;
+            }
+            requestTime = requestTimes[airplaneId];
+            requestTimes[airplaneId] = 0;
+        }
+        requestRoundTrip.record(System.nanoTime() - requestTime);
+    }
+
+    /**
+     * Writes all accepted frames, then closes connection. Senders waiting for room in batch fail.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        selector.wakeup();
+        try {
+            if (ioThread != null) {
+                ioThread.join();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                selector.close();
+                channel.close();
+            } catch (IOException ex) {
+                log.warn("Closing of transport channel failed", ex);
+            }
+        }
+    }
+}
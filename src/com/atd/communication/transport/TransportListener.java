@@ -0,0 +1,35 @@
+package com.atd.communication.transport;
+
+import com.atd.communication.wire.MessageFlyweight;
+import com.atd.config.AirplaneData;
+
+/**
+ * Listener of frames read by {@link SocketTransport}, invoked by its I/O thread, so it should hand messages over to
+ * local participants without blocking.
+ */
+public interface TransportListener {
+
+    /**
+     * Invoked when airplane with passed-in {@code airplaneId} and {@code data} is registered by other process.
+     */
+    void airplaneRegistered(int airplaneId, AirplaneData data);
+
+    /**
+     * Invoked with {@code flyweight} wrapped over received message, which is valid only till return.
+     */
+    void messageReceived(MessageFlyweight flyweight) throws InterruptedException;
+
+    /**
+     * Invoked when traffic controller with passed-in {@code controllerId} claims runway with {@code runwayIndex}, it
+     * must be answered by {@link SocketTransport#answerClaim(int, int, long)} from other thread. Claims are sent only
+     * to process hosting airplanes.
+     */
+    default void runwayClaimed(int controllerId, int runwayIndex) {
+        throw new IllegalStateException("Claims of runways are not expected by this process");
+    }
+
+    /**
+     * Invoked when connection is closed by other process or failed.
+     */
+    void disconnected();
+}
@@ -0,0 +1,152 @@
+package com.atd.communication.wire;
+
+import com.atd.communication.data.CommunicationMessage;
+import com.atd.communication.data.ControllerSynchMessage;
+import com.atd.communication.data.Message;
+import com.atd.config.AirplaneData;
+import com.atd.simulation.TrafficController;
+import com.atd.simulation.data.LandingRequest;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Encoder of {@link CommunicationMessage}s of all {@link Message.MessageType}s to binary wire form, see
+ * {@link WireFormat}. Fields are put by absolute index directly to buffer of caller, e.g. direct buffer of channel, so
+ * there are no intermediate arrays, position of buffer is not changed and nothing is allocated, except iterator of
+ * proposals. Registration of airplane is encoded with its data, once per airplane, so it may allocate.
+ */
+public final class MessageEncoder {
+
+    /**
+     * Number of bytes of wire form of claim of runway and of answer to it.
+     */
+    public static final int CLAIM_LENGTH = WireFormat.CLAIM_SIZE;
+
+    private MessageEncoder() {
+    }
+
+    /**
+     * Returns number of bytes of wire form of passed-in {@code message}.
+     */
+    public static int encodedLength(CommunicationMessage message) {
+        Map<Integer, LandingRequest> proposals = getProposals(message);
+        return WireFormat.proposalOffset(proposals == null ? 0 : proposals.size());
+    }
+
+    /**
+     * Returns number of bytes of wire form of registration of airplane with passed-in {@code data}.
+     */
+    public static int encodedLength(AirplaneData data) {
+        return WireFormat.NAME + data.getAirplaneName().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Writes passed-in {@code message} to {@code buffer} starting at {@code offset}, returns number of written bytes.
+     * Throws {@link BufferOverflowException} if message doesn't fit between offset and limit of buffer.
+     */
+    public static int encode(CommunicationMessage message, ByteBuffer buffer, int offset) {
+        Message header = message.getMessage();
+        Map<Integer, LandingRequest> proposals = getProposals(message);
+        int proposalsCount = proposals == null ? 0 : proposals.size();
+        if (proposalsCount > WireFormat.MAX_COUNT) {
+            throw new IllegalArgumentException("Too many proposals to encode: " + proposalsCount);
+        }
+        int length = WireFormat.proposalOffset(proposalsCount);
+        if (offset < 0 || buffer.limit() - offset < length) {
+            throw new BufferOverflowException();
+        }
+        buffer.putInt(offset + WireFormat.LENGTH, length);
+        buffer.put(offset + WireFormat.KIND, WireFormat.MESSAGE_KIND);
+        buffer.put(offset + WireFormat.MESSAGE_TYPE, (byte) header.getType().ordinal());
+        buffer.putShort(offset + WireFormat.PROPOSALS_COUNT, (short) proposalsCount);
+        buffer.putInt(offset + WireFormat.AIRPLANE_ID, header.getAirplaneId());
+        buffer.putInt(offset + WireFormat.CONTROLLER_ID, header.getControllerId());
+        buffer.putInt(offset + WireFormat.RECEIVER_CONTROLLER_ID, proposals == null ?
+                Message.UNDEFINED : ((TrafficController) header.getReceiver()).getId());
+        buffer.putInt(offset + WireFormat.RUNWAY_INDEX, header.getRunwayIndex());
+        if (proposals != null) {
+            int proposalOffset = offset + WireFormat.HEADER_SIZE;
+            for (Map.Entry<Integer, LandingRequest> proposal : proposals.entrySet()) {
+                encodeProposal(proposal.getKey(), proposal.getValue(), buffer, proposalOffset);
+                proposalOffset += WireFormat.PROPOSAL_SIZE;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Writes registration of airplane with passed-in {@code airplaneId} and {@code data} to {@code buffer} starting at
+     * {@code offset}, returns number of written bytes. Throws {@link BufferOverflowException} if registration doesn't
+     * fit between offset and limit of buffer.
+     */
+    public static int encodeAirplane(int airplaneId, AirplaneData data, ByteBuffer buffer, int offset) {
+        byte[] name = data.getAirplaneName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > WireFormat.MAX_COUNT) {
+            throw new IllegalArgumentException("Too long name of airplane to encode: " + data.getAirplaneName());
+        }
+        int length = WireFormat.NAME + name.length;
+        if (offset < 0 || buffer.limit() - offset < length) {
+            throw new BufferOverflowException();
+        }
+        buffer.putInt(offset + WireFormat.LENGTH, length);
+        buffer.put(offset + WireFormat.KIND, WireFormat.AIRPLANE_KIND);
+        buffer.put(offset + WireFormat.KIND + 1, (byte) 0);
+        buffer.putShort(offset + WireFormat.NAME_LENGTH, (short) name.length);
+        buffer.putInt(offset + WireFormat.AIRPLANE_ID, airplaneId);
+        buffer.put(offset + WireFormat.AIRPLANE_TYPE, (byte) data.getAirplaneType().ordinal());
+        buffer.put(offset + WireFormat.LANDING_TYPE, (byte) data.getLandingType().ordinal());
+        buffer.putShort(offset + WireFormat.LANDING_TYPE + 1, (short) 0);
+        buffer.putInt(offset + WireFormat.NO_OF_SECONDS,
+                data.getNoOfSeconds() == null ? Message.UNDEFINED : data.getNoOfSeconds());
+        for (int index = 0; index < name.length; index++) {
+            buffer.put(offset + WireFormat.NAME + index, name[index]);
+        }
+        return length;
+    }
+
+    /**
+     * Writes claim of runway with passed-in {@code runwayIndex} by traffic controller with {@code controllerId}, or
+     * answer to it with granted {@code reservation}, to {@code buffer} starting at {@code offset}, returns number of
+     * written bytes. Throws {@link BufferOverflowException} if claim doesn't fit between offset and limit of buffer.
+     */
+    public static int encodeClaim(int controllerId, int runwayIndex, long reservation, ByteBuffer buffer, int offset) {
+        if (offset < 0 || buffer.limit() - offset < WireFormat.CLAIM_SIZE) {
+            throw new BufferOverflowException();
+        }
+        buffer.putInt(offset + WireFormat.LENGTH, WireFormat.CLAIM_SIZE);
+        buffer.put(offset + WireFormat.KIND, WireFormat.CLAIM_KIND);
+        buffer.put(offset + WireFormat.KIND + 1, (byte) 0);
+        buffer.putShort(offset + WireFormat.KIND + 2, (short) 0);
+        buffer.putInt(offset + WireFormat.CLAIM_RUNWAY_INDEX, runwayIndex);
+        buffer.putInt(offset + WireFormat.CONTROLLER_ID, controllerId);
+        buffer.putLong(offset + WireFormat.CLAIM_RESERVATION, reservation);
+        return WireFormat.CLAIM_SIZE;
+    }
+
+    private static void encodeProposal(int runwayIndex, LandingRequest request, ByteBuffer buffer, int offset) {
+        buffer.putInt(offset + WireFormat.PROPOSAL_RUNWAY_INDEX, runwayIndex);
+        if (request.isInProgress()) {
+            buffer.putInt(offset + WireFormat.PROPOSAL_AIRPLANE_ID, Message.UNDEFINED);
+            buffer.putLong(offset + WireFormat.PROPOSAL_REQUEST_TIME, 0);
+            // Zeroes airplane type, landing type and reserved bytes.
+            buffer.putInt(offset + WireFormat.PROPOSAL_AIRPLANE_TYPE, 0);
+            return;
+        }
+        buffer.putInt(offset + WireFormat.PROPOSAL_AIRPLANE_ID, request.getAirplaneId());
+        buffer.putLong(offset + WireFormat.PROPOSAL_REQUEST_TIME, request.getRequestTimeMillis());
+        buffer.put(offset + WireFormat.PROPOSAL_AIRPLANE_TYPE, (byte) request.getAirplaneType().ordinal());
+        buffer.put(offset + WireFormat.PROPOSAL_LANDING_TYPE, (byte) request.getLandingType().ordinal());
+        buffer.putShort(offset + WireFormat.PROPOSAL_LANDING_TYPE + 1, (short) 0);
+    }
+
+    /**
+     * Returns proposals carried by passed-in {@code message}, or {@code null} if it carries none.
+     */
+    private static Map<Integer, LandingRequest> getProposals(CommunicationMessage message) {
+        return message instanceof ControllerSynchMessage ?
+                ((ControllerSynchMessage) message).getRequestForProcessing() : null;
+    }
+}
@@ -0,0 +1,182 @@
+package com.atd.communication.wire;
+
+import com.atd.communication.data.Message;
+import com.atd.config.AirplaneData;
+import com.atd.simulation.data.LandingRequest;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reader of message in binary wire form (see {@link WireFormat}), written by {@link MessageEncoder}. Flyweight is
+ * wrapped over message in buffer and decodes each field in place on access, so reading doesn't copy bytes or build
+ * objects; single flyweight is reused for all messages read by one thread. Only {@link #getProposal} and
+ * {@link #getProposals} build objects, for receivers, which keep proposals, and {@link #getAirplaneData} of
+ * registration of airplane, which is read once per airplane.
+ */
+public class MessageFlyweight {
+
+    /**
+     * Number of bytes of the shortest frame of any kind.
+     */
+    public static final int MIN_LENGTH = WireFormat.MIN_FRAME_SIZE;
+
+    private static final Message.MessageType[] MESSAGE_TYPES = Message.MessageType.values();
+    private static final AirplaneData.AirplaneType[] AIRPLANE_TYPES = AirplaneData.AirplaneType.values();
+    private static final AirplaneData.LandingType[] LANDING_TYPES = AirplaneData.LandingType.values();
+
+    private ByteBuffer buffer;
+    private int offset;
+
+    /**
+     * Wraps flyweight over message or registration of airplane, which starts in passed-in {@code buffer} at
+     * {@code offset}, returns this flyweight. Throws {@link BufferUnderflowException} if whole message is not between
+     * offset and limit of buffer.
+     */
+    public MessageFlyweight wrap(ByteBuffer buffer, int offset) {
+        if (offset < 0 || buffer.limit() - offset < WireFormat.MIN_FRAME_SIZE ||
+                buffer.limit() - offset < buffer.getInt(offset + WireFormat.LENGTH)) {
+            throw new BufferUnderflowException();
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * Returns number of bytes of wrapped message.
+     */
+    public int getLength() {
+        return buffer.getInt(offset + WireFormat.LENGTH);
+    }
+
+    /**
+     * Returns 'true' if wrapped frame is registration of airplane instead of message, then only
+     * {@link #getAirplaneId()} and {@link #getAirplaneData()} are defined.
+     */
+    public boolean isAirplane() {
+        return buffer.get(offset + WireFormat.KIND) == WireFormat.AIRPLANE_KIND;
+    }
+
+    /**
+     * Returns 'true' if wrapped frame is claim of runway or answer to it instead of message, then only
+     * {@link #getControllerId()}, {@link #getClaimRunwayIndex()} and {@link #getClaimReservation()} are defined.
+     */
+    public boolean isClaim() {
+        return buffer.get(offset + WireFormat.KIND) == WireFormat.CLAIM_KIND;
+    }
+
+    public Message.MessageType getType() {
+        return MESSAGE_TYPES[buffer.get(offset + WireFormat.MESSAGE_TYPE)];
+    }
+
+    public int getAirplaneId() {
+        return buffer.getInt(offset + WireFormat.AIRPLANE_ID);
+    }
+
+    public int getControllerId() {
+        return buffer.getInt(offset + WireFormat.CONTROLLER_ID);
+    }
+
+    /**
+     * Returns id of traffic controller receiving synchronisation, or {@link Message#UNDEFINED} for other messages.
+     */
+    public int getReceiverControllerId() {
+        return buffer.getInt(offset + WireFormat.RECEIVER_CONTROLLER_ID);
+    }
+
+    public int getRunwayIndex() {
+        return buffer.getInt(offset + WireFormat.RUNWAY_INDEX);
+    }
+
+    public int getClaimRunwayIndex() {
+        return buffer.getInt(offset + WireFormat.CLAIM_RUNWAY_INDEX);
+    }
+
+    public long getClaimReservation() {
+        return buffer.getLong(offset + WireFormat.CLAIM_RESERVATION);
+    }
+
+    public int getProposalsCount() {
+        return buffer.getShort(offset + WireFormat.PROPOSALS_COUNT) & WireFormat.MAX_COUNT;
+    }
+
+    public int getProposalRunwayIndex(int index) {
+        return buffer.getInt(proposalOffset(index) + WireFormat.PROPOSAL_RUNWAY_INDEX);
+    }
+
+    /**
+     * Returns id of airplane of proposal with passed-in {@code index}, or {@link Message#UNDEFINED} if landing is
+     * already in progress on its runway.
+     */
+    public int getProposalAirplaneId(int index) {
+        return buffer.getInt(proposalOffset(index) + WireFormat.PROPOSAL_AIRPLANE_ID);
+    }
+
+    public boolean isProposalInProgress(int index) {
+        return getProposalAirplaneId(index) == Message.UNDEFINED;
+    }
+
+    public long getProposalRequestTimeMillis(int index) {
+        return buffer.getLong(proposalOffset(index) + WireFormat.PROPOSAL_REQUEST_TIME);
+    }
+
+    public AirplaneData.AirplaneType getProposalAirplaneType(int index) {
+        return AIRPLANE_TYPES[buffer.get(proposalOffset(index) + WireFormat.PROPOSAL_AIRPLANE_TYPE)];
+    }
+
+    public AirplaneData.LandingType getProposalLandingType(int index) {
+        return LANDING_TYPES[buffer.get(proposalOffset(index) + WireFormat.PROPOSAL_LANDING_TYPE)];
+    }
+
+    /**
+     * Returns new {@link LandingRequest} of proposal with passed-in {@code index}.
+     */
+    public LandingRequest getProposal(int index) {
+        if (isProposalInProgress(index)) {
+            return LandingRequest.ALREADY_IN_PROGRESS;
+        }
+        return LandingRequest.builder()
+                .airplaneId(getProposalAirplaneId(index))
+                .airplaneType(getProposalAirplaneType(index))
+                .landingType(getProposalLandingType(index))
+                .requestTimeMillis(getProposalRequestTimeMillis(index))
+                .build();
+    }
+
+    /**
+     * Returns new map of {@link LandingRequest}s per runway index of all proposals in order of encoding.
+     */
+    public Map<Integer, LandingRequest> getProposals() {
+        int count = getProposalsCount();
+        Map<Integer, LandingRequest> proposals = new LinkedHashMap<>();
+        for (int index = 0; index < count; index++) {
+            proposals.put(getProposalRunwayIndex(index), getProposal(index));
+        }
+        return proposals;
+    }
+
+    /**
+     * Returns new {@link AirplaneData} of wrapped registration of airplane.
+     */
+    public AirplaneData getAirplaneData() {
+        byte[] name = new byte[buffer.getShort(offset + WireFormat.NAME_LENGTH) & WireFormat.MAX_COUNT];
+        for (int index = 0; index < name.length; index++) {
+            name[index] = buffer.get(offset + WireFormat.NAME + index);
+        }
+        int noOfSeconds = buffer.getInt(offset + WireFormat.NO_OF_SECONDS);
+        return AirplaneData.builder()
+                .airplaneName(new String(name, StandardCharsets.UTF_8))
+                .airplaneType(AIRPLANE_TYPES[buffer.get(offset + WireFormat.AIRPLANE_TYPE)])
+                .landingType(LANDING_TYPES[buffer.get(offset + WireFormat.LANDING_TYPE)])
+                .noOfSeconds(noOfSeconds == Message.UNDEFINED ? null : noOfSeconds)
+                .build();
+    }
+
+    private int proposalOffset(int index) {
+        return offset + WireFormat.proposalOffset(index);
+    }
+}
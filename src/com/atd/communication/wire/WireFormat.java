@@ -0,0 +1,75 @@
+package com.atd.communication.wire;
+
+/**
+ * Layout of binary wire form of {@link com.atd.communication.data.CommunicationMessage} and of registration of
+ * airplane, shared by {@link MessageEncoder} and {@link MessageFlyweight}. Values are written in byte order of the
+ * buffer, big-endian by default, both sides must use the same order.
+ * <pre>
+ * Message:  length(4) kind(1) messageType(1) proposalsCount(2) airplaneId(4) controllerId(4)
+ *           receiverControllerId(4) runwayIndex(4) proposals(proposalsCount x 20)
+ * Proposal: runwayIndex(4) airplaneId(4) requestTimeMillis(8) airplaneType(1) landingType(1) reserved(2)
+ * Airplane: length(4) kind(1) reserved(1) nameLength(2) airplaneId(4) airplaneType(1) landingType(1) reserved(2)
+ *           noOfSeconds(4) name(nameLength)
+ * Claim:    length(4) kind(1) reserved(3) runwayIndex(4) controllerId(4) reservation(8)
+ * </pre>
+ * Participants are referred by ids: airplane is {@code airplaneId}, traffic controller sending the message to airplane
+ * or to other controller, or receiving it from airplane, is {@code controllerId}, other controller receiving
+ * synchronisation is {@code receiverControllerId}. Undefined ids and indexes are
+ * {@link com.atd.communication.data.Message#UNDEFINED}. Proposal of runway with landing already in progress has
+ * undefined airplane id and zero other fields. Name of airplane is UTF-8. Length includes header, all proposals and
+ * name. Claim of runway by traffic controller has no reservation, answer to it has the reservation granted by ledger
+ * or {@link com.atd.simulation.RunwayLedger#NO_RESERVATION}.
+ */
+final class WireFormat {
+
+    static final byte MESSAGE_KIND = 1;
+    static final byte AIRPLANE_KIND = 2;
+    static final byte CLAIM_KIND = 3;
+
+    /**
+     * Number of bytes of the shortest frame of any kind.
+     */
+    static final int MIN_FRAME_SIZE = 20;
+
+    static final int LENGTH = 0;
+    static final int KIND = 4;
+    static final int MESSAGE_TYPE = 5;
+    static final int PROPOSALS_COUNT = 6;
+    static final int AIRPLANE_ID = 8;
+    static final int CONTROLLER_ID = 12;
+    static final int RECEIVER_CONTROLLER_ID = 16;
+    static final int RUNWAY_INDEX = 20;
+    static final int HEADER_SIZE = 24;
+
+    static final int PROPOSAL_RUNWAY_INDEX = 0;
+    static final int PROPOSAL_AIRPLANE_ID = 4;
+    static final int PROPOSAL_REQUEST_TIME = 8;
+    static final int PROPOSAL_AIRPLANE_TYPE = 16;
+    static final int PROPOSAL_LANDING_TYPE = 17;
+    static final int PROPOSAL_SIZE = 20;
+
+    static final int NAME_LENGTH = 6;
+    static final int AIRPLANE_TYPE = 12;
+    static final int LANDING_TYPE = 13;
+    static final int NO_OF_SECONDS = 16;
+    static final int NAME = 20;
+
+    static final int CLAIM_RUNWAY_INDEX = 8;
+    static final int CLAIM_RESERVATION = 16;
+    static final int CLAIM_SIZE = 24;
+
+    /**
+     * Maximal number of proposals or bytes of name, limited by width of count fields.
+     */
+    static final int MAX_COUNT = 0xFFFF;
+
+    private WireFormat() {
+    }
+
+    /**
+     * Returns offset of proposal with passed-in {@code index} relative to start of message.
+     */
+    static int proposalOffset(int index) {
+        return HEADER_SIZE + index * PROPOSAL_SIZE;
+    }
+}
@@ -18,6 +18,7 @@ public class AirplaneData {
     @Getter
     public enum AirplaneType {
         LARGE(7),
+        MEDIUM(6),
         REGULAR(5);
 
         /**
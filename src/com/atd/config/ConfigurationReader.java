@@ -2,75 +2,81 @@ package com.atd.config;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * Reader of configuration data from input text file.
  */
-@Slf4j
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ConfigurationReader {
 
     /**
-     * Pattern to detect configuration line, which determines data related to type of airplane, its name,
-     * planning type and time of request for planning, passed from start of application.
+     * Pattern to detect runway configuration line, which determines name of runway and its type.
      * Example of format:
      * <pre>
-     *     Plane-3, Large, Normal, 4
+     *     Runway-09L, Long
      * </pre>
      */
-    private static final Pattern CONFIG_LINE_DATA =
-            Pattern.compile("(?<airplaneName>\\S+),\\s*(?<airplaneType>Regular|Large)," +
-                    "\\s*(?<landingType>Normal|Emergency),\\s*(?<seconds>\\d+)");
+    private static final Pattern RUNWAY_LINE_DATA =
+            Pattern.compile("(?<runwayName>\\S+),\\s*(?<runwayType>Short|Medium|Long)");
 
     /**
-     * Returns parsed list of {@link AirplaneData}s from file of passed-in {@link Path}.
+     * Returns parsed list of {@link AirplaneData}s from file of passed-in {@link Path}. For large schedules prefer
+     * streaming {@link ScheduleReader}, which does not keep all airplanes in memory.
      */
     public static List<AirplaneData> read(Path path) {
+        List<AirplaneData> airplanes = new ArrayList<>();
+        try (ScheduleReader reader = new ScheduleReader(path, 1)) {
+            reader.forEachRemaining(airplanes::add);
+        }
+        return airplanes;
+    }
+
+    /**
+     * Returns parsed list of {@link RunwayData}s from file of passed-in {@link Path}, index of runway is defined by
+     * order of lines in file. Blank lines are skipped, corrupted line fails reading with
+     * {@link IllegalArgumentException}, since skipping it would shift indexes of the following runways.
+     */
+    public static List<RunwayData> readRunways(Path path) {
+        List<RunwayData> runways = new ArrayList<>();
         try (InputStream inputStream = Files.newInputStream(path);
              BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            return reader.lines()
-                    .map(ConfigurationReader::processConfigLine)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .collect(Collectors.toList());
-        } catch (Exception ex) {
-            log.error("Reading configuration file failed with exception.", ex.getCause());
+            int lineNumber = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                if (!line.trim().isEmpty()) {
+                    runways.add(processRunwayLine(line, lineNumber, path));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Reading of runways configuration file failed: " + path, ex);
         }
-        return Collections.emptyList();
+        return runways;
     }
 
     /**
-     * Returns parsed Optional {@link AirplaneData} from passed-in configuration {@code line}.
+     * Returns parsed {@link RunwayData} from passed-in runway configuration {@code line}.
      */
-    private static Optional<AirplaneData> processConfigLine(String line) {
-        Matcher m = CONFIG_LINE_DATA.matcher(line);
-        if (!m.find()) {
-            log.error("Corrupted line presents in config file: '{}'", line);
-            return Optional.empty();
+    private static RunwayData processRunwayLine(String line, int lineNumber, Path path) {
+        Matcher m = RUNWAY_LINE_DATA.matcher(line.trim());
+        if (!m.matches()) {
+            throw new IllegalArgumentException(String.format(
+                    "Corrupted line %d presents in runways config file %s: '%s'", lineNumber, path, line));
         }
-        return Optional.of(
-                AirplaneData.builder()
-                        .airplaneName(m.group("airplaneName"))
-                        .airplaneType(m.group("airplaneType").equals("Large") ?
-                                AirplaneData.AirplaneType.LARGE :
-                                AirplaneData.AirplaneType.REGULAR)
-                        .landingType(m.group("landingType").equals("Emergency") ?
-                                AirplaneData.LandingType.EMERGENCY :
-                                AirplaneData.LandingType.NORMAL)
-                        .noOfSeconds(Integer.valueOf(m.group("seconds")))
-                        .build());
+        return RunwayData.builder()
+                .runwayName(m.group("runwayName"))
+                .runwayType(RunwayData.RunwayType.valueOf(m.group("runwayType").toUpperCase()))
+                .build();
     }
 }
@@ -0,0 +1,40 @@
+package com.atd.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Data about runway of airport.
+ */
+@Builder
+@Getter
+public class RunwayData {
+    private final String runwayName;
+    private final RunwayType runwayType;
+
+    /**
+     * Class of runway, ordered from shortest to longest. Shorter runways are preferable for airplanes, which could
+     * land on them, so longer runways stay available for larger airplanes.
+     */
+    public enum RunwayType {
+        SHORT(EnumSet.of(AirplaneData.AirplaneType.REGULAR)),
+        MEDIUM(EnumSet.of(AirplaneData.AirplaneType.REGULAR, AirplaneData.AirplaneType.MEDIUM)),
+        LONG(EnumSet.allOf(AirplaneData.AirplaneType.class));
+
+        /**
+         * Types of airplanes, which could land on runway of this type.
+         */
+        private final Set<AirplaneData.AirplaneType> acceptedAirplaneTypes;
+
+        RunwayType(Set<AirplaneData.AirplaneType> acceptedAirplaneTypes) {
+            this.acceptedAirplaneTypes = acceptedAirplaneTypes;
+        }
+
+        public boolean accepts(AirplaneData.AirplaneType airplaneType) {
+            return acceptedAirplaneTypes.contains(airplaneType);
+        }
+    }
+}
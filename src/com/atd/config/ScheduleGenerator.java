@@ -0,0 +1,204 @@
+package com.atd.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generator of synthetic schedules of airplanes for benchmarks and stress tests. Arrivals are produced by
+ * {@link ArrivalProcess} with configured average rate, types of airplanes and emergencies are drawn independently
+ * per airplane. Schedule is generated lazily in order of arrival time, so it is streamed to file of
+ * {@link ConfigurationReader} line format, or directly to simulation, using constant memory regardless of number of
+ * flights. Usage:
+ * <pre>
+ *     java com.atd.config.ScheduleGenerator schedule.txt flightsCount [POISSON|RUSH_HOUR] [arrivalsPerHour] [seed]
+ * </pre>
+ */
+@Builder
+@Getter
+public class ScheduleGenerator implements Iterable<AirplaneData> {
+
+    private static final int WRITER_BUFFER_SIZE = 1 << 16;
+    private static final double SECONDS_PER_HOUR = TimeUnit.HOURS.toSeconds(1);
+    private static final double HOURS_PER_DAY = TimeUnit.DAYS.toHours(1);
+
+    @Builder.Default
+    private final long flightsCount = 10000;
+    @Builder.Default
+    private final ArrivalProcess arrivalProcess = ArrivalProcess.POISSON;
+    /**
+     * Average rate of arrivals out of peaks.
+     */
+    @Builder.Default
+    private final double arrivalsPerHour = 600;
+    @Builder.Default
+    private final double largeShare = 0.3;
+    @Builder.Default
+    private final double mediumShare = 0;
+    /**
+     * Probability of airplane to request emergency landing.
+     */
+    @Builder.Default
+    private final double emergencyRate = 0.01;
+    /**
+     * Hours of day of rush-hour peaks of {@link ArrivalProcess#RUSH_HOUR}.
+     */
+    @Builder.Default
+    private final double[] peakHours = {8, 17.5};
+    /**
+     * Rate of arrivals at peak is {@code 1 + peakFactor} times the rate out of peaks.
+     */
+    @Builder.Default
+    private final double peakFactor = 3;
+    /**
+     * Standard deviation of bell-shaped peak in hours.
+     */
+    @Builder.Default
+    private final double peakWidthInHours = 1;
+    @Builder.Default
+    private final long seed = 0;
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: ScheduleGenerator <schedule file> <flights count> [POISSON|RUSH_HOUR] "
+                    + "[arrivals per hour] [seed]");
+            System.exit(1);
+        }
+        ScheduleGenerator generator = ScheduleGenerator.builder()
+                .flightsCount(Long.parseLong(args[1]))
+                .arrivalProcess(args.length > 2 ? ArrivalProcess.valueOf(args[2]) : ArrivalProcess.POISSON)
+                .arrivalsPerHour(args.length > 3 ? Double.parseDouble(args[3]) : 600)
+                .seed(args.length > 4 ? Long.parseLong(args[4]) : 0)
+                .build();
+        long startTime = System.nanoTime();
+        generator.write(Paths.get(args[0]));
+        System.out.printf("Generated %d flights in %d ms%n", generator.getFlightsCount(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+    }
+
+    /**
+     * Returns new lazy iterator over generated schedule, each iterator repeats the same schedule.
+     */
+    @Override
+    public Iterator<AirplaneData> iterator() {
+        return new Arrivals();
+    }
+
+    /**
+     * Writes generated schedule to file with passed-in {@code path} in {@link ConfigurationReader} line format.
+     */
+    public void write(Path path) {
+        try (Writer writer = new BufferedWriter(
+                Files.newBufferedWriter(path, StandardCharsets.US_ASCII), WRITER_BUFFER_SIZE)) {
+            StringBuilder line = new StringBuilder();
+            for (AirplaneData airplane : this) {
+                line.setLength(0);
+                line.append(airplane.getAirplaneName()).append(", ")
+                        .append(typeName(airplane.getAirplaneType())).append(", ")
+                        .append(airplane.getLandingType() == AirplaneData.LandingType.EMERGENCY ?
+                                "Emergency" : "Normal").append(", ")
+                        .append(airplane.getNoOfSeconds()).append('\n');
+                writer.append(line);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Writing of schedule failed: " + path, ex);
+        }
+    }
+
+    private static String typeName(AirplaneData.AirplaneType airplaneType) {
+        switch (airplaneType) {
+            case LARGE:
+                return "Large";
+            case MEDIUM:
+                return "Medium";
+            default:
+                return "Regular";
+        }
+    }
+
+    /**
+     * Returns ratio of arrival rate at passed-in time of day to rate out of peaks.
+     */
+    private double getRateFactor(double timeInSecs) {
+        if (arrivalProcess == ArrivalProcess.POISSON) {
+            return 1;
+        }
+        double hourOfDay = timeInSecs / SECONDS_PER_HOUR % HOURS_PER_DAY;
+        double factor = 1;
+        for (double peakHour : peakHours) {
+            double distance = Math.abs(hourOfDay - peakHour);
+            distance = Math.min(distance, HOURS_PER_DAY - distance);
+            factor += peakFactor * Math.exp(-distance * distance / (2 * peakWidthInHours * peakWidthInHours));
+        }
+        return factor;
+    }
+
+    /**
+     * Returns upper bound of {@link #getRateFactor(double)}.
+     */
+    private double getMaxRateFactor() {
+        return arrivalProcess == ArrivalProcess.POISSON ? 1 : 1 + peakFactor * peakHours.length;
+    }
+
+    public enum ArrivalProcess {
+        /**
+         * Arrivals with exponentially distributed intervals and constant rate.
+         */
+        POISSON,
+        /**
+         * Poisson arrivals with rate rising by bell-shaped peaks at {@code peakHours} of each day, generated by
+         * thinning of process with peak rate.
+         */
+        RUSH_HOUR
+    }
+
+    /**
+     * Lazy iterator over generated schedule, keeps only state of random generator and time of last arrival.
+     */
+    private class Arrivals implements Iterator<AirplaneData> {
+        private final SplittableRandom random = new SplittableRandom(seed);
+        private final double maxRateFactor = getMaxRateFactor();
+        private final double maxArrivalsPerSec = arrivalsPerHour * maxRateFactor / SECONDS_PER_HOUR;
+        private long generated;
+        private double timeInSecs;
+
+        @Override
+        public boolean hasNext() {
+            return generated < flightsCount;
+        }
+
+        @Override
+        public AirplaneData next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            // Candidates arrive with maximal rate, each is accepted with probability of current to maximal rate.
+            do {
+                timeInSecs -= Math.log(1 - random.nextDouble()) / maxArrivalsPerSec;
+            } while (random.nextDouble() * maxRateFactor > getRateFactor(timeInSecs));
+            double typeDraw = random.nextDouble();
+            AirplaneData.AirplaneType airplaneType = typeDraw < largeShare ? AirplaneData.AirplaneType.LARGE :
+                    typeDraw < largeShare + mediumShare ?
+                            AirplaneData.AirplaneType.MEDIUM : AirplaneData.AirplaneType.REGULAR;
+            return AirplaneData.builder()
+                    .airplaneName("Plane-" + generated++)
+                    .airplaneType(airplaneType)
+                    .landingType(random.nextDouble() < emergencyRate ?
+                            AirplaneData.LandingType.EMERGENCY : AirplaneData.LandingType.NORMAL)
+                    .noOfSeconds((int) timeInSecs)
+                    .build();
+        }
+    }
+}
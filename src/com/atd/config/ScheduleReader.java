@@ -0,0 +1,299 @@
+package com.atd.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Streaming reader of airplanes schedule from memory-mapped file, returns {@link AirplaneData}s in order of lines.
+ * Example of line format:
+ * <pre>
+ *     Plane-3, Large, Normal, 4
+ * </pre>
+ * Fields are parsed directly from mapped bytes, without regular expressions and intermediate strings; only name of
+ * airplane is allocated. File is split to byte ranges of {@link #RANGE_SIZE}, which are parsed lazily: by the
+ * consumer thread, or, if {@code parallelism} is above 1, ahead of consumer by pool of threads, keeping at most
+ * two ranges per thread in memory.
+ * Corrupted lines are logged and skipped, failure of file reading is propagated as {@link UncheckedIOException}.
+ */
+@Slf4j
+public class ScheduleReader implements Iterator<AirplaneData>, Closeable {
+
+    /**
+     * Size of byte range parsed as single unit of work.
+     */
+    static final int RANGE_SIZE = 4 * 1024 * 1024;
+    /**
+     * Maximal length of line, lines ending beyond their range are read up to this length.
+     */
+    private static final int MAX_LINE_LENGTH = 4 * 1024;
+
+    private static final byte[] REGULAR = "Regular".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MEDIUM = "Medium".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LARGE = "Large".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NORMAL = "Normal".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EMERGENCY = "Emergency".getBytes(StandardCharsets.US_ASCII);
+
+    private final FileChannel channel;
+    private final long size;
+    private final ExecutorService executorService;
+    private final int maxRangesInFlight;
+    private final Queue<Future<List<AirplaneData>>> parsedRanges;
+    private long nextRangeStart;
+    private Iterator<AirplaneData> currentRange;
+
+    public ScheduleReader(Path path, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism of schedule reading should be at least 1");
+        }
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            size = channel.size();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Opening of schedule file failed: " + path, ex);
+        }
+        executorService = parallelism == 1 ? null : Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "schedule-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maxRangesInFlight = 2 * parallelism;
+        parsedRanges = new ArrayDeque<>();
+        currentRange = Collections.emptyIterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!currentRange.hasNext()) {
+            if (executorService == null) {
+                if (nextRangeStart >= size) {
+                    return false;
+                }
+                currentRange = parseRange(nextRange()).iterator();
+            } else {
+                while (parsedRanges.size() < maxRangesInFlight && nextRangeStart < size) {
+                    long rangeStart = nextRange();
+                    parsedRanges.add(executorService.submit(() -> parseRange(rangeStart)));
+                }
+                if (parsedRanges.isEmpty()) {
+                    return false;
+                }
+                currentRange = awaitRange(parsedRanges.poll()).iterator();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public AirplaneData next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return currentRange.next();
+    }
+
+    @Override
+    public void close() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            log.warn("Closing of schedule file failed.", ex);
+        }
+    }
+
+    /**
+     * Returns start of next not yet parsed byte range and moves to the following one.
+     */
+    private long nextRange() {
+        long rangeStart = nextRangeStart;
+        nextRangeStart += RANGE_SIZE;
+        return rangeStart;
+    }
+
+    private static List<AirplaneData> awaitRange(Future<List<AirplaneData>> parsedRange) {
+        try {
+            return parsedRange.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reading of schedule was interrupted", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException("Reading of schedule failed", ex.getCause());
+        }
+    }
+
+    /**
+     * Parses lines starting in byte range from {@code rangeStart} of {@link #RANGE_SIZE}. Line crossing start of
+     * range belongs to previous range, line crossing its end is read completely.
+     */
+    private List<AirplaneData> parseRange(long rangeStart) {
+        long rangeEnd = Math.min(size, rangeStart + RANGE_SIZE);
+        long mapStart = Math.max(0, rangeStart - 1);
+        long mapEnd = Math.min(size, rangeEnd + MAX_LINE_LENGTH);
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Mapping of schedule file failed", ex);
+        }
+        int end = (int) (rangeEnd - mapStart);
+        int position = 0;
+        if (rangeStart > 0) {
+            // Skip tail of line started in previous range.
+            while (position < buffer.limit() && buffer.get(position) != '\n') {
+                position++;
+            }
+            position++;
+        }
+        List<AirplaneData> airplanes = new ArrayList<>();
+        while (position < end) {
+            int lineEnd = position;
+            while (lineEnd < buffer.limit() && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            if (lineEnd == buffer.limit() && mapEnd < size) {
+                throw new IllegalStateException(String.format(
+                        "Line at byte %d of schedule file is longer than %d bytes", mapStart + position,
+                        MAX_LINE_LENGTH));
+            }
+            AirplaneData airplaneData = parseLine(buffer, position, lineEnd);
+            if (airplaneData != null) {
+                airplanes.add(airplaneData);
+            }
+            position = lineEnd + 1;
+        }
+        return airplanes;
+    }
+
+    /**
+     * Returns {@link AirplaneData} parsed from bytes of line from {@code start} to {@code end}, or {@code null} if
+     * line is blank or corrupted.
+     */
+    private static AirplaneData parseLine(MappedByteBuffer buffer, int start, int end) {
+        while (end > start && isWhitespace(buffer.get(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            return null;
+        }
+        // Name of airplane.
+        int position = start;
+        while (position < end && buffer.get(position) != ',' && !isWhitespace(buffer.get(position))) {
+            position++;
+        }
+        int nameEnd = position;
+        if (nameEnd == start || nameEnd == end || buffer.get(nameEnd) != ',') {
+            return corruptedLine(buffer, start, end);
+        }
+        // Type of airplane.
+        position = skipWhitespaces(buffer, nameEnd + 1, end);
+        AirplaneData.AirplaneType airplaneType;
+        if (matches(buffer, position, end, REGULAR)) {
+            airplaneType = AirplaneData.AirplaneType.REGULAR;
+            position += REGULAR.length;
+        } else if (matches(buffer, position, end, MEDIUM)) {
+            airplaneType = AirplaneData.AirplaneType.MEDIUM;
+            position += MEDIUM.length;
+        } else if (matches(buffer, position, end, LARGE)) {
+            airplaneType = AirplaneData.AirplaneType.LARGE;
+            position += LARGE.length;
+        } else {
+            return corruptedLine(buffer, start, end);
+        }
+        if (position == end || buffer.get(position) != ',') {
+            return corruptedLine(buffer, start, end);
+        }
+        // Type of landing.
+        position = skipWhitespaces(buffer, position + 1, end);
+        AirplaneData.LandingType landingType;
+        if (matches(buffer, position, end, NORMAL)) {
+            landingType = AirplaneData.LandingType.NORMAL;
+            position += NORMAL.length;
+        } else if (matches(buffer, position, end, EMERGENCY)) {
+            landingType = AirplaneData.LandingType.EMERGENCY;
+            position += EMERGENCY.length;
+        } else {
+            return corruptedLine(buffer, start, end);
+        }
+        if (position == end || buffer.get(position) != ',') {
+            return corruptedLine(buffer, start, end);
+        }
+        // Offset of arrival in seconds.
+        position = skipWhitespaces(buffer, position + 1, end);
+        if (position == end) {
+            return corruptedLine(buffer, start, end);
+        }
+        long seconds = 0;
+        for (; position < end; position++) {
+            byte digit = buffer.get(position);
+            if (digit < '0' || digit > '9' || (seconds = seconds * 10 + digit - '0') > Integer.MAX_VALUE) {
+                return corruptedLine(buffer, start, end);
+            }
+        }
+        byte[] name = new byte[nameEnd - start];
+        for (int index = 0; index < name.length; index++) {
+            name[index] = buffer.get(start + index);
+        }
+        return AirplaneData.builder()
+                .airplaneName(new String(name, StandardCharsets.UTF_8))
+                .airplaneType(airplaneType)
+                .landingType(landingType)
+                .noOfSeconds((int) seconds)
+                .build();
+    }
+
+    private static boolean matches(MappedByteBuffer buffer, int position, int end, byte[] token) {
+        if (end - position < token.length) {
+            return false;
+        }
+        for (int index = 0; index < token.length; index++) {
+            if (buffer.get(position + index) != token[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespaces(MappedByteBuffer buffer, int position, int end) {
+        while (position < end && isWhitespace(buffer.get(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static boolean isWhitespace(byte value) {
+        return value == ' ' || value == '\t' || value == '\r';
+    }
+
+    private static AirplaneData corruptedLine(MappedByteBuffer buffer, int start, int end) {
+        byte[] line = new byte[end - start];
+        for (int index = 0; index < line.length; index++) {
+            line[index] = buffer.get(start + index);
+        }
+        log.error("Corrupted line presents in config file: '{}'", new String(line, StandardCharsets.UTF_8));
+        return null;
+    }
+}
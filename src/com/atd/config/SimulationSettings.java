@@ -0,0 +1,109 @@
+package com.atd.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Settings of simulation run.
+ */
+@Builder
+@Getter
+public class SimulationSettings {
+    /**
+     * Path to configuration file with airplanes data, resolved from classpath or, if not found there, from file system.
+     */
+    private final String configPath;
+    /**
+     * Path to configuration file with runways of airport, resolved the same way as {@code configPath}.
+     * If not defined, airport with one short (index 0) and one long (index 1) runway is used.
+     */
+    private final String runwaysConfigPath;
+    @Builder.Default
+    private final Mode mode = Mode.REAL_TIME;
+    /**
+     * Number of traffic controllers, which are sharing processing of landing requests.
+     */
+    @Builder.Default
+    private final int controllersCount = 2;
+    /**
+     * Number of threads parsing byte ranges of airplanes configuration file ahead of simulation, with value 1 file is
+     * parsed by simulation thread as arrivals become due.
+     */
+    @Builder.Default
+    private final int readerParallelism = 1;
+    /**
+     * Speed of time in {@link Mode#REAL_TIME} simulation relative to wall-clock, e.g. with value 10 simulation of
+     * one minute takes six seconds.
+     */
+    @Builder.Default
+    private final double timeScale = 1;
+    /**
+     * Path to file, to which metrics of simulation are appended every {@code metricsPeriodInMillis} of wall-clock
+     * time. If not defined, metrics are only available in-process.
+     */
+    private final String metricsPath;
+    @Builder.Default
+    private final long metricsPeriodInMillis = 1000;
+    /**
+     * Path to file of binary journal of routed messages, which could be rendered to text offline by
+     * {@link com.atd.communication.journal.JournalRenderer}. If not defined, messages are logged.
+     */
+    private final String journalPath;
+    /**
+     * If 'false' and {@code journalPath} is not defined, routed messages are dropped instead of being logged. Used by
+     * batch runs, where logging of each message would dominate.
+     */
+    @Builder.Default
+    private final boolean messageLogging = true;
+    /**
+     * Path to file, to which processed messages and decisions of traffic controllers are recorded, so run could be
+     * replayed by {@link com.atd.simulation.replay.SimulationReplayer}. If not defined, run is not recorded.
+     */
+    private final String recordingPath;
+    @Builder.Default
+    private final RunwayScheduling runwayScheduling = RunwayScheduling.GREEDY;
+    /**
+     * Comma-separated addresses 'host:port' of {@link com.atd.simulation.ControllerHost}s, each of them runs traffic
+     * controller with id equal to index of its address in separate process. If defined, {@link Mode#REAL_TIME}
+     * simulation hosts only airplanes, sends their messages to traffic controllers over sockets and relays proposals
+     * between controllers: number of addresses must be the same as number of controllers, while runway scheduling and
+     * recording are settings of controller hosts. If not defined, traffic controllers are run in process of
+     * simulation.
+     */
+    private final String controllersAddress;
+    /**
+     * Path to directory, in which each traffic controller keeps checkpoint of its state in memory-mapped file, so
+     * controller could be restored by {@link com.atd.simulation.checkpoint.MappedCheckpoint#restore}. If not
+     * defined, state of controllers is not checkpointed.
+     */
+    private final String checkpointPath;
+
+    public enum Mode {
+        /**
+         * Each traffic controller is executed by own thread, airplanes are executed by small pool of threads, all
+         * timings are wall-clock, optionally accelerated by {@code timeScale}.
+         */
+        REAL_TIME,
+        /**
+         * Airplanes and traffic controllers are driven by events, which are executed in order of virtual time,
+         * without any real waiting.
+         */
+        DISCRETE_EVENT
+    }
+
+    /**
+     * Strategy of assignment of waiting airplanes to runways by each traffic controller.
+     */
+    public enum RunwayScheduling {
+        /**
+         * The most preferable request gets the best matching runway, which is available now.
+         */
+        GREEDY,
+        /**
+         * Runway slots are planned over horizon of waiting requests using landing times and expected releases of
+         * occupied runways, so request could wait for runway, which is released soon, leaving available runway to
+         * request, which couldn't land on other runway.
+         */
+        LOOK_AHEAD
+    }
+}
@@ -0,0 +1,120 @@
+package com.atd.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds with log-linear buckets: each power of two range is split into
+ * {@link #SUB_BUCKETS} equal buckets, so percentiles are reported with relative error below 1/{@link #SUB_BUCKETS}
+ * using fixed memory for whole range of {@code long}. Recording costs one atomic increment of bucket, concurrent
+ * recording threads don't block each other.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray buckets;
+    private final LongAdder sum;
+    private final AtomicLong max;
+
+    public LatencyHistogram() {
+        buckets = new AtomicLongArray((Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS);
+        sum = new LongAdder();
+        max = new AtomicLong();
+    }
+
+    /**
+     * Records passed-in {@code value} of latency, negative values are recorded as zero.
+     */
+    public void record(long value) {
+        value = Math.max(0, value);
+        buckets.incrementAndGet(bucketIndex(value));
+        sum.add(value);
+        long currentMax;
+        while (value > (currentMax = max.get()) && !max.compareAndSet(currentMax, value)) {
+            // Retry till maximum is updated by this or greater value.
+        }
+    }
+
+    /**
+     * Returns copy of current state of histogram. Values recorded concurrently could be partially included.
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[buckets.length()];
+        for (int index = 0; index < counts.length; index++) {
+            counts[index] = buckets.get(index);
+        }
+        return new Snapshot(counts, sum.sum(), max.get());
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Returns the highest value, which is recorded into bucket with passed-in {@code index}.
+     */
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    /**
+     * Immutable state of {@link LatencyHistogram} at some moment.
+     */
+    public static class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long sum, long max) {
+            this.counts = counts;
+            long totalCount = 0;
+            for (long bucketCount : counts) {
+                totalCount += bucketCount;
+            }
+            this.count = totalCount;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Returns value, which is not exceeded by passed-in {@code percentile} (from 0 to 100) of recorded values,
+         * rounded up to bound of its bucket. Returns 0 if nothing was recorded.
+         */
+        public long getPercentile(double percentile) {
+            long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+            long seen = 0;
+            for (int index = 0; index < counts.length; index++) {
+                seen += counts[index];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(index), max);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.atd.metrics;
+
+import com.atd.communication.data.Message;
+import com.atd.simulation.event.SimulationClock;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registry of live metrics of simulation run, identified by names: counters, gauges and latency histograms.
+ * Counters are striped ({@link LongAdder}) and histograms are lock-free, so participants update them on message path
+ * without contending with each other; gauges are evaluated only when {@link #snapshot()} is taken. Registry could be
+ * queried in-process at any time during simulation or dumped periodically by {@link MetricsReporter}.
+ * Participants register their metrics once and keep references to them, so updates don't look up registry.
+ */
+public class MetricsRegistry {
+
+    /**
+     * Prefix of counters of messages per {@link Message.MessageType}, which are routed by communicator.
+     */
+    public static final String MESSAGES_PREFIX = "messages.";
+    /**
+     * Format of gauge of airplanes, which requested landing and are not ordered to land yet, per id of traffic
+     * controller storing their requests.
+     */
+    public static final String HOLDING_AIRPLANES = "controller.%d.holdingAirplanes";
+    /**
+     * Format of gauge of message queue depth per id of traffic controller.
+     */
+    public static final String QUEUE_DEPTH = "controller.%d.queueDepth";
+    /**
+     * Format of histogram of synchronisation round-trip latency per id of traffic controller.
+     */
+    public static final String SYNCHRONISATION_LATENCY = "controller.%d.syncLatency";
+    /**
+     * Format of gauge of ratio of time, when runway with index was occupied by landing airplanes.
+     */
+    public static final String RUNWAY_BUSY_RATIO = "runway.%d.busyRatio";
+    /**
+     * Gauge of number of runways currently reserved by traffic controllers.
+     */
+    public static final String RESERVED_RUNWAYS = "runways.reserved";
+    /**
+     * Counter of landings, which were not ordered because runway was already reserved.
+     */
+    public static final String RESERVATION_CONFLICTS = "runways.reservationConflicts";
+    /**
+     * Counter of messages sent to other process by {@link com.atd.communication.transport.SocketTransport}.
+     */
+    public static final String TRANSPORT_SENT_MESSAGES = "transport.sentMessages";
+    /**
+     * Counter of messages received from other process by {@link com.atd.communication.transport.SocketTransport}.
+     */
+    public static final String TRANSPORT_RECEIVED_MESSAGES = "transport.receivedMessages";
+    /**
+     * Counter of writes to socket channel, ratio of sent messages to writes is average size of flushed batch.
+     */
+    public static final String TRANSPORT_WRITES = "transport.writes";
+    /**
+     * Histogram of wall-clock time from request for landing sent to remote traffic controller till first response.
+     */
+    public static final String TRANSPORT_REQUEST_ROUND_TRIP = "transport.requestRoundTrip";
+
+    /**
+     * Clock of simulation, which defines elapsed time for rates and ratios.
+     */
+    @Getter
+    private final SimulationClock clock;
+    private final long startTime;
+    private final ConcurrentMap<String, LongAdder> counters;
+    private final ConcurrentMap<String, DoubleSupplier> gauges;
+    private final ConcurrentMap<String, LatencyHistogram> histograms;
+
+    public MetricsRegistry(SimulationClock clock) {
+        this.clock = clock;
+        startTime = clock.nanoTime();
+        counters = new ConcurrentSkipListMap<>();
+        gauges = new ConcurrentSkipListMap<>();
+        histograms = new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * Returns name of counter of messages of passed-in {@link Message.MessageType}.
+     */
+    public static String messagesCounter(Message.MessageType type) {
+        return MESSAGES_PREFIX + type;
+    }
+
+    /**
+     * Returns counter with passed-in {@code name}, registers it if absent.
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Returns histogram with passed-in {@code name}, registers it if absent.
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Registers gauge with passed-in {@code name}, which value is evaluated by {@code value} on each snapshot.
+     * Gauge registered before with the same name is replaced.
+     */
+    public void gauge(String name, DoubleSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Returns current values of all metrics.
+     */
+    public MetricsSnapshot snapshot() {
+        long elapsedNanos = clock.nanoTime() - startTime;
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        Map<String, Double> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, gauge) -> gaugeValues.put(name, gauge.getAsDouble()));
+        Map<String, LatencyHistogram.Snapshot> histogramValues = new TreeMap<>();
+        histograms.forEach((name, histogram) -> histogramValues.put(name, histogram.snapshot()));
+        return new MetricsSnapshot(elapsedNanos, counterValues, gaugeValues, histogramValues);
+    }
+}
@@ -0,0 +1,87 @@
+package com.atd.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically appends snapshots of {@link MetricsRegistry} to local file, using own daemon thread, so reporting
+ * doesn't delay simulation. Each dump is block of lines: counters with their rate per second in interval since
+ * previous dump, gauges, and histograms with percentiles in microseconds. Last dump is written on {@link #close()}.
+ */
+@Slf4j
+public class MetricsReporter implements Closeable {
+
+    private final MetricsRegistry metrics;
+    private final BufferedWriter writer;
+    private final ScheduledExecutorService executorService;
+    private MetricsSnapshot previous;
+
+    public MetricsReporter(MetricsRegistry metrics, Path path, long period, TimeUnit unit) {
+        this.metrics = metrics;
+        try {
+            writer = Files.newBufferedWriter(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Opening of metrics file failed: " + path, ex);
+        }
+        previous = metrics.snapshot();
+        executorService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executorService.scheduleAtFixedRate(this::dump, period, period, unit);
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdown();
+        try {
+            executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        dump();
+        try {
+            writer.close();
+        } catch (IOException ex) {
+            log.warn("Closing of metrics file failed.", ex);
+        }
+    }
+
+    private synchronized void dump() {
+        MetricsSnapshot snapshot = metrics.snapshot();
+        try {
+            writer.write(String.format("# %s elapsed=%.3fs%n", Instant.now(), snapshot.getElapsedNanos() / 1e9));
+            for (Map.Entry<String, Long> counter : snapshot.getCounters().entrySet()) {
+                writer.write(String.format("%s %d rate=%.1f/s%n", counter.getKey(), counter.getValue(),
+                        snapshot.getRate(counter.getKey(), previous)));
+            }
+            for (Map.Entry<String, Double> gauge : snapshot.getGauges().entrySet()) {
+                writer.write(String.format("%s %.3f%n", gauge.getKey(), gauge.getValue()));
+            }
+            for (Map.Entry<String, LatencyHistogram.Snapshot> histogram : snapshot.getHistograms().entrySet()) {
+                LatencyHistogram.Snapshot value = histogram.getValue();
+                writer.write(String.format("%s count=%d mean=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus max=%.1fus%n",
+                        histogram.getKey(), value.getCount(), value.getMean() / 1e3,
+                        value.getPercentile(50) / 1e3, value.getPercentile(90) / 1e3,
+                        value.getPercentile(99) / 1e3, value.getMax() / 1e3));
+            }
+            writer.flush();
+        } catch (IOException ex) {
+            log.warn("Dump of metrics failed.", ex);
+        }
+        previous = snapshot;
+    }
+}
@@ -0,0 +1,47 @@
+package com.atd.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Values of all metrics of {@link MetricsRegistry} at some moment.
+ */
+@Getter
+@AllArgsConstructor
+public class MetricsSnapshot {
+    /**
+     * Time of simulation clock elapsed from creation of registry till snapshot.
+     */
+    private final long elapsedNanos;
+    private final Map<String, Long> counters;
+    private final Map<String, Double> gauges;
+    private final Map<String, LatencyHistogram.Snapshot> histograms;
+
+    /**
+     * Returns value of counter with passed-in {@code name}, or 0 if it is not registered.
+     */
+    public long getCounter(String name) {
+        return counters.getOrDefault(name, 0L);
+    }
+
+    /**
+     * Returns average rate per second of counter with passed-in {@code name} since creation of registry.
+     */
+    public double getRate(String name) {
+        return rate(getCounter(name), elapsedNanos);
+    }
+
+    /**
+     * Returns rate per second of counter with passed-in {@code name} in interval since {@code previous} snapshot.
+     */
+    public double getRate(String name, MetricsSnapshot previous) {
+        return rate(getCounter(name) - previous.getCounter(name), elapsedNanos - previous.getElapsedNanos());
+    }
+
+    private static double rate(long count, long nanos) {
+        return nanos <= 0 ? 0 : count * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+}
@@ -4,98 +4,135 @@ import com.atd.communication.AirplaneCommunicator;
 import com.atd.communication.CommunicatorParticipant;
 import com.atd.communication.data.Message;
 import com.atd.config.AirplaneData;
-import com.atd.utils.MessageUtils;
+import com.atd.simulation.event.SimulationScheduler;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.concurrent.Callable;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Thread task, which represent behavior of airplane.
- * Could request for normal or emergency landing to {@link TrafficController}, execute landing on a runway or waiting
- * for it depends on response message from traffic controller.
+ * Behavior of airplane as non-blocking state machine: {@link State#REQUESTED} landing to {@link TrafficController},
+ * then {@link State#HOLDING} around airport or {@link State#LANDING} on a runway depending on response message from
+ * traffic controller, and finally {@link State#LANDED}.
+ * Airplane doesn't own a thread: incoming messages and finish of landing are executed as actions of
+ * {@link SimulationScheduler}, so number of airplanes is limited only by heap. Actions of one airplane may run
+ * concurrently on threads of scheduler pool, so state is changed only by compare-and-set of expected transition,
+ * e.g. late {@link Message.MessageType#WAITING_AROUND} never overrides {@link State#LANDING}, and reported fields are
+ * volatile.
  */
 @Slf4j
-public class Airplane implements Callable<Void>, CommunicatorParticipant {
+public class Airplane implements CommunicatorParticipant {
 
     @Getter
-    private AirplaneData data;
-    private AirplaneCommunicator communicator;
-    private final LinkedBlockingQueue<Message> messages;
-    private RunwayState runawayState;
+    private final int id;
     @Getter
-    private boolean landed;
+    private final AirplaneData data;
+    private final AirplaneCommunicator communicator;
+    private final RunwayState runawayState;
+    private final SimulationScheduler scheduler;
+    private final AtomicReference<State> state;
+    /**
+     * Written before request for landing, so it is visible to actions, which follow transition from
+     * {@link State#REQUESTED}.
+     */
+    private long startTime;
+    @Getter
+    private volatile boolean landed;
     @Getter
-    private Long executionTime;
+    private volatile Long executionTime;
     @Getter
-    private Integer chosenRunwayIndex;
+    private volatile Integer chosenRunwayIndex;
+    @Getter
+    private volatile Long landingOrderLatencyInMillis;
 
-    public Airplane(AirplaneData data, AirplaneCommunicator communicator, RunwayState runawayState) {
-        messages = new LinkedBlockingQueue<>();
+    public Airplane(int id, AirplaneData data, AirplaneCommunicator communicator, RunwayState runawayState,
+                    SimulationScheduler scheduler) {
+        state = new AtomicReference<>(State.APPROACHING);
         landed = false;
+        this.id = id;
         this.data = data;
         this.communicator = communicator;
         this.runawayState = runawayState;
+        this.scheduler = scheduler;
         communicator.registerForCommunication(this);
     }
 
-    @Override
-    public Void call() throws Exception {
-        log.debug("Thread for airplane '{}' started", data.getAirplaneName());
-        // Sleep until defined arrival time of airplane.
-        Thread.sleep(data.getNoOfSeconds() * 1000);
+    /**
+     * Sends request for landing to traffic controller and starts measurement of execution time.
+     */
+    public void requestLanding() throws InterruptedException {
         log.debug("{} is going to land.", data.getAirplaneName());
-        try {
-            executionTime = TimeUnit.NANOSECONDS.toSeconds(main());
-        } catch (Exception ex) {
-            log.error("Execution failed", ex.getCause());
-        }
-        return null;
+        startTime = scheduler.getClock().nanoTime();
+        state.set(State.REQUESTED);
+        communicator.requestForLanding(id);
     }
 
-    private long main() throws InterruptedException {
-        long startTime = System.nanoTime();
-        Integer controllerId = communicator.requestForLanding(data.getAirplaneName());
-        while (true) {
-            if (messages.isEmpty()) {
-                Thread.sleep(100);
-            }
-            while (!messages.isEmpty()) {
-                Message message = messages.poll();
-                if (message.getType() == Message.MessageType.TERMINATED) {
-                    return System.nanoTime() - startTime;
-                }
-                switch (message.getType()) {
-                    case WAITING_AROUND:
-                        // Continue to sleep and wait for next messages.
-                        break;
-                    case LAND_ON_A_RUNWAY:
-                        RunwayState.RunwayType runwayType = MessageUtils.getRunwayFromMessage(message);
-                        chosenRunwayIndex = runwayType.getIndex();
-                        runawayState.landOnRunaway(data.getAirplaneName(), runwayType);
-                        // Execute landing.
-                        Thread.sleep(data.getAirplaneType().getLandingTime() * 1000);
-                        runawayState.finishLanding(runwayType);
+    /**
+     * Asynchronous message receiving, message is processed by action of {@link SimulationScheduler}.
+     */
+    public void send(Message message) {
+        scheduler.schedule(0, TimeUnit.SECONDS, () -> processMessage(message));
+    }
 
-                        communicator.confirmOfSuccessLanding(controllerId, data.getAirplaneName(), runwayType);
-                        landed = true;
-                        return System.nanoTime() - startTime;
+    private void processMessage(Message message) {
+        switch (message.getType()) {
+            case WAITING_AROUND:
+                // Order to wait is ignored, if landing was ordered meanwhile.
+                state.compareAndSet(State.REQUESTED, State.HOLDING);
+                break;
+            case LAND_ON_A_RUNWAY:
+                if (!state.compareAndSet(State.REQUESTED, State.LANDING) &&
+                        !state.compareAndSet(State.HOLDING, State.LANDING)) {
+                    throw new IllegalStateException(String.format("%s is ordered to land in state %s",
+                            data.getAirplaneName(), state.get()));
                 }
-            }
+                int runwayIndex = startLanding(message);
+                scheduler.schedule(data.getAirplaneType().getLandingTime(), TimeUnit.SECONDS,
+                        () -> finishLanding(message.getControllerId(), runwayIndex));
+                break;
         }
     }
 
     /**
-     * Asynchronous message receiving to queue for further processing.
+     * Occupies runway ordered by passed-in {@link Message} of {@link Message.MessageType#LAND_ON_A_RUNWAY} type,
+     * returns index of occupied runway.
+     */
+    private int startLanding(Message message) {
+        int runwayIndex = message.getRunwayIndex();
+        landingOrderLatencyInMillis =
+                TimeUnit.NANOSECONDS.toMillis(scheduler.getClock().nanoTime() - startTime);
+        chosenRunwayIndex = runwayIndex;
+        runawayState.landOnRunaway(data.getAirplaneName(), runwayIndex);
+        return runwayIndex;
+    }
+
+    /**
+     * Releases runway with passed-in {@code runwayIndex} after landing and confirms it to traffic controller with
+     * {@code controllerId}, which ordered landing.
      */
-    public void send(Message message) throws InterruptedException {
-        messages.put(message);
+    private void finishLanding(int controllerId, int runwayIndex) throws InterruptedException {
+        runawayState.finishLanding(runwayIndex);
+        landed = true;
+        executionTime = TimeUnit.NANOSECONDS.toSeconds(scheduler.getClock().nanoTime() - startTime);
+        state.set(State.LANDED);
+        communicator.confirmOfSuccessLanding(controllerId, id, runwayIndex);
+    }
+
+    public State getState() {
+        return state.get();
     }
 
     @Override
     public String getParticipantName() {
         return data.getAirplaneName();
     }
+
+    public enum State {
+        APPROACHING,
+        REQUESTED,
+        HOLDING,
+        LANDING,
+        LANDED
+    }
 }
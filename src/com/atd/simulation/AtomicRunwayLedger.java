@@ -0,0 +1,78 @@
+package com.atd.simulation;
+
+import com.atd.metrics.MetricsRegistry;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free {@link RunwayLedger} shared by all {@link TrafficController}s of single process. Each runway has single
+ * slot, which holds id of reservation owner in low half and epoch of reservation in high half; epoch is incremented by
+ * each claim, so stale reservation could never release newer one.
+ */
+public class AtomicRunwayLedger implements RunwayLedger {
+
+    private static final long OWNER_MASK = 0xFFFFFFFFL;
+
+    private final AtomicLongArray slots;
+
+    public AtomicRunwayLedger(int runwaysCount) {
+        slots = new AtomicLongArray(runwaysCount);
+    }
+
+    public AtomicRunwayLedger(int runwaysCount, MetricsRegistry metrics) {
+        this(runwaysCount);
+        metrics.gauge(MetricsRegistry.RESERVED_RUNWAYS, () -> Long.bitCount(getOccupiedRunways()));
+    }
+
+    @Override
+    public long claim(int runwayIndex, int ownerId) {
+        long slot = slots.get(runwayIndex);
+        if ((slot & OWNER_MASK) != 0) {
+            return NO_RESERVATION;
+        }
+        // Owner is stored shifted by one, so reserved slot always differs from released one.
+        long epoch = (slot >>> Integer.SIZE) + 1;
+        long reservation = epoch << Integer.SIZE | (ownerId + 1L) & OWNER_MASK;
+        return slots.compareAndSet(runwayIndex, slot, reservation) ? reservation : NO_RESERVATION;
+    }
+
+    @Override
+    public boolean release(int runwayIndex, long reservation) {
+        return reservation != NO_RESERVATION &&
+                slots.compareAndSet(runwayIndex, reservation, reservation & ~OWNER_MASK);
+    }
+
+    @Override
+    public boolean reinstate(int runwayIndex, long reservation) {
+        long slot = slots.get(runwayIndex);
+        while (slot != reservation) {
+            if ((slot & OWNER_MASK) != 0 || slot >>> Integer.SIZE >= reservation >>> Integer.SIZE) {
+                return false;
+            }
+            if (slots.compareAndSet(runwayIndex, slot, reservation)) {
+                return true;
+            }
+            slot = slots.get(runwayIndex);
+        }
+        return true;
+    }
+
+    @Override
+    public int getOwner(int runwayIndex) {
+        return (int) (slots.get(runwayIndex) & OWNER_MASK) - 1;
+    }
+
+    /**
+     * Returns bitset of currently reserved runways. Costs single volatile read per runway without any locking, each
+     * bit is exact at time of its read.
+     */
+    public long getOccupiedRunways() {
+        long occupiedRunways = 0;
+        for (int index = 0; index < slots.length(); index++) {
+            if ((slots.get(index) & OWNER_MASK) != 0) {
+                occupiedRunways |= 1L << index;
+            }
+        }
+        return occupiedRunways;
+    }
+}
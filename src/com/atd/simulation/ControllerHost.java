@@ -0,0 +1,226 @@
+package com.atd.simulation;
+
+import com.atd.communication.Communicator;
+import com.atd.communication.data.Message;
+import com.atd.communication.journal.EventJournal;
+import com.atd.communication.transport.ControllerHandshake;
+import com.atd.communication.transport.RemoteRunwayLedger;
+import com.atd.communication.transport.SocketTransport;
+import com.atd.communication.transport.TransportListener;
+import com.atd.communication.wire.MessageFlyweight;
+import com.atd.config.AirplaneData;
+import com.atd.config.ConfigurationReader;
+import com.atd.config.SimulationSettings;
+import com.atd.metrics.MetricsRegistry;
+import com.atd.simulation.checkpoint.ControllerCheckpoint;
+import com.atd.simulation.checkpoint.ControllerSnapshot;
+import com.atd.simulation.checkpoint.MappedCheckpoint;
+import com.atd.simulation.event.RealTimeScheduler;
+import com.atd.simulation.replay.RecordingWriter;
+import com.atd.simulation.replay.SimulationRecorder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process hosting single traffic controller of {@link SimulationSettings.Mode#REAL_TIME} simulation, whose airplanes
+ * are hosted by other process connected over socket (see {@link SimulationSettings#getControllersAddress()}). Other
+ * traffic controllers are hosted each by own process: their proposals are relayed by process of airplanes, and each
+ * controller claims runways in ledger of that process (see {@link RemoteRunwayLedger}), while runways occupied by the
+ * others are learned from their proposals. Airplanes and other controllers are represented by local stubs, which are
+ * never run, so messages are addressed the same way as in single process. Time is measured by clock received from
+ * process of airplanes (see {@link ControllerHandshake}). Usage:
+ * <pre>
+ *     java com.atd.simulation.ControllerHost port id controllers GREEDY|LOOK_AHEAD [recording|-] [runways|-]
+ *         [checkpoints|-]
+ * </pre>
+ * Host listens on loopback, prints its port, e.g. chosen for port 0, serves single simulation and exits, when it is
+ * completed or connection is lost. If checkpoints directory is defined, controller keeps checkpoint there, and host
+ * restarted at the same port after its process is lost restores controller from it, when process of airplanes
+ * reconnects.
+ */
+@Slf4j
+public class ControllerHost {
+
+    /**
+     * Placeholder of optional argument, which is not defined.
+     */
+    private static final String UNDEFINED_ARGUMENT = "-";
+
+    private final int controllerId;
+    private final SimulationSettings settings;
+
+    public ControllerHost(int controllerId, SimulationSettings settings) {
+        if (controllerId < 0 || controllerId >= settings.getControllersCount()) {
+            throw new IllegalArgumentException(String.format("Controller id %d is out of %d traffic controllers",
+                    controllerId, settings.getControllersCount()));
+        }
+        this.controllerId = controllerId;
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 4 || args.length > 7) {
+            System.err.println("Usage: ControllerHost <port> <controller id> <controllers> <runway scheduling> "
+                    + "[recording file|-] [runways file|-] [checkpoints directory|-]");
+            System.exit(1);
+        }
+        SimulationSettings settings = SimulationSettings.builder()
+                .controllersCount(Integer.parseInt(args[2]))
+                .runwayScheduling(SimulationSettings.RunwayScheduling.valueOf(args[3]))
+                .recordingPath(optionalArgument(args, 4))
+                .runwaysConfigPath(optionalArgument(args, 5))
+                .checkpointPath(optionalArgument(args, 6))
+                .build();
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            // Restarted host listens at the same port, while connections of lost process may still be closing.
+            server.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(args[0])));
+            System.out.println("Listening on port " + ((InetSocketAddress) server.getLocalAddress()).getPort());
+            System.out.flush();
+            new ControllerHost(Integer.parseInt(args[1]), settings).run(server.accept());
+        }
+    }
+
+    private static String optionalArgument(String[] args, int index) {
+        return args.length > index && !UNDEFINED_ARGUMENT.equals(args[index]) ? args[index] : null;
+    }
+
+    /**
+     * Runs traffic controller serving airplanes of process connected by passed-in {@code channel}, till it is
+     * terminated by that process or connection is lost. Controller starts, when airplanes registered before connection
+     * are registered again.
+     */
+    public void run(SocketChannel channel) throws InterruptedException {
+        int controllersCount = settings.getControllersCount();
+        RunwayRegistry runwayRegistry = settings.getRunwaysConfigPath() == null ?
+                RunwayRegistry.defaultRegistry() :
+                new RunwayRegistry(ConfigurationReader.readRunways(Paths.get(settings.getRunwaysConfigPath())));
+        ControllerHandshake handshake = ControllerHandshake.read(channel);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        RealTimeScheduler scheduler =
+                new RealTimeScheduler(Runtime.getRuntime().availableProcessors(), handshake.createClock());
+        MetricsRegistry metrics = new MetricsRegistry(scheduler.getClock());
+        // Runways are occupied by airplanes of other process.
+        RunwayState runwayState = new RunwayState(0);
+        ControllerCheckpoint checkpoint = openCheckpoint(handshake);
+        SocketTransport transport = new SocketTransport(channel, controllerId, metrics);
+        CountDownLatch registrations = new CountDownLatch(handshake.getAirplanesCount());
+        try (RecordingWriter recording = settings.getRecordingPath() == null ? null :
+                new RecordingWriter(Paths.get(settings.getRecordingPath()), controllersCount, runwayRegistry,
+                        settings.getRunwayScheduling())) {
+            SimulationRecorder recorder = recording == null ? SimulationRecorder.NONE : recording;
+            Communicator communicator = new Communicator(metrics, EventJournal.NONE, transport);
+            TrafficController controller = null;
+            for (int id = 0; id < controllersCount; id++) {
+                ControllerSettings.ControllerSettingsBuilder controllerSettings = ControllerSettings.builder()
+                        .id(id)
+                        .controllersCount(controllersCount)
+                        .communicator(communicator)
+                        .runwayRegistry(runwayRegistry)
+                        .scheduler(scheduler);
+                if (id == controllerId) {
+                    controller = new TrafficController(controllerSettings
+                            .runwayLedger(new RemoteRunwayLedger(transport))
+                            .recorder(recorder)
+                            .runwayScheduling(settings.getRunwayScheduling())
+                            .checkpoint(checkpoint)
+                            .landingsInProgress(handshake.getLandingsInProgress())
+                            .build());
+                } else {
+                    // Stub of controller hosted by other process.
+                    new TrafficController(controllerSettings.build());
+                }
+            }
+            TrafficController localController = controller;
+            ControllerHandshake.writeRestoredRequests(channel, getRestoredRequests(checkpoint));
+            transport.start(new TransportListener() {
+                @Override
+                public void airplaneRegistered(int airplaneId, AirplaneData data) {
+                    new Airplane(airplaneId, data, communicator, runwayState, scheduler);
+                    registrations.countDown();
+                }
+
+                @Override
+                public void messageReceived(MessageFlyweight flyweight) throws InterruptedException {
+                    communicator.receive(flyweight);
+                }
+
+                @Override
+                public void disconnected() {
+                    log.info("Connection to airplanes is closed");
+                    while (registrations.getCount() > 0) {
+                        registrations.countDown();
+                    }
+                    // Controller, if it is not terminated yet, has nobody to serve.
+                    try {
+                        localController.send(Message.builder()
+                                .type(Message.MessageType.TERMINATED)
+                                .controllerId(controllerId)
+                                .build());
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            registrations.await();
+            executorService.submit(localController);
+            executorService.shutdown();
+            executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } finally {
+            executorService.shutdownNow();
+            scheduler.shutdown();
+            transport.close();
+            checkpoint.close();
+        }
+    }
+
+    /**
+     * Returns checkpoint of controller in directory defined by settings: restored one, if process of airplanes
+     * reconnects after airplanes were registered, i.e. host is restarted during simulation, or new one otherwise.
+     */
+    private ControllerCheckpoint openCheckpoint(ControllerHandshake handshake) {
+        if (settings.getCheckpointPath() == null) {
+            return ControllerCheckpoint.NONE;
+        }
+        Path path = MappedCheckpoint.controllerPath(Paths.get(settings.getCheckpointPath()), controllerId);
+        if (handshake.getAirplanesCount() > 0 && Files.exists(path)) {
+            log.info("Traffic controller {} is restored from {}", controllerId, path);
+            return MappedCheckpoint.restore(path);
+        }
+        return MappedCheckpoint.create(path);
+    }
+
+    /**
+     * Returns ids of airplanes, which requests are restored from passed-in {@code checkpoint}.
+     */
+    private static int[] getRestoredRequests(ControllerCheckpoint checkpoint) {
+        ControllerSnapshot restoredState = checkpoint.getRestoredState();
+        if (restoredState == null) {
+            return new int[0];
+        }
+        LandingRequestStorage storage = restoredState.getLandingRequestStorage();
+        int[] airplaneIds = new int[storage.size()];
+        int count = 0;
+        for (AirplaneData.LandingType landingType : AirplaneData.LandingType.values()) {
+            for (AirplaneData.AirplaneType airplaneType : AirplaneData.AirplaneType.values()) {
+                for (int index = 0; index < storage.getRequestsCount(landingType, airplaneType); index++) {
+                    airplaneIds[count++] = storage.getAirplaneId(landingType, airplaneType, index);
+                }
+            }
+        }
+        return airplaneIds;
+    }
+}
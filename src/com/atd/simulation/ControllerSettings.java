@@ -0,0 +1,54 @@
+package com.atd.simulation;
+
+import com.atd.communication.TrafficControllerCommunicator;
+import com.atd.config.SimulationSettings;
+import com.atd.simulation.checkpoint.ControllerCheckpoint;
+import com.atd.simulation.event.SimulationScheduler;
+import com.atd.simulation.replay.SimulationRecorder;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Settings and collaborators of {@link TrafficController}.
+ */
+@Builder
+@Getter
+public class ControllerSettings {
+
+    /**
+     * Value of {@link #landingsInProgress}, which keeps restored reservations of all runways.
+     */
+    public static final long ALL_RUNWAYS = -1L;
+
+    private final int id;
+    /**
+     * Number of all traffic controllers, which synchronise their decisions, including this one.
+     */
+    @Builder.Default
+    private final int controllersCount = 1;
+    private final TrafficControllerCommunicator communicator;
+    private final RunwayRegistry runwayRegistry;
+    /**
+     * Ledger of runway reservations shared with other traffic controllers. If not defined, controller reserves runways
+     * in own ledger.
+     */
+    private final RunwayLedger runwayLedger;
+    private final SimulationScheduler scheduler;
+    @Builder.Default
+    private final SimulationRecorder recorder = SimulationRecorder.NONE;
+    @Builder.Default
+    private final SimulationSettings.RunwayScheduling runwayScheduling = SimulationSettings.RunwayScheduling.GREEDY;
+    /**
+     * Checkpoint, which controller is restored from, if it has any state, and keeps changes of its state in.
+     */
+    @Builder.Default
+    private final ControllerCheckpoint checkpoint = ControllerCheckpoint.NONE;
+    /**
+     * Bitset of runways with landings ordered by this controller, which are not approved yet, as known by process of
+     * airplanes, when controller is restored. Restored reservations of other runways are released, since their
+     * landings were approved, while controller was down. By default all runways, so only reservations lost in ledger
+     * are released.
+     */
+    @Builder.Default
+    private final long landingsInProgress = ALL_RUNWAYS;
+}
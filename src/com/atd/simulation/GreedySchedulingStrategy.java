@@ -0,0 +1,93 @@
+package com.atd.simulation;
+
+import com.atd.config.AirplaneData;
+import com.atd.simulation.data.LandingRequest;
+
+import java.util.Map;
+
+/**
+ * Strategy assigning runways available now to the most preferable requests: each request in order of preference gets
+ * the best matching available runway, preferring runways, which are not occupied by other traffic controllers.
+ * Landing times and releases of occupied runways are not considered.
+ */
+public class GreedySchedulingStrategy implements RunwaySchedulingStrategy {
+
+    private static final AirplaneData.AirplaneType[] AIRPLANE_TYPES = AirplaneData.AirplaneType.values();
+    private static final int NO_CANDIDATES = -1;
+
+    private final RunwayRegistry runwayRegistry;
+    private final LandingRequestStorage landingRequestStorage;
+    /**
+     * Index of the next candidate request per ordinal of airplane type, or {@link #NO_CANDIDATES} if no request of
+     * the type could get runway. Reused between invocations.
+     */
+    private final int[] candidates = new int[AIRPLANE_TYPES.length];
+
+    public GreedySchedulingStrategy(RunwayRegistry runwayRegistry, LandingRequestStorage landingRequestStorage) {
+        this.runwayRegistry = runwayRegistry;
+        this.landingRequestStorage = landingRequestStorage;
+    }
+
+    @Override
+    public void defineProposals(Map<Integer, LandingRequest> proposals, long availableRunways,
+                                long runwaysOccupiedByOthers, long[] releaseTimesMillis, long currentTimeMillis) {
+        long runwayStates = defineAvailableRunwayForRequests(proposals, availableRunways, runwaysOccupiedByOthers,
+                AirplaneData.LandingType.EMERGENCY);
+        defineAvailableRunwayForRequests(proposals, runwayStates, runwaysOccupiedByOthers,
+                AirplaneData.LandingType.NORMAL);
+    }
+
+    /**
+     * Updates passed-in {@code availableRunwayToRequest} with found available for execution landing requests of
+     * passed-in {@code landingType}, based on bitset of available runways {@code runwayStates}. Returns bitset of
+     * runways, which are still available after update.
+     * Requests are visited in order of preference by merging ordered queues per airplane type; queue is dropped as
+     * soon as no compatible runway is left for its airplane type, so only requests which get runway are visited,
+     * instead of all stored ones.
+     */
+    private long defineAvailableRunwayForRequests(
+            Map<Integer, LandingRequest> availableRunwayToRequest,
+            long runwayStates, long runwaysOccupiedByOthers, AirplaneData.LandingType landingType) {
+        for (AirplaneData.AirplaneType airplaneType : AIRPLANE_TYPES) {
+            boolean compatible = (runwayStates & runwayRegistry.getCompatibleRunways(airplaneType)) != 0;
+            candidates[airplaneType.ordinal()] = compatible &&
+                    landingRequestStorage.getRequestsCount(landingType, airplaneType) > 0 ? 0 : NO_CANDIDATES;
+        }
+        while (runwayStates != 0) {
+            // Select the most preferable candidate among heads of all queues.
+            AirplaneData.AirplaneType bestType = null;
+            for (AirplaneData.AirplaneType airplaneType : AIRPLANE_TYPES) {
+                int candidate = candidates[airplaneType.ordinal()];
+                if (candidate != NO_CANDIDATES && (bestType == null || LandingRequest.compare(
+                        landingRequestStorage.getRequestTimeMillis(landingType, airplaneType, candidate),
+                        landingRequestStorage.getAirplaneId(landingType, airplaneType, candidate),
+                        landingRequestStorage.getRequestTimeMillis(landingType, bestType,
+                                candidates[bestType.ordinal()]),
+                        landingRequestStorage.getAirplaneId(landingType, bestType,
+                                candidates[bestType.ordinal()])) < 0)) {
+                    bestType = airplaneType;
+                }
+            }
+            if (bestType == null) {
+                break;
+            }
+            int matchRunway = runwayRegistry.findAvailableRunway(runwayStates & ~runwaysOccupiedByOthers, bestType);
+            if (matchRunway == RunwayRegistry.NO_RUNWAY) {
+                matchRunway = runwayRegistry.findAvailableRunway(runwayStates, bestType);
+            }
+            if (matchRunway == RunwayRegistry.NO_RUNWAY) {
+                // No runway left for this airplane type, skip all its requests.
+                candidates[bestType.ordinal()] = NO_CANDIDATES;
+                continue;
+            }
+            int candidate = candidates[bestType.ordinal()];
+            availableRunwayToRequest.put(matchRunway,
+                    landingRequestStorage.getRequest(landingType, bestType, candidate));
+            runwayStates &= ~(1L << matchRunway);
+            candidates[bestType.ordinal()] =
+                    candidate + 1 < landingRequestStorage.getRequestsCount(landingType, bestType) ?
+                            candidate + 1 : NO_CANDIDATES;
+        }
+        return runwayStates;
+    }
+}
@@ -1,30 +1,413 @@
 package com.atd.simulation;
 
+import com.atd.config.AirplaneData;
 import com.atd.simulation.data.LandingRequest;
-import lombok.Getter;
 
-import java.util.LinkedList;
+import java.util.Arrays;
 
 /**
- * Storage of landing requests.
+ * Storage of landing requests, kept in queues per landing type and airplane type ordered from the most preferable
+ * request, so the most preferable request for each class of compatible runways is available without scan of all
+ * stored requests.
+ * Each queue is order-statistic tree kept in parallel primitive arrays: ids of airplanes, times of requests, links
+ * of tree nodes, sizes and heights of subtrees; landing type and airplane type are implied by the queue. So stored
+ * request takes 28 bytes instead of request object and node of ordered set, which matters for fleets of hundreds of
+ * thousands of airplanes. Insertion, removal and access to request by its index in order cost O(log n).
+ * Arrays are split into pages, which are shared by {@link #copy()} and copied before the first change after it, so
+ * snapshot of storage for checkpoint costs O(n / 256) on decision thread instead of copy of all stored requests.
  */
-@Getter
 public class LandingRequestStorage {
 
-    private final LinkedList<LandingRequest> emergencyRequests;
-    private final LinkedList<LandingRequest> normalRequests;
+    private static final int INITIAL_PAGES_CAPACITY = 4;
+
+    private static final AirplaneData.AirplaneType[] AIRPLANE_TYPES = AirplaneData.AirplaneType.values();
+
+    /**
+     * Queues per landing type and airplane type, see {@link #getQueue}.
+     */
+    private final RequestQueue[] queues;
+    private int size;
 
     public LandingRequestStorage() {
-        emergencyRequests = new LinkedList<>();
-        normalRequests = new LinkedList<>();
+        queues = new RequestQueue[AirplaneData.LandingType.values().length * AIRPLANE_TYPES.length];
+        for (int index = 0; index < queues.length; index++) {
+            queues[index] = new RequestQueue();
+        }
+    }
+
+    private LandingRequestStorage(LandingRequestStorage storage) {
+        queues = new RequestQueue[storage.queues.length];
+        for (int index = 0; index < queues.length; index++) {
+            queues[index] = new RequestQueue(storage.queues[index]);
+        }
+        size = storage.size;
+    }
+
+    /**
+     * Returns independent copy of this storage, which shares pages of stored requests with it. Copy costs copy of
+     * references to pages, each page is copied by the storage or its copy before its first change, so change after
+     * copy costs up to O(log n) copies of pages of 256 requests, which the tree walk touches.
+     */
+    public LandingRequestStorage copy() {
+        return new LandingRequestStorage(this);
+    }
+
+    /**
+     * Stores all requests of passed-in {@code storage}.
+     */
+    public void addAll(LandingRequestStorage storage) {
+        for (int index = 0; index < queues.length; index++) {
+            RequestQueue queue = storage.queues[index];
+            for (int position = 0; position < queue.size(); position++) {
+                int node = queue.select(position);
+                if (queues[index].add(queue.getAirplaneId(node), queue.getRequestTimeMillis(node))) {
+                    size++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores request of airplane with passed-in {@code airplaneId}, made at {@code requestTimeMillis}. Repeated
+     * request of the same airplane at the same time is ignored.
+     */
+    public void addLandingRequest(int airplaneId, AirplaneData.AirplaneType airplaneType,
+                                  AirplaneData.LandingType landingType, long requestTimeMillis) {
+        if (getQueue(landingType, airplaneType).add(airplaneId, requestTimeMillis)) {
+            size++;
+        }
+    }
+
+    /**
+     * Removes passed-in request, returns 'false' if there was no such request.
+     */
+    public boolean removeLandingRequest(LandingRequest request) {
+        if (getQueue(request.getLandingType(), request.getAirplaneType())
+                .remove(request.getAirplaneId(), request.getRequestTimeMillis())) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns number of stored requests of passed-in landing and airplane types.
+     */
+    public int getRequestsCount(AirplaneData.LandingType landingType, AirplaneData.AirplaneType airplaneType) {
+        return getQueue(landingType, airplaneType).size();
+    }
+
+    /**
+     * Returns id of airplane of request with passed-in {@code index} in order of preference among stored requests of
+     * passed-in landing and airplane types.
+     */
+    public int getAirplaneId(AirplaneData.LandingType landingType, AirplaneData.AirplaneType airplaneType, int index) {
+        RequestQueue queue = getQueue(landingType, airplaneType);
+        return queue.getAirplaneId(queue.select(index));
+    }
+
+    /**
+     * Returns time of request with passed-in {@code index} in order of preference among stored requests of passed-in
+     * landing and airplane types.
+     */
+    public long getRequestTimeMillis(AirplaneData.LandingType landingType, AirplaneData.AirplaneType airplaneType,
+                                     int index) {
+        RequestQueue queue = getQueue(landingType, airplaneType);
+        return queue.getRequestTimeMillis(queue.select(index));
+    }
+
+    /**
+     * Returns {@link LandingRequest} with passed-in {@code index} in order of preference among stored requests of
+     * passed-in landing and airplane types. Request is created on each invocation, so it is used for proposals only.
+     */
+    public LandingRequest getRequest(AirplaneData.LandingType landingType, AirplaneData.AirplaneType airplaneType,
+                                     int index) {
+        RequestQueue queue = getQueue(landingType, airplaneType);
+        int node = queue.select(index);
+        return LandingRequest.builder()
+                .airplaneId(queue.getAirplaneId(node))
+                .airplaneType(airplaneType)
+                .landingType(landingType)
+                .requestTimeMillis(queue.getRequestTimeMillis(node))
+                .build();
+    }
+
+    public int size() {
+        return size;
     }
 
-    public void removeLandingRequestFromQueue(LandingRequest request) {
-        if (emergencyRequests.contains(request)) {
-            emergencyRequests.remove(request);
+    private RequestQueue getQueue(AirplaneData.LandingType landingType, AirplaneData.AirplaneType airplaneType) {
+        return queues[landingType.ordinal() * AIRPLANE_TYPES.length + airplaneType.ordinal()];
+    }
+
+    /**
+     * Queue of requests ordered by time of request, then by id of airplane: AVL tree, whose nodes are indexes of
+     * parallel arrays. Each node keeps size of its subtree, so request with given index in order is found in
+     * O(log n). Node {@link #NIL} is sentinel of empty subtree, released nodes are chained through their left links.
+     * Arrays are split into pages of {@link #PAGE_CAPACITY} nodes, so queue grows without copy of its nodes and page
+     * shared with copy of queue is copied on its first change.
+     */
+    private static final class RequestQueue {
+
+        private static final int NIL = 0;
+
+        /*
+         * Offsets of fields of node in {@link #nodes}.
+         */
+        private static final int LEFT = 0;
+        private static final int RIGHT = 1;
+        private static final int SIZE = 2;
+        private static final int HEIGHT = 3;
+        private static final int NODE_SIZE = 4;
+
+        private static final int PAGE_SHIFT = 8;
+        private static final int PAGE_CAPACITY = 1 << PAGE_SHIFT;
+        private static final int PAGE_MASK = PAGE_CAPACITY - 1;
+
+        private int[][] airplaneIds;
+        private long[][] requestTimesMillis;
+        /**
+         * Links, size and height of subtree of each node, kept adjacent for locality of walks down the tree.
+         */
+        private int[][] nodes;
+        /**
+         * Whether page is shared with copy of queue, so it is copied before its change.
+         */
+        private boolean[] sharedPages;
+        private int pagesCount;
+        private int root = NIL;
+        private int freeNode = NIL;
+        private int nodesCount = 1;
+        /**
+         * Whether the last insertion or removal changed the queue.
+         */
+        private boolean changed;
+
+        private RequestQueue() {
+            airplaneIds = new int[INITIAL_PAGES_CAPACITY][];
+            requestTimesMillis = new long[INITIAL_PAGES_CAPACITY][];
+            nodes = new int[INITIAL_PAGES_CAPACITY][];
+            sharedPages = new boolean[INITIAL_PAGES_CAPACITY];
+            addPage();
+        }
+
+        /**
+         * Creates copy of passed-in {@code queue}, which shares its pages, so they are marked as shared in both.
+         */
+        private RequestQueue(RequestQueue queue) {
+            Arrays.fill(queue.sharedPages, 0, queue.pagesCount, true);
+            airplaneIds = queue.airplaneIds.clone();
+            requestTimesMillis = queue.requestTimesMillis.clone();
+            nodes = queue.nodes.clone();
+            sharedPages = queue.sharedPages.clone();
+            pagesCount = queue.pagesCount;
+            root = queue.root;
+            freeNode = queue.freeNode;
+            nodesCount = queue.nodesCount;
         }
-        if (normalRequests.contains(request)) {
-            normalRequests.remove(request);
+
+        private int size() {
+            return get(root, SIZE);
+        }
+
+        private boolean add(int airplaneId, long requestTimeMillis) {
+            root = insert(root, airplaneId, requestTimeMillis);
+            return changed;
+        }
+
+        private boolean remove(int airplaneId, long requestTimeMillis) {
+            root = delete(root, airplaneId, requestTimeMillis);
+            if (root == NIL) {
+                freeNode = NIL;
+                nodesCount = 1;
+            }
+            return changed;
+        }
+
+        /**
+         * Returns node of request with passed-in {@code index} in order of preference.
+         */
+        private int select(int index) {
+            int node = root;
+            while (true) {
+                int leftSize = get(get(node, LEFT), SIZE);
+                if (index < leftSize) {
+                    node = get(node, LEFT);
+                } else if (index == leftSize) {
+                    return node;
+                } else {
+                    index -= leftSize + 1;
+                    node = get(node, RIGHT);
+                }
+            }
+        }
+
+        /**
+         * Inserts request into subtree of passed-in {@code node}, returns root of balanced subtree.
+         */
+        private int insert(int node, int airplaneId, long requestTimeMillis) {
+            if (node == NIL) {
+                changed = true;
+                return allocate(airplaneId, requestTimeMillis);
+            }
+            int comparison = LandingRequest.compare(requestTimeMillis, airplaneId, getRequestTimeMillis(node),
+                    getAirplaneId(node));
+            if (comparison == 0) {
+                changed = false;
+                return node;
+            }
+            int field = comparison < 0 ? LEFT : RIGHT;
+            set(node, field, insert(get(node, field), airplaneId, requestTimeMillis));
+            return changed ? balance(node) : node;
+        }
+
+        /**
+         * Removes request from subtree of passed-in {@code node}, returns root of balanced subtree.
+         */
+        private int delete(int node, int airplaneId, long requestTimeMillis) {
+            if (node == NIL) {
+                changed = false;
+                return NIL;
+            }
+            int comparison = LandingRequest.compare(requestTimeMillis, airplaneId, getRequestTimeMillis(node),
+                    getAirplaneId(node));
+            if (comparison != 0) {
+                int field = comparison < 0 ? LEFT : RIGHT;
+                set(node, field, delete(get(node, field), airplaneId, requestTimeMillis));
+                return changed ? balance(node) : node;
+            }
+            changed = true;
+            int left = get(node, LEFT);
+            int right = get(node, RIGHT);
+            release(node);
+            if (left == NIL || right == NIL) {
+                return left == NIL ? right : left;
+            }
+            int successor = right;
+            while (get(successor, LEFT) != NIL) {
+                successor = get(successor, LEFT);
+            }
+            set(successor, RIGHT, deleteFirst(right));
+            set(successor, LEFT, left);
+            return balance(successor);
+        }
+
+        /**
+         * Detaches the first node from subtree of passed-in {@code node}, returns root of balanced subtree.
+         */
+        private int deleteFirst(int node) {
+            if (get(node, LEFT) == NIL) {
+                return get(node, RIGHT);
+            }
+            set(node, LEFT, deleteFirst(get(node, LEFT)));
+            return balance(node);
+        }
+
+        private int balance(int node) {
+            update(node);
+            int left = get(node, LEFT);
+            int right = get(node, RIGHT);
+            int difference = get(left, HEIGHT) - get(right, HEIGHT);
+            if (difference > 1) {
+                if (get(get(left, LEFT), HEIGHT) < get(get(left, RIGHT), HEIGHT)) {
+                    set(node, LEFT, rotate(left, RIGHT));
+                }
+                return rotate(node, LEFT);
+            }
+            if (difference < -1) {
+                if (get(get(right, RIGHT), HEIGHT) < get(get(right, LEFT), HEIGHT)) {
+                    set(node, RIGHT, rotate(right, LEFT));
+                }
+                return rotate(node, RIGHT);
+            }
+            return node;
+        }
+
+        /**
+         * Rotates subtree of passed-in {@code node}, so that its child by {@code field} link becomes root of
+         * subtree, returns the new root.
+         */
+        private int rotate(int node, int field) {
+            int opposite = field == LEFT ? RIGHT : LEFT;
+            int child = get(node, field);
+            set(node, field, get(child, opposite));
+            set(child, opposite, node);
+            update(node);
+            update(child);
+            return child;
+        }
+
+        private void update(int node) {
+            int left = get(node, LEFT);
+            int right = get(node, RIGHT);
+            set(node, HEIGHT, Math.max(get(left, HEIGHT), get(right, HEIGHT)) + 1);
+            set(node, SIZE, get(left, SIZE) + get(right, SIZE) + 1);
+        }
+
+        private int getAirplaneId(int node) {
+            return airplaneIds[node >>> PAGE_SHIFT][node & PAGE_MASK];
+        }
+
+        private long getRequestTimeMillis(int node) {
+            return requestTimesMillis[node >>> PAGE_SHIFT][node & PAGE_MASK];
+        }
+
+        private int get(int node, int field) {
+            return nodes[node >>> PAGE_SHIFT][(node & PAGE_MASK) * NODE_SIZE + field];
+        }
+
+        private void set(int node, int field, int value) {
+            int page = node >>> PAGE_SHIFT;
+            if (sharedPages[page]) {
+                copyPage(page);
+            }
+            nodes[page][(node & PAGE_MASK) * NODE_SIZE + field] = value;
+        }
+
+        private void copyPage(int page) {
+            airplaneIds[page] = airplaneIds[page].clone();
+            requestTimesMillis[page] = requestTimesMillis[page].clone();
+            nodes[page] = nodes[page].clone();
+            sharedPages[page] = false;
+        }
+
+        private void addPage() {
+            if (pagesCount == nodes.length) {
+                int capacity = pagesCount * 2;
+                airplaneIds = Arrays.copyOf(airplaneIds, capacity);
+                requestTimesMillis = Arrays.copyOf(requestTimesMillis, capacity);
+                nodes = Arrays.copyOf(nodes, capacity);
+                sharedPages = Arrays.copyOf(sharedPages, capacity);
+            }
+            airplaneIds[pagesCount] = new int[PAGE_CAPACITY];
+            requestTimesMillis[pagesCount] = new long[PAGE_CAPACITY];
+            nodes[pagesCount] = new int[PAGE_CAPACITY * NODE_SIZE];
+            pagesCount++;
+        }
+
+        private int allocate(int airplaneId, long requestTimeMillis) {
+            int node = freeNode;
+            if (node != NIL) {
+                freeNode = get(node, LEFT);
+            } else {
+                if (nodesCount == pagesCount << PAGE_SHIFT) {
+                    addPage();
+                }
+                node = nodesCount++;
+            }
+            // Link is set first, so shared page is copied before request is stored.
+            set(node, LEFT, NIL);
+            airplaneIds[node >>> PAGE_SHIFT][node & PAGE_MASK] = airplaneId;
+            requestTimesMillis[node >>> PAGE_SHIFT][node & PAGE_MASK] = requestTimeMillis;
+            set(node, RIGHT, NIL);
+            set(node, SIZE, 1);
+            set(node, HEIGHT, 1);
+            return node;
+        }
+
+        private void release(int node) {
+            set(node, LEFT, freeNode);
+            freeNode = node;
         }
     }
 }
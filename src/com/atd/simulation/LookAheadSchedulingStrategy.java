@@ -0,0 +1,209 @@
+package com.atd.simulation;
+
+import com.atd.config.AirplaneData;
+import com.atd.simulation.data.LandingRequest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Strategy planning runway slots over horizon of waiting requests. Each runway is ready at time it is expected to be
+ * released: available runways now, own occupied runways when their landings finish, runways occupied by other traffic
+ * controllers shortly after now. Requests are planned in order of preference, each takes slot on runway type, which
+ * gives the least total wait of the whole horizon, if the rest of horizon takes the earliest slots. So regular
+ * airplane could wait few seconds for short runway, leaving long runway to large airplane, which couldn't land
+ * elsewhere. Emergency requests always take the earliest slot. Request is proposed, if it is planned as the first one
+ * on available runway.
+ * Horizon is limited to {@link #REQUESTS_PER_TYPE} the most preferable requests per landing type and airplane type, so
+ * planning costs {@code O(horizon^2 * runways)} in the worst case regardless of number of waiting airplanes.
+ */
+public class LookAheadSchedulingStrategy implements RunwaySchedulingStrategy {
+
+    /**
+     * Maximal number of requests of each landing type and airplane type in planning horizon.
+     */
+    static final int REQUESTS_PER_TYPE = 4;
+    /**
+     * Expected delay of release of runway occupied by other traffic controller, which landing time is not known.
+     */
+    static final long OCCUPIED_BY_OTHERS_DELAY_MILLIS = 1000;
+
+    private static final AirplaneData.AirplaneType[] AIRPLANE_TYPES = AirplaneData.AirplaneType.values();
+
+    private final RunwayRegistry runwayRegistry;
+    private final LandingRequestStorage landingRequestStorage;
+    /**
+     * Requests of planning horizon ordered by preference, as parallel arrays of landing type, airplane type and index
+     * of request in order of preference among stored requests of these types.
+     */
+    private final AirplaneData.LandingType[] horizonLandingTypes;
+    private final AirplaneData.AirplaneType[] horizonAirplaneTypes;
+    private final int[] horizonIndexes;
+    /**
+     * Number of requests collected to horizon per ordinal of airplane type.
+     */
+    private final int[] collectedRequests = new int[AIRPLANE_TYPES.length];
+    /**
+     * Time, when runway is ready for the next planned landing, per runway index.
+     */
+    private final long[] readyTimesMillis;
+    /**
+     * Copy of {@link #readyTimesMillis} used for evaluation of the rest of horizon.
+     */
+    private final long[] plannedReadyTimesMillis;
+
+    public LookAheadSchedulingStrategy(RunwayRegistry runwayRegistry, LandingRequestStorage landingRequestStorage) {
+        this.runwayRegistry = runwayRegistry;
+        this.landingRequestStorage = landingRequestStorage;
+        int horizonCapacity = REQUESTS_PER_TYPE * AirplaneData.LandingType.values().length * AIRPLANE_TYPES.length;
+        horizonLandingTypes = new AirplaneData.LandingType[horizonCapacity];
+        horizonAirplaneTypes = new AirplaneData.AirplaneType[horizonCapacity];
+        horizonIndexes = new int[horizonCapacity];
+        readyTimesMillis = new long[runwayRegistry.getRunwaysCount()];
+        plannedReadyTimesMillis = new long[runwayRegistry.getRunwaysCount()];
+    }
+
+    @Override
+    public void defineProposals(Map<Integer, LandingRequest> proposals, long availableRunways,
+                                long runwaysOccupiedByOthers, long[] releaseTimesMillis, long currentTimeMillis) {
+        for (int runwayIndex = 0; runwayIndex < readyTimesMillis.length; runwayIndex++) {
+            long runway = 1L << runwayIndex;
+            if ((availableRunways & runway) == 0) {
+                readyTimesMillis[runwayIndex] = Math.max(currentTimeMillis, releaseTimesMillis[runwayIndex]);
+            } else if ((runwaysOccupiedByOthers & runway) != 0) {
+                readyTimesMillis[runwayIndex] = currentTimeMillis + OCCUPIED_BY_OTHERS_DELAY_MILLIS;
+            } else {
+                readyTimesMillis[runwayIndex] = currentTimeMillis;
+            }
+        }
+        int horizonSize = collectHorizon();
+        // Plan only till each available runway gets its first request, later slots don't change proposals.
+        long unplannedRunways = availableRunways;
+        for (int index = 0; index < horizonSize && unplannedRunways != 0; index++) {
+            int runwayIndex = selectRunway(index, horizonSize, currentTimeMillis);
+            long runway = 1L << runwayIndex;
+            if ((unplannedRunways & runway) != 0) {
+                proposals.put(runwayIndex, landingRequestStorage.getRequest(horizonLandingTypes[index],
+                        horizonAirplaneTypes[index], horizonIndexes[index]));
+                unplannedRunways &= ~runway;
+            }
+            readyTimesMillis[runwayIndex] += getLandingTimeMillis(horizonAirplaneTypes[index]);
+        }
+    }
+
+    /**
+     * Ready times of runways are relative to current time, so the same state gives other proposals later.
+     */
+    @Override
+    public boolean isTimeDependent() {
+        return true;
+    }
+
+    /**
+     * Fills horizon with the most preferable requests of each landing type and airplane type, which could land on some
+     * runway, ordered by preference. Returns number of collected requests.
+     * Emergency requests precede normal ones, requests of the same landing type are merged from queues per airplane
+     * type, which are already ordered by preference.
+     */
+    private int collectHorizon() {
+        int size = 0;
+        for (AirplaneData.LandingType landingType : AirplaneData.LandingType.values()) {
+            for (AirplaneData.AirplaneType airplaneType : AIRPLANE_TYPES) {
+                collectedRequests[airplaneType.ordinal()] = runwayRegistry.getCompatibleRunways(airplaneType) == 0 ?
+                        REQUESTS_PER_TYPE : 0;
+            }
+            while (true) {
+                AirplaneData.AirplaneType bestType = null;
+                for (AirplaneData.AirplaneType airplaneType : AIRPLANE_TYPES) {
+                    int index = collectedRequests[airplaneType.ordinal()];
+                    if (index == REQUESTS_PER_TYPE ||
+                            index == landingRequestStorage.getRequestsCount(landingType, airplaneType)) {
+                        continue;
+                    }
+                    if (bestType == null || LandingRequest.compare(
+                            landingRequestStorage.getRequestTimeMillis(landingType, airplaneType, index),
+                            landingRequestStorage.getAirplaneId(landingType, airplaneType, index),
+                            landingRequestStorage.getRequestTimeMillis(landingType, bestType,
+                                    collectedRequests[bestType.ordinal()]),
+                            landingRequestStorage.getAirplaneId(landingType, bestType,
+                                    collectedRequests[bestType.ordinal()])) < 0) {
+                        bestType = airplaneType;
+                    }
+                }
+                if (bestType == null) {
+                    break;
+                }
+                horizonLandingTypes[size] = landingType;
+                horizonAirplaneTypes[size] = bestType;
+                horizonIndexes[size] = collectedRequests[bestType.ordinal()]++;
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns index of runway, on which request with passed-in index in horizon should land. The earliest
+     * runway of each compatible runway type is candidate, candidates are compared by total wait of requests from
+     * passed-in index till {@code horizonSize}, then by start of landing, then by preference of runway type.
+     */
+    private int selectRunway(int index, int horizonSize, long currentTimeMillis) {
+        AirplaneData.AirplaneType airplaneType = horizonAirplaneTypes[index];
+        boolean emergency = horizonLandingTypes[index] == AirplaneData.LandingType.EMERGENCY;
+        long[] preferredRunways = runwayRegistry.getPreferredRunways(airplaneType);
+        int selectedRunway = RunwayRegistry.NO_RUNWAY;
+        long selectedStart = Long.MAX_VALUE;
+        long selectedWait = Long.MAX_VALUE;
+        for (long runwaysMask : preferredRunways) {
+            int runwayIndex = findEarliestRunway(readyTimesMillis, runwaysMask);
+            long start = readyTimesMillis[runwayIndex];
+            long wait = emergency || preferredRunways.length == 1 ? start - currentTimeMillis :
+                    start - currentTimeMillis + getPlannedWait(index + 1, horizonSize, runwayIndex,
+                            start + getLandingTimeMillis(airplaneType), currentTimeMillis);
+            if (wait < selectedWait || wait == selectedWait && start < selectedStart) {
+                selectedRunway = runwayIndex;
+                selectedStart = start;
+                selectedWait = wait;
+            }
+        }
+        return selectedRunway;
+    }
+
+    /**
+     * Returns total wait of requests of horizon from {@code fromIndex} till {@code toIndex}, if runway with
+     * {@code runwayIndex} is ready at {@code readyTimeMillis} and each request takes the earliest compatible runway.
+     */
+    private long getPlannedWait(int fromIndex, int toIndex, int runwayIndex, long readyTimeMillis,
+                                long currentTimeMillis) {
+        System.arraycopy(readyTimesMillis, 0, plannedReadyTimesMillis, 0, readyTimesMillis.length);
+        plannedReadyTimesMillis[runwayIndex] = readyTimeMillis;
+        long totalWait = 0;
+        for (int index = fromIndex; index < toIndex; index++) {
+            AirplaneData.AirplaneType airplaneType = horizonAirplaneTypes[index];
+            int plannedRunway = findEarliestRunway(plannedReadyTimesMillis,
+                    runwayRegistry.getCompatibleRunways(airplaneType));
+            totalWait += plannedReadyTimesMillis[plannedRunway] - currentTimeMillis;
+            plannedReadyTimesMillis[plannedRunway] += getLandingTimeMillis(airplaneType);
+        }
+        return totalWait;
+    }
+
+    /**
+     * Returns index of runway from non-empty {@code runwaysMask}, which is ready the earliest, the lowest index wins
+     * ties.
+     */
+    private static int findEarliestRunway(long[] readyTimesMillis, long runwaysMask) {
+        int earliestRunway = Long.numberOfTrailingZeros(runwaysMask);
+        for (long runways = runwaysMask & (runwaysMask - 1); runways != 0; runways &= runways - 1) {
+            int runwayIndex = Long.numberOfTrailingZeros(runways);
+            if (readyTimesMillis[runwayIndex] < readyTimesMillis[earliestRunway]) {
+                earliestRunway = runwayIndex;
+            }
+        }
+        return earliestRunway;
+    }
+
+    private static long getLandingTimeMillis(AirplaneData.AirplaneType airplaneType) {
+        return TimeUnit.SECONDS.toMillis(airplaneType.getLandingTime());
+    }
+}
@@ -0,0 +1,44 @@
+package com.atd.simulation;
+
+/**
+ * Ledger of runway reservations of {@link TrafficController}s, which is the single authority on runways held by
+ * controllers of simulation, wherever they are hosted (see {@link AtomicRunwayLedger}).
+ * Runway is claimed when landing is ordered and released when landing is approved, so conflicting claim fails fast
+ * instead of being detected by crash of airplanes.
+ */
+public interface RunwayLedger {
+
+    /**
+     * Returned by {@link #claim(int, int)} if runway is already reserved.
+     */
+    long NO_RESERVATION = 0;
+    /**
+     * Returned by {@link #getOwner(int)} if runway is not reserved.
+     */
+    int NO_OWNER = -1;
+
+    /**
+     * Reserves runway with {@code runwayIndex} for owner with passed-in {@code ownerId}, returns reservation, which
+     * is required to release it, or {@link #NO_RESERVATION} if runway is already reserved.
+     */
+    long claim(int runwayIndex, int ownerId) throws InterruptedException;
+
+    /**
+     * Releases runway with {@code runwayIndex}, if it is still held by passed-in {@code reservation}. Returns 'false'
+     * if runway was not reserved by it.
+     */
+    boolean release(int runwayIndex, long reservation);
+
+    /**
+     * Reinstates passed-in {@code reservation} of runway with {@code runwayIndex}, which is restored by its owner from
+     * checkpoint. Returns 'true' if runway is still held by it or is free since older reservation and is held by it
+     * again, 'false' if runway is held or was released after it, so reservation is stale.
+     */
+    boolean reinstate(int runwayIndex, long reservation);
+
+    /**
+     * Returns id of owner of reservation of runway with {@code runwayIndex}, or {@link #NO_OWNER} if it is free or
+     * owner is not known.
+     */
+    int getOwner(int runwayIndex);
+}
@@ -0,0 +1,119 @@
+package com.atd.simulation;
+
+import com.atd.config.AirplaneData;
+import com.atd.config.RunwayData;
+import com.google.common.collect.ImmutableList;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Registry of airport runways. Runways are identified by index in registry, so set of runways could be represented
+ * as bitset in primitive {@code long}, where bit with runway index is set if runway is included (for example
+ * available for landing).
+ * Compatibility of airplane types with runways is precomputed as masks, so search of available runway for airplane
+ * costs few word operations regardless of number of runways.
+ */
+public class RunwayRegistry {
+
+    /**
+     * Returned by {@link #findAvailableRunway(long, AirplaneData.AirplaneType)} if no runway is available.
+     */
+    public static final int NO_RUNWAY = -1;
+    /**
+     * Maximal number of runways, which could be represented by bitset in {@code long}.
+     */
+    public static final int MAX_RUNWAYS_COUNT = Long.SIZE;
+
+    @Getter
+    private final List<RunwayData> runways;
+    /**
+     * Bitset with all runways of registry.
+     */
+    @Getter
+    private final long allRunways;
+    /**
+     * Masks of runways compatible with airplane type, per ordinal of {@link AirplaneData.AirplaneType} and ordered
+     * by preference: masks of shorter runway types go first.
+     */
+    private final long[][] preferredRunways;
+
+    public RunwayRegistry(List<RunwayData> runways) {
+        if (runways.isEmpty() || runways.size() > MAX_RUNWAYS_COUNT) {
+            throw new IllegalArgumentException(
+                    String.format("Number of runways should be from 1 to %d, but was %d",
+                            MAX_RUNWAYS_COUNT, runways.size()));
+        }
+        this.runways = ImmutableList.copyOf(runways);
+        allRunways = runways.size() == MAX_RUNWAYS_COUNT ? -1L : (1L << runways.size()) - 1;
+        preferredRunways = new long[AirplaneData.AirplaneType.values().length][];
+        for (AirplaneData.AirplaneType airplaneType : AirplaneData.AirplaneType.values()) {
+            preferredRunways[airplaneType.ordinal()] = computePreferredRunways(airplaneType);
+        }
+    }
+
+    /**
+     * Returns registry with default airport layout: short runway with index 0 and long runway with index 1.
+     */
+    public static RunwayRegistry defaultRegistry() {
+        return new RunwayRegistry(ImmutableList.of(
+                RunwayData.builder().runwayName("Runway-0").runwayType(RunwayData.RunwayType.SHORT).build(),
+                RunwayData.builder().runwayName("Runway-1").runwayType(RunwayData.RunwayType.LONG).build()));
+    }
+
+    public int getRunwaysCount() {
+        return runways.size();
+    }
+
+    /**
+     * Returns index of runway from {@code availableRunways} bitset, which best match for passed-in
+     * {@link AirplaneData.AirplaneType}, or {@link #NO_RUNWAY} if there is no such runway.
+     */
+    public int findAvailableRunway(long availableRunways, AirplaneData.AirplaneType airplaneType) {
+        for (long runwaysMask : preferredRunways[airplaneType.ordinal()]) {
+            long matchRunways = availableRunways & runwaysMask;
+            if (matchRunways != 0) {
+                return Long.numberOfTrailingZeros(matchRunways);
+            }
+        }
+        return NO_RUNWAY;
+    }
+
+    /**
+     * Returns bitset of runways, on which airplane of passed-in {@link AirplaneData.AirplaneType} could land.
+     */
+    public long getCompatibleRunways(AirplaneData.AirplaneType airplaneType) {
+        long compatibleRunways = 0;
+        for (long runwaysMask : preferredRunways[airplaneType.ordinal()]) {
+            compatibleRunways |= runwaysMask;
+        }
+        return compatibleRunways;
+    }
+
+    /**
+     * Returns masks of runways compatible with passed-in {@link AirplaneData.AirplaneType} per runway type, ordered by
+     * preference. Returned array is shared and must not be modified.
+     */
+    long[] getPreferredRunways(AirplaneData.AirplaneType airplaneType) {
+        return preferredRunways[airplaneType.ordinal()];
+    }
+
+    private long[] computePreferredRunways(AirplaneData.AirplaneType airplaneType) {
+        return Arrays.stream(RunwayData.RunwayType.values())
+                .filter(runwayType -> runwayType.accepts(airplaneType))
+                .mapToLong(this::getRunwaysOfType)
+                .filter(runwaysMask -> runwaysMask != 0)
+                .toArray();
+    }
+
+    private long getRunwaysOfType(RunwayData.RunwayType runwayType) {
+        long runwaysMask = 0;
+        for (int index = 0; index < runways.size(); index++) {
+            if (runways.get(index).getRunwayType() == runwayType) {
+                runwaysMask |= 1L << index;
+            }
+        }
+        return runwaysMask;
+    }
+}
@@ -0,0 +1,45 @@
+package com.atd.simulation;
+
+import com.atd.config.SimulationSettings;
+import com.atd.simulation.data.LandingRequest;
+
+import java.util.Map;
+
+/**
+ * Strategy of {@link TrafficController}, which defines requests from its {@link LandingRequestStorage} to be ordered
+ * to land now. Emergency requests must be preferred to normal ones. Strategy is invoked on each synchronisation round
+ * by thread of its controller, so it may keep state between invocations without synchronisation.
+ */
+public interface RunwaySchedulingStrategy {
+
+    /**
+     * Puts to passed-in {@code proposals} requests per index of runway from {@code availableRunways} bitset, on which
+     * they should land now. Runways of {@code runwaysOccupiedByOthers} are available locally, but were occupied by
+     * other traffic controllers in last synchronisation round. Other runways are occupied by landings ordered by own
+     * controller, which are expected to finish at {@code releaseTimesMillis} per runway index.
+     */
+    void defineProposals(Map<Integer, LandingRequest> proposals, long availableRunways,
+                         long runwaysOccupiedByOthers, long[] releaseTimesMillis, long currentTimeMillis);
+
+    /**
+     * Returns 'true' if proposals depend on passed-in current time, so proposals defined for the same state at other
+     * time could differ.
+     */
+    default boolean isTimeDependent() {
+        return false;
+    }
+
+    /**
+     * Returns new strategy of passed-in type for traffic controller owning {@code landingRequestStorage}.
+     */
+    static RunwaySchedulingStrategy create(SimulationSettings.RunwayScheduling runwayScheduling,
+                                           RunwayRegistry runwayRegistry,
+                                           LandingRequestStorage landingRequestStorage) {
+        switch (runwayScheduling) {
+            case LOOK_AHEAD:
+                return new LookAheadSchedulingStrategy(runwayRegistry, landingRequestStorage);
+            default:
+                return new GreedySchedulingStrategy(runwayRegistry, landingRequestStorage);
+        }
+    }
+}
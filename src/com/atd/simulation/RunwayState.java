@@ -1,45 +1,84 @@
 package com.atd.simulation;
 
-import lombok.Getter;
+import com.atd.metrics.MetricsRegistry;
+import com.atd.simulation.event.SimulationClock;
+import com.atd.simulation.event.SystemClock;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 /**
  * Tracking of runway state, can't be monitoring from airplane or traffic controller.
  * Used to track for critical situations, like crash of airplanes, when 2 of them are landing at same time on a same
  * runway.
+ * Also accounts time when each runway is occupied, exposed as busy ratio gauge of {@link MetricsRegistry}.
+ * State of each runway is changed by compare-and-set, so landings on different runways don't contend.
  */
 @Slf4j
 public class RunwayState {
 
     /**
-     * Initialized with null values, null means no plane is landing currently, if some airplane start to land
-     * related runaway.
+     * Initialized with null values per runway index, null means no plane is landing currently, if some airplane start
+     * to land related runaway.
+     */
+    private final AtomicReferenceArray<String> airplaneNamesPerRunaways;
+    private final SimulationClock clock;
+    private final long startTime;
+    /**
+     * Time when current landing started per runway index, valid only while runway is occupied.
+     */
+    private final AtomicLongArray occupiedSince;
+    /**
+     * Total time of finished landings per runway index.
      */
-    private String[] airplaneNamesPerRunaways = {null, null};
+    private final AtomicLongArray busyNanos;
 
-    public synchronized void landOnRunaway(String airplaneName, RunwayType type) {
-        String currentAirplane = airplaneNamesPerRunaways[type.index];
-        if (currentAirplane != null) {
-            log.error("Airplanes crashed: airplane '{}' was on airplane while airplane '' tried to land",
-                    currentAirplane, airplaneName);
-            throw new RuntimeException("Critical error appears during simulation.");
-        }
-        airplaneNamesPerRunaways[type.index] = airplaneName;
+    public RunwayState(int runwaysCount) {
+        this(runwaysCount, new MetricsRegistry(new SystemClock()));
     }
 
-    public synchronized void finishLanding(RunwayType type) {
-        airplaneNamesPerRunaways[type.index] = null;
+    public RunwayState(int runwaysCount, MetricsRegistry metrics) {
+        airplaneNamesPerRunaways = new AtomicReferenceArray<>(runwaysCount);
+        clock = metrics.getClock();
+        startTime = clock.nanoTime();
+        occupiedSince = new AtomicLongArray(runwaysCount);
+        busyNanos = new AtomicLongArray(runwaysCount);
+        for (int runwayIndex = 0; runwayIndex < runwaysCount; runwayIndex++) {
+            int index = runwayIndex;
+            metrics.gauge(String.format(MetricsRegistry.RUNWAY_BUSY_RATIO, index), () -> getBusyRatio(index));
+        }
     }
 
-    @Getter
-    public enum RunwayType {
-        SHORT(0),
-        LONG(1);
+    public void landOnRunaway(String airplaneName, int runwayIndex) {
+        long now = clock.nanoTime();
+        if (!airplaneNamesPerRunaways.compareAndSet(runwayIndex, null, airplaneName)) {
+            log.error("Airplanes crashed: airplane '{}' was on runway {} while airplane '{}' tried to land",
+                    airplaneNamesPerRunaways.get(runwayIndex), runwayIndex, airplaneName);
+            throw new RuntimeException("Critical error appears during simulation.");
+        }
+        occupiedSince.set(runwayIndex, now);
+    }
 
-        private int index;
+    public void finishLanding(int runwayIndex) {
+        long since = occupiedSince.get(runwayIndex);
+        if (airplaneNamesPerRunaways.getAndSet(runwayIndex, null) != null) {
+            busyNanos.addAndGet(runwayIndex, clock.nanoTime() - since);
+        }
+    }
 
-        RunwayType(int index) {
-            this.index = index;
+    /**
+     * Returns ratio of time, when runway with passed-in {@code runwayIndex} was occupied, to total time since
+     * creation of state. Value is read without locking, so it could miss landing, which is starting or finishing
+     * concurrently.
+     */
+    public double getBusyRatio(int runwayIndex) {
+        long now = clock.nanoTime();
+        long busy = busyNanos.get(runwayIndex);
+        if (airplaneNamesPerRunaways.get(runwayIndex) != null) {
+            busy += Math.max(0, now - occupiedSince.get(runwayIndex));
         }
+        long elapsed = now - startTime;
+        return elapsed <= 0 ? 0 : (double) busy / elapsed;
     }
 }
@@ -5,35 +5,56 @@ import com.atd.communication.TrafficControllerCommunicator;
 import com.atd.communication.data.CommunicationMessage;
 import com.atd.communication.data.Message;
 import com.atd.config.AirplaneData;
+import com.atd.metrics.LatencyHistogram;
+import com.atd.metrics.MetricsRegistry;
+import com.atd.simulation.checkpoint.ControllerCheckpoint;
+import com.atd.simulation.checkpoint.ControllerSnapshot;
 import com.atd.simulation.data.LandingRequest;
 import com.atd.simulation.data.OtherTrafficControllerProposals;
-import com.atd.utils.MessageUtils;
+import com.atd.simulation.event.SimulationClock;
+import com.atd.simulation.event.SimulationEvent;
+import com.atd.simulation.event.SimulationScheduler;
+import com.atd.simulation.event.SimulationTimer;
+import com.atd.simulation.replay.SimulationRecorder;
 import com.atd.utils.RequestUtils;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Arrays;
-import java.util.Date;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.PriorityBlockingQueue;
-
-import static com.atd.communication.data.Message.MessageType.EMERGENCY_CALL_TO_LAND;
-import static com.atd.communication.data.Message.PLEASE_CIRCLE_AROUND_THE_AIRPORT;
-import static com.atd.communication.data.Message.PLEASE_LAND_ON_A_RUNWAY_X;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Thread task, which represent behavior of traffic controller.
  * Accept requests for normal or emergency landing from {@link Airplane}, decide on which runway to land airplane.
  * Track when airplane finish landing, and next one could be land, if no runway are available, ordered airplane to
  * wait.
- * Decision are made using synchronisation of decision proposals between 2 running {@link TrafficController}s.
+ * Decision are made using synchronisation of decision proposals between all running {@link TrafficController}s.
  */
 @Slf4j
 public class TrafficController implements Callable<Void>, CommunicatorParticipant {
 
+    /**
+     * Period of re-evaluation of proposals, if no messages were received. Used only as safety net, since every
+     * change of state (request, landing approval, synchronisation round of other controller) wakes up controller.
+     */
+    private static final long REEVALUATION_PERIOD_IN_MILLIS = 1000;
+    /**
+     * Timeout of single waiting for proposals of other traffic controllers, after which termination state is checked.
+     */
+    private static final long SYNCHRONISATION_WAIT_IN_MILLIS = 100;
+    /**
+     * Maximal number of queued messages changing state of controller, which are coalesced into single synchronisation
+     * round, so decisions are not postponed indefinitely under continuous burst of messages.
+     */
+    private static final int MAX_COALESCED_MESSAGES = 64;
+
     @Getter
     private int id;
     private final LandingRequestStorage landingRequestStorage;
@@ -42,19 +63,202 @@ public class TrafficController implements Callable<Void>, CommunicatorParticipan
      */
     private final PriorityBlockingQueue<Message> messages;
     private TrafficControllerCommunicator communicator;
-    private OtherTrafficControllerProposals otherControllerProposal;
-    private Boolean[] runwayAvailabilityMonitors;
+    private OtherTrafficControllerProposals otherControllerProposals;
+    private final RunwayRegistry runwayRegistry;
+    /**
+     * Bitset of runways, which are available for landing based on local known information: bit with runway index is
+     * cleared, when landing on runway is ordered, and set again, when landing is approved by airplane.
+     */
+    private long runwayAvailabilityMonitors;
+    /**
+     * Bitset of runways, which are occupied by landings ordered by other traffic controllers, as known from last
+     * synchronisation round. Other available runways are preferred for own requests, so requests are not competing
+     * for runway, which is most likely still occupied.
+     */
+    private long runwaysOccupiedByOthers;
+    /**
+     * Ledger of runway reservations shared with other traffic controllers, runway is reserved when landing is ordered
+     * and released when landing is approved.
+     */
+    private final RunwayLedger runwayLedger;
+    /**
+     * Reservations of {@link #runwayLedger} held by this controller per runway index.
+     */
+    private final long[] reservations;
+    /**
+     * Expected time of finish of landings ordered by this controller per runway index.
+     */
+    private final long[] releaseTimesMillis;
+    private final RunwaySchedulingStrategy schedulingStrategy;
+    /**
+     * Proposals defined from current state, shared with other traffic controllers, so they are never modified, but
+     * replaced on the next definition. Reset to null, when state, which proposals depend on, changes: request is
+     * stored, landing is ordered or approved, or runways occupied by other controllers change. So proposals are
+     * defined only after change, instead of each synchronisation round and each request of other controller.
+     */
+    private Map<Integer, LandingRequest> proposals;
+    /**
+     * Time, at which {@link #proposals} were defined, they are reused at other time only if
+     * {@link RunwaySchedulingStrategy#isTimeDependent()} is 'false'.
+     */
+    private long proposalsTimeMillis;
+    /**
+     * Shared by all traffic controllers counter of landings, which were not ordered because of conflicting
+     * reservation.
+     */
+    private final LongAdder reservationConflicts;
+    private final SimulationScheduler scheduler;
+    private final SimulationClock clock;
+    /**
+     * Timer of re-evaluation deadline, re-armed after each message processed by controller thread.
+     */
+    private SimulationTimer reevaluationTimer;
+    /**
+     * Action of {@link #reevaluationTimer} and message it sends, both are reused by each timer.
+     */
+    private final SimulationEvent.Action reevaluationAction;
+    private final Message reevaluationMessage;
+    /**
+     * Set when termination message is received, used to stop waiting for proposals of other traffic controllers.
+     */
+    private volatile boolean terminated;
+    /**
+     * Set when own request lost runway in last synchronisation round to request of other traffic controller, or to
+     * landing, which was not known before, so request should be proposed for other runway without waiting for
+     * messages.
+     */
+    private boolean reevaluationRequired;
+    /**
+     * Version of local state, which proposals depend on: incremented when landing request is stored or runway is
+     * released. Landings ordered in synchronisation round don't change version, since all controllers derive them
+     * from proposals exchanged in that round.
+     */
+    private long proposalsEpoch;
+    /**
+     * Version of local state, which proposals of last synchronisation round were defined from.
+     */
+    private long synchronisedEpoch;
+    /**
+     * Ids of airplanes, which requests were stored since last synchronisation round and are responded after the round,
+     * first {@link #arrivedRequestsCount} of them are valid.
+     */
+    private int[] arrivedAirplaneIds;
+    private int arrivedRequestsCount;
+    /**
+     * Number of messages changing state, which were processed without synchronisation round after them.
+     */
+    private int coalescedMessages;
+    /**
+     * Wall-clock latency of synchronisation round trips with other traffic controllers.
+     */
+    private final LatencyHistogram synchronisationLatency;
+    /**
+     * Recorder of processed messages and made decisions, used to replay run of controller.
+     */
+    private final SimulationRecorder recorder;
+    /**
+     * Checkpoint of stored requests, runways and reservations, which controller is restored from after restart.
+     */
+    private final ControllerCheckpoint checkpoint;
+    /**
+     * Time of clock, when processing of current message started, used for dating of landing requests.
+     */
+    private long messageTimeMillis;
 
-    public TrafficController(int id, TrafficControllerCommunicator communicator) {
-        this.landingRequestStorage = new LandingRequestStorage();
+    /**
+     * Creates traffic controller, which starts from state restored by checkpoint of passed-in {@code settings}, if it
+     * has any, and registers it for communication.
+     */
+    public TrafficController(ControllerSettings settings) {
+        id = settings.getId();
+        communicator = settings.getCommunicator();
+        runwayRegistry = settings.getRunwayRegistry();
+        scheduler = settings.getScheduler();
+        clock = scheduler.getClock();
+        recorder = settings.getRecorder();
+        checkpoint = settings.getCheckpoint();
+        landingRequestStorage = new LandingRequestStorage();
+        arrivedAirplaneIds = new int[16];
         messages = new PriorityBlockingQueue<>();
-        this.id = id;
-        this.communicator = communicator;
-        otherControllerProposal = new OtherTrafficControllerProposals();
-        runwayAvailabilityMonitors = new Boolean[] {true , true};
+        otherControllerProposals = new OtherTrafficControllerProposals(settings.getControllersCount() - 1);
+        runwayAvailabilityMonitors = runwayRegistry.getAllRunways();
+        runwayLedger = settings.getRunwayLedger() == null ?
+                new AtomicRunwayLedger(runwayRegistry.getRunwaysCount()) : settings.getRunwayLedger();
+        reservations = new long[runwayRegistry.getRunwaysCount()];
+        releaseTimesMillis = new long[runwayRegistry.getRunwaysCount()];
+        schedulingStrategy = RunwaySchedulingStrategy.create(settings.getRunwayScheduling(), runwayRegistry,
+                landingRequestStorage);
+        reevaluationMessage = Message.builder().type(Message.MessageType.REEVALUATION).controllerId(id).build();
+        reevaluationAction = () -> messages.put(reevaluationMessage);
+        MetricsRegistry metrics = communicator.getMetrics();
+        metrics.gauge(String.format(MetricsRegistry.QUEUE_DEPTH, id), messages::size);
+        synchronisationLatency = metrics.histogram(String.format(MetricsRegistry.SYNCHRONISATION_LATENCY, id));
+        // Gauge of restarted controller replaces gauge of its previous instance.
+        metrics.gauge(String.format(MetricsRegistry.HOLDING_AIRPLANES, id), landingRequestStorage::size);
+        reservationConflicts = metrics.counter(MetricsRegistry.RESERVATION_CONFLICTS);
+        ControllerSnapshot restoredState = checkpoint.getRestoredState();
+        if (restoredState != null) {
+            restore(restoredState, settings.getLandingsInProgress());
+        }
         communicator.registerForCommunication(this);
     }
 
+    /**
+     * Restores state of controller from passed-in snapshot. Runways reserved before restart are reserved again, if
+     * their landings are still in passed-in {@code landingsInProgress} and reservation was not lost in ledger
+     * meanwhile. Otherwise landing was approved, while controller was down, so runway is released, instead of waiting
+     * for approval, which never comes. Requests are proposed again in the first synchronisation round, while airplanes
+     * waiting for them are still holding.
+     */
+    private void restore(ControllerSnapshot snapshot, long landingsInProgress) {
+        landingRequestStorage.addAll(snapshot.getLandingRequestStorage());
+        runwayAvailabilityMonitors = snapshot.getAvailableRunways();
+        runwaysOccupiedByOthers = snapshot.getRunwaysOccupiedByOthers();
+        System.arraycopy(snapshot.getReservations(), 0, reservations, 0, reservations.length);
+        System.arraycopy(snapshot.getReleaseTimesMillis(), 0, releaseTimesMillis, 0, releaseTimesMillis.length);
+        for (int runwayIndex = 0; runwayIndex < reservations.length; runwayIndex++) {
+            long reservation = reservations[runwayIndex];
+            if (reservation == RunwayLedger.NO_RESERVATION) {
+                continue;
+            }
+            if ((landingsInProgress & 1L << runwayIndex) == 0) {
+                log.info("Traffic controller {} releases runway {}, which landing was approved during restart", id,
+                        runwayIndex);
+                runwayLedger.release(runwayIndex, reservation);
+                releaseRestoredRunway(runwayIndex);
+            } else if (!runwayLedger.reinstate(runwayIndex, reservation)) {
+                log.warn("Traffic controller {} lost reservation of runway {} during restart", id, runwayIndex);
+                releaseRestoredRunway(runwayIndex);
+            }
+        }
+        proposalsEpoch++;
+        log.info("Traffic controller {} restored {} landing requests from checkpoint", id,
+                landingRequestStorage.size());
+    }
+
+    /**
+     * Makes runway with passed-in {@code runwayIndex} available again, as if landing on it was approved, since
+     * restored reservation of it is no longer held. Change is kept by the first snapshot of restored controller.
+     */
+    private void releaseRestoredRunway(int runwayIndex) {
+        reservations[runwayIndex] = RunwayLedger.NO_RESERVATION;
+        runwayAvailabilityMonitors |= 1L << runwayIndex;
+    }
+
+    /**
+     * Returns copy of state kept by {@link #checkpoint}, which is written without blocking of controller. Storage of
+     * requests is copied on write (see {@link LandingRequestStorage#copy()}), so the pause does not grow with it.
+     */
+    private ControllerSnapshot createSnapshot() {
+        return ControllerSnapshot.builder()
+                .landingRequestStorage(landingRequestStorage.copy())
+                .availableRunways(runwayAvailabilityMonitors)
+                .runwaysOccupiedByOthers(runwaysOccupiedByOthers)
+                .reservations(reservations.clone())
+                .releaseTimesMillis(releaseTimesMillis.clone())
+                .build();
+    }
+
     @Override
     public Void call() throws Exception {
         log.debug("Traffic controller with id '{}' started", id);
@@ -67,173 +271,395 @@ public class TrafficController implements Callable<Void>, CommunicatorParticipan
     }
 
     private void main() throws InterruptedException {
-        while (true) {
-            while (!messages.isEmpty()) {
-                Message message = messages.poll();
-                if (message.getType() == Message.MessageType.TERMINATED) {
-                    return;
+        try {
+            while (true) {
+                // Block till next message arrives, if nothing arrives till re-evaluation deadline, timer sends
+                // re-evaluation message to check if some proposals are ready for execution.
+                Message message;
+                if (reevaluationRequired) {
+                    message = messages.poll();
+                } else {
+                    armReevaluationTimer();
+                    message = messages.take();
                 }
-                switch (message.getType()) {
-                    case READY_TO_LAND:
-                    case EMERGENCY_CALL_TO_LAND:
-                        // Store landing request.
-                        AirplaneData airplaneData = ((Airplane) message.getSender()).getData();
-                        processLandingRequest(message);
-                        // Collect proposals available for execution.
-                        Map<RunwayState.RunwayType, LandingRequest> proposalsForProcessing = getSynchronisedProposalForExecution();
-
-                        // Check if new incoming landing request could be executed now.
-                        if (proposalsForProcessing.isEmpty() ||
-                                proposalsForProcessing.values().stream()
-                                        .noneMatch(e -> e.getAirplaneName().equals(airplaneData.getAirplaneName()))) {
-                            // If accepted request couldn't be executed now, send order for awaiting to Airplane.
-                            communicator.sendResponseToAirplane(
-                                    id, airplaneData.getAirplaneName(), Message.MessageType.WAITING_AROUND, PLEASE_CIRCLE_AROUND_THE_AIRPORT);
-                        }
-                        // Execute found landing proposals.
-                        executeProposals(proposalsForProcessing);
-                        break;
-                    case LANDING_APPROVED:
-                        // Update local runway state.
-                        RunwayState.RunwayType runwayType = MessageUtils.getRunwayFromMessage(message);
-                        runwayAvailabilityMonitors[runwayType.getIndex()] = true;
-                        break;
+                if (!process(message, isCoalesced(message))) {
+                    return;
                 }
             }
-            // If there are no more messages, try to check if some proposals are ready for execution.
-            if (messages.isEmpty()) {
-                Thread.sleep(200);
-                Map<RunwayState.RunwayType, LandingRequest> proposalsForProcessing = getSynchronisedProposalForExecution();
-                // Execute found landing proposals.
-                executeProposals(proposalsForProcessing);
+        } finally {
+            if (reevaluationTimer != null) {
+                reevaluationTimer.cancel();
             }
         }
     }
 
     /**
-     * Execute passed-in {@link LandingRequest} per {@link RunwayState.RunwayType} via sending orders for landing to
+     * Moves re-evaluation deadline to {@link #REEVALUATION_PERIOD_IN_MILLIS} from now.
+     */
+    private void armReevaluationTimer() {
+        if (reevaluationTimer != null) {
+            reevaluationTimer.cancel();
+        }
+        reevaluationTimer = scheduler.schedule(REEVALUATION_PERIOD_IN_MILLIS, TimeUnit.MILLISECONDS,
+                reevaluationAction);
+    }
+
+    /**
+     * Processes all messages currently present in the queue and then tries to execute available proposals, without
+     * waiting for new messages. Used when controller is driven by events of discrete-event simulation instead of own
+     * thread. Returns 'true' if any message was processed or state was changed by synchronisation round.
+     */
+    public boolean step() throws InterruptedException {
+        boolean changed = false;
+        while (!messages.isEmpty()) {
+            Message message = messages.poll();
+            process(message, isCoalesced(message));
+            changed = true;
+        }
+        startProcessing(null);
+        return processProposals() || changed;
+    }
+
+    /**
+     * Processes passed-in {@link Message} as if it was taken from queue, or re-evaluates proposals if message is
+     * null. If {@code coalesced}, synchronisation round after message changing state is postponed till the next
+     * message. Used to re-drive controller from recording of simulation run. Returns 'false' if controller was
+     * terminated.
+     */
+    public boolean replay(Message message, boolean coalesced) throws InterruptedException {
+        return process(message, coalesced);
+    }
+
+    /**
+     * Checks if synchronisation round after passed-in {@link Message} should be postponed, because next queued
+     * message changes state of controller as well, so burst of requests and landings is synchronised by single
+     * round.
+     */
+    private boolean isCoalesced(Message message) {
+        if (!changesState(message) || !changesState(messages.peek()) ||
+                coalescedMessages >= MAX_COALESCED_MESSAGES) {
+            coalescedMessages = 0;
+            return false;
+        }
+        coalescedMessages++;
+        return true;
+    }
+
+    /**
+     * Checks if passed-in {@link Message} changes state, which proposals depend on. Such messages have the highest
+     * priority, so they are always at head of queue, if present.
+     */
+    private static boolean changesState(Message message) {
+        if (message == null) {
+            return false;
+        }
+        switch (message.getType()) {
+            case LANDING_APPROVED:
+            case READY_TO_LAND:
+            case EMERGENCY_CALL_TO_LAND:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Processes passed-in {@link Message} or re-evaluates proposals if message is null, returns 'false' if
+     * controller was terminated.
+     */
+    private boolean process(Message message, boolean coalesced) throws InterruptedException {
+        startProcessing(message);
+        if (message == null) {
+            processProposals();
+            return true;
+        }
+        return processMessage(message, coalesced);
+    }
+
+    /**
+     * Captures time of processing start of passed-in {@link Message} and records it, passes snapshot of state to
+     * checkpoint if it is due, so snapshot never splits processing of message.
+     */
+    private void startProcessing(Message message) {
+        messageTimeMillis = clock.currentTimeMillis();
+        recorder.messageProcessed(id, message, messageTimeMillis);
+        if (checkpoint.isSnapshotDue()) {
+            checkpoint.snapshot(createSnapshot());
+        }
+    }
+
+    /**
+     * Processes passed-in {@link Message}, returns 'false' if controller was terminated. If {@code coalesced},
+     * message changing state is only applied, and synchronisation round is done after the next message.
+     */
+    private boolean processMessage(Message message, boolean coalesced) throws InterruptedException {
+        switch (message.getType()) {
+            case TERMINATED:
+                return false;
+            case READY_TO_LAND:
+            case EMERGENCY_CALL_TO_LAND:
+                // Store landing request, it is responded after synchronisation round.
+                if (arrivedRequestsCount == arrivedAirplaneIds.length) {
+                    arrivedAirplaneIds = Arrays.copyOf(arrivedAirplaneIds, arrivedRequestsCount * 2);
+                }
+                arrivedAirplaneIds[arrivedRequestsCount++] = processLandingRequest(message);
+                proposalsEpoch++;
+                if (!coalesced) {
+                    processProposals();
+                }
+                break;
+            case LANDING_APPROVED:
+                // Update local runway state and try to use released runway immediately.
+                int runwayIndex = message.getRunwayIndex();
+                runwayAvailabilityMonitors |= 1L << runwayIndex;
+                proposals = null;
+                if (!runwayLedger.release(runwayIndex, reservations[runwayIndex])) {
+                    log.warn("Traffic controller {} didn't hold reservation of runway {}", id, runwayIndex);
+                }
+                reservations[runwayIndex] = RunwayLedger.NO_RESERVATION;
+                checkpoint.runwayReserved(runwayIndex, RunwayLedger.NO_RESERVATION, releaseTimesMillis[runwayIndex]);
+                checkpoint.runwaysChanged(runwayAvailabilityMonitors, runwaysOccupiedByOthers);
+                proposalsEpoch++;
+                if (!coalesced) {
+                    processProposals();
+                }
+                break;
+            case REEVALUATION:
+                // Repeating of round with the same proposals changes nothing, unless other controller started round.
+                if (proposalsEpoch != synchronisedEpoch || otherControllerProposals.hasPendingProposals()) {
+                    processProposals();
+                }
+                break;
+            case SYNCHRONISATION_BETWEEN_CONTROLLER:
+                // Other traffic controller started synchronisation round, join it if it is not joined yet.
+                if (otherControllerProposals.hasPendingProposals()) {
+                    processProposals();
+                }
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if some proposals are ready for execution and executes them, orders requests arrived since last round,
+     * which couldn't be executed now, to wait. Returns 'true' if any landing was ordered or proposals should be
+     * re-evaluated.
+     */
+    private boolean processProposals() throws InterruptedException {
+        Map<Integer, LandingRequest> proposalsForProcessing = getSynchronisedProposalForExecution();
+        for (int index = 0; index < arrivedRequestsCount; index++) {
+            // If accepted request couldn't be executed now, send order for awaiting to airplane.
+            if (!isProposed(proposalsForProcessing, arrivedAirplaneIds[index])) {
+                respond(arrivedAirplaneIds[index], Message.MessageType.WAITING_AROUND, Message.UNDEFINED);
+            }
+        }
+        arrivedRequestsCount = 0;
+        // Execute found landing proposals.
+        return executeProposals(proposalsForProcessing) || reevaluationRequired;
+    }
+
+    /**
+     * Execute passed-in {@link LandingRequest} per runway index via sending orders for landing to
      * related airplanes. In parallel update local runway state monitors ({@code runwayAvailabilityMonitors}).
+     * Runway is reserved in {@link RunwayLedger} before order, if it is already reserved by other controller, request
+     * is kept for next rounds and airplane is ordered to wait. Returns 'true' if any landing was ordered.
      */
-    private void executeProposals(Map<RunwayState.RunwayType, LandingRequest> proposalsForProcessing) throws InterruptedException {
-        for (Map.Entry<RunwayState.RunwayType, LandingRequest> entry : proposalsForProcessing.entrySet()) {
+    private boolean executeProposals(Map<Integer, LandingRequest> proposalsForProcessing) throws InterruptedException {
+        boolean executed = false;
+        for (Map.Entry<Integer, LandingRequest> entry : proposalsForProcessing.entrySet()) {
             LandingRequest landingRequest = entry.getValue();
             // If request already in progress, skip it.
-            if (landingRequest.getAirplaneName().isEmpty()) {
+            if (landingRequest.isInProgress()) {
                 continue;
             }
-            communicator.sendResponseToAirplane(id, landingRequest.getAirplaneName(),
-                    Message.MessageType.LAND_ON_A_RUNWAY,
-                    String.format(PLEASE_LAND_ON_A_RUNWAY_X, entry.getKey().getIndex()));
-            runwayAvailabilityMonitors[entry.getKey().getIndex()] = false;
-            landingRequestStorage.removeLandingRequestFromQueue(landingRequest);
+            int runwayIndex = entry.getKey();
+            long reservation = runwayLedger.claim(runwayIndex, id);
+            if (reservation == RunwayLedger.NO_RESERVATION) {
+                log.warn("Traffic controller {} couldn't reserve runway {} held by controller {}, request of airplane "
+                                + "{} is re-queued", id, runwayIndex, runwayLedger.getOwner(runwayIndex),
+                        landingRequest.getAirplaneId());
+                reservationConflicts.increment();
+                runwaysOccupiedByOthers |= 1L << runwayIndex;
+                checkpoint.runwaysChanged(runwayAvailabilityMonitors, runwaysOccupiedByOthers);
+                proposals = null;
+                respond(landingRequest.getAirplaneId(), Message.MessageType.WAITING_AROUND, Message.UNDEFINED);
+                continue;
+            }
+            reservations[runwayIndex] = reservation;
+            releaseTimesMillis[runwayIndex] = messageTimeMillis +
+                    TimeUnit.SECONDS.toMillis(landingRequest.getAirplaneType().getLandingTime());
+            respond(landingRequest.getAirplaneId(), Message.MessageType.LAND_ON_A_RUNWAY, runwayIndex);
+            runwayAvailabilityMonitors &= ~(1L << runwayIndex);
+            landingRequestStorage.removeLandingRequest(landingRequest);
+            checkpoint.runwayReserved(runwayIndex, reservation, releaseTimesMillis[runwayIndex]);
+            checkpoint.runwaysChanged(runwayAvailabilityMonitors, runwaysOccupiedByOthers);
+            checkpoint.requestRemoved(landingRequest);
+            proposals = null;
+            executed = true;
         }
+        return executed;
+    }
+
+    /**
+     * Records and sends response of passed-in type to airplane, which refers to runway with {@code runwayIndex}, if
+     * applicable.
+     */
+    private void respond(int airplaneId, Message.MessageType type, int runwayIndex) throws InterruptedException {
+        recorder.responseSent(id, type, airplaneId, runwayIndex);
+        communicator.sendResponseToAirplane(id, airplaneId, type, runwayIndex);
     }
 
     /**
-     * Returns map of possible landing proposals for execution, which are already synchronised with another
-     * traffic controller.
+     * Returns map of possible landing proposals for execution, which are already synchronised with all other
+     * traffic controllers. Returns empty map if controller was terminated during synchronisation.
      */
-    private Map<RunwayState.RunwayType, LandingRequest> getSynchronisedProposalForExecution() throws InterruptedException {
-        Map<RunwayState.RunwayType, LandingRequest> proposalForProcessing = getProposalForProcessing();
+    private Map<Integer, LandingRequest> getSynchronisedProposalForExecution() throws InterruptedException {
+        reevaluationRequired = false;
+        synchronisedEpoch = proposalsEpoch;
+        Map<Integer, LandingRequest> proposalForProcessing = getProposalForProcessing(messageTimeMillis);
+        long synchronisationStart = System.nanoTime();
         communicator.synchroniseDecisions(id, proposalForProcessing);
-        // Wait for response of other traffic controller.
-        while (otherControllerProposal.isEmpty()) {
-            Thread.sleep(50);
+        // Wait for responses of other traffic controllers.
+        Collection<Map<Integer, LandingRequest>> othersProposals;
+        while ((othersProposals = otherControllerProposals.awaitProposals(
+                SYNCHRONISATION_WAIT_IN_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+            if (terminated) {
+                recorder.proposalsSynchronised(id, proposalForProcessing, null);
+                return Collections.emptyMap();
+            }
+        }
+        synchronisationLatency.record(System.nanoTime() - synchronisationStart);
+        recorder.proposalsSynchronised(id, proposalForProcessing, othersProposals);
+        Map<Integer, LandingRequest> synchronisedProposals =
+                RequestUtils.getSynchronisedProposals(proposalForProcessing, othersProposals);
+        // Runways, which own requests lost, are either occupied or ordered for landing by other controller in this
+        // round, so they are known as occupied without waiting for next round.
+        long lostRunways = getRequestedRunways(proposalForProcessing) & ~getRequestedRunways(synchronisedProposals);
+        long knownRunwaysOccupiedByOthers = runwaysOccupiedByOthers;
+        runwaysOccupiedByOthers = RequestUtils.getRunwaysInProgress(othersProposals) | lostRunways;
+        if (runwaysOccupiedByOthers != knownRunwaysOccupiedByOthers) {
+            proposals = null;
+            checkpoint.runwaysChanged(runwayAvailabilityMonitors, runwaysOccupiedByOthers);
         }
-        proposalForProcessing = RequestUtils.getSynchronisedProposals(proposalForProcessing,
-                otherControllerProposal.getOtherControllerProposal());
-        while (!otherControllerProposal.reset()) {
-            Thread.sleep(50);
+        if ((lostRunways & ~knownRunwaysOccupiedByOthers) != 0) {
+            reevaluationRequired = true;
         }
-        return proposalForProcessing;
+        return synchronisedProposals;
     }
 
     /**
-     * Returns map of possible landing proposals per runway for execution defined using local known information.
-     * Per runway, which are already occupied by landing airplanes specific state
-     * {@link LandingRequest#ALREADY_IN_PROGRESS} is used.
+     * Returns bitset of runways, which have landing request in passed-in {@code proposals}.
      */
-    private Map<RunwayState.RunwayType, LandingRequest> getProposalForProcessing() {
-        Map<RunwayState.RunwayType, LandingRequest> availableRunwayToRequest = new HashMap<>();
-        Boolean[] runwayStates = Arrays.copyOf(runwayAvailabilityMonitors, 2);
-
-        defineAvailableRunwayForRequests(availableRunwayToRequest, runwayStates, landingRequestStorage.getEmergencyRequests());
-        defineAvailableRunwayForRequests(availableRunwayToRequest, runwayStates, landingRequestStorage.getNormalRequests());
-        updateWithMonitorStateInfo(availableRunwayToRequest);
-        return availableRunwayToRequest;
+    private static long getRequestedRunways(Map<Integer, LandingRequest> proposals) {
+        long requestedRunways = 0;
+        for (Map.Entry<Integer, LandingRequest> proposal : proposals.entrySet()) {
+            if (!proposal.getValue().isInProgress()) {
+                requestedRunways |= 1L << proposal.getKey();
+            }
+        }
+        return requestedRunways;
     }
 
     /**
-     * Updates passed-in {@code availableRunwayToRequest} with specific state {@link LandingRequest#ALREADY_IN_PROGRESS}
-     * based on information in {@code runwayAvailabilityMonitors}.
+     * Returns 'true' if request of airplane with passed-in {@code airplaneId} is in passed-in {@code proposals}.
      */
-    private void updateWithMonitorStateInfo(Map<RunwayState.RunwayType, LandingRequest> availableRunwayToRequest) {
-        if (!runwayAvailabilityMonitors[RunwayState.RunwayType.SHORT.getIndex()]) {
-            availableRunwayToRequest.put(RunwayState.RunwayType.SHORT, LandingRequest.ALREADY_IN_PROGRESS);
+    private static boolean isProposed(Map<Integer, LandingRequest> proposals, int airplaneId) {
+        for (LandingRequest request : proposals.values()) {
+            if (request.getAirplaneId() == airplaneId) {
+                return true;
+            }
         }
-        if (!runwayAvailabilityMonitors[RunwayState.RunwayType.LONG.getIndex()]) {
-            availableRunwayToRequest.put(RunwayState.RunwayType.LONG, LandingRequest.ALREADY_IN_PROGRESS);
+        return false;
+    }
+
+    /**
+     * Returns map of possible landing proposals per runway for execution defined using local known information at
+     * current time of clock.
+     * Per runway, which are already occupied by landing airplanes ordered by this controller, specific state
+     * {@link LandingRequest#ALREADY_IN_PROGRESS} is used.
+     */
+    public Map<Integer, LandingRequest> getProposalForProcessing() {
+        return getProposalForProcessing(clock.currentTimeMillis());
+    }
+
+    /**
+     * Returns unmodifiable map of possible landing proposals per runway defined by {@link RunwaySchedulingStrategy}
+     * at passed-in time, with {@link LandingRequest#ALREADY_IN_PROGRESS} per runway occupied by landings of this
+     * controller. If state didn't change since last definition, the same map is returned without any allocation.
+     */
+    private Map<Integer, LandingRequest> getProposalForProcessing(long currentTimeMillis) {
+        if (proposals != null &&
+                (proposalsTimeMillis == currentTimeMillis || !schedulingStrategy.isTimeDependent())) {
+            return proposals;
         }
+        Map<Integer, LandingRequest> availableRunwayToRequest = new HashMap<>();
+        schedulingStrategy.defineProposals(availableRunwayToRequest, runwayAvailabilityMonitors,
+                runwaysOccupiedByOthers, releaseTimesMillis, currentTimeMillis);
+        updateWithMonitorStateInfo(availableRunwayToRequest);
+        proposals = Collections.unmodifiableMap(availableRunwayToRequest);
+        proposalsTimeMillis = currentTimeMillis;
+        return proposals;
     }
 
     /**
-     * Updates passed-in {@code availableRunwayToRequest} with found available for execution landing request from
-     * {@code requests}, based on information about {@code runwayStates}.
+     * Updates passed-in {@code availableRunwayToRequest} with specific state {@link LandingRequest#ALREADY_IN_PROGRESS}
+     * based on information in {@code runwayAvailabilityMonitors}.
      */
-    private void defineAvailableRunwayForRequests(
-            Map<RunwayState.RunwayType, LandingRequest> availableRunwayToRequest,
-            Boolean[] runwayStates, LinkedList<LandingRequest> requests) {
-        if (RequestUtils.anyRunwayAvailable(runwayStates)) {
-            for (LandingRequest request : requests) {
-                RunwayState.RunwayType matchRunway =
-                        RequestUtils.defineMatchRunway(runwayStates, request.getAirplaneType());
-                if (matchRunway != null) {
-                    availableRunwayToRequest.put(matchRunway, request);
-                    runwayStates[matchRunway.getIndex()] = false;
-                    if (!RequestUtils.anyRunwayAvailable(runwayStates)) {
-                        return;
-                    }
-                }
-            }
+    private void updateWithMonitorStateInfo(Map<Integer, LandingRequest> availableRunwayToRequest) {
+        long occupiedRunways = ~runwayAvailabilityMonitors & runwayRegistry.getAllRunways();
+        while (occupiedRunways != 0) {
+            int runwayIndex = Long.numberOfTrailingZeros(occupiedRunways);
+            availableRunwayToRequest.put(runwayIndex, LandingRequest.ALREADY_IN_PROGRESS);
+            occupiedRunways &= occupiedRunways - 1;
         }
     }
 
     /**
      * Process {@link Message} of request for landing from airplane, store required information for further execution.
+     * Returns id of airplane of stored request.
      */
-    private void processLandingRequest(Message message) throws InterruptedException {
+    private int processLandingRequest(Message message) {
         AirplaneData airplaneData = ((Airplane) message.getSender()).getData();
-        LinkedList<LandingRequest> requestQueue =
-                message.getType() == EMERGENCY_CALL_TO_LAND ?
-                        landingRequestStorage.getEmergencyRequests() : landingRequestStorage.getNormalRequests();
-        LandingRequest request = LandingRequest.builder()
-                .airplaneName(airplaneData.getAirplaneName())
-                .airplaneType(airplaneData.getAirplaneType())
-                .landingType(airplaneData.getLandingType())
-                .date(new Date())
-                .build();
-        requestQueue.add(request);
+        landingRequestStorage.addLandingRequest(message.getAirplaneId(), airplaneData.getAirplaneType(),
+                airplaneData.getLandingType(), messageTimeMillis);
+        checkpoint.requestStored(message.getAirplaneId(), airplaneData.getAirplaneType(),
+                airplaneData.getLandingType(), messageTimeMillis);
+        proposals = null;
+        return message.getAirplaneId();
     }
 
     /**
      * Asynchronous message receiving to queue for further processing.
-     * Synchronisation between traffic controllers type messages also update proposals data container.
+     * Synchronisation between traffic controllers type messages also update proposals data container, message itself
+     * is queued only to wake up controller, so it could join synchronisation round started by other controller.
      */
     public void send(CommunicationMessage communicationMessage) throws InterruptedException {
         Message message = communicationMessage.getMessage();
         if (message.getType() == Message.MessageType.SYNCHRONISATION_BETWEEN_CONTROLLER) {
-            Map<RunwayState.RunwayType, LandingRequest> requestMap =
-                    (Map<RunwayState.RunwayType, LandingRequest>) communicationMessage.getData();
-            while (!otherControllerProposal.updateProposals(requestMap)) {
-                Thread.sleep(50);
-            }
-        } else {
-            messages.put(message);
+            receiveProposals(message.getControllerId(), (Map<Integer, LandingRequest>) communicationMessage.getData());
+        } else if (message.getType() == Message.MessageType.TERMINATED) {
+            terminated = true;
         }
+        messages.put(message);
+    }
+
+    /**
+     * Stores proposals of traffic controller with {@code controllerId} for current or next synchronisation round,
+     * without waking up controller.
+     */
+    public void receiveProposals(int controllerId, Map<Integer, LandingRequest> proposals) {
+        otherControllerProposals.updateProposals(controllerId, proposals);
     }
 
     @Override
     public String getParticipantName() {
+        return participantName(id);
+    }
+
+    /**
+     * Returns name of traffic controller with passed-in {@code id}, used in communication.
+     */
+    public static String participantName(int id) {
         return String.format("Traffic controller %d", id);
     }
 }
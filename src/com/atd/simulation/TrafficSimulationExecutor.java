@@ -1,58 +1,386 @@
 package com.atd.simulation;
 
 import com.atd.communication.Communicator;
+import com.atd.communication.DiscreteEventCommunicator;
+import com.atd.communication.journal.BinaryEventJournal;
+import com.atd.communication.journal.EventJournal;
+import com.atd.communication.journal.LogEventJournal;
+import com.atd.communication.transport.RemoteControllersTransport;
+import com.atd.communication.transport.TransportListener;
+import com.atd.communication.wire.MessageFlyweight;
 import com.atd.config.AirplaneData;
 import com.atd.config.ConfigurationReader;
+import com.atd.config.ScheduleReader;
+import com.atd.config.SimulationSettings;
+import com.atd.metrics.MetricsRegistry;
+import com.atd.metrics.MetricsReporter;
+import com.atd.simulation.checkpoint.ControllerCheckpoint;
+import com.atd.simulation.checkpoint.MappedCheckpoint;
 import com.atd.simulation.data.AirplaneLandingReport;
-import com.google.common.collect.ImmutableList;
+import com.atd.simulation.event.DiscreteEventScheduler;
+import com.atd.simulation.event.RealTimeScheduler;
+import com.atd.simulation.event.SimulationClock;
+import com.atd.simulation.event.SimulationScheduler;
+import com.atd.simulation.replay.RecordingWriter;
+import com.atd.simulation.replay.SimulationRecorder;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 @Slf4j
 public class TrafficSimulationExecutor {
 
-    public List<AirplaneLandingReport> simulate(String path) throws InterruptedException {
-        URL resource = getClass().getClassLoader().getResource(path);
-        if (resource == null) {
-            throw new IllegalArgumentException(String.format("No config file found by path '%s'", path));
-        }
-        List<AirplaneData> airplaneData = ConfigurationReader.read(Paths.get(resource.getPath()));
+    /**
+     * Priority of airplane arrival events in discrete-event simulation, arrivals are executed before other events of
+     * the same virtual time.
+     */
+    private static final int ARRIVAL_PRIORITY = 1;
 
-        ExecutorService executorService = Executors.newFixedThreadPool(airplaneData.size() + 2);
+    /**
+     * Metrics of current or last simulation run, could be queried while simulation is running.
+     */
+    @Getter
+    private volatile MetricsRegistry metrics;
 
+    public List<AirplaneLandingReport> simulate(String path) throws InterruptedException {
+        return simulate(SimulationSettings.builder().configPath(path).build());
+    }
 
-        RunwayState runwayState = new RunwayState();
-        Communicator communicator = new Communicator();
-
-        // Initialize tasks.
-        List<TrafficController> trafficControllers =
-                IntStream.of(0, 1)
-                        .mapToObj(id -> new TrafficController(id, communicator))
-                        .collect(Collectors.toList());
-        List<Airplane> airplanes =
-                airplaneData.stream().map(data -> new Airplane(data, communicator, runwayState))
-                        .collect(Collectors.toList());
+    public List<AirplaneLandingReport> simulate(SimulationSettings settings) throws InterruptedException {
+        try (ScheduleReader schedule =
+                     new ScheduleReader(resolveConfigPath(settings.getConfigPath()), settings.getReaderParallelism())) {
+            return simulate(schedule, settings);
+        }
+    }
 
-        // Run execution of tasks.
-        List<Callable<Void>> tasks =
-                ImmutableList.<Callable<Void>>builder().addAll(trafficControllers).addAll(airplanes).build();
-        executorService.invokeAll(tasks);
+    /**
+     * Runs simulation of airplanes arriving by passed-in {@code schedule} instead of configuration file of
+     * {@code settings}, schedule is expected to be ordered by arrival time.
+     */
+    public List<AirplaneLandingReport> simulate(Iterator<AirplaneData> schedule,
+                                                SimulationSettings settings) throws InterruptedException {
+        if (settings.getControllersCount() < 1) {
+            throw new IllegalArgumentException("At least one traffic controller is required for simulation");
+        }
+        RunwayRegistry runwayRegistry = settings.getRunwaysConfigPath() == null ?
+                RunwayRegistry.defaultRegistry() :
+                new RunwayRegistry(ConfigurationReader.readRunways(resolveConfigPath(settings.getRunwaysConfigPath())));
+        List<Airplane> airplanes;
+        List<ControllerCheckpoint> checkpoints = createCheckpoints(settings);
+        // Decisions of remote traffic controllers are recorded by their host.
+        try (RecordingWriter recording = settings.getRecordingPath() == null ||
+                settings.getControllersAddress() != null ? null :
+                new RecordingWriter(Paths.get(settings.getRecordingPath()), settings.getControllersCount(),
+                        runwayRegistry, settings.getRunwayScheduling())) {
+            SimulationRecorder recorder = recording == null ? SimulationRecorder.NONE : recording;
+            airplanes = settings.getMode() == SimulationSettings.Mode.DISCRETE_EVENT ?
+                    simulateDiscreteEvents(schedule, runwayRegistry, recorder, checkpoints, settings) :
+                    simulateRealTime(schedule, runwayRegistry, recorder, checkpoints, settings);
+        } finally {
+            checkpoints.forEach(ControllerCheckpoint::close);
+        }
         return airplanes.stream()
                         .map(e -> AirplaneLandingReport.builder()
                                                        .airplaneName(e.getData().getAirplaneName())
                                                        .chosenRunwayIndex(e.getChosenRunwayIndex())
                                                        .landed(e.isLanded())
                                                        .executionTime(e.getExecutionTime())
+                                                       .landingOrderLatencyInMillis(e.getLandingOrderLatencyInMillis())
                                                        .startOffsetInSecs(Long.valueOf(e.getData().getNoOfSeconds()))
                                                        .build())
                         .collect(Collectors.toList());
     }
+
+    /**
+     * Creates {@link EventJournal} of routed messages defined by passed-in {@code settings}, which dates events by
+     * passed-in {@code clock}.
+     */
+    private static EventJournal createJournal(SimulationSettings settings, SimulationClock clock) {
+        if (settings.getJournalPath() != null) {
+            return new BinaryEventJournal(Paths.get(settings.getJournalPath()), clock);
+        }
+        return settings.isMessageLogging() ? new LogEventJournal() : EventJournal.NONE;
+    }
+
+    /**
+     * Creates {@link ControllerCheckpoint} per traffic controller in directory defined by passed-in {@code settings},
+     * or {@link ControllerCheckpoint#NONE} if it is not defined or traffic controllers are remote, since each
+     * {@link ControllerHost} keeps checkpoint of own controller.
+     */
+    private static List<ControllerCheckpoint> createCheckpoints(SimulationSettings settings) {
+        List<ControllerCheckpoint> checkpoints = new ArrayList<>();
+        for (int id = 0; id < settings.getControllersCount(); id++) {
+            checkpoints.add(settings.getCheckpointPath() == null || settings.getControllersAddress() != null ?
+                    ControllerCheckpoint.NONE :
+                    MappedCheckpoint.create(MappedCheckpoint.controllerPath(Paths.get(settings.getCheckpointPath()),
+                            id)));
+        }
+        return checkpoints;
+    }
+
+    /**
+     * Returns {@link Path} of configuration file, found in classpath or, if missing there, in file system.
+     */
+    private Path resolveConfigPath(String path) {
+        URL resource = getClass().getClassLoader().getResource(path);
+        if (resource != null) {
+            return Paths.get(resource.getPath());
+        }
+        Path filePath = Paths.get(path);
+        if (!Files.exists(filePath)) {
+            throw new IllegalArgumentException(String.format("No config file found by path '%s'", path));
+        }
+        return filePath;
+    }
+
+    /**
+     * Runs simulation using wall-clock time accelerated by {@code timeScale}: traffic controllers are executed by own
+     * threads, airplanes are executed by {@link RealTimeScheduler} with thread per each available processor.
+     */
+    private List<Airplane> simulateRealTime(Iterator<AirplaneData> schedule, RunwayRegistry runwayRegistry,
+                                            SimulationRecorder recorder, List<ControllerCheckpoint> checkpoints,
+                                            SimulationSettings settings) throws InterruptedException {
+        if (settings.getControllersAddress() != null) {
+            return simulateWithRemoteControllers(schedule, runwayRegistry, settings);
+        }
+        int controllersCount = settings.getControllersCount();
+        ExecutorService executorService = Executors.newFixedThreadPool(controllersCount);
+        RealTimeScheduler scheduler =
+                new RealTimeScheduler(Runtime.getRuntime().availableProcessors(), settings.getTimeScale());
+        MetricsRegistry metrics = createMetrics(scheduler.getClock());
+        RunwayState runwayState = new RunwayState(runwayRegistry.getRunwaysCount(), metrics);
+        RunwayLedger runwayLedger = new AtomicRunwayLedger(runwayRegistry.getRunwaysCount(), metrics);
+        List<Airplane> airplanes = new ArrayList<>();
+        try (EventJournal journal = createJournal(settings, scheduler.getClock())) {
+            Communicator communicator = new Communicator(metrics, journal);
+            for (int id = 0; id < controllersCount; id++) {
+                executorService.submit(new TrafficController(ControllerSettings.builder()
+                        .id(id)
+                        .controllersCount(controllersCount)
+                        .communicator(communicator)
+                        .runwayRegistry(runwayRegistry)
+                        .runwayLedger(runwayLedger)
+                        .scheduler(scheduler)
+                        .recorder(recorder)
+                        .runwayScheduling(settings.getRunwayScheduling())
+                        .checkpoint(checkpoints.get(id))
+                        .build()));
+            }
+            scheduleArrivals(scheduler, schedule, airplanes, runwayState, communicator);
+            MetricsReporter reporter = startReporter(metrics, settings);
+            try {
+                communicator.getCompletion().get();
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException("Simulation failed", ex.getCause());
+            } finally {
+                stopReporter(reporter);
+                // Traffic controllers are finished by termination message sent on completion.
+                executorService.shutdown();
+                scheduler.shutdown();
+                executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+        }
+        return airplanes;
+    }
+
+    /**
+     * Runs {@link SimulationSettings.Mode#REAL_TIME} simulation of airplanes, whose traffic controllers are run each
+     * by own {@link ControllerHost} at {@code controllersAddress} of {@code settings}. Hosts are passed clock of the
+     * simulation, and proposals of their controllers are relayed by this process. Host, which connection is lost, is
+     * expected to be restarted at the same address from its checkpoint. Local traffic controllers are only addresses of
+     * remote ones for communicator, they are not run.
+     */
+    private List<Airplane> simulateWithRemoteControllers(Iterator<AirplaneData> schedule,
+                                                         RunwayRegistry runwayRegistry,
+                                                         SimulationSettings settings) throws InterruptedException {
+        String[] addresses = settings.getControllersAddress().split(",");
+        if (addresses.length != settings.getControllersCount()) {
+            throw new IllegalArgumentException(String.format("Expected address of each of %d traffic controllers, "
+                    + "but was '%s'", settings.getControllersCount(), settings.getControllersAddress()));
+        }
+        RealTimeScheduler scheduler =
+                new RealTimeScheduler(Runtime.getRuntime().availableProcessors(), settings.getTimeScale());
+        MetricsRegistry metrics = createMetrics(scheduler.getClock());
+        RunwayState runwayState = new RunwayState(runwayRegistry.getRunwaysCount(), metrics);
+        RemoteControllersTransport transport;
+        try {
+            transport = new RemoteControllersTransport(Arrays.stream(addresses).map(String::trim)
+                    .collect(Collectors.toList()), runwayRegistry.getRunwaysCount(), scheduler.getClock(), metrics);
+        } catch (RuntimeException ex) {
+            scheduler.shutdown();
+            throw ex;
+        }
+        EventJournal journal = createJournal(settings, scheduler.getClock());
+        Communicator communicator = new Communicator(metrics, journal, transport);
+        for (int id = 0; id < settings.getControllersCount(); id++) {
+            new TrafficController(ControllerSettings.builder()
+                    .id(id)
+                    .controllersCount(settings.getControllersCount())
+                    .communicator(communicator)
+                    .runwayRegistry(runwayRegistry)
+                    .scheduler(scheduler)
+                    .build());
+        }
+        transport.start(new TransportListener() {
+            @Override
+            public void airplaneRegistered(int airplaneId, AirplaneData data) {
+                throw new IllegalStateException("Airplanes are not expected from traffic controller");
+            }
+
+            @Override
+            public void messageReceived(MessageFlyweight flyweight) throws InterruptedException {
+                communicator.receive(flyweight);
+            }
+
+            @Override
+            public void disconnected() {
+                communicator.getCompletion().completeExceptionally(
+                        new IllegalStateException("Traffic controller is not restarted after connection loss"));
+            }
+        });
+        List<Airplane> airplanes = new ArrayList<>();
+        MetricsReporter reporter = startReporter(metrics, settings);
+        try {
+            scheduleArrivals(scheduler, schedule, airplanes, runwayState, communicator);
+            communicator.getCompletion().get();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Simulation failed", ex.getCause());
+        } finally {
+            stopReporter(reporter);
+            // Remote traffic controllers are finished by termination messages flushed on close.
+            scheduler.shutdown();
+            transport.close();
+            journal.close();
+        }
+        return airplanes;
+    }
+
+    /**
+     * Runs simulation driven by events in virtual time: arrivals of airplanes, decisions of traffic controllers and
+     * finishes of landings are executed by single thread without any real waiting.
+     */
+    private List<Airplane> simulateDiscreteEvents(Iterator<AirplaneData> schedule, RunwayRegistry runwayRegistry,
+                                                  SimulationRecorder recorder, List<ControllerCheckpoint> checkpoints,
+                                                  SimulationSettings settings) throws InterruptedException {
+        int controllersCount = settings.getControllersCount();
+        DiscreteEventScheduler scheduler = new DiscreteEventScheduler();
+        MetricsRegistry metrics = createMetrics(scheduler.getClock());
+        RunwayState runwayState = new RunwayState(runwayRegistry.getRunwaysCount(), metrics);
+        RunwayLedger runwayLedger = new AtomicRunwayLedger(runwayRegistry.getRunwaysCount(), metrics);
+        List<Airplane> airplanes = new ArrayList<>();
+        try (EventJournal journal = createJournal(settings, scheduler.getClock())) {
+            DiscreteEventCommunicator communicator = new DiscreteEventCommunicator(scheduler, metrics, journal);
+            for (int id = 0; id < controllersCount; id++) {
+                new TrafficController(ControllerSettings.builder()
+                        .id(id)
+                        .controllersCount(controllersCount)
+                        .communicator(communicator)
+                        .runwayRegistry(runwayRegistry)
+                        .runwayLedger(runwayLedger)
+                        .scheduler(scheduler)
+                        .recorder(recorder)
+                        .runwayScheduling(settings.getRunwayScheduling())
+                        .checkpoint(checkpoints.get(id))
+                        .build());
+            }
+            scheduleArrivals(scheduler, schedule, airplanes, runwayState, communicator);
+            MetricsReporter reporter = startReporter(metrics, settings);
+            try {
+                scheduler.run();
+            } finally {
+                stopReporter(reporter);
+            }
+        }
+        return airplanes;
+    }
+
+    /**
+     * Creates {@link MetricsRegistry} of new simulation run measuring time by passed-in {@code clock}, which is
+     * exposed by {@link #getMetrics()}.
+     */
+    private MetricsRegistry createMetrics(SimulationClock clock) {
+        metrics = new MetricsRegistry(clock);
+        return metrics;
+    }
+
+    /**
+     * Starts periodic dump of passed-in {@code metrics} to file, if it is defined by {@code settings}, otherwise
+     * returns null.
+     */
+    private static MetricsReporter startReporter(MetricsRegistry metrics, SimulationSettings settings) {
+        if (settings.getMetricsPath() == null) {
+            return null;
+        }
+        return new MetricsReporter(metrics, Paths.get(settings.getMetricsPath()),
+                settings.getMetricsPeriodInMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes the last dump of metrics and closes passed-in {@code reporter}, unless it was not started.
+     */
+    private static void stopReporter(MetricsReporter reporter) {
+        if (reporter != null) {
+            reporter.close();
+        }
+    }
+
+    /**
+     * Schedules arrivals of airplanes from {@code schedule} relative to current time of {@code scheduler}. Schedule
+     * is read lazily: airplanes arriving at the same time are read and arrive by single action, which then schedules
+     * the following arrival. Schedule is expected to be ordered by arrival time, airplanes listed out of order arrive
+     * as soon as they are read. Arrived airplanes are added to {@code airplanes}.
+     */
+    private void scheduleArrivals(SimulationScheduler scheduler, Iterator<AirplaneData> schedule,
+                                  List<Airplane> airplanes, RunwayState runwayState,
+                                  Communicator communicator) throws InterruptedException {
+        if (!schedule.hasNext()) {
+            communicator.completeRegistration();
+            return;
+        }
+        scheduleArrival(scheduler, scheduler.getClock().nanoTime(), schedule.next(), schedule, airplanes, runwayState,
+                communicator);
+    }
+
+    private void scheduleArrival(SimulationScheduler scheduler, long startTime, AirplaneData arrival,
+                                 Iterator<AirplaneData> schedule, List<Airplane> airplanes,
+                                 RunwayState runwayState, Communicator communicator) {
+        long arrivalTime = startTime + TimeUnit.SECONDS.toNanos(arrival.getNoOfSeconds());
+        long delay = Math.max(0, arrivalTime - scheduler.getClock().nanoTime());
+        scheduler.schedule(delay, TimeUnit.NANOSECONDS, ARRIVAL_PRIORITY, () -> {
+            List<Airplane> arrivedAirplanes = new ArrayList<>();
+            AirplaneData data = arrival;
+            do {
+                Airplane airplane = new Airplane(airplanes.size(), data, communicator, runwayState, scheduler);
+                airplanes.add(airplane);
+                arrivedAirplanes.add(airplane);
+                data = schedule.hasNext() ? schedule.next() : null;
+            } while (data != null && data.getNoOfSeconds() <= arrival.getNoOfSeconds());
+            // Emergency calls of airplanes arrived at the same time go first.
+            for (AirplaneData.LandingType landingType : AirplaneData.LandingType.values()) {
+                for (Airplane airplane : arrivedAirplanes) {
+                    if (airplane.getData().getLandingType() == landingType) {
+                        airplane.requestLanding();
+                    }
+                }
+            }
+            if (data == null) {
+                communicator.completeRegistration();
+            } else {
+                scheduleArrival(scheduler, startTime, data, schedule, airplanes, runwayState, communicator);
+            }
+        });
+    }
 }
@@ -0,0 +1,37 @@
+package com.atd.simulation.checkpoint;
+
+/**
+ * Format of checkpoint file of traffic controller, which consists of two regions of the same size, each one holding
+ * records of single generation (see {@link CheckpointRegion}).
+ * <pre>
+ * Region:      magic(4) version(1) reserved(3) generation(8) records
+ * Record:      length(4) checksum(4) kind(1) payload
+ * Snapshot:    availableRunways(8) runwaysOccupiedByOthers(8) runwaysCount(4)
+ *              (reservation(8) releaseTimeMillis(8)) per runway requestsCount(4) requests
+ * Request:     airplaneId(4) requestTimeMillis(8) airplaneType(1) landingType(1)
+ * Runways:     availableRunways(8) runwaysOccupiedByOthers(8)
+ * Reservation: runwayIndex(4) reservation(8) releaseTimeMillis(8)
+ * </pre>
+ * Length of record includes its header, checksum is CRC32 of kind and payload mixed with generation of region, so
+ * records left from previous generation are never taken as valid. The first record of region is always snapshot,
+ * which is followed by records of changes: stored and removed requests, runways and reservations.
+ */
+final class CheckpointFormat {
+
+    static final int MAGIC = 0x41544343;
+    static final byte VERSION = 1;
+
+    static final int HEADER_SIZE = 16;
+    static final int GENERATION_OFFSET = 8;
+    static final int RECORD_HEADER_SIZE = 8;
+    static final int REQUEST_SIZE = 14;
+
+    static final byte SNAPSHOT = 1;
+    static final byte REQUEST_STORED = 2;
+    static final byte REQUEST_REMOVED = 3;
+    static final byte RUNWAYS = 4;
+    static final byte RESERVATION = 5;
+
+    private CheckpointFormat() {
+    }
+}
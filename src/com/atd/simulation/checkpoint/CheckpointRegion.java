@@ -0,0 +1,128 @@
+package com.atd.simulation.checkpoint;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Region of checkpoint file, which holds snapshot and changes after it as records of single generation (see
+ * {@link CheckpointFormat}). Generation is written to header by {@link #commit()} after snapshot is written, so
+ * region of the latest generation always starts with complete snapshot. Each appended record is followed by zero
+ * length and its own length is written last, so reading stops at the first record, which is not written completely.
+ */
+final class CheckpointRegion {
+
+    private final ByteBuffer buffer;
+    private final CRC32 checksum = new CRC32();
+    /**
+     * Generation of written records, which is committed generation of region, unless it is being rewritten.
+     */
+    private long generation;
+    /**
+     * Position after the last appended record.
+     */
+    private int position;
+
+    CheckpointRegion(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) == CheckpointFormat.MAGIC && buffer.get(Integer.BYTES) == CheckpointFormat.VERSION) {
+            generation = buffer.getLong(CheckpointFormat.GENERATION_OFFSET);
+        }
+        position = CheckpointFormat.HEADER_SIZE;
+    }
+
+    /**
+     * Returns generation of region, zero if it was never committed.
+     */
+    long getGeneration() {
+        return generation;
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    /**
+     * Starts writing of records of passed-in {@code generation} from the start of region. Records of previous
+     * generation become invalid, while header still refers to it till {@link #commit()}.
+     */
+    void reset(long generation) {
+        this.generation = generation;
+        position = CheckpointFormat.HEADER_SIZE;
+        buffer.putInt(position, 0);
+    }
+
+    /**
+     * Checks if record with content of passed-in {@code contentLength} could be appended.
+     */
+    boolean hasRoom(int contentLength) {
+        return position + CheckpointFormat.RECORD_HEADER_SIZE + contentLength + Integer.BYTES <= buffer.capacity();
+    }
+
+    /**
+     * Appends record with content between position and limit of passed-in {@code content}, which are kind and payload
+     * of record.
+     */
+    void append(ByteBuffer content) {
+        int contentLength = content.remaining();
+        if (!hasRoom(contentLength)) {
+            throw new IllegalStateException("Checkpoint region is full");
+        }
+        int length = CheckpointFormat.RECORD_HEADER_SIZE + contentLength;
+        buffer.putInt(position + length, 0);
+        buffer.putInt(position + Integer.BYTES, checksum(content));
+        ByteBuffer target = buffer.duplicate();
+        target.position(position + CheckpointFormat.RECORD_HEADER_SIZE);
+        target.put(content);
+        buffer.putInt(position, length);
+        position += length;
+    }
+
+    /**
+     * Appends records of passed-in {@code region} between {@code start} and {@code end} positions.
+     */
+    void copy(CheckpointRegion region, int start, int end) {
+        int offset = start;
+        while (offset < end) {
+            ByteBuffer content = region.read(offset);
+            offset += CheckpointFormat.RECORD_HEADER_SIZE + content.remaining();
+            append(content);
+        }
+    }
+
+    /**
+     * Writes header with generation of written records, so they become the latest checkpoint.
+     */
+    void commit() {
+        buffer.putInt(0, CheckpointFormat.MAGIC);
+        buffer.put(Integer.BYTES, CheckpointFormat.VERSION);
+        buffer.putLong(CheckpointFormat.GENERATION_OFFSET, generation);
+    }
+
+    /**
+     * Returns content of valid record at passed-in {@code offset}, which is kind and payload of record, or null if
+     * there is no valid record.
+     */
+    ByteBuffer read(int offset) {
+        if (offset > buffer.capacity() - CheckpointFormat.RECORD_HEADER_SIZE) {
+            return null;
+        }
+        int length = buffer.getInt(offset);
+        if (length <= CheckpointFormat.RECORD_HEADER_SIZE || length > buffer.capacity() - offset) {
+            return null;
+        }
+        ByteBuffer content = buffer.duplicate();
+        content.position(offset + CheckpointFormat.RECORD_HEADER_SIZE);
+        content.limit(offset + length);
+        content = content.slice();
+        return checksum(content) == buffer.getInt(offset + Integer.BYTES) ? content : null;
+    }
+
+    /**
+     * Returns checksum of passed-in {@code content} in current generation, without consuming content.
+     */
+    private int checksum(ByteBuffer content) {
+        checksum.reset();
+        checksum.update(content.duplicate());
+        return (int) checksum.getValue() ^ (int) generation ^ (int) (generation >>> Integer.SIZE);
+    }
+}
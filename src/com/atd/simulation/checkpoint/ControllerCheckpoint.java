@@ -0,0 +1,76 @@
+package com.atd.simulation.checkpoint;
+
+import com.atd.config.AirplaneData;
+import com.atd.simulation.data.LandingRequest;
+
+import java.io.Closeable;
+
+/**
+ * Checkpoint of state of {@link com.atd.simulation.TrafficController}, which is lost with its process otherwise:
+ * stored landing requests, runway availability and held runway reservations. Each change of state is passed as
+ * incremental record, and full {@link ControllerSnapshot} is passed when {@link #isSnapshotDue()}, so restart of
+ * controller costs reading of the latest snapshot and changes after it. All methods are invoked by controller thread,
+ * so implementation must not block it on I/O.
+ */
+public interface ControllerCheckpoint extends Closeable {
+
+    /**
+     * Checkpoint, which ignores all changes.
+     */
+    ControllerCheckpoint NONE = new ControllerCheckpoint() {
+    };
+
+    /**
+     * Returns state restored from checkpoint, which traffic controller starts from, or null if it starts from scratch.
+     */
+    default ControllerSnapshot getRestoredState() {
+        return null;
+    }
+
+    /**
+     * Records that request of airplane with {@code airplaneId} made at {@code requestTimeMillis} is stored.
+     */
+    default void requestStored(int airplaneId, AirplaneData.AirplaneType airplaneType,
+                               AirplaneData.LandingType landingType, long requestTimeMillis) {
+    }
+
+    /**
+     * Records that passed-in request is removed, since its airplane is ordered to land.
+     */
+    default void requestRemoved(LandingRequest request) {
+    }
+
+    /**
+     * Records new bitsets of locally available runways and of runways occupied by other traffic controllers.
+     */
+    default void runwaysChanged(long availableRunways, long runwaysOccupiedByOthers) {
+    }
+
+    /**
+     * Records {@code reservation} of runway with {@code runwayIndex} held by controller, which is
+     * {@link com.atd.simulation.RunwayLedger#NO_RESERVATION} when runway is released, and expected time of finish of
+     * landing on it.
+     */
+    default void runwayReserved(int runwayIndex, long reservation, long releaseTimeMillis) {
+    }
+
+    /**
+     * Checks if full snapshot of state should be passed to {@link #snapshot(ControllerSnapshot)} before next change.
+     */
+    default boolean isSnapshotDue() {
+        return false;
+    }
+
+    /**
+     * Takes passed-in snapshot of state, which is never modified after it is passed.
+     */
+    default void snapshot(ControllerSnapshot snapshot) {
+    }
+
+    /**
+     * Releases resources of checkpoint, changes recorded before are kept.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,32 @@
+package com.atd.simulation.checkpoint;
+
+import com.atd.simulation.LandingRequestStorage;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Full state of {@link com.atd.simulation.TrafficController} kept by {@link ControllerCheckpoint}. Snapshot owns its
+ * arrays and copy of storage, whose pages are copied on change by controller, so it could be written by other thread,
+ * while controller goes on.
+ */
+@Builder
+@Getter
+public class ControllerSnapshot {
+    private final LandingRequestStorage landingRequestStorage;
+    /**
+     * Bitset of runways, which are available for landing based on local known information.
+     */
+    private final long availableRunways;
+    /**
+     * Bitset of runways, which are occupied by landings ordered by other traffic controllers.
+     */
+    private final long runwaysOccupiedByOthers;
+    /**
+     * Reservations of {@link com.atd.simulation.RunwayLedger} held by controller per runway index.
+     */
+    private final long[] reservations;
+    /**
+     * Expected time of finish of landings ordered by controller per runway index.
+     */
+    private final long[] releaseTimesMillis;
+}
@@ -0,0 +1,392 @@
+package com.atd.simulation.checkpoint;
+
+import com.atd.config.AirplaneData;
+import com.atd.simulation.LandingRequestStorage;
+import com.atd.simulation.data.LandingRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ControllerCheckpoint} in memory-mapped file of two regions (see {@link CheckpointFormat}), so checkpoint
+ * survives death of controller process without any system call on controller thread. Changes are appended to active
+ * region as small records. When records appended since the last snapshot outgrow it, snapshot is due: controller
+ * passes copy of its state, which is written to the other region by background thread, while changes are still
+ * appended to active region. When writing is finished, changes appended since the snapshot are copied after it, and
+ * the other region is committed with the next generation and becomes active. So log of changes is compacted without
+ * stalling controller, and restart reads single snapshot and bounded number of changes of the latest generation.
+ * Pages are written back by operating system, so checkpoint is not forced to disk and doesn't survive crash of host.
+ */
+@Slf4j
+public class MappedCheckpoint implements ControllerCheckpoint {
+
+    /**
+     * Size of each region of checkpoint file, pages of file are allocated only when written.
+     */
+    public static final int REGION_SIZE = 64 * 1024 * 1024;
+    /**
+     * Minimal size of changes appended since the last snapshot, after which the next snapshot is due.
+     */
+    private static final int MIN_LOG_SIZE = 4096;
+    private static final int MAX_CHANGE_SIZE = 32;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final CheckpointRegion[] regions;
+    private final ControllerSnapshot restoredState;
+    private final ExecutorService snapshotWriter;
+    /**
+     * Content of appended change, reused by all changes.
+     */
+    private final ByteBuffer change = ByteBuffer.allocate(MAX_CHANGE_SIZE);
+    /**
+     * Region, to which changes are appended, null till the first snapshot is taken.
+     */
+    private CheckpointRegion active;
+    /**
+     * Position in active region, which changes appended since the last snapshot start from.
+     */
+    private int logStart;
+    private int snapshotSize;
+    /**
+     * Writing of snapshot to the other region, which results in position after snapshot, null if no snapshot is being
+     * written.
+     */
+    private Future<Integer> pendingSnapshot;
+    /**
+     * Position in active region, which changes appended since pending snapshot start from.
+     */
+    private int pendingLogStart;
+
+    private MappedCheckpoint(Path path, boolean restore) {
+        this.path = path;
+        try {
+            channel = restore ?
+                    FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE) :
+                    FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                            StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, 2L * REGION_SIZE);
+            regions = new CheckpointRegion[]{
+                    new CheckpointRegion(slice(mapping, 0)),
+                    new CheckpointRegion(slice(mapping, REGION_SIZE))};
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Opening of checkpoint file failed: " + path, ex);
+        }
+        restoredState = restore ? restoreState() : null;
+        snapshotWriter = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "checkpoint-" + path.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates empty checkpoint in file with passed-in {@code path}, replacing existing one.
+     */
+    public static MappedCheckpoint create(Path path) {
+        return new MappedCheckpoint(path, false);
+    }
+
+    /**
+     * Opens checkpoint in existing file with passed-in {@code path} and restores the latest state kept in it, which is
+     * returned by {@link #getRestoredState()}. Checkpoint goes on in the same file, state is kept till the first
+     * snapshot of restored controller is committed.
+     */
+    public static MappedCheckpoint restore(Path path) {
+        return new MappedCheckpoint(path, true);
+    }
+
+    /**
+     * Returns path of checkpoint file of traffic controller with {@code controllerId} in passed-in {@code directory}.
+     */
+    public static Path controllerPath(Path directory, int controllerId) {
+        return directory.resolve(String.format("controller-%d.checkpoint", controllerId));
+    }
+
+    private static ByteBuffer slice(MappedByteBuffer mapping, int offset) {
+        ByteBuffer region = mapping.duplicate();
+        region.position(offset);
+        region.limit(offset + REGION_SIZE);
+        return region.slice();
+    }
+
+    @Override
+    public ControllerSnapshot getRestoredState() {
+        return restoredState;
+    }
+
+    @Override
+    public void requestStored(int airplaneId, AirplaneData.AirplaneType airplaneType,
+                              AirplaneData.LandingType landingType, long requestTimeMillis) {
+        putRequest(begin(CheckpointFormat.REQUEST_STORED), airplaneId, airplaneType, landingType, requestTimeMillis);
+        append();
+    }
+
+    @Override
+    public void requestRemoved(LandingRequest request) {
+        putRequest(begin(CheckpointFormat.REQUEST_REMOVED), request.getAirplaneId(), request.getAirplaneType(),
+                request.getLandingType(), request.getRequestTimeMillis());
+        append();
+    }
+
+    @Override
+    public void runwaysChanged(long availableRunways, long runwaysOccupiedByOthers) {
+        begin(CheckpointFormat.RUNWAYS).putLong(availableRunways).putLong(runwaysOccupiedByOthers);
+        append();
+    }
+
+    @Override
+    public void runwayReserved(int runwayIndex, long reservation, long releaseTimeMillis) {
+        begin(CheckpointFormat.RESERVATION).putInt(runwayIndex).putLong(reservation).putLong(releaseTimeMillis);
+        append();
+    }
+
+    /**
+     * Snapshot is due before the first change and when changes appended since the last snapshot are larger than it,
+     * unless previous snapshot is still being written.
+     */
+    @Override
+    public boolean isSnapshotDue() {
+        if (active == null) {
+            return true;
+        }
+        completeSnapshot(false);
+        return pendingSnapshot == null &&
+                active.getPosition() - logStart > Math.max(MIN_LOG_SIZE, snapshotSize);
+    }
+
+    /**
+     * Writes the first snapshot at once, so changes always follow committed snapshot, other snapshots are written by
+     * background thread.
+     */
+    @Override
+    public void snapshot(ControllerSnapshot snapshot) {
+        if (pendingSnapshot != null) {
+            throw new IllegalStateException("Previous snapshot is still being written");
+        }
+        if (active == null) {
+            CheckpointRegion region = regions[0].getGeneration() <= regions[1].getGeneration() ?
+                    regions[0] : regions[1];
+            int snapshotEnd = writeSnapshot(region, getOther(region).getGeneration() + 1, snapshot);
+            region.commit();
+            activate(region, snapshotEnd);
+            return;
+        }
+        CheckpointRegion region = getOther(active);
+        long generation = active.getGeneration() + 1;
+        pendingLogStart = active.getPosition();
+        pendingSnapshot = snapshotWriter.submit(() -> writeSnapshot(region, generation, snapshot));
+    }
+
+    /**
+     * Stops writing of snapshots, snapshot, which is being written, is never committed.
+     */
+    @Override
+    public void close() {
+        snapshotWriter.shutdown();
+        try {
+            snapshotWriter.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                log.warn("Closing of checkpoint file {} failed", path, ex);
+            }
+        }
+    }
+
+    private ByteBuffer begin(byte kind) {
+        change.clear();
+        return change.put(kind);
+    }
+
+    /**
+     * Appends encoded change to active region, waits for pending snapshot only if region is full.
+     */
+    private void append() {
+        if (active == null) {
+            throw new IllegalStateException("Change is recorded before the first snapshot");
+        }
+        change.flip();
+        completeSnapshot(false);
+        if (!active.hasRoom(change.remaining())) {
+            completeSnapshot(true);
+        }
+        active.append(change);
+    }
+
+    /**
+     * Commits pending snapshot, if it is written or passed-in {@code wait} is 'true': copies changes appended since
+     * snapshot after it and switches to its region.
+     */
+    private void completeSnapshot(boolean wait) {
+        if (pendingSnapshot == null || !wait && !pendingSnapshot.isDone()) {
+            return;
+        }
+        int snapshotEnd;
+        try {
+            snapshotEnd = pendingSnapshot.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Writing of checkpoint snapshot was interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Writing of checkpoint snapshot failed: " + path, ex.getCause());
+        } finally {
+            pendingSnapshot = null;
+        }
+        CheckpointRegion region = getOther(active);
+        region.copy(active, pendingLogStart, active.getPosition());
+        region.commit();
+        activate(region, snapshotEnd);
+    }
+
+    private void activate(CheckpointRegion region, int snapshotEnd) {
+        active = region;
+        logStart = snapshotEnd;
+        snapshotSize = snapshotEnd - CheckpointFormat.HEADER_SIZE;
+    }
+
+    private CheckpointRegion getOther(CheckpointRegion region) {
+        return region == regions[0] ? regions[1] : regions[0];
+    }
+
+    /**
+     * Writes passed-in snapshot as the first record of {@code generation} to {@code region}, returns position after it.
+     */
+    private static int writeSnapshot(CheckpointRegion region, long generation, ControllerSnapshot snapshot) {
+        LandingRequestStorage storage = snapshot.getLandingRequestStorage();
+        long[] reservations = snapshot.getReservations();
+        long[] releaseTimesMillis = snapshot.getReleaseTimesMillis();
+        ByteBuffer content = ByteBuffer.allocate(1 + 2 * Long.BYTES + Integer.BYTES
+                + reservations.length * 2 * Long.BYTES
+                + Integer.BYTES + storage.size() * CheckpointFormat.REQUEST_SIZE);
+        content.put(CheckpointFormat.SNAPSHOT)
+                .putLong(snapshot.getAvailableRunways())
+                .putLong(snapshot.getRunwaysOccupiedByOthers())
+                .putInt(reservations.length);
+        for (int runwayIndex = 0; runwayIndex < reservations.length; runwayIndex++) {
+            content.putLong(reservations[runwayIndex]).putLong(releaseTimesMillis[runwayIndex]);
+        }
+        content.putInt(storage.size());
+        for (AirplaneData.LandingType landingType : AirplaneData.LandingType.values()) {
+            for (AirplaneData.AirplaneType airplaneType : AirplaneData.AirplaneType.values()) {
+                int requestsCount = storage.getRequestsCount(landingType, airplaneType);
+                for (int index = 0; index < requestsCount; index++) {
+                    putRequest(content, storage.getAirplaneId(landingType, airplaneType, index), airplaneType,
+                            landingType, storage.getRequestTimeMillis(landingType, airplaneType, index));
+                }
+            }
+        }
+        content.flip();
+        region.reset(generation);
+        region.append(content);
+        return region.getPosition();
+    }
+
+    private static void putRequest(ByteBuffer content, int airplaneId, AirplaneData.AirplaneType airplaneType,
+                                   AirplaneData.LandingType landingType, long requestTimeMillis) {
+        content.putInt(airplaneId)
+                .putLong(requestTimeMillis)
+                .put((byte) airplaneType.ordinal())
+                .put((byte) landingType.ordinal());
+    }
+
+    private static LandingRequest getRequest(ByteBuffer content) {
+        int airplaneId = content.getInt();
+        long requestTimeMillis = content.getLong();
+        return LandingRequest.builder()
+                .airplaneId(airplaneId)
+                .requestTimeMillis(requestTimeMillis)
+                .airplaneType(AirplaneData.AirplaneType.values()[content.get()])
+                .landingType(AirplaneData.LandingType.values()[content.get()])
+                .build();
+    }
+
+    /**
+     * Returns state kept by region of the latest generation, which has valid snapshot, or null if there is none.
+     */
+    private ControllerSnapshot restoreState() {
+        CheckpointRegion latest = regions[0].getGeneration() >= regions[1].getGeneration() ? regions[0] : regions[1];
+        for (CheckpointRegion region : new CheckpointRegion[]{latest, getOther(latest)}) {
+            ControllerSnapshot state = region.getGeneration() == 0 ? null : restoreState(region);
+            if (state != null) {
+                return state;
+            }
+            log.warn("Checkpoint {} has no valid snapshot of generation {}", path, region.getGeneration());
+        }
+        return null;
+    }
+
+    /**
+     * Reads snapshot of passed-in {@code region} and applies changes after it, till the first record, which is not
+     * written completely. Returns null if region has no valid snapshot.
+     */
+    private static ControllerSnapshot restoreState(CheckpointRegion region) {
+        ByteBuffer content = region.read(CheckpointFormat.HEADER_SIZE);
+        if (content == null || content.get() != CheckpointFormat.SNAPSHOT) {
+            return null;
+        }
+        int offset = CheckpointFormat.HEADER_SIZE + CheckpointFormat.RECORD_HEADER_SIZE + content.limit();
+        long availableRunways = content.getLong();
+        long runwaysOccupiedByOthers = content.getLong();
+        long[] reservations = new long[content.getInt()];
+        long[] releaseTimesMillis = new long[reservations.length];
+        for (int runwayIndex = 0; runwayIndex < reservations.length; runwayIndex++) {
+            reservations[runwayIndex] = content.getLong();
+            releaseTimesMillis[runwayIndex] = content.getLong();
+        }
+        LandingRequestStorage storage = new LandingRequestStorage();
+        int requestsCount = content.getInt();
+        for (int index = 0; index < requestsCount; index++) {
+            store(storage, getRequest(content));
+        }
+        while ((content = region.read(offset)) != null) {
+            offset += CheckpointFormat.RECORD_HEADER_SIZE + content.limit();
+            byte kind = content.get();
+            switch (kind) {
+                case CheckpointFormat.REQUEST_STORED:
+                    store(storage, getRequest(content));
+                    break;
+                case CheckpointFormat.REQUEST_REMOVED:
+                    storage.removeLandingRequest(getRequest(content));
+                    break;
+                case CheckpointFormat.RUNWAYS:
+                    availableRunways = content.getLong();
+                    runwaysOccupiedByOthers = content.getLong();
+                    break;
+                case CheckpointFormat.RESERVATION:
+                    int runwayIndex = content.getInt();
+                    reservations[runwayIndex] = content.getLong();
+                    releaseTimesMillis[runwayIndex] = content.getLong();
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown kind of checkpoint record: " + kind);
+            }
+        }
+        return ControllerSnapshot.builder()
+                .landingRequestStorage(storage)
+                .availableRunways(availableRunways)
+                .runwaysOccupiedByOthers(runwaysOccupiedByOthers)
+                .reservations(reservations)
+                .releaseTimesMillis(releaseTimesMillis)
+                .build();
+    }
+
+    private static void store(LandingRequestStorage storage, LandingRequest request) {
+        storage.addLandingRequest(request.getAirplaneId(), request.getAirplaneType(), request.getLandingType(),
+                request.getRequestTimeMillis());
+    }
+}
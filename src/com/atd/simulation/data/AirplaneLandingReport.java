@@ -12,7 +12,7 @@ import lombok.ToString;
 @Builder
 @Getter
 @ToString
-@EqualsAndHashCode(exclude = {"executionTime", "chosenRunwayIndex"})
+@EqualsAndHashCode(exclude = {"executionTime", "chosenRunwayIndex", "landingOrderLatencyInMillis"})
 public class AirplaneLandingReport {
     private final boolean landed;
     private final String airplaneName;
@@ -21,4 +21,6 @@ public class AirplaneLandingReport {
     private Long executionTime;
     // Dynamic property, could be changed depends on processing order and access time to traffic controllers.
     private Integer chosenRunwayIndex;
+    // Dynamic property, time from request for landing till order to land received from traffic controller.
+    private Long landingOrderLatencyInMillis;
 }
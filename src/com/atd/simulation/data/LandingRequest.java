@@ -1,51 +1,81 @@
 package com.atd.simulation.data;
 
 import com.atd.config.AirplaneData;
-import com.sun.istack.internal.Nullable;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
-import java.util.Date;
+import java.util.Comparator;
 
 /**
- * Container of data stored based on request for landing from Airplane.
+ * Container of data stored based on request for landing from Airplane. Airplane is referred by its dense id assigned
+ * at ingestion, so requests are compared on primitives only.
  */
 @Builder
 @Getter
+@EqualsAndHashCode
 public class LandingRequest {
-    private final String airplaneName;
+    /**
+     * Id of airplane used by {@link #ALREADY_IN_PROGRESS}, ids of airplanes are not negative.
+     */
+    public static final int NO_AIRPLANE = -1;
+
+    /**
+     * Order of requests from the most preferable one, consistent with {@link #selectMorePreferable}: emergency
+     * requests go first, then requests stored earlier, then requests of airplanes with lower id.
+     */
+    public static final Comparator<LandingRequest> PRIORITY_ORDER = (r1, r2) -> {
+        if (r1.landingType != r2.landingType) {
+            return r1.landingType.compareTo(r2.landingType);
+        }
+        return compare(r1.requestTimeMillis, r1.airplaneId, r2.requestTimeMillis, r2.airplaneId);
+    };
+
+    private final int airplaneId;
     private final AirplaneData.AirplaneType airplaneType;
     private final AirplaneData.LandingType landingType;
     /**
-     * {@link Date} of request storage, used for ordering and decentralised decision on which request to execute first,
-     * if other criteria are the same.
+     * Time of request storage by clock of simulation, used for ordering and decentralised decision on which request to
+     * execute first, if other criteria are the same.
+     */
+    private final long requestTimeMillis;
+
+    /**
+     * Compares requests of the same landing type, given by their time of storage and airplane id: request stored
+     * earlier goes first, then request of airplane with lower id.
      */
-    private final Date date;
+    public static int compare(long requestTimeMillis1, int airplaneId1, long requestTimeMillis2, int airplaneId2) {
+        int timeComparison = Long.compare(requestTimeMillis1, requestTimeMillis2);
+        return timeComparison != 0 ? timeComparison : Integer.compare(airplaneId1, airplaneId2);
+    }
 
     /**
-     * Returns {@link LandingRequest} which is more preferable between two passed-in for comparison.
+     * Returns {@link LandingRequest} which is more preferable between two passed-in for comparison, or {@code null}
+     * if any of them is {@link #ALREADY_IN_PROGRESS}.
      */
-    @Nullable
     public static LandingRequest selectMorePreferable(LandingRequest r1, LandingRequest r2) {
         // Nothing to compare, such state of request means it is in ALREADY_IN_PROGRESS state and runway is occupied.
-        if (r1.getAirplaneName().isEmpty() && r1.getDate() == null ||
-                r2.getAirplaneName().isEmpty() && r2.getDate() == null) {
+        if (r1.isInProgress() || r2.isInProgress()) {
             return null;
         }
-        // Emergency type request is more preferable.
-        if (r1.getLandingType() != r2.getLandingType()) {
-            return r1.getLandingType() == AirplaneData.LandingType.EMERGENCY ? r1 : r2;
-        }
-        // If all previous criteria are same, compare by date of request's storage.
-        return r1.getDate().compareTo(r2.getDate()) > 0 ? r2 : r1;
+        // Emergency type request is more preferable, then request stored earlier, then airplane with lower id, so
+        // both traffic controllers make the same decision.
+        return PRIORITY_ORDER.compare(r1, r2) > 0 ? r2 : r1;
+    }
+
+    /**
+     * Returns 'true' if this is {@link #ALREADY_IN_PROGRESS} state of runway instead of request.
+     */
+    public boolean isInProgress() {
+        return airplaneId == NO_AIRPLANE;
     }
 
     // Used to track airplanes that were ordered to land. It means runway is occupied currently.
-    public static LandingRequest ALREADY_IN_PROGRESS = LandingRequest.builder().airplaneName("").build();
+    public static final LandingRequest ALREADY_IN_PROGRESS = LandingRequest.builder().airplaneId(NO_AIRPLANE).build();
 
     @Override
     public String toString() {
-        return airplaneName.isEmpty() ? "ALREADY_IN_PROGRESS" : "[" + airplaneName + ">"
-                + airplaneType.toString() +"," + landingType.toString() + "]";
+        return isInProgress() ? "ALREADY_IN_PROGRESS" : "[" + airplaneId + ">"
+                + airplaneType.toString() + "," + landingType.toString() + "]";
     }
 }
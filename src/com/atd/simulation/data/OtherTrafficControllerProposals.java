@@ -1,54 +1,89 @@
 package com.atd.simulation.data;
 
-import com.atd.simulation.RunwayState;
-import lombok.Getter;
-
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Container of proposals, stored from another one {@link com.atd.simulation.TrafficController}, used for decision
+ * Container of proposals, stored from other {@link com.atd.simulation.TrafficController}s, used for decision
  * synchronisation and common selection of proposals for lading to execute.
+ * Keeps queue of received proposals per each other traffic controller. Each synchronisation round consumes exactly
+ * one proposal from each other controller, so rounds of all controllers stay aligned: N-th round of one controller
+ * is merged with N-th rounds of others.
  */
 public class OtherTrafficControllerProposals {
-    @Getter
-    private Map<RunwayState.RunwayType, LandingRequest> otherControllerProposal;
-    private AtomicBoolean empty;
+    private final int expectedProposalsCount;
+    private final Map<Integer, Queue<Map<Integer, LandingRequest>>> proposalsByControllerId;
+    private final ReentrantLock lock;
+    private final Condition updated;
 
-    public OtherTrafficControllerProposals() {
-        empty = new AtomicBoolean(true);
-        otherControllerProposal = new HashMap<>();
+    public OtherTrafficControllerProposals(int expectedProposalsCount) {
+        this.expectedProposalsCount = expectedProposalsCount;
+        proposalsByControllerId = new HashMap<>();
+        lock = new ReentrantLock();
+        updated = lock.newCondition();
     }
 
     /**
-     * Check if proposal data from another traffic controller present.
+     * Store new passed-in proposal data of traffic controller with {@code controllerId} and wake up waiting for it
+     * synchronisation round.
      */
-    public synchronized boolean isEmpty() {
-        return empty.get();
+    public void updateProposals(int controllerId, Map<Integer, LandingRequest> otherControllerProposal) {
+        lock.lock();
+        try {
+            proposalsByControllerId.computeIfAbsent(controllerId, id -> new ArrayDeque<>()).add(otherControllerProposal);
+            updated.signalAll();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
-     * Reset state, to mark proposal data as empty. Returns 'true' if succeed, otherwise - 'false'.
+     * Check if there are proposals of round, started by other traffic controller, which are not consumed yet.
      */
-    public boolean reset() {
-        boolean state = isEmpty();
-        if (!state) {
-            this.empty.set(true);
-            return true;
+    public boolean hasPendingProposals() {
+        lock.lock();
+        try {
+            return proposalsByControllerId.values().stream().anyMatch(proposals -> !proposals.isEmpty());
+        } finally {
+            lock.unlock();
         }
-        return false;
     }
 
     /**
-     * Update and store new passed-in proposal data. Returns 'true' if succeed, otherwise - 'false'.
+     * Waits up to passed-in {@code timeout} till proposals of all other traffic controllers are present, then
+     * consumes and returns them. Returns null if proposals are not complete after waiting.
      */
-    public boolean updateProposals(Map<RunwayState.RunwayType, LandingRequest> otherControllerProposal) {
-        boolean isReset = isEmpty();
-        if (isReset) {
-            this.otherControllerProposal = otherControllerProposal;
-            empty.set(false);
+    public Collection<Map<Integer, LandingRequest>> awaitProposals(long timeout, TimeUnit unit)
+            throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (!isComplete()) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = updated.awaitNanos(nanos);
+            }
+            List<Map<Integer, LandingRequest>> proposals = new ArrayList<>(expectedProposalsCount);
+            for (Queue<Map<Integer, LandingRequest>> controllerProposals : proposalsByControllerId.values()) {
+                proposals.add(controllerProposals.poll());
+            }
+            return proposals;
+        } finally {
+            lock.unlock();
         }
-        return isReset;
+    }
+
+    private boolean isComplete() {
+        return proposalsByControllerId.values().stream().filter(proposals -> !proposals.isEmpty()).count()
+                == expectedProposalsCount;
     }
 }
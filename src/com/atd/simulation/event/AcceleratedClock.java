@@ -0,0 +1,53 @@
+package com.atd.simulation.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SimulationClock} backed by wall-clock time, which runs {@code timeScale} times faster than wall-clock since
+ * its origin, by default since its creation. With scale 1 it is equivalent to {@link SystemClock}. Clocks of
+ * different processes with the same origin and scale show the same time, as far as their wall-clocks agree.
+ */
+@Getter
+public class AcceleratedClock implements SimulationClock {
+
+    private final double timeScale;
+    /**
+     * Wall-clock time in milliseconds, since which the clock is accelerated.
+     */
+    private final long originMillis;
+    @Getter(AccessLevel.NONE)
+    private final long startNanos;
+
+    public AcceleratedClock(double timeScale) {
+        this(timeScale, System.currentTimeMillis());
+    }
+
+    public AcceleratedClock(double timeScale, long originMillis) {
+        if (timeScale <= 0) {
+            throw new IllegalArgumentException("Time scale should be positive, but was " + timeScale);
+        }
+        this.timeScale = timeScale;
+        this.originMillis = originMillis;
+        startNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - originMillis);
+    }
+
+    @Override
+    public long nanoTime() {
+        return startNanos + (long) ((System.nanoTime() - startNanos) * timeScale);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return originMillis + TimeUnit.NANOSECONDS.toMillis(nanoTime() - startNanos);
+    }
+
+    /**
+     * Returns wall-clock duration in nanoseconds, during which passed-in duration of this clock passes.
+     */
+    public long toWallNanos(long nanos) {
+        return (long) Math.ceil(nanos / timeScale);
+    }
+}
@@ -0,0 +1,49 @@
+package com.atd.simulation.event;
+
+import lombok.Getter;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded scheduler of discrete-event simulation. Keeps queue of {@link SimulationEvent}s ordered by virtual
+ * time and executes them one by one, moving {@link VirtualClock} to time of each event, so no real time is spent on
+ * waiting between events.
+ */
+public class DiscreteEventScheduler implements SimulationScheduler {
+
+    @Getter
+    private final VirtualClock clock;
+    private final PriorityQueue<SimulationEvent> events;
+    private long sequence;
+
+    public DiscreteEventScheduler() {
+        clock = new VirtualClock();
+        events = new PriorityQueue<>();
+    }
+
+    /**
+     * Schedules passed-in {@code action} for execution after {@code delay} from current virtual time, before other
+     * events of the same time with lower {@code priority}.
+     */
+    @Override
+    public SimulationTimer schedule(long delay, TimeUnit unit, int priority, SimulationEvent.Action action) {
+        SimulationEvent event = new SimulationEvent(clock.nanoTime() + unit.toNanos(delay), priority, sequence++, action);
+        events.add(event);
+        return event;
+    }
+
+    /**
+     * Executes scheduled events in order of their virtual time, till no more events left.
+     */
+    public void run() throws InterruptedException {
+        while (!events.isEmpty()) {
+            SimulationEvent event = events.poll();
+            if (event.isCancelled()) {
+                continue;
+            }
+            clock.advanceTo(event.getTime());
+            event.getAction().execute();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.atd.simulation.event;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel: timers are hashed by tick of their deadline into fixed number of buckets, each bucket is
+ * doubly linked list, so insertion and cancellation of timer cost O(1) regardless of number of pending timers.
+ * Single ticker thread moves over buckets once per tick and hands expired actions to {@code executor}, so timers are
+ * fired with precision of one tick.
+ * Time is measured by {@link AcceleratedClock}, ticker sleeps for wall-clock time scaled by the clock, so the same
+ * wheel serves real-time and accelerated simulation.
+ */
+@Slf4j
+class HashedTimingWheel {
+
+    private final AcceleratedClock clock;
+    private final long tickDuration;
+    private final Bucket[] buckets;
+    private final int mask;
+    private final Executor executor;
+    private final long startTime;
+    private final Thread ticker;
+    /**
+     * Number of the last tick, which bucket was already processed by ticker.
+     */
+    private volatile long processedTick;
+
+    /**
+     * Creates wheel with {@code ticksPerWheel} buckets (rounded up to power of two) and {@code tickDuration} in time
+     * of passed-in {@code clock}, ticker thread is started immediately.
+     */
+    HashedTimingWheel(AcceleratedClock clock, long tickDuration, TimeUnit unit, int ticksPerWheel, Executor executor) {
+        this.clock = clock;
+        this.tickDuration = Math.max(1, unit.toNanos(tickDuration));
+        int wheelSize = Integer.highestOneBit(Math.max(1, ticksPerWheel - 1)) << 1;
+        buckets = new Bucket[wheelSize];
+        for (int index = 0; index < wheelSize; index++) {
+            buckets[index] = new Bucket();
+        }
+        mask = wheelSize - 1;
+        this.executor = executor;
+        startTime = clock.nanoTime();
+        ticker = new Thread(this::tick, "timing-wheel");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    /**
+     * Schedules passed-in {@code action} for execution by executor after {@code delay}, returns timer which could be
+     * used for cancellation.
+     */
+    SimulationTimer schedule(long delay, TimeUnit unit, Runnable action) {
+        long deadline = clock.nanoTime() - startTime + unit.toNanos(delay);
+        // Deadline tick is rounded up, so timer is never fired before deadline.
+        long deadlineTick = (deadline + tickDuration - 1) / tickDuration;
+        Timeout timeout = new Timeout(action);
+        while (true) {
+            long tick = Math.max(deadlineTick, processedTick + 1);
+            Bucket bucket = buckets[(int) (tick & mask)];
+            synchronized (bucket) {
+                // Ticker could pass chosen tick concurrently, then choose next one.
+                if (processedTick < tick) {
+                    timeout.tick = tick;
+                    bucket.add(timeout);
+                    return timeout;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops ticker thread, not fired timers are discarded.
+     */
+    void stop() throws InterruptedException {
+        ticker.interrupt();
+        ticker.join();
+    }
+
+    private void tick() {
+        long tick = processedTick;
+        List<Timeout> expired = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            tick++;
+            // Wait till time of next tick.
+            long tickTime = startTime + tick * tickDuration;
+            long now;
+            while ((now = clock.nanoTime()) < tickTime) {
+                LockSupport.parkNanos(clock.toWallNanos(tickTime - now));
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+            Bucket bucket = buckets[(int) (tick & mask)];
+            synchronized (bucket) {
+                processedTick = tick;
+                bucket.expire(tick, expired);
+            }
+            for (Timeout timeout : expired) {
+                try {
+                    executor.execute(timeout.action);
+                } catch (RuntimeException ex) {
+                    log.error("Execution of timer failed", ex);
+                }
+            }
+            expired.clear();
+        }
+    }
+
+    /**
+     * Timer linked into bucket of the wheel.
+     */
+    private final class Timeout implements SimulationTimer {
+        private final Runnable action;
+        private long tick;
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(Runnable action) {
+            this.action = action;
+        }
+
+        @Override
+        public void cancel() {
+            Bucket timeoutBucket = buckets[(int) (tick & mask)];
+            synchronized (timeoutBucket) {
+                if (bucket != null) {
+                    bucket.remove(this);
+                }
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of timers, which ticks are hashed to the same bucket.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.previous = tail;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.previous == null) {
+                head = timeout.next;
+            } else {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.previous;
+            } else {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        /**
+         * Moves timers with tick not after passed-in {@code tick} to {@code expired}, timers of next rounds of the
+         * wheel stay in bucket.
+         */
+        private void expire(long tick, List<Timeout> expired) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.tick <= tick) {
+                    remove(timeout);
+                    expired.add(timeout);
+                }
+                timeout = next;
+            }
+        }
+    }
+}
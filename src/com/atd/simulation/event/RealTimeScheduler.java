@@ -0,0 +1,80 @@
+package com.atd.simulation.event;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SimulationScheduler} of real-time simulation, which executes actions by small pool of threads at wall-clock
+ * time, optionally accelerated by {@code timeScale}. Delayed actions wait in {@link HashedTimingWheel}, so pending
+ * timers cost neither threads nor reordering of priority queue. Priorities are not supported, actions of the same
+ * time are executed in any order.
+ * Failed actions are logged and don't stop execution of other ones.
+ */
+@Slf4j
+public class RealTimeScheduler implements SimulationScheduler {
+
+    /**
+     * Wall-clock duration of timing wheel tick, precision of delayed actions.
+     */
+    private static final long TICK_DURATION_IN_MILLIS = 10;
+    /**
+     * Number of timing wheel buckets, with 10 ms ticks covers about 5 seconds without wrapping around.
+     */
+    private static final int TICKS_PER_WHEEL = 512;
+
+    @Getter
+    private final AcceleratedClock clock;
+    private final ExecutorService executorService;
+    private final HashedTimingWheel timingWheel;
+
+    public RealTimeScheduler(int threadsCount) {
+        this(threadsCount, 1);
+    }
+
+    public RealTimeScheduler(int threadsCount, double timeScale) {
+        this(threadsCount, new AcceleratedClock(timeScale));
+    }
+
+    /**
+     * Creates scheduler executing actions at time of passed-in {@code clock}, e.g. clock of the same origin as clock
+     * of other process of the same simulation.
+     */
+    public RealTimeScheduler(int threadsCount, AcceleratedClock clock) {
+        this.clock = clock;
+        executorService = Executors.newFixedThreadPool(threadsCount);
+        timingWheel = new HashedTimingWheel(clock,
+                (long) (TimeUnit.MILLISECONDS.toNanos(TICK_DURATION_IN_MILLIS) * clock.getTimeScale()),
+                TimeUnit.NANOSECONDS, TICKS_PER_WHEEL, executorService);
+    }
+
+    @Override
+    public SimulationTimer schedule(long delay, TimeUnit unit, int priority, SimulationEvent.Action action) {
+        Runnable task = () -> {
+            try {
+                action.execute();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (Exception ex) {
+                log.error("Execution failed", ex);
+            }
+        };
+        if (delay <= 0) {
+            executorService.execute(task);
+            return () -> { };
+        }
+        return timingWheel.schedule(delay, unit, task);
+    }
+
+    /**
+     * Stops execution of scheduled actions and waits till currently executed ones are finished.
+     */
+    public void shutdown() throws InterruptedException {
+        timingWheel.stop();
+        executorService.shutdownNow();
+        executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+}
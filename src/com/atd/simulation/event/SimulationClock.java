@@ -0,0 +1,18 @@
+package com.atd.simulation.event;
+
+/**
+ * Source of time used by simulation participants. Allows to run the same airplane and traffic controller logic
+ * either against wall-clock time or against virtual time of discrete-event simulation.
+ */
+public interface SimulationClock {
+
+    /**
+     * Returns current value of clock in nanoseconds, could be used only for measurement of elapsed time.
+     */
+    long nanoTime();
+
+    /**
+     * Returns current time in milliseconds, used for dating of landing requests.
+     */
+    long currentTimeMillis();
+}
@@ -0,0 +1,47 @@
+package com.atd.simulation.event;
+
+import lombok.Getter;
+
+/**
+ * Event of discrete-event simulation, which should be executed at defined virtual time.
+ * Events with the same time are ordered by priority (higher goes first) and then by sequence number of scheduling.
+ * Cancelled event stays in queue and is skipped when its time comes, so cancellation costs O(1).
+ */
+@Getter
+public class SimulationEvent implements Comparable<SimulationEvent>, SimulationTimer {
+
+    private final long time;
+    private final int priority;
+    private final long sequence;
+    private final Action action;
+    private boolean cancelled;
+
+    SimulationEvent(long time, int priority, long sequence, Action action) {
+        this.time = time;
+        this.priority = priority;
+        this.sequence = sequence;
+        this.action = action;
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    @Override
+    public int compareTo(SimulationEvent o) {
+        int result = Long.compare(time, o.time);
+        if (result == 0) {
+            result = Integer.compare(o.priority, priority);
+        }
+        return result != 0 ? result : Long.compare(sequence, o.sequence);
+    }
+
+    /**
+     * Action executed when simulation reaches time of event.
+     */
+    @FunctionalInterface
+    public interface Action {
+        void execute() throws InterruptedException;
+    }
+}
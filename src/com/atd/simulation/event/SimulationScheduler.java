@@ -0,0 +1,30 @@
+package com.atd.simulation.event;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler of simulation actions, which lets participants of simulation wait for time or react on messages without
+ * own blocked thread.
+ */
+public interface SimulationScheduler {
+
+    /**
+     * Returns {@link SimulationClock}, which defines time of scheduled actions.
+     */
+    SimulationClock getClock();
+
+    /**
+     * Schedules passed-in {@code action} for execution after {@code delay} from current time, returns timer which
+     * could be used for cancellation.
+     */
+    default SimulationTimer schedule(long delay, TimeUnit unit, SimulationEvent.Action action) {
+        return schedule(delay, unit, 0, action);
+    }
+
+    /**
+     * Schedules passed-in {@code action} for execution after {@code delay} from current time, before other actions
+     * of the same time with lower {@code priority}, if scheduler is able to order them. Returns timer which could be
+     * used for cancellation.
+     */
+    SimulationTimer schedule(long delay, TimeUnit unit, int priority, SimulationEvent.Action action);
+}
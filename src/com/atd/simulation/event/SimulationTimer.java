@@ -0,0 +1,12 @@
+package com.atd.simulation.event;
+
+/**
+ * Handle of action scheduled by {@link SimulationScheduler}.
+ */
+public interface SimulationTimer {
+
+    /**
+     * Cancels scheduled action, if it is not executed yet.
+     */
+    void cancel();
+}
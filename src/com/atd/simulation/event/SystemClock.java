@@ -0,0 +1,17 @@
+package com.atd.simulation.event;
+
+/**
+ * {@link SimulationClock} backed by wall-clock time, used by real-time simulation.
+ */
+public class SystemClock implements SimulationClock {
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,33 @@
+package com.atd.simulation.event;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SimulationClock} with virtual time, which starts from zero and is moved forward only by
+ * {@link DiscreteEventScheduler} during processing of events.
+ */
+public class VirtualClock implements SimulationClock {
+
+    private long currentNanos;
+
+    @Override
+    public long nanoTime() {
+        return currentNanos;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(currentNanos);
+    }
+
+    /**
+     * Moves clock to passed-in virtual time in nanoseconds, time could not be moved backward.
+     */
+    void advanceTo(long nanos) {
+        if (nanos < currentNanos) {
+            throw new IllegalStateException(
+                    String.format("Virtual time can't be moved backward from %d to %d", currentNanos, nanos));
+        }
+        currentNanos = nanos;
+    }
+}
@@ -0,0 +1,88 @@
+package com.atd.simulation.replay;
+
+import com.atd.communication.data.Message;
+import com.atd.config.AirplaneData;
+import com.atd.simulation.data.LandingRequest;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Event of {@link com.atd.simulation.TrafficController} captured by {@link SimulationRecorder}.
+ */
+@Builder
+@Getter
+public class RecordedEvent {
+    private final Kind kind;
+    /**
+     * Order of event in recording of whole simulation run.
+     */
+    private final long logicalTime;
+    private final int controllerId;
+    /**
+     * Processed message of {@link Kind#MESSAGE} event, null for re-evaluation of proposals without message.
+     */
+    private final Message message;
+    /**
+     * Data of airplane, which requested landing by processed message.
+     */
+    private final AirplaneData airplaneData;
+    private final long timeMillis;
+    /**
+     * Own proposals of controller in {@link Kind#ROUND} event.
+     */
+    private final Map<Integer, LandingRequest> proposals;
+    /**
+     * Proposals of other controllers in {@link Kind#ROUND} event, null if round was interrupted by termination.
+     */
+    private final Collection<Map<Integer, LandingRequest>> othersProposals;
+    /**
+     * Type of {@link Kind#RESPONSE} sent to airplane.
+     */
+    private final Message.MessageType responseType;
+    private final int airplaneId;
+    private final int runwayIndex;
+
+    /**
+     * Returns human-readable description of event, which is independent of its logical time, so the same decisions
+     * of recorded and replayed runs have equal descriptions.
+     */
+    public String describe() {
+        switch (kind) {
+            case MESSAGE:
+                return message == null ?
+                        String.format("re-evaluation at %d", timeMillis) :
+                        String.format("%s from airplane %d, controller %d, runway %d at %d", message.getType(),
+                                message.getAirplaneId(), message.getControllerId(), message.getRunwayIndex(),
+                                timeMillis);
+            case ROUND:
+                return String.format("round with proposals %s, others %s", describe(proposals),
+                        othersProposals == null ? "terminated" :
+                                othersProposals.stream().map(RecordedEvent::describe).collect(Collectors.toList()));
+            default:
+                return String.format("%s to airplane %d, runway %d", responseType, airplaneId, runwayIndex);
+        }
+    }
+
+    private static String describe(Map<Integer, LandingRequest> proposals) {
+        return proposals.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + (entry.getValue().isInProgress() ?
+                        "ALREADY_IN_PROGRESS" :
+                        entry.getValue().getAirplaneId() + "@" + entry.getValue().getRequestTimeMillis()))
+                .collect(Collectors.joining(",", "{", "}"));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d controller %d: %s", logicalTime, controllerId, describe());
+    }
+
+    public enum Kind {
+        MESSAGE,
+        ROUND,
+        RESPONSE
+    }
+}
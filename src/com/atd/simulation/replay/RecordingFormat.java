@@ -0,0 +1,37 @@
+package com.atd.simulation.replay;
+
+import com.atd.communication.data.Message;
+
+/**
+ * Format of recording file of simulation run, shared by {@link RecordingWriter} and {@link RecordingReader}.
+ * <pre>
+ * Header:   magic(4) version(1) controllersCount(4) runwayScheduling(1) runwaysCount(4)
+ *           runways(name(UTF) type(1))
+ * Event:    kind(1) logicalTime(8) controllerId(4) payload
+ * Message:  type(1, -1 for re-evaluation) [airplaneId(4) controllerId(4) runwayIndex(4)] timeMillis(8)
+ *           [name(UTF) airplaneType(1) landingType(1), for requests of landing]
+ * Round:    proposals othersCount(4, -1 if terminated) othersProposals
+ * Response: type(1) airplaneId(4) runwayIndex(4)
+ * </pre>
+ * Proposals are count(4) and pairs of runway index(4) and request: airplane id(4), or
+ * {@link Message#UNDEFINED} for runway with landing in progress, airplane type(1), landing type(1) and date(8).
+ * Proposals carry types of airplane, since request of landing of proposal of other controller is recorded only by
+ * process of that controller, if controllers are hosted by different processes.
+ */
+final class RecordingFormat {
+
+    static final int MAGIC = 0x41544452;
+    static final byte VERSION = 3;
+
+    static final byte NO_MESSAGE = -1;
+
+    private RecordingFormat() {
+    }
+
+    /**
+     * Checks if message of passed-in type is request of landing, which carries data of airplane.
+     */
+    static boolean isLandingRequest(Message.MessageType type) {
+        return type == Message.MessageType.READY_TO_LAND || type == Message.MessageType.EMERGENCY_CALL_TO_LAND;
+    }
+}
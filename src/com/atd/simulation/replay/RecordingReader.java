@@ -0,0 +1,146 @@
+package com.atd.simulation.replay;
+
+import com.atd.communication.CommunicatorParticipant;
+import com.atd.communication.data.Message;
+import com.atd.config.AirplaneData;
+import com.atd.config.RunwayData;
+import com.atd.config.SimulationSettings;
+import com.atd.simulation.data.LandingRequest;
+import lombok.Getter;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Reader of recording file written by {@link RecordingWriter}. Messages are restored with typed fields only, sender
+ * of landing request is created by passed-in function from id and data of airplane.
+ */
+public class RecordingReader {
+
+    @Getter
+    private final int controllersCount;
+    @Getter
+    private final SimulationSettings.RunwayScheduling runwayScheduling;
+    @Getter
+    private final List<RunwayData> runways;
+    private final List<RecordedEvent> events;
+
+    /**
+     * Reads whole recording with passed-in {@code path}, {@code airplanes} returns participant representing airplane
+     * with passed-in id and data.
+     */
+    public RecordingReader(Path path, BiFunction<Integer, AirplaneData, CommunicatorParticipant> airplanes) {
+        events = new ArrayList<>();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != RecordingFormat.MAGIC || input.readByte() != RecordingFormat.VERSION) {
+                throw new IllegalArgumentException("Not a recording of simulation: " + path);
+            }
+            controllersCount = input.readInt();
+            runwayScheduling = SimulationSettings.RunwayScheduling.values()[input.readByte()];
+            runways = new ArrayList<>();
+            int runwaysCount = input.readInt();
+            for (int index = 0; index < runwaysCount; index++) {
+                runways.add(RunwayData.builder()
+                        .runwayName(input.readUTF())
+                        .runwayType(RunwayData.RunwayType.values()[input.readByte()])
+                        .build());
+            }
+            int kind;
+            while ((kind = input.read()) != -1) {
+                events.add(readEvent(RecordedEvent.Kind.values()[kind], input, airplanes));
+            }
+        } catch (EOFException ex) {
+            throw new IllegalStateException("Recording ends with incomplete event: " + path, ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Reading of recording failed: " + path, ex);
+        }
+    }
+
+    /**
+     * Returns all events of recording in order of their logical time.
+     */
+    public List<RecordedEvent> getEvents() {
+        return events;
+    }
+
+    private RecordedEvent readEvent(RecordedEvent.Kind kind, DataInputStream input,
+                                    BiFunction<Integer, AirplaneData, CommunicatorParticipant> airplanes)
+            throws IOException {
+        RecordedEvent.RecordedEventBuilder event = RecordedEvent.builder()
+                .kind(kind)
+                .logicalTime(input.readLong())
+                .controllerId(input.readInt());
+        switch (kind) {
+            case MESSAGE:
+                byte type = input.readByte();
+                if (type == RecordingFormat.NO_MESSAGE) {
+                    return event.timeMillis(input.readLong()).build();
+                }
+                Message.MessageBuilder message = Message.builder()
+                        .type(Message.MessageType.values()[type])
+                        .airplaneId(input.readInt())
+                        .controllerId(input.readInt())
+                        .runwayIndex(input.readInt());
+                event.timeMillis(input.readLong());
+                Message.MessageType messageType = Message.MessageType.values()[type];
+                if (RecordingFormat.isLandingRequest(messageType)) {
+                    Message request = message.build();
+                    AirplaneData data = AirplaneData.builder()
+                            .airplaneName(input.readUTF())
+                            .airplaneType(AirplaneData.AirplaneType.values()[input.readByte()])
+                            .landingType(AirplaneData.LandingType.values()[input.readByte()])
+                            .build();
+                    message.sender(airplanes.apply(request.getAirplaneId(), data));
+                    event.airplaneData(data);
+                }
+                return event.message(message.build()).build();
+            case ROUND:
+                event.proposals(readProposals(input));
+                int othersCount = input.readInt();
+                if (othersCount >= 0) {
+                    List<Map<Integer, LandingRequest>> othersProposals = new ArrayList<>(othersCount);
+                    for (int index = 0; index < othersCount; index++) {
+                        othersProposals.add(readProposals(input));
+                    }
+                    event.othersProposals(othersProposals);
+                }
+                return event.build();
+            default:
+                return event
+                        .responseType(Message.MessageType.values()[input.readByte()])
+                        .airplaneId(input.readInt())
+                        .runwayIndex(input.readInt())
+                        .build();
+        }
+    }
+
+    private Map<Integer, LandingRequest> readProposals(DataInputStream input) throws IOException {
+        int count = input.readInt();
+        Map<Integer, LandingRequest> proposals = new LinkedHashMap<>();
+        for (int index = 0; index < count; index++) {
+            int runwayIndex = input.readInt();
+            int airplaneId = input.readInt();
+            if (airplaneId == Message.UNDEFINED) {
+                proposals.put(runwayIndex, LandingRequest.ALREADY_IN_PROGRESS);
+                continue;
+            }
+            proposals.put(runwayIndex, LandingRequest.builder()
+                    .airplaneId(airplaneId)
+                    .airplaneType(AirplaneData.AirplaneType.values()[input.readByte()])
+                    .landingType(AirplaneData.LandingType.values()[input.readByte()])
+                    .requestTimeMillis(input.readLong())
+                    .build());
+        }
+        return proposals;
+    }
+}
@@ -0,0 +1,138 @@
+package com.atd.simulation.replay;
+
+import com.atd.communication.data.Message;
+import com.atd.config.AirplaneData;
+import com.atd.config.RunwayData;
+import com.atd.config.SimulationSettings;
+import com.atd.simulation.Airplane;
+import com.atd.simulation.RunwayRegistry;
+import com.atd.simulation.data.LandingRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * {@link SimulationRecorder}, which appends events of traffic controllers in binary format (see
+ * {@link RecordingFormat}) to file. Events of all controllers are written in order of recording, numbered by
+ * logical time.
+ */
+@Slf4j
+public class RecordingWriter implements SimulationRecorder, Closeable {
+
+    private final DataOutputStream output;
+    private long logicalTime;
+
+    public RecordingWriter(Path path, int controllersCount, RunwayRegistry runwayRegistry,
+                           SimulationSettings.RunwayScheduling runwayScheduling) {
+        try {
+            output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+            output.writeInt(RecordingFormat.MAGIC);
+            output.writeByte(RecordingFormat.VERSION);
+            output.writeInt(controllersCount);
+            output.writeByte(runwayScheduling.ordinal());
+            output.writeInt(runwayRegistry.getRunwaysCount());
+            for (RunwayData runway : runwayRegistry.getRunways()) {
+                output.writeUTF(runway.getRunwayName());
+                output.writeByte(runway.getRunwayType().ordinal());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Opening of recording file failed: " + path, ex);
+        }
+    }
+
+    @Override
+    public synchronized void messageProcessed(int controllerId, Message message, long timeMillis) {
+        try {
+            writeHeader(RecordedEvent.Kind.MESSAGE, controllerId);
+            if (message == null) {
+                output.writeByte(RecordingFormat.NO_MESSAGE);
+                output.writeLong(timeMillis);
+                return;
+            }
+            output.writeByte(message.getType().ordinal());
+            output.writeInt(message.getAirplaneId());
+            output.writeInt(message.getControllerId());
+            output.writeInt(message.getRunwayIndex());
+            output.writeLong(timeMillis);
+            if (RecordingFormat.isLandingRequest(message.getType())) {
+                AirplaneData data = ((Airplane) message.getSender()).getData();
+                output.writeUTF(data.getAirplaneName());
+                output.writeByte(data.getAirplaneType().ordinal());
+                output.writeByte(data.getLandingType().ordinal());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Recording of message failed", ex);
+        }
+    }
+
+    @Override
+    public synchronized void proposalsSynchronised(int controllerId, Map<Integer, LandingRequest> proposals,
+                                                   Collection<Map<Integer, LandingRequest>> othersProposals) {
+        try {
+            writeHeader(RecordedEvent.Kind.ROUND, controllerId);
+            writeProposals(proposals);
+            if (othersProposals == null) {
+                output.writeInt(-1);
+                return;
+            }
+            output.writeInt(othersProposals.size());
+            for (Map<Integer, LandingRequest> otherProposals : othersProposals) {
+                writeProposals(otherProposals);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Recording of synchronisation round failed", ex);
+        }
+    }
+
+    @Override
+    public synchronized void responseSent(int controllerId, Message.MessageType type, int airplaneId,
+                                          int runwayIndex) {
+        try {
+            writeHeader(RecordedEvent.Kind.RESPONSE, controllerId);
+            output.writeByte(type.ordinal());
+            output.writeInt(airplaneId);
+            output.writeInt(runwayIndex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Recording of response failed", ex);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            output.close();
+        } catch (IOException ex) {
+            log.warn("Closing of recording file failed.", ex);
+        }
+    }
+
+    private void writeHeader(RecordedEvent.Kind kind, int controllerId) throws IOException {
+        output.writeByte(kind.ordinal());
+        output.writeLong(logicalTime++);
+        output.writeInt(controllerId);
+    }
+
+    private void writeProposals(Map<Integer, LandingRequest> proposals) throws IOException {
+        output.writeInt(proposals.size());
+        for (Map.Entry<Integer, LandingRequest> proposal : proposals.entrySet()) {
+            LandingRequest request = proposal.getValue();
+            output.writeInt(proposal.getKey());
+            if (request.isInProgress()) {
+                output.writeInt(Message.UNDEFINED);
+            } else {
+                output.writeInt(request.getAirplaneId());
+                output.writeByte(request.getAirplaneType().ordinal());
+                output.writeByte(request.getLandingType().ordinal());
+                output.writeLong(request.getRequestTimeMillis());
+            }
+        }
+    }
+}
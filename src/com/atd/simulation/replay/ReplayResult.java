@@ -0,0 +1,26 @@
+package com.atd.simulation.replay;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Result of replay of recorded simulation run by {@link SimulationReplayer}.
+ */
+@Builder
+@Getter
+public class ReplayResult {
+    private final int controllersCount;
+    private final int eventsCount;
+    private final long elapsedNanos;
+    /**
+     * Descriptions of the first divergent decision per traffic controller, empty if replay is consistent with
+     * recording.
+     */
+    private final List<String> divergences;
+
+    public boolean isConsistent() {
+        return divergences.isEmpty();
+    }
+}
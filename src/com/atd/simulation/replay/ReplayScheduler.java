@@ -0,0 +1,42 @@
+package com.atd.simulation.replay;
+
+import com.atd.simulation.event.SimulationClock;
+import com.atd.simulation.event.SimulationEvent;
+import com.atd.simulation.event.SimulationScheduler;
+import com.atd.simulation.event.SimulationTimer;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SimulationScheduler} of replay: time of its clock is set to recorded time of each replayed message, and
+ * scheduled actions are dropped, since all messages, including timer ones, are replayed from recording.
+ */
+class ReplayScheduler implements SimulationScheduler {
+
+    @Getter
+    private final ReplayClock clock = new ReplayClock();
+
+    @Override
+    public SimulationTimer schedule(long delay, TimeUnit unit, int priority, SimulationEvent.Action action) {
+        return () -> { };
+    }
+
+    static class ReplayClock implements SimulationClock {
+        private long timeMillis;
+
+        void setTimeMillis(long timeMillis) {
+            this.timeMillis = timeMillis;
+        }
+
+        @Override
+        public long nanoTime() {
+            return TimeUnit.MILLISECONDS.toNanos(timeMillis);
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return timeMillis;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.atd.simulation.replay;
+
+import com.atd.communication.data.Message;
+import com.atd.simulation.data.LandingRequest;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Recorder of inputs and decisions of {@link com.atd.simulation.TrafficController}s, which are enough to re-drive
+ * controllers without other participants of simulation: processed messages with time of controller clock,
+ * proposals received in synchronisation rounds, and made decisions (own proposals and responses to airplanes).
+ */
+public interface SimulationRecorder {
+
+    /**
+     * Recorder, which ignores all events.
+     */
+    SimulationRecorder NONE = new SimulationRecorder() {
+    };
+
+    /**
+     * Records that traffic controller with {@code controllerId} starts processing of passed-in {@link Message} at
+     * {@code timeMillis} of its clock. Null message means re-evaluation of proposals without message.
+     */
+    default void messageProcessed(int controllerId, Message message, long timeMillis) {
+    }
+
+    /**
+     * Records synchronisation round of traffic controller with {@code controllerId}: own {@code proposals} and
+     * proposals of other controllers, or null {@code othersProposals} if round was interrupted by termination.
+     */
+    default void proposalsSynchronised(int controllerId, Map<Integer, LandingRequest> proposals,
+                                       Collection<Map<Integer, LandingRequest>> othersProposals) {
+    }
+
+    /**
+     * Records response of passed-in type sent by traffic controller with {@code controllerId} to airplane with
+     * {@code airplaneId}, which refers to runway with {@code runwayIndex}, if applicable.
+     */
+    default void responseSent(int controllerId, Message.MessageType type, int airplaneId, int runwayIndex) {
+    }
+}
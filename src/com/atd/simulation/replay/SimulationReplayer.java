@@ -0,0 +1,221 @@
+package com.atd.simulation.replay;
+
+import com.atd.communication.Communicator;
+import com.atd.communication.data.Message;
+import com.atd.communication.journal.LogEventJournal;
+import com.atd.metrics.MetricsRegistry;
+import com.atd.config.SimulationSettings;
+import com.atd.simulation.Airplane;
+import com.atd.simulation.ControllerSettings;
+import com.atd.simulation.RunwayRegistry;
+import com.atd.simulation.RunwayState;
+import com.atd.simulation.TrafficController;
+import com.atd.simulation.data.LandingRequest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deterministic replay of simulation run recorded by {@link RecordingWriter}. Each traffic controller is re-driven
+ * alone, as fast as possible, by its recorded messages: clock returns recorded time of each message and proposals
+ * of other controllers are provided from recorded synchronisation rounds, so thread timing and order of queues of
+ * original run don't matter. Events of replayed controller are compared with recorded ones, the first divergence
+ * per controller is reported. Usage:
+ * <pre>
+ *     java com.atd.simulation.replay.SimulationReplayer recording.bin
+ * </pre>
+ */
+public class SimulationReplayer {
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length != 1) {
+            System.err.println("Usage: SimulationReplayer <recording file>");
+            System.exit(1);
+        }
+        ReplayResult result = new SimulationReplayer().replay(Paths.get(args[0]));
+        System.out.printf("Replayed %d events of %d traffic controllers in %d ms%n", result.getEventsCount(),
+                result.getControllersCount(), TimeUnit.NANOSECONDS.toMillis(result.getElapsedNanos()));
+        result.getDivergences().forEach(System.out::println);
+        System.exit(result.isConsistent() ? 0 : 2);
+    }
+
+    /**
+     * Replays recording with passed-in {@code path} and compares decisions of traffic controllers with recorded
+     * ones.
+     */
+    public ReplayResult replay(Path path) throws InterruptedException {
+        long startTime = System.nanoTime();
+        ReplayScheduler scheduler = new ReplayScheduler();
+        // Decisions are captured by recorder of replayed controller, so nothing is routed.
+        Communicator communicator =
+                new Communicator(new MetricsRegistry(scheduler.getClock()), new LogEventJournal()) {
+                    @Override
+                    public void synchroniseDecisions(int controllerId, Map<Integer, LandingRequest> decisions) {
+                    }
+
+                    @Override
+                    public void sendResponseToAirplane(int controllerId, int airplaneId,
+                                                       Message.MessageType type, int runwayIndex) {
+                    }
+                };
+        RunwayState runwayState = new RunwayState(0);
+        Map<Integer, Airplane> airplanes = new HashMap<>();
+        RecordingReader reader = new RecordingReader(path, (id, data) -> airplanes.computeIfAbsent(id,
+                key -> new Airplane(key, data, communicator, runwayState, scheduler)));
+        RunwayRegistry runwayRegistry = new RunwayRegistry(reader.getRunways());
+
+        Map<Integer, List<RecordedEvent>> eventsByController = new TreeMap<>();
+        for (RecordedEvent event : reader.getEvents()) {
+            eventsByController.computeIfAbsent(event.getControllerId(), id -> new ArrayList<>()).add(event);
+        }
+        List<String> divergences = new ArrayList<>();
+        for (Map.Entry<Integer, List<RecordedEvent>> controllerEvents : eventsByController.entrySet()) {
+            String divergence = replayController(controllerEvents.getKey(), controllerEvents.getValue(),
+                    reader.getControllersCount(), communicator, runwayRegistry, reader.getRunwayScheduling(),
+                    scheduler);
+            if (divergence != null) {
+                divergences.add(divergence);
+            }
+        }
+        return ReplayResult.builder()
+                .controllersCount(eventsByController.size())
+                .eventsCount(reader.getEvents().size())
+                .elapsedNanos(System.nanoTime() - startTime)
+                .divergences(divergences)
+                .build();
+    }
+
+    /**
+     * Re-drives new traffic controller with {@code controllerId} by its {@code recordedEvents}, returns description
+     * of the first divergent event, or null if all events are the same.
+     */
+    private static String replayController(int controllerId, List<RecordedEvent> recordedEvents,
+                                           int controllersCount, Communicator communicator,
+                                           RunwayRegistry runwayRegistry,
+                                           SimulationSettings.RunwayScheduling runwayScheduling,
+                                           ReplayScheduler scheduler)
+            throws InterruptedException {
+        List<RecordedEvent> replayedEvents = new ArrayList<>();
+        TrafficController controller = new TrafficController(ControllerSettings.builder()
+                .id(controllerId)
+                .controllersCount(controllersCount)
+                .communicator(communicator)
+                .runwayRegistry(runwayRegistry)
+                .scheduler(scheduler)
+                .recorder(new EventCollector(replayedEvents))
+                .runwayScheduling(runwayScheduling)
+                .build());
+        // Proposals of other controllers are always provided in advance, so waiting for them could time out only in
+        // round, which was interrupted by termination, or if replay diverged, then round is finished as terminated.
+        controller.send(Message.builder().type(Message.MessageType.TERMINATED).build());
+        for (int index = 0; index < recordedEvents.size(); index++) {
+            RecordedEvent event = recordedEvents.get(index);
+            if (event.getKind() != RecordedEvent.Kind.MESSAGE) {
+                continue;
+            }
+            // Provide proposals consumed by synchronisation rounds during processing of the message.
+            for (int next = index + 1; next < recordedEvents.size() &&
+                    recordedEvents.get(next).getKind() != RecordedEvent.Kind.MESSAGE; next++) {
+                Collection<Map<Integer, LandingRequest>> othersProposals =
+                        recordedEvents.get(next).getOthersProposals();
+                if (othersProposals != null) {
+                    int otherControllerId = 0;
+                    for (Map<Integer, LandingRequest> proposals : othersProposals) {
+                        controller.receiveProposals(otherControllerId++, proposals);
+                    }
+                }
+            }
+            scheduler.getClock().setTimeMillis(event.getTimeMillis());
+            int replayedCount = replayedEvents.size();
+            // Synchronisation round after message changing state is always recorded, unless it was coalesced with
+            // round of the next message.
+            boolean coalesced = index + 1 < recordedEvents.size() &&
+                    recordedEvents.get(index + 1).getKind() == RecordedEvent.Kind.MESSAGE;
+            controller.replay(event.getMessage(), coalesced);
+            String divergence = findDivergence(recordedEvents, replayedEvents, replayedCount);
+            if (divergence != null) {
+                return divergence;
+            }
+        }
+        if (replayedEvents.size() < recordedEvents.size()) {
+            return String.format("Traffic controller %d didn't repeat recorded decision: %s", controllerId,
+                    recordedEvents.get(replayedEvents.size()).describe());
+        }
+        return null;
+    }
+
+    /**
+     * Compares replayed events starting from {@code fromIndex} with recorded ones, returns description of the first
+     * divergent event, or null if they are the same.
+     */
+    private static String findDivergence(List<RecordedEvent> recordedEvents, List<RecordedEvent> replayedEvents,
+                                         int fromIndex) {
+        for (int index = fromIndex; index < replayedEvents.size(); index++) {
+            RecordedEvent replayed = replayedEvents.get(index);
+            if (index >= recordedEvents.size()) {
+                return String.format("Traffic controller %d made unexpected decision: %s", replayed.getControllerId(),
+                        replayed.describe());
+            }
+            RecordedEvent recorded = recordedEvents.get(index);
+            if (!recorded.describe().equals(replayed.describe())) {
+                return String.format("Traffic controller %d diverged at event #%d: recorded '%s', replayed '%s'",
+                        recorded.getControllerId(), recorded.getLogicalTime(), recorded.describe(),
+                        replayed.describe());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@link SimulationRecorder}, which collects events of replayed traffic controller.
+     */
+    private static class EventCollector implements SimulationRecorder {
+        private final List<RecordedEvent> events;
+
+        private EventCollector(List<RecordedEvent> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void messageProcessed(int controllerId, Message message, long timeMillis) {
+            events.add(RecordedEvent.builder()
+                    .kind(RecordedEvent.Kind.MESSAGE)
+                    .logicalTime(events.size())
+                    .controllerId(controllerId)
+                    .message(message)
+                    .timeMillis(timeMillis)
+                    .build());
+        }
+
+        @Override
+        public void proposalsSynchronised(int controllerId, Map<Integer, LandingRequest> proposals,
+                                          Collection<Map<Integer, LandingRequest>> othersProposals) {
+            events.add(RecordedEvent.builder()
+                    .kind(RecordedEvent.Kind.ROUND)
+                    .logicalTime(events.size())
+                    .controllerId(controllerId)
+                    .proposals(proposals)
+                    .othersProposals(othersProposals)
+                    .build());
+        }
+
+        @Override
+        public void responseSent(int controllerId, Message.MessageType type, int airplaneId, int runwayIndex) {
+            events.add(RecordedEvent.builder()
+                    .kind(RecordedEvent.Kind.RESPONSE)
+                    .logicalTime(events.size())
+                    .controllerId(controllerId)
+                    .responseType(type)
+                    .airplaneId(airplaneId)
+                    .runwayIndex(runwayIndex)
+                    .build());
+        }
+    }
+}
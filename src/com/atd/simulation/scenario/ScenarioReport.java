@@ -0,0 +1,60 @@
+package com.atd.simulation.scenario;
+
+import com.atd.metrics.LatencyHistogram;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregated statistics of all runs of scenario executed by {@link ScenarioRunner}.
+ */
+@Builder
+@Getter
+public class ScenarioReport {
+    private final int runsCount;
+    private final long landingsCount;
+    /**
+     * Number of airplanes, which didn't land till end of their run.
+     */
+    private final long notLandedCount;
+    /**
+     * Distribution of time from request for landing till order to land of all landed airplanes in simulation time,
+     * in nanoseconds.
+     */
+    private final LatencyHistogram.Snapshot waitTime;
+    /**
+     * Landings per hour of simulation time per run, sorted in ascending order.
+     */
+    private final double[] throughputPerHour;
+    private final long elapsedNanos;
+
+    /**
+     * Returns throughput per hour, which is not exceeded by passed-in {@code percentile} of runs.
+     */
+    public double getThroughputPercentile(double percentile) {
+        if (throughputPerHour.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * throughputPerHour.length) - 1;
+        return throughputPerHour[Math.max(0, Math.min(index, throughputPerHour.length - 1))];
+    }
+
+    /**
+     * Returns human-readable summary of report.
+     */
+    public String describe() {
+        return String.format("runs: %d, landings: %d, not landed: %d, elapsed: %d ms%n"
+                        + "wait time s: mean %.1f, p50 %.1f, p90 %.1f, p99 %.1f, max %.1f%n"
+                        + "throughput per hour: p5 %.1f, p50 %.1f, p95 %.1f",
+                runsCount, landingsCount, notLandedCount, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                toSeconds(waitTime.getMean()), toSeconds(waitTime.getPercentile(50)),
+                toSeconds(waitTime.getPercentile(90)), toSeconds(waitTime.getPercentile(99)),
+                toSeconds(waitTime.getMax()), getThroughputPercentile(5), getThroughputPercentile(50),
+                getThroughputPercentile(95));
+    }
+
+    private static double toSeconds(double nanos) {
+        return nanos / TimeUnit.SECONDS.toNanos(1);
+    }
+}
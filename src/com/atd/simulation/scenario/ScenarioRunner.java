@@ -0,0 +1,169 @@
+package com.atd.simulation.scenario;
+
+import com.atd.config.AirplaneData;
+import com.atd.config.ConfigurationReader;
+import com.atd.config.SimulationSettings;
+import com.atd.metrics.LatencyHistogram;
+import com.atd.simulation.TrafficSimulationExecutor;
+import com.atd.simulation.data.AirplaneLandingReport;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monte-Carlo runner of scenario for capacity planning: runs many seeded variations (see {@link ScenarioVariation})
+ * of base schedule in parallel on {@link ForkJoinPool} and aggregates their landing reports into distribution of
+ * wait time and throughput per hour.
+ * Each run is executed by own {@link TrafficSimulationExecutor}, so it has own communicator, traffic controllers and
+ * runway state; runs share only lock-free aggregates of statistics. Runs are expected to be in
+ * {@link SimulationSettings.Mode#DISCRETE_EVENT} mode, each of them is executed by single worker thread. Usage:
+ * <pre>
+ *     java com.atd.simulation.scenario.ScenarioRunner config.txt runsCount [seed] [controllersCount] [runways.txt]
+ * </pre>
+ */
+public class ScenarioRunner {
+
+    private final SimulationSettings settings;
+    private final ScenarioVariation variation;
+    private final int parallelism;
+
+    /**
+     * Creates runner of simulations with passed-in {@code settings}, which configuration file is ignored, on
+     * {@code parallelism} threads.
+     */
+    public ScenarioRunner(SimulationSettings settings, ScenarioVariation variation, int parallelism) {
+        this.settings = settings;
+        this.variation = variation;
+        this.parallelism = parallelism;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: ScenarioRunner <config file> <runs count> [seed] [controllers count] "
+                    + "[runways config file]");
+            System.exit(1);
+        }
+        SimulationSettings settings = SimulationSettings.builder()
+                .runwaysConfigPath(args.length > 4 ? args[4] : null)
+                .mode(SimulationSettings.Mode.DISCRETE_EVENT)
+                .controllersCount(args.length > 3 ? Integer.parseInt(args[3]) : 2)
+                .messageLogging(false)
+                .build();
+        ScenarioVariation variation = ScenarioVariation.builder()
+                .seed(args.length > 2 ? Long.parseLong(args[2]) : 0)
+                .build();
+        ScenarioReport report = new ScenarioRunner(settings, variation, Runtime.getRuntime().availableProcessors())
+                .run(ConfigurationReader.read(Paths.get(args[0])), Integer.parseInt(args[1]));
+        System.out.println(report.describe());
+    }
+
+    /**
+     * Runs {@code runsCount} variations of passed-in {@code baseSchedule} and returns their aggregated statistics.
+     */
+    public ScenarioReport run(List<AirplaneData> baseSchedule, int runsCount) throws InterruptedException {
+        long startTime = System.nanoTime();
+        Statistics statistics = new Statistics(runsCount);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new RunsTask(baseSchedule, 0, runsCount, statistics));
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        double[] throughputPerHour = statistics.throughputPerHour.clone();
+        Arrays.sort(throughputPerHour);
+        return ScenarioReport.builder()
+                .runsCount(runsCount)
+                .landingsCount(statistics.landings.sum())
+                .notLandedCount(statistics.notLanded.sum())
+                .waitTime(statistics.waitTime.snapshot())
+                .throughputPerHour(throughputPerHour)
+                .elapsedNanos(System.nanoTime() - startTime)
+                .build();
+    }
+
+    /**
+     * Runs variation with passed-in {@code runIndex} and adds its reports to {@code statistics}.
+     */
+    private void runScenario(List<AirplaneData> baseSchedule, int runIndex, Statistics statistics)
+            throws InterruptedException {
+        List<AirplaneData> schedule = variation.apply(baseSchedule, runIndex);
+        List<AirplaneLandingReport> reports = new TrafficSimulationExecutor().simulate(schedule.iterator(), settings);
+        long landings = 0;
+        long firstArrival = Long.MAX_VALUE;
+        long lastLanding = 0;
+        for (AirplaneLandingReport report : reports) {
+            firstArrival = Math.min(firstArrival, report.getStartOffsetInSecs());
+            if (!report.isLanded()) {
+                statistics.notLanded.increment();
+                continue;
+            }
+            landings++;
+            lastLanding = Math.max(lastLanding, report.getStartOffsetInSecs() + report.getExecutionTime());
+            statistics.waitTime.record(TimeUnit.MILLISECONDS.toNanos(report.getLandingOrderLatencyInMillis()));
+        }
+        statistics.landings.add(landings);
+        // Span is at least one second, so throughput of run with single instant landing is defined.
+        long spanInSecs = Math.max(1, lastLanding - firstArrival);
+        statistics.throughputPerHour[runIndex] = (double) landings * TimeUnit.HOURS.toSeconds(1) / spanInSecs;
+    }
+
+    /**
+     * Statistics shared by all runs: counters and histogram are lock-free, throughput has own slot per run.
+     */
+    private static class Statistics {
+        private final LongAdder landings = new LongAdder();
+        private final LongAdder notLanded = new LongAdder();
+        private final LatencyHistogram waitTime = new LatencyHistogram();
+        private final double[] throughputPerHour;
+
+        private Statistics(int runsCount) {
+            throughputPerHour = new double[runsCount];
+        }
+    }
+
+    /**
+     * Task executing runs with indexes from {@code fromIndex} inclusive till {@code toIndex} exclusive, range is
+     * split in halves till single run is left, so idle workers steal remaining halves. Tasks are never serialized,
+     * serializable state is inherited from {@link java.util.concurrent.ForkJoinTask} only.
+     */
+    private class RunsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<AirplaneData> baseSchedule;
+        private final int fromIndex;
+        private final int toIndex;
+        private final transient Statistics statistics;
+
+        private RunsTask(List<AirplaneData> baseSchedule, int fromIndex, int toIndex, Statistics statistics) {
+            this.baseSchedule = baseSchedule;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected void compute() {
+            if (toIndex - fromIndex > 1) {
+                int middleIndex = (fromIndex + toIndex) >>> 1;
+                invokeAll(new RunsTask(baseSchedule, fromIndex, middleIndex, statistics),
+                        new RunsTask(baseSchedule, middleIndex, toIndex, statistics));
+                return;
+            }
+            if (toIndex == fromIndex) {
+                return;
+            }
+            try {
+                runScenario(baseSchedule, fromIndex, statistics);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Scenario run was interrupted", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.atd.simulation.scenario;
+
+import com.atd.config.AirplaneData;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Randomisation of base schedule applied by {@link ScenarioRunner} to each run: arrival offsets are shifted by
+ * uniformly distributed jitter and types of airplanes are redrawn with configured probability. Variation of run is
+ * defined only by seed and index of run, so the same runs are reproduced regardless of parallelism.
+ */
+@Builder
+@Getter
+public class ScenarioVariation {
+    /**
+     * Maximal shift of arrival offset in both directions, offsets are not shifted below zero.
+     */
+    @Builder.Default
+    private final int arrivalJitterInSecs = 60;
+    /**
+     * Probability of replacing type of airplane by uniformly drawn one, 0 keeps mix of base schedule.
+     */
+    @Builder.Default
+    private final double typeChangeProbability = 0.5;
+    @Builder.Default
+    private final long seed = 0;
+
+    /**
+     * Returns variation of passed-in {@code baseSchedule} for run with {@code runIndex}, ordered by arrival time.
+     */
+    public List<AirplaneData> apply(List<AirplaneData> baseSchedule, int runIndex) {
+        // Seeds of consecutive runs are spread by golden ratio increment, so their random streams don't overlap.
+        SplittableRandom random = new SplittableRandom(seed + runIndex * 0x9E3779B97F4A7C15L);
+        AirplaneData.AirplaneType[] airplaneTypes = AirplaneData.AirplaneType.values();
+        List<AirplaneData> schedule = new ArrayList<>(baseSchedule.size());
+        for (AirplaneData airplane : baseSchedule) {
+            int offset = airplane.getNoOfSeconds() + random.nextInt(-arrivalJitterInSecs, arrivalJitterInSecs + 1);
+            AirplaneData.AirplaneType airplaneType = random.nextDouble() < typeChangeProbability ?
+                    airplaneTypes[random.nextInt(airplaneTypes.length)] : airplane.getAirplaneType();
+            schedule.add(AirplaneData.builder()
+                    .airplaneName(airplane.getAirplaneName())
+                    .airplaneType(airplaneType)
+                    .landingType(airplane.getLandingType())
+                    .noOfSeconds(Math.max(0, offset))
+                    .build());
+        }
+        schedule.sort(Comparator.comparing(AirplaneData::getNoOfSeconds));
+        return schedule;
+    }
+}
@@ -1,9 +1,9 @@
 package com.atd.utils;
 
-import com.atd.config.AirplaneData;
-import com.atd.simulation.RunwayState;
 import com.atd.simulation.data.LandingRequest;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -14,58 +14,64 @@ import java.util.Objects;
 public class RequestUtils {
 
     /**
-     * Returns {@link RunwayState.RunwayType}, which best match for passed-in {@link AirplaneData.AirplaneType}.
+     * Returns map of landing requests per runway index for execution based on passed-in {@code proposals}, which are
+     * merged by synchronisation with {@code otherProposals}. It means if other traffic controller mark runway as
+     * already occupied or have more important request for execution, current proposal for that runway will be
+     * postponed.
      */
-    public static RunwayState.RunwayType defineMatchRunway(Boolean[] runwayStates, AirplaneData.AirplaneType airplaneType) {
-        if (airplaneType == AirplaneData.AirplaneType.LARGE) {
-            return runwayStates[RunwayState.RunwayType.LONG.getIndex()] ? RunwayState.RunwayType.LONG : null;
-        }
-        if(runwayStates[RunwayState.RunwayType.SHORT.getIndex()]) {
-            return RunwayState.RunwayType.SHORT;
-        }
-        if(runwayStates[RunwayState.RunwayType.LONG.getIndex()]) {
-            return RunwayState.RunwayType.LONG;
-        }
-        return null;
+    public static Map<Integer, LandingRequest> getSynchronisedProposals(
+            Map<Integer, LandingRequest> proposals,
+            Map<Integer, LandingRequest> otherProposals) {
+        return getSynchronisedProposals(proposals, Collections.singletonList(otherProposals));
     }
 
     /**
-     * Returns 'true' if any runway is available.
+     * Returns map of landing requests per runway index for execution based on passed-in {@code proposals}, which are
+     * merged by synchronisation with proposals of all other traffic controllers {@code othersProposals}. Proposal for
+     * runway is kept only if it is more preferable than proposals of every other traffic controller for the same
+     * runway.
      */
-    public static boolean anyRunwayAvailable(Boolean[] runwayStates) {
-        return runwayStates[0] || runwayStates[1];
+    public static Map<Integer, LandingRequest> getSynchronisedProposals(
+            Map<Integer, LandingRequest> proposals,
+            Collection<Map<Integer, LandingRequest>> othersProposals) {
+        Map<Integer, LandingRequest> synchronisedProposals = new HashMap<>();
+        for (Map.Entry<Integer, LandingRequest> proposal : proposals.entrySet()) {
+            synchroniseProposal(proposal.getKey(), proposal.getValue(), othersProposals, synchronisedProposals);
+        }
+        return synchronisedProposals;
     }
 
     /**
-     * Returns map of landing requests per runway for execution based on passed-in {@code proposals}, which are merged
-     * by synchronisation with {@code otherProposals}. It means if other traffic controller mark runway as already
-     * occupied or have more important request for execution, current proposal for that runway will be postponed.
+     * Returns bitset of runways, which are marked as {@link LandingRequest#ALREADY_IN_PROGRESS} in any of passed-in
+     * {@code proposals}.
      */
-    public static Map<RunwayState.RunwayType, LandingRequest> getSynchronisedProposals(
-            Map<RunwayState.RunwayType, LandingRequest> proposals,
-            Map<RunwayState.RunwayType, LandingRequest> otherProposals) {
-        Map<RunwayState.RunwayType, LandingRequest> synchronisedProposals = new HashMap<>();
-        synchroniseProposal(RunwayState.RunwayType.SHORT, proposals, otherProposals, synchronisedProposals);
-        synchroniseProposal(RunwayState.RunwayType.LONG, proposals, otherProposals, synchronisedProposals);
-        return synchronisedProposals;
+    public static long getRunwaysInProgress(Collection<Map<Integer, LandingRequest>> proposals) {
+        long runwaysInProgress = 0;
+        for (Map<Integer, LandingRequest> runwayProposals : proposals) {
+            for (Map.Entry<Integer, LandingRequest> proposal : runwayProposals.entrySet()) {
+                if (proposal.getValue().isInProgress()) {
+                    runwaysInProgress |= 1L << proposal.getKey();
+                }
+            }
+        }
+        return runwaysInProgress;
     }
 
     /**
-     * Populate {@code synchronisedProposals} with proposals from {@code proposals} synchronised and considering
-     * {@code otherProposals}.
+     * Populate {@code synchronisedProposals} with {@code request} proposed for runway with {@code runwayIndex},
+     * synchronised and considering {@code othersProposals}.
      */
-    private static void synchroniseProposal(RunwayState.RunwayType runwayType,
-                                            Map<RunwayState.RunwayType, LandingRequest> proposals,
-                                            Map<RunwayState.RunwayType, LandingRequest> otherProposals,
-                                            Map<RunwayState.RunwayType, LandingRequest> synchronisedProposals) {
-        if (proposals.containsKey(runwayType)) {
-            LandingRequest request = proposals.get(runwayType);
-            LandingRequest otherRequest = otherProposals.get(runwayType);
+    private static void synchroniseProposal(int runwayIndex, LandingRequest request,
+                                            Collection<Map<Integer, LandingRequest>> othersProposals,
+                                            Map<Integer, LandingRequest> synchronisedProposals) {
+        for (Map<Integer, LandingRequest> otherProposals : othersProposals) {
+            LandingRequest otherRequest = otherProposals.get(runwayIndex);
             LandingRequest selectedRequest = otherRequest == null ? request :
                     LandingRequest.selectMorePreferable(request, otherRequest);
-            if (Objects.equals(selectedRequest, request)) {
-                synchronisedProposals.put(runwayType, request);
+            if (!Objects.equals(selectedRequest, request)) {
+                return;
             }
         }
+        synchronisedProposals.put(runwayIndex, request);
     }
 }
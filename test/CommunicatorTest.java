@@ -0,0 +1,79 @@
+import com.atd.communication.Communicator;
+import com.atd.communication.data.CommunicationMessage;
+import com.atd.config.AirplaneData;
+import com.atd.simulation.Airplane;
+import com.atd.simulation.ControllerSettings;
+import com.atd.simulation.RunwayRegistry;
+import com.atd.simulation.RunwayState;
+import com.atd.simulation.TrafficController;
+import com.atd.simulation.event.DiscreteEventScheduler;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.testng.Assert.assertEquals;
+
+public class CommunicatorTest {
+
+    @Test
+    public void distributeConcurrentRequestsEvenly() throws Exception {
+        int controllersCount = 3;
+        int threadsCount = 4;
+        int requestsPerThread = 30000;
+        AtomicIntegerArray delivered = new AtomicIntegerArray(controllersCount);
+        Communicator communicator = new Communicator() {
+            @Override
+            protected void deliver(TrafficController controller, CommunicationMessage message) {
+                delivered.incrementAndGet(controller.getId());
+            }
+        };
+        DiscreteEventScheduler scheduler = new DiscreteEventScheduler();
+        RunwayRegistry runwayRegistry = RunwayRegistry.defaultRegistry();
+        for (int id = 0; id < controllersCount; id++) {
+            new TrafficController(ControllerSettings.builder()
+                    .id(id)
+                    .controllersCount(controllersCount)
+                    .communicator(communicator)
+                    .runwayRegistry(runwayRegistry)
+                    .scheduler(scheduler)
+                    .build());
+        }
+        for (int id = 0; id < threadsCount; id++) {
+            new Airplane(id, AirplaneData.builder()
+                    .airplaneName("Plane-" + id)
+                    .airplaneType(AirplaneData.AirplaneType.REGULAR)
+                    .landingType(AirplaneData.LandingType.NORMAL)
+                    .noOfSeconds(0)
+                    .build(), communicator, new RunwayState(runwayRegistry.getRunwaysCount()), scheduler);
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int id = 0; id < threadsCount; id++) {
+            int airplaneId = id;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int request = 0; request < requestsPerThread; request++) {
+                        communicator.requestForLanding(airplaneId);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // Round-robin selection doesn't lose increments, so each controller gets exactly the same share.
+        for (int id = 0; id < controllersCount; id++) {
+            assertEquals(delivered.get(id), threadsCount * requestsPerThread / controllersCount);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+import com.atd.communication.DiscreteEventCommunicator;
+import com.atd.communication.data.CommunicationMessage;
+import com.atd.communication.data.Message;
+import com.atd.communication.journal.EventJournal;
+import com.atd.config.AirplaneData;
+import com.atd.config.ScheduleGenerator;
+import com.atd.metrics.MetricsRegistry;
+import com.atd.simulation.Airplane;
+import com.atd.simulation.AtomicRunwayLedger;
+import com.atd.simulation.ControllerSettings;
+import com.atd.simulation.RunwayLedger;
+import com.atd.simulation.RunwayRegistry;
+import com.atd.simulation.RunwayState;
+import com.atd.simulation.TrafficController;
+import com.atd.simulation.checkpoint.ControllerCheckpoint;
+import com.atd.simulation.checkpoint.ControllerSnapshot;
+import com.atd.simulation.checkpoint.MappedCheckpoint;
+import com.atd.simulation.data.LandingRequest;
+import com.atd.simulation.event.DiscreteEventScheduler;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+public class ControllerCheckpointTest {
+
+    private static final int CONTROLLERS_COUNT = 3;
+    private static final int KILLED_CONTROLLER_ID = 1;
+    private static final long KILL_TIME_IN_SECONDS = 300;
+    /**
+     * Arrivals exceed capacity of runways, so many airplanes are holding, when controller is killed.
+     */
+    private static final ScheduleGenerator SCHEDULE = ScheduleGenerator.builder()
+            .flightsCount(400)
+            .arrivalsPerHour(2400)
+            .emergencyRate(0.05)
+            .seed(11)
+            .build();
+    /**
+     * All airplanes arrive before controller is killed, so only approvals of its landings come, while it is down.
+     */
+    private static final ScheduleGenerator DOWNTIME_SCHEDULE = ScheduleGenerator.builder()
+            .flightsCount(60)
+            .arrivalsPerHour(2400)
+            .emergencyRate(0.05)
+            .seed(11)
+            .build();
+    private static final long DOWNTIME_IN_SECONDS = 30;
+
+    private enum Restart {
+        NONE,
+        FROM_CHECKPOINT,
+        FROM_SCRATCH
+    }
+
+    @Test
+    public void restoreKilledControllerFromCheckpoint() throws Exception {
+        Path directory = Files.createTempDirectory("checkpoints");
+        try {
+            List<Airplane> baseline = simulate(directory, Restart.NONE);
+            List<Airplane> restored = simulate(directory, Restart.FROM_CHECKPOINT);
+            assertTrue(baseline.stream().allMatch(Airplane::isLanded));
+            assertEquals(restored.size(), baseline.size());
+            // Restored controller makes the same decisions as controller, which was never killed.
+            for (int index = 0; index < baseline.size(); index++) {
+                assertTrue(restored.get(index).isLanded());
+                assertEquals(restored.get(index).getChosenRunwayIndex(), baseline.get(index).getChosenRunwayIndex());
+                assertEquals(restored.get(index).getLandingOrderLatencyInMillis(),
+                        baseline.get(index).getLandingOrderLatencyInMillis());
+            }
+            // Without checkpoint airplanes holding for killed controller are never called in.
+            assertFalse(simulate(directory, Restart.FROM_SCRATCH).stream().allMatch(Airplane::isLanded));
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                files.forEach(ControllerCheckpointTest::delete);
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void releaseRunwaysApprovedWhileControllerIsDown() throws Exception {
+        Path directory = Files.createTempDirectory("checkpoints");
+        Path path = MappedCheckpoint.controllerPath(directory, KILLED_CONTROLLER_ID);
+        try {
+            DiscreteEventScheduler scheduler = new DiscreteEventScheduler();
+            DowntimeCommunicator communicator = new DowntimeCommunicator(scheduler);
+            RunwayRegistry runwayRegistry = RunwayRegistry.defaultRegistry();
+            AtomicRunwayLedger runwayLedger = new AtomicRunwayLedger(runwayRegistry.getRunwaysCount());
+            RunwayState runwayState = new RunwayState(runwayRegistry.getRunwaysCount());
+            ControllerCheckpoint[] checkpoint = {MappedCheckpoint.create(path)};
+            for (int id = 0; id < CONTROLLERS_COUNT; id++) {
+                new TrafficController(controllerSettings(id, communicator, runwayRegistry, runwayLedger, scheduler)
+                        .checkpoint(id == KILLED_CONTROLLER_ID ? checkpoint[0] : ControllerCheckpoint.NONE)
+                        .build());
+            }
+            List<Airplane> airplanes = new ArrayList<>();
+            long killTime = 0;
+            for (AirplaneData data : DOWNTIME_SCHEDULE) {
+                Airplane airplane = new Airplane(airplanes.size(), data, communicator, runwayState, scheduler);
+                airplanes.add(airplane);
+                scheduler.schedule(data.getNoOfSeconds(), TimeUnit.SECONDS, airplane::requestLanding);
+                killTime = Math.max(killTime, data.getNoOfSeconds() + 1);
+            }
+            scheduler.schedule(killTime, TimeUnit.SECONDS, Integer.MAX_VALUE, () -> {
+                assertTrue(communicator.landingsInProgress != 0, "Killed controller has no landings in progress");
+                checkpoint[0].close();
+                communicator.kill();
+            });
+            scheduler.schedule(killTime + DOWNTIME_IN_SECONDS, TimeUnit.SECONDS, Integer.MAX_VALUE, () -> {
+                // Landings of killed controller are approved, while it is down, but its checkpoint keeps them.
+                assertEquals(communicator.landingsInProgress, 0);
+                checkpoint[0] = MappedCheckpoint.restore(path);
+                new TrafficController(controllerSettings(KILLED_CONTROLLER_ID, communicator, runwayRegistry,
+                        runwayLedger, scheduler)
+                        .checkpoint(checkpoint[0])
+                        .landingsInProgress(communicator.landingsInProgress)
+                        .build());
+                communicator.restart();
+            });
+            scheduler.run();
+            checkpoint[0].close();
+
+            assertTrue(airplanes.stream().allMatch(Airplane::isLanded));
+            assertEquals(runwayLedger.getOccupiedRunways(), 0L);
+        } finally {
+            Files.deleteIfExists(path);
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * Runs discrete-event simulation of {@link #SCHEDULE}, in which controller with {@link #KILLED_CONTROLLER_ID} is
+     * killed at {@link #KILL_TIME_IN_SECONDS} and replaced by new one according to passed-in {@code restart}.
+     */
+    private static List<Airplane> simulate(Path directory, Restart restart) throws InterruptedException {
+        DiscreteEventScheduler scheduler = new DiscreteEventScheduler();
+        DiscreteEventCommunicator communicator = new DiscreteEventCommunicator(scheduler,
+                new MetricsRegistry(scheduler.getClock()), EventJournal.NONE);
+        RunwayRegistry runwayRegistry = RunwayRegistry.defaultRegistry();
+        AtomicRunwayLedger runwayLedger = new AtomicRunwayLedger(runwayRegistry.getRunwaysCount());
+        RunwayState runwayState = new RunwayState(runwayRegistry.getRunwaysCount());
+        ControllerCheckpoint[] checkpoints = new ControllerCheckpoint[CONTROLLERS_COUNT];
+        for (int id = 0; id < CONTROLLERS_COUNT; id++) {
+            checkpoints[id] = MappedCheckpoint.create(MappedCheckpoint.controllerPath(directory, id));
+            new TrafficController(controllerSettings(id, communicator, runwayRegistry, runwayLedger, scheduler)
+                    .checkpoint(checkpoints[id])
+                    .build());
+        }
+        List<Airplane> airplanes = new ArrayList<>();
+        for (AirplaneData data : SCHEDULE) {
+            Airplane airplane = new Airplane(airplanes.size(), data, communicator, runwayState, scheduler);
+            airplanes.add(airplane);
+            // Emergency calls of airplanes arrived at the same time go first.
+            scheduler.schedule(data.getNoOfSeconds(), TimeUnit.SECONDS,
+                    data.getLandingType() == AirplaneData.LandingType.EMERGENCY ? 2 : 1, airplane::requestLanding);
+        }
+        if (restart != Restart.NONE) {
+            // Kill goes before all other events of its time, when no processing of messages is in progress.
+            scheduler.schedule(KILL_TIME_IN_SECONDS, TimeUnit.SECONDS, Integer.MAX_VALUE, () -> {
+                checkpoints[KILLED_CONTROLLER_ID].close();
+                checkpoints[KILLED_CONTROLLER_ID] = restart == Restart.FROM_CHECKPOINT ?
+                        MappedCheckpoint.restore(MappedCheckpoint.controllerPath(directory, KILLED_CONTROLLER_ID)) :
+                        ControllerCheckpoint.NONE;
+                new TrafficController(controllerSettings(KILLED_CONTROLLER_ID, communicator, runwayRegistry,
+                        runwayLedger, scheduler)
+                        .checkpoint(checkpoints[KILLED_CONTROLLER_ID])
+                        .build());
+                if (restart == Restart.FROM_CHECKPOINT) {
+                    ControllerSnapshot state = checkpoints[KILLED_CONTROLLER_ID].getRestoredState();
+                    assertNotNull(state);
+                    assertTrue(state.getLandingRequestStorage().size() > 0);
+                    // Controller replaces killed one with the same id, so its requests are not counted twice.
+                    assertEquals(communicator.getMetrics().snapshot().getGauges().get(
+                            String.format(MetricsRegistry.HOLDING_AIRPLANES, KILLED_CONTROLLER_ID)),
+                            (double) state.getLandingRequestStorage().size());
+                }
+            });
+        }
+        scheduler.run();
+        for (ControllerCheckpoint checkpoint : checkpoints) {
+            checkpoint.close();
+        }
+        return airplanes;
+    }
+
+    /**
+     * Communicator, which drops messages to killed controller, while it is {@link #down}, and tracks its landings in
+     * progress the same way as process of airplanes does for remote controllers. Other controllers synchronise with
+     * the last proposals of killed controller, as if they were relayed again after its restart.
+     */
+    private static class DowntimeCommunicator extends DiscreteEventCommunicator {
+
+        private boolean down;
+        private long landingsInProgress;
+        private Map<Integer, LandingRequest> lastProposals;
+
+        DowntimeCommunicator(DiscreteEventScheduler scheduler) {
+            super(scheduler, new MetricsRegistry(scheduler.getClock()), EventJournal.NONE);
+        }
+
+        void kill() {
+            lastProposals = getTrafficController(KILLED_CONTROLLER_ID).getProposalForProcessing();
+            down = true;
+        }
+
+        /**
+         * Steps all controllers after restart, since others are waiting for new proposals of restarted one.
+         */
+        void restart() throws InterruptedException {
+            down = false;
+            for (TrafficController controller : getTrafficControllers()) {
+                controller.step();
+            }
+        }
+
+        @Override
+        public void synchroniseDecisions(int controllerId,
+                                         Map<Integer, LandingRequest> preparedDecisions) throws InterruptedException {
+            super.synchroniseDecisions(controllerId, preparedDecisions);
+            if (down) {
+                getTrafficController(controllerId).receiveProposals(KILLED_CONTROLLER_ID, lastProposals);
+            }
+        }
+
+        @Override
+        protected void deliver(TrafficController controller, CommunicationMessage message)
+                throws InterruptedException {
+            if (controller.getId() == KILLED_CONTROLLER_ID) {
+                if (message.getMessage().getType() == Message.MessageType.LANDING_APPROVED) {
+                    landingsInProgress &= ~(1L << message.getMessage().getRunwayIndex());
+                }
+                if (down) {
+                    return;
+                }
+            }
+            super.deliver(controller, message);
+        }
+
+        @Override
+        protected void deliver(Airplane airplane, Message message) throws InterruptedException {
+            if (message.getType() == Message.MessageType.LAND_ON_A_RUNWAY &&
+                    message.getControllerId() == KILLED_CONTROLLER_ID) {
+                landingsInProgress |= 1L << message.getRunwayIndex();
+            }
+            super.deliver(airplane, message);
+        }
+
+        /**
+         * Returns controllers, which are up, so killed controller neither steps nor proposes, while it is down.
+         */
+        @Override
+        protected Collection<TrafficController> getTrafficControllers() {
+            return down ? super.getTrafficControllers().stream()
+                    .filter(controller -> controller.getId() != KILLED_CONTROLLER_ID)
+                    .collect(Collectors.toList()) : super.getTrafficControllers();
+        }
+    }
+
+    private static ControllerSettings.ControllerSettingsBuilder controllerSettings(
+            int id, DiscreteEventCommunicator communicator, RunwayRegistry runwayRegistry, RunwayLedger runwayLedger,
+            DiscreteEventScheduler scheduler) {
+        return ControllerSettings.builder()
+                .id(id)
+                .controllersCount(CONTROLLERS_COUNT)
+                .communicator(communicator)
+                .runwayRegistry(runwayRegistry)
+                .runwayLedger(runwayLedger)
+                .scheduler(scheduler);
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.delete(path);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+import com.atd.communication.Communicator;
+import com.atd.communication.data.CommunicationMessage;
+import com.atd.communication.data.Message;
+import com.atd.communication.journal.BinaryEventJournal;
+import com.atd.communication.journal.EventJournal;
+import com.atd.communication.journal.JournalRenderer;
+import com.atd.config.AirplaneData;
+import com.atd.metrics.MetricsRegistry;
+import com.atd.simulation.Airplane;
+import com.atd.simulation.ControllerSettings;
+import com.atd.simulation.RunwayRegistry;
+import com.atd.simulation.RunwayState;
+import com.atd.simulation.TrafficController;
+import com.atd.simulation.data.LandingRequest;
+import com.atd.simulation.event.DiscreteEventScheduler;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class EventJournalTest {
+
+    /**
+     * Length of time prefix of rendered line, e.g. '2017-01-01 12:00:00 '.
+     */
+    private static final int TIME_PREFIX_LENGTH = 20;
+
+    @Test
+    public void renderJournalAsLoggedMessages() throws Exception {
+        Path journalFile = Files.createTempFile("journal", ".bin");
+        try {
+            List<String> expectedLines = new ArrayList<>();
+            DiscreteEventScheduler scheduler = new DiscreteEventScheduler();
+            BinaryEventJournal binaryJournal = new BinaryEventJournal(journalFile, scheduler.getClock());
+            // Records messages to binary journal and collects text, which would be logged.
+            EventJournal journal = new EventJournal() {
+                @Override
+                public void airplaneRegistered(Airplane airplane) {
+                    binaryJournal.airplaneRegistered(airplane);
+                }
+
+                @Override
+                public void messageRouted(CommunicationMessage message) {
+                    binaryJournal.messageRouted(message);
+                    expectedLines.add(message.toString());
+                }
+
+                @Override
+                public void close() {
+                    binaryJournal.close();
+                }
+            };
+            Communicator communicator = new Communicator(new MetricsRegistry(scheduler.getClock()), journal);
+            RunwayRegistry runwayRegistry = RunwayRegistry.defaultRegistry();
+            RunwayState runwayState = new RunwayState(runwayRegistry.getRunwaysCount());
+            for (int id = 0; id < 3; id++) {
+                new TrafficController(ControllerSettings.builder()
+                        .id(id)
+                        .controllersCount(3)
+                        .communicator(communicator)
+                        .runwayRegistry(runwayRegistry)
+                        .scheduler(scheduler)
+                        .build());
+            }
+            List<Airplane> airplanes = new ArrayList<>();
+            for (int id = 0; id < 10; id++) {
+                airplanes.add(new Airplane(id, AirplaneData.builder()
+                        .airplaneName("Plane-" + id)
+                        .airplaneType(AirplaneData.AirplaneType.values()[id % 3])
+                        .landingType(id % 4 == 0 ? AirplaneData.LandingType.EMERGENCY : AirplaneData.LandingType.NORMAL)
+                        .noOfSeconds(id)
+                        .build(), communicator, runwayState, scheduler));
+            }
+            for (Airplane airplane : airplanes) {
+                communicator.requestForLanding(airplane.getId());
+            }
+            // Proposals for all runways don't fit into single record.
+            Map<Integer, LandingRequest> proposals = new HashMap<>();
+            for (int runwayIndex = 0; runwayIndex < 9; runwayIndex++) {
+                proposals.put(runwayIndex, runwayIndex % 3 == 0 ? LandingRequest.ALREADY_IN_PROGRESS :
+                        toLandingRequest(airplanes.get(runwayIndex)));
+            }
+            communicator.synchroniseDecisions(1, proposals);
+            communicator.synchroniseDecisions(2, new HashMap<>());
+            communicator.sendResponseToAirplane(0, 3, Message.MessageType.WAITING_AROUND, Message.UNDEFINED);
+            communicator.sendResponseToAirplane(0, 3, Message.MessageType.LAND_ON_A_RUNWAY, 1);
+            communicator.confirmOfSuccessLanding(0, 3, 1);
+            journal.close();
+
+            StringBuilder rendered = new StringBuilder();
+            new JournalRenderer().render(journalFile, rendered);
+            List<String> renderedLines = Arrays.asList(rendered.toString().split(System.lineSeparator()));
+            assertEquals(renderedLines.stream()
+                    .map(line -> line.substring(TIME_PREFIX_LENGTH))
+                    .collect(Collectors.toList()), expectedLines);
+            // Events are dated by virtual clock, which is not moved by any event in this test.
+            String startTime = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss ").format(new Date(0));
+            assertTrue(renderedLines.stream().allMatch(line -> line.startsWith(startTime)));
+        } finally {
+            Files.delete(journalFile);
+        }
+    }
+
+    private static LandingRequest toLandingRequest(Airplane airplane) {
+        return LandingRequest.builder()
+                .airplaneId(airplane.getId())
+                .airplaneType(airplane.getData().getAirplaneType())
+                .landingType(airplane.getData().getLandingType())
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+import com.atd.config.AirplaneData;
+import com.atd.simulation.LandingRequestStorage;
+import com.atd.simulation.data.LandingRequest;
+import org.testng.annotations.Test;
+
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class LandingRequestStorageTest {
+
+    private static final AirplaneData.LandingType NORMAL = AirplaneData.LandingType.NORMAL;
+    private static final AirplaneData.AirplaneType REGULAR = AirplaneData.AirplaneType.REGULAR;
+
+    @Test
+    public void keepRequestsInPreferenceOrder() {
+        LandingRequestStorage storage = new LandingRequestStorage();
+        // Requests arrive out of order, the same time is ordered by airplane id.
+        int count = 1000;
+        for (int id = count - 1; id >= 0; id--) {
+            storage.addLandingRequest(id, REGULAR, NORMAL, id / 2);
+        }
+        storage.addLandingRequest(0, REGULAR, NORMAL, 0);
+        assertEquals(storage.size(), count);
+        for (int index = 0; index < count; index++) {
+            assertEquals(storage.getAirplaneId(NORMAL, REGULAR, index), index);
+            assertEquals(storage.getRequestTimeMillis(NORMAL, REGULAR, index), index / 2);
+        }
+        assertEquals(storage.getRequestsCount(AirplaneData.LandingType.EMERGENCY, REGULAR), 0);
+
+        // Remove the head, the middle and the tail of queue.
+        assertTrue(storage.removeLandingRequest(storage.getRequest(NORMAL, REGULAR, 0)));
+        assertTrue(storage.removeLandingRequest(storage.getRequest(NORMAL, REGULAR, 400)));
+        assertTrue(storage.removeLandingRequest(storage.getRequest(NORMAL, REGULAR, count - 3)));
+        assertFalse(storage.removeLandingRequest(request(0, 0)));
+        assertEquals(storage.size(), count - 3);
+        assertEquals(storage.getRequest(NORMAL, REGULAR, 0), request(1, 0));
+        assertEquals(storage.getAirplaneId(NORMAL, REGULAR, 399), 400);
+        assertEquals(storage.getAirplaneId(NORMAL, REGULAR, 400), 402);
+        assertEquals(storage.getAirplaneId(NORMAL, REGULAR, count - 4), count - 2);
+
+        // Request stored at the same time as the head goes after it by airplane id.
+        storage.addLandingRequest(count, REGULAR, NORMAL, 0);
+        assertEquals(storage.getAirplaneId(NORMAL, REGULAR, 0), 1);
+        assertEquals(storage.getAirplaneId(NORMAL, REGULAR, 1), count);
+    }
+
+    @Test
+    public void keepOrderOfRandomInsertionsAndRemovals() {
+        LandingRequestStorage storage = new LandingRequestStorage();
+        NavigableSet<LandingRequest> expected = new TreeSet<>(LandingRequest.PRIORITY_ORDER);
+        Random random = new Random(3);
+        for (int operation = 0; operation < 20_000; operation++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                LandingRequest request = request(random.nextInt(5_000), random.nextInt(1_000));
+                storage.addLandingRequest(request.getAirplaneId(), REGULAR, NORMAL, request.getRequestTimeMillis());
+                expected.add(request);
+            } else {
+                int index = random.nextInt(expected.size());
+                LandingRequest request = storage.getRequest(NORMAL, REGULAR, index);
+                assertTrue(storage.removeLandingRequest(request));
+                assertTrue(expected.remove(request));
+            }
+            assertEquals(storage.size(), expected.size());
+        }
+        int index = 0;
+        for (LandingRequest request : expected) {
+            assertEquals(storage.getRequest(NORMAL, REGULAR, index++), request);
+        }
+        // Copy shares pages with the storage, but changes of either are not seen by the other.
+        LandingRequestStorage copy = storage.copy();
+        NavigableSet<LandingRequest> expectedCopy = new TreeSet<>(expected);
+        storage.removeLandingRequest(expected.pollFirst());
+        copy.addLandingRequest(5_000, REGULAR, NORMAL, 0);
+        expectedCopy.add(request(5_000, 0));
+        copy.removeLandingRequest(expectedCopy.pollLast());
+        assertStored(storage, expected);
+        assertStored(copy, expectedCopy);
+    }
+
+    private static void assertStored(LandingRequestStorage storage, NavigableSet<LandingRequest> expected) {
+        assertEquals(storage.size(), expected.size());
+        int index = 0;
+        for (LandingRequest request : expected) {
+            assertEquals(storage.getRequest(NORMAL, REGULAR, index++), request);
+        }
+    }
+
+    private static LandingRequest request(int airplaneId, long requestTimeMillis) {
+        return LandingRequest.builder()
+                .airplaneId(airplaneId)
+                .airplaneType(REGULAR)
+                .landingType(NORMAL)
+                .requestTimeMillis(requestTimeMillis)
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+import com.atd.config.AirplaneData;
+import com.atd.simulation.GreedySchedulingStrategy;
+import com.atd.simulation.LandingRequestStorage;
+import com.atd.simulation.LookAheadSchedulingStrategy;
+import com.atd.simulation.RunwayRegistry;
+import com.atd.simulation.RunwaySchedulingStrategy;
+import com.atd.simulation.data.LandingRequest;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+
+public class LookAheadSchedulingStrategyTest {
+
+    private static final int SHORT_RUNWAY = 0;
+    private static final int LONG_RUNWAY = 1;
+    private static final long NOW_MILLIS = 100_000;
+
+    @Test
+    public void leaveLongRunwayToLargeAirplane() {
+        LandingRequestStorage storage = new LandingRequestStorage();
+        LandingRequest regular =
+                store(storage, 1, AirplaneData.AirplaneType.REGULAR, AirplaneData.LandingType.NORMAL, 0);
+        LandingRequest large = store(storage, 2, AirplaneData.AirplaneType.LARGE, AirplaneData.LandingType.NORMAL, 1);
+
+        // Short runway is released in two seconds, so regular airplane waits for it.
+        Map<Integer, LandingRequest> proposals = defineProposals(
+                new LookAheadSchedulingStrategy(RunwayRegistry.defaultRegistry(), storage), 2000);
+        assertEquals(proposals.size(), 1);
+        assertEquals(proposals.get(LONG_RUNWAY), large);
+
+        Map<Integer, LandingRequest> greedyProposals = defineProposals(
+                new GreedySchedulingStrategy(RunwayRegistry.defaultRegistry(), storage), 2000);
+        assertEquals(greedyProposals.get(LONG_RUNWAY), regular);
+
+        // Large airplane waits less than regular one would wait for short runway.
+        proposals = defineProposals(new LookAheadSchedulingStrategy(RunwayRegistry.defaultRegistry(), storage), 9000);
+        assertEquals(proposals.get(LONG_RUNWAY), regular);
+    }
+
+    @Test
+    public void keepEmergencyPriority() {
+        LandingRequestStorage storage = new LandingRequestStorage();
+        LandingRequest emergency =
+                store(storage, 1, AirplaneData.AirplaneType.REGULAR, AirplaneData.LandingType.EMERGENCY, 1);
+        store(storage, 2, AirplaneData.AirplaneType.LARGE, AirplaneData.LandingType.NORMAL, 0);
+
+        Map<Integer, LandingRequest> proposals = defineProposals(
+                new LookAheadSchedulingStrategy(RunwayRegistry.defaultRegistry(), storage), 2000);
+        assertEquals(proposals.size(), 1);
+        assertEquals(proposals.get(LONG_RUNWAY), emergency);
+    }
+
+    /**
+     * Returns proposals of passed-in strategy, when long runway is available and short runway is occupied by own
+     * landing, which finishes in {@code shortRunwayReleaseInMillis}.
+     */
+    private static Map<Integer, LandingRequest> defineProposals(RunwaySchedulingStrategy strategy,
+                                                                long shortRunwayReleaseInMillis) {
+        long[] releaseTimesMillis = new long[2];
+        releaseTimesMillis[SHORT_RUNWAY] = NOW_MILLIS + shortRunwayReleaseInMillis;
+        Map<Integer, LandingRequest> proposals = new HashMap<>();
+        strategy.defineProposals(proposals, 1L << LONG_RUNWAY, 0, releaseTimesMillis, NOW_MILLIS);
+        return proposals;
+    }
+
+    /**
+     * Stores request of passed-in airplane to {@code storage} and returns it.
+     */
+    private static LandingRequest store(LandingRequestStorage storage, int airplaneId,
+                                        AirplaneData.AirplaneType airplaneType, AirplaneData.LandingType landingType,
+                                        long requestTimeMillis) {
+        storage.addLandingRequest(airplaneId, airplaneType, landingType, requestTimeMillis);
+        return LandingRequest.builder()
+                .airplaneId(airplaneId)
+                .airplaneType(airplaneType)
+                .landingType(landingType)
+                .requestTimeMillis(requestTimeMillis)
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+import com.atd.communication.Communicator;
+import com.atd.communication.data.CommunicationMessage;
+import com.atd.communication.data.ControllerSynchMessage;
+import com.atd.communication.data.Message;
+import com.atd.communication.wire.MessageEncoder;
+import com.atd.communication.wire.MessageFlyweight;
+import com.atd.config.AirplaneData;
+import com.atd.simulation.Airplane;
+import com.atd.simulation.ControllerSettings;
+import com.atd.simulation.RunwayRegistry;
+import com.atd.simulation.RunwayState;
+import com.atd.simulation.TrafficController;
+import com.atd.simulation.data.LandingRequest;
+import com.atd.simulation.event.DiscreteEventScheduler;
+import org.testng.annotations.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class MessageCodecTest {
+
+    @Test
+    public void roundTripAllMessageTypes() {
+        DiscreteEventScheduler scheduler = new DiscreteEventScheduler();
+        Communicator communicator = new Communicator();
+        RunwayRegistry runwayRegistry = RunwayRegistry.defaultRegistry();
+        TrafficController controller = new TrafficController(ControllerSettings.builder()
+                .id(1)
+                .controllersCount(2)
+                .communicator(communicator)
+                .runwayRegistry(runwayRegistry)
+                .scheduler(scheduler)
+                .build());
+        TrafficController otherController = new TrafficController(ControllerSettings.builder()
+                .id(0)
+                .controllersCount(2)
+                .communicator(communicator)
+                .runwayRegistry(runwayRegistry)
+                .scheduler(scheduler)
+                .build());
+        Airplane airplane = new Airplane(7, AirplaneData.builder()
+                .airplaneName("Plane-7")
+                .airplaneType(AirplaneData.AirplaneType.LARGE)
+                .landingType(AirplaneData.LandingType.EMERGENCY)
+                .noOfSeconds(0)
+                .build(), communicator, new RunwayState(runwayRegistry.getRunwaysCount()), scheduler);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+        MessageFlyweight flyweight = new MessageFlyweight();
+        for (Message.MessageType type : Message.MessageType.values()) {
+            boolean toController = type.getPriority() > 1;
+            Message message = Message.builder()
+                    .type(type)
+                    .sender(toController ? airplane : controller)
+                    .receiver(toController ? controller : airplane)
+                    .airplaneId(airplane.getId())
+                    .controllerId(controller.getId())
+                    .runwayIndex(type.ordinal() % 2)
+                    .build();
+            CommunicationMessage encoded = message;
+            Map<Integer, LandingRequest> proposals = new LinkedHashMap<>();
+            if (type == Message.MessageType.SYNCHRONISATION_BETWEEN_CONTROLLER) {
+                proposals.put(1, LandingRequest.ALREADY_IN_PROGRESS);
+                proposals.put(0, LandingRequest.builder()
+                        .airplaneId(airplane.getId())
+                        .airplaneType(AirplaneData.AirplaneType.LARGE)
+                        .landingType(AirplaneData.LandingType.EMERGENCY)
+                        .requestTimeMillis(1_500_000_000_123L)
+                        .build());
+                encoded = ControllerSynchMessage.builder()
+                        .message(Message.builder()
+                                .type(type)
+                                .sender(controller)
+                                .receiver(otherController)
+                                .controllerId(controller.getId())
+                                .build())
+                        .requestForProcessing(proposals)
+                        .build();
+            }
+
+            int offset = 13;
+            int length = MessageEncoder.encode(encoded, buffer, offset);
+            assertEquals(length, MessageEncoder.encodedLength(encoded));
+            assertEquals(buffer.position(), 0);
+
+            flyweight.wrap(buffer, offset);
+            assertEquals(flyweight.getLength(), length);
+            assertFalse(flyweight.isAirplane());
+            assertEquals(flyweight.getType(), type);
+            assertEquals(flyweight.getControllerId(), controller.getId());
+            assertEquals(flyweight.getProposals(), proposals);
+            if (proposals.isEmpty()) {
+                assertEquals(flyweight.getAirplaneId(), airplane.getId());
+                assertEquals(flyweight.getRunwayIndex(), type.ordinal() % 2);
+                assertEquals(flyweight.getReceiverControllerId(), Message.UNDEFINED);
+            } else {
+                assertEquals(flyweight.getAirplaneId(), Message.UNDEFINED);
+                assertEquals(flyweight.getReceiverControllerId(), otherController.getId());
+                assertTrue(flyweight.isProposalInProgress(0));
+                assertFalse(flyweight.isProposalInProgress(1));
+                assertEquals(flyweight.getProposalRequestTimeMillis(1), 1_500_000_000_123L);
+            }
+        }
+    }
+
+    @Test
+    public void roundTripAirplaneRegistration() {
+        AirplaneData data = AirplaneData.builder()
+                .airplaneName("Plane-\u00e9")
+                .airplaneType(AirplaneData.AirplaneType.MEDIUM)
+                .landingType(AirplaneData.LandingType.NORMAL)
+                .noOfSeconds(42)
+                .build();
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        int length = MessageEncoder.encodeAirplane(3, data, buffer, 5);
+        assertEquals(length, MessageEncoder.encodedLength(data));
+
+        MessageFlyweight flyweight = new MessageFlyweight().wrap(buffer, 5);
+        assertTrue(flyweight.isAirplane());
+        assertEquals(flyweight.getLength(), length);
+        assertEquals(flyweight.getAirplaneId(), 3);
+        AirplaneData decoded = flyweight.getAirplaneData();
+        assertEquals(decoded.getAirplaneName(), data.getAirplaneName());
+        assertEquals(decoded.getAirplaneType(), data.getAirplaneType());
+        assertEquals(decoded.getLandingType(), data.getLandingType());
+        assertEquals(decoded.getNoOfSeconds(), data.getNoOfSeconds());
+    }
+
+    @Test(expectedExceptions = BufferOverflowException.class)
+    public void rejectMessageNotFittingIntoBuffer() {
+        Message message = Message.builder().type(Message.MessageType.TERMINATED).build();
+        MessageEncoder.encode(message, ByteBuffer.allocate(MessageEncoder.encodedLength(message)), 1);
+    }
+
+    @Test(expectedExceptions = BufferUnderflowException.class)
+    public void rejectTruncatedMessage() {
+        Message message = Message.builder().type(Message.MessageType.TERMINATED).build();
+        ByteBuffer buffer = ByteBuffer.allocate(MessageEncoder.encodedLength(message));
+        MessageEncoder.encode(message, buffer, 0);
+        buffer.limit(buffer.capacity() - 1);
+        new MessageFlyweight().wrap(buffer, 0);
+    }
+}
@@ -0,0 +1,72 @@
+import com.atd.communication.data.Message;
+import com.atd.config.SimulationSettings;
+import com.atd.metrics.LatencyHistogram;
+import com.atd.metrics.MetricsRegistry;
+import com.atd.metrics.MetricsSnapshot;
+import com.atd.simulation.TrafficSimulationExecutor;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void histogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 1000; value++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(value));
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(snapshot.getCount(), 1000);
+        assertEquals(snapshot.getMax(), TimeUnit.MICROSECONDS.toNanos(1000));
+        assertEquals(snapshot.getMean(), TimeUnit.MICROSECONDS.toNanos(1) * 500.5, 1e-6);
+        // Percentiles are rounded up to bucket bound, which is less than 1/8 above recorded value.
+        assertPercentile(snapshot.getPercentile(50), TimeUnit.MICROSECONDS.toNanos(500));
+        assertPercentile(snapshot.getPercentile(99), TimeUnit.MICROSECONDS.toNanos(990));
+        assertEquals(snapshot.getPercentile(100), TimeUnit.MICROSECONDS.toNanos(1000));
+    }
+
+    @Test
+    public void collectSimulationMetrics() throws Exception {
+        Path metricsFile = Files.createTempFile("metrics", ".txt");
+        try {
+            TrafficSimulationExecutor simulationExecutor = new TrafficSimulationExecutor();
+            simulationExecutor.simulate(
+                    SimulationSettings.builder()
+                            .configPath("test/test-config1.txt")
+                            .mode(SimulationSettings.Mode.DISCRETE_EVENT)
+                            .metricsPath(metricsFile.toString())
+                            .build());
+            MetricsSnapshot snapshot = simulationExecutor.getMetrics().snapshot();
+            assertEquals(snapshot.getCounter(MetricsRegistry.messagesCounter(Message.MessageType.READY_TO_LAND)), 4);
+            assertEquals(snapshot.getCounter(
+                    MetricsRegistry.messagesCounter(Message.MessageType.EMERGENCY_CALL_TO_LAND)), 1);
+            assertEquals(snapshot.getCounter(MetricsRegistry.messagesCounter(Message.MessageType.LAND_ON_A_RUNWAY)), 5);
+            assertEquals(snapshot.getGauges().get(String.format(MetricsRegistry.HOLDING_AIRPLANES, 0)), 0.0);
+            assertTrue(snapshot.getRate(MetricsRegistry.messagesCounter(Message.MessageType.LANDING_APPROVED)) > 0);
+            for (int runwayIndex = 0; runwayIndex < 2; runwayIndex++) {
+                double busyRatio =
+                        snapshot.getGauges().get(String.format(MetricsRegistry.RUNWAY_BUSY_RATIO, runwayIndex));
+                assertTrue(busyRatio > 0 && busyRatio <= 1, "Busy ratio " + busyRatio);
+            }
+            assertEquals(snapshot.getGauges().get(String.format(MetricsRegistry.QUEUE_DEPTH, 0)), 0.0);
+            assertTrue(snapshot.getHistograms().get(String.format(MetricsRegistry.SYNCHRONISATION_LATENCY, 0))
+                    .getCount() > 0);
+
+            List<String> dump = Files.readAllLines(metricsFile);
+            assertTrue(dump.stream().anyMatch(line -> line.startsWith("runway.1.busyRatio ")), dump.toString());
+        } finally {
+            Files.delete(metricsFile);
+        }
+    }
+
+    private static void assertPercentile(long actual, long expected) {
+        assertTrue(actual >= expected && actual <= expected * 9 / 8, "Percentile " + actual);
+    }
+}
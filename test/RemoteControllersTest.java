@@ -0,0 +1,353 @@
+import com.atd.communication.data.Message;
+import com.atd.communication.transport.RemoteRunwayLedger;
+import com.atd.communication.transport.SocketTransport;
+import com.atd.communication.transport.TransportListener;
+import com.atd.communication.wire.MessageFlyweight;
+import com.atd.config.AirplaneData;
+import com.atd.config.SimulationSettings;
+import com.atd.metrics.LatencyHistogram;
+import com.atd.metrics.MetricsRegistry;
+import com.atd.metrics.MetricsSnapshot;
+import com.atd.simulation.AtomicRunwayLedger;
+import com.atd.simulation.ControllerHost;
+import com.atd.simulation.RunwayLedger;
+import com.atd.simulation.TrafficSimulationExecutor;
+import com.atd.simulation.data.AirplaneLandingReport;
+import com.atd.simulation.event.SystemClock;
+import com.atd.simulation.replay.ReplayResult;
+import com.atd.simulation.replay.SimulationReplayer;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+public class RemoteControllersTest {
+
+    private static final String LISTENING = "Listening on port ";
+    private static final String UNDEFINED_ARGUMENT = "-";
+    private static final int CONTROLLERS_COUNT = 2;
+    private static final int CYCLES_COUNT = 5;
+    private static final int CYCLE_IN_SECS = 20;
+    private static final double TIME_SCALE = 10;
+    private static final int RESTARTED_CONTROLLER_ID = 1;
+    /**
+     * Wall-clock time since start of simulation, at which host of {@link #RESTARTED_CONTROLLER_ID} is killed, in the
+     * middle of the second cycle.
+     */
+    private static final long KILL_DELAY_IN_MILLIS = (long) (TimeUnit.SECONDS.toMillis(2 * CYCLE_IN_SECS) / TIME_SCALE);
+    /**
+     * Wall-clock time since restart of host, at which it is killed again, a cycle later.
+     */
+    private static final long REPEATED_KILL_DELAY_IN_MILLIS =
+            (long) (TimeUnit.SECONDS.toMillis(CYCLE_IN_SECS) / TIME_SCALE);
+
+    @Test
+    public void runEachControllerInSeparateProcess() throws Exception {
+        List<AirplaneData> schedule = createSchedule();
+        List<AirplaneLandingReport> localReports = new TrafficSimulationExecutor().simulate(schedule.iterator(),
+                settings(null));
+
+        List<Process> hosts = new ArrayList<>();
+        List<Path> recordings = new ArrayList<>();
+        try {
+            List<String> addresses = new ArrayList<>();
+            for (int id = 0; id < CONTROLLERS_COUNT; id++) {
+                Path recording = Files.createTempFile("remote-recording-" + id, ".bin");
+                recordings.add(recording);
+                Process host = startHost(0, id, recording.toString(), UNDEFINED_ARGUMENT);
+                hosts.add(host);
+                addresses.add("127.0.0.1:" + awaitPort(host));
+            }
+            TrafficSimulationExecutor simulationExecutor = new TrafficSimulationExecutor();
+            List<AirplaneLandingReport> remoteReports = simulationExecutor.simulate(schedule.iterator(),
+                    settings(String.join(",", addresses)));
+            for (Process host : hosts) {
+                assertTrue(host.waitFor(30, TimeUnit.SECONDS), "Controller host is not finished");
+                assertEquals(host.exitValue(), 0);
+            }
+
+            // Controllers in separate processes make the same decisions in the same order as in single process.
+            assertTrue(remoteReports.stream().allMatch(AirplaneLandingReport::isLanded));
+            assertEquals(landingOrder(remoteReports), landingOrder(localReports));
+            for (int index = 0; index < schedule.size(); index++) {
+                assertEquals(remoteReports.get(index).getChosenRunwayIndex(),
+                        localReports.get(index).getChosenRunwayIndex(),
+                        remoteReports.get(index).getAirplaneName());
+            }
+
+            MetricsSnapshot snapshot = simulationExecutor.getMetrics().snapshot();
+            assertTrue(snapshot.getCounter(MetricsRegistry.messagesCounter(
+                    Message.MessageType.SYNCHRONISATION_BETWEEN_CONTROLLER)) > 0, "Proposals are not relayed");
+            // Runways are claimed in ledger of airplanes process and released when approvals are passed to hosts.
+            assertEquals(snapshot.getGauges().get(MetricsRegistry.RESERVED_RUNWAYS), 0.0);
+            LatencyHistogram.Snapshot roundTrip =
+                    snapshot.getHistograms().get(MetricsRegistry.TRANSPORT_REQUEST_ROUND_TRIP);
+            assertEquals(roundTrip.getCount(), schedule.size());
+            for (Path recording : recordings) {
+                ReplayResult result = new SimulationReplayer().replay(recording);
+                assertEquals(result.getDivergences().size(), 0, result.getDivergences().toString());
+            }
+        } finally {
+            hosts.forEach(Process::destroy);
+            for (Path recording : recordings) {
+                Files.delete(recording);
+            }
+        }
+    }
+
+    @DataProvider
+    public Object[][] killsCount() {
+        return new Object[][]{{1}, {2}};
+    }
+
+    @Test(dataProvider = "killsCount")
+    public void restartKilledControllerHostFromCheckpoint(int killsCount) throws Exception {
+        List<AirplaneData> schedule = createSchedule();
+        Path directory = Files.createTempDirectory("remote-checkpoints");
+        List<Process> hosts = new ArrayList<>();
+        try {
+            List<Integer> ports = new ArrayList<>();
+            for (int id = 0; id < CONTROLLERS_COUNT; id++) {
+                Process host = startHost(0, id, UNDEFINED_ARGUMENT, directory.toString());
+                hosts.add(host);
+                ports.add(awaitPort(host));
+            }
+            Thread restart = new Thread(() -> {
+                try {
+                    for (int kill = 0; kill < killsCount; kill++) {
+                        // Host restored from checkpoint is killed again, while requests it restored are pending.
+                        Thread.sleep(kill == 0 ? KILL_DELAY_IN_MILLIS : REPEATED_KILL_DELAY_IN_MILLIS);
+                        Process killed = hosts.get(RESTARTED_CONTROLLER_ID).destroyForcibly();
+                        killed.waitFor();
+                        Process restarted = startHost(ports.get(RESTARTED_CONTROLLER_ID), RESTARTED_CONTROLLER_ID,
+                                UNDEFINED_ARGUMENT, directory.toString());
+                        hosts.set(RESTARTED_CONTROLLER_ID, restarted);
+                        awaitPort(restarted);
+                    }
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+            restart.start();
+            List<AirplaneLandingReport> reports = new TrafficSimulationExecutor().simulate(schedule.iterator(),
+                    settings(ports.stream().map(port -> "127.0.0.1:" + port).collect(Collectors.joining(","))));
+            restart.join();
+            for (Process host : hosts) {
+                assertTrue(host.waitFor(30, TimeUnit.SECONDS), "Controller host is not finished");
+                assertEquals(host.exitValue(), 0);
+            }
+
+            // Requests lost with killed host are sent again and its landings approved meanwhile release runways.
+            assertEquals(reports.size(), schedule.size());
+            assertTrue(reports.stream().allMatch(AirplaneLandingReport::isLanded));
+        } finally {
+            hosts.forEach(Process::destroy);
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void claimRunwaysInLedgerOfAirplanesProcess() throws Exception {
+        AtomicRunwayLedger ledger = new AtomicRunwayLedger(2);
+        ledger.claim(0, 1);
+        ExecutorService answers = Executors.newSingleThreadExecutor();
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            SocketTransport controllerTransport = new SocketTransport(SocketChannel.open(server.getLocalAddress()), 0,
+                    new MetricsRegistry(new SystemClock()));
+            SocketTransport airplanesTransport = new SocketTransport(server.accept(), Message.UNDEFINED,
+                    new MetricsRegistry(new SystemClock()));
+            try {
+                airplanesTransport.start(new TransportListener() {
+                    @Override
+                    public void airplaneRegistered(int airplaneId, AirplaneData data) {
+                    }
+
+                    @Override
+                    public void messageReceived(MessageFlyweight flyweight) {
+                    }
+
+                    @Override
+                    public void runwayClaimed(int controllerId, int runwayIndex) {
+                        answers.execute(() -> {
+                            try {
+                                airplanesTransport.answerClaim(controllerId, runwayIndex,
+                                        ledger.claim(runwayIndex, controllerId));
+                            } catch (InterruptedException ex) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void disconnected() {
+                    }
+                });
+                controllerTransport.start(new TransportListener() {
+                    @Override
+                    public void airplaneRegistered(int airplaneId, AirplaneData data) {
+                    }
+
+                    @Override
+                    public void messageReceived(MessageFlyweight flyweight) {
+                    }
+
+                    @Override
+                    public void disconnected() {
+                    }
+                });
+                RemoteRunwayLedger remoteLedger = new RemoteRunwayLedger(controllerTransport);
+
+                // Runway held by controller of other process is refused, free one is reserved for claiming one.
+                assertEquals(remoteLedger.claim(0, 0), RunwayLedger.NO_RESERVATION);
+                long reservation = remoteLedger.claim(1, 0);
+                assertNotEquals(reservation, RunwayLedger.NO_RESERVATION);
+                assertEquals(ledger.getOwner(1), 0);
+                assertTrue(ledger.release(1, reservation));
+            } finally {
+                controllerTransport.close();
+                airplanesTransport.close();
+                answers.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void closeConnectionOnInvalidFrameLength() throws Exception {
+        for (int length : new int[]{-1, Integer.BYTES - 1, MessageFlyweight.MIN_LENGTH - 1, Integer.MAX_VALUE}) {
+            try (ServerSocketChannel server = ServerSocketChannel.open()) {
+                server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+                try (SocketChannel client = SocketChannel.open(server.getLocalAddress())) {
+                    SocketTransport transport = new SocketTransport(server.accept(), Message.UNDEFINED,
+                            new MetricsRegistry(new SystemClock()));
+                    CountDownLatch disconnected = new CountDownLatch(1);
+                    transport.start(new TransportListener() {
+                        @Override
+                        public void airplaneRegistered(int airplaneId, AirplaneData data) {
+                            throw new AssertionError("Frame of length " + length + " is dispatched");
+                        }
+
+                        @Override
+                        public void messageReceived(MessageFlyweight flyweight) {
+                            throw new AssertionError("Frame of length " + length + " is dispatched");
+                        }
+
+                        @Override
+                        public void disconnected() {
+                            disconnected.countDown();
+                        }
+                    });
+                    ByteBuffer frame = ByteBuffer.allocate(64);
+                    frame.putInt(length).flip();
+                    client.write(frame);
+
+                    assertTrue(disconnected.await(10, TimeUnit.SECONDS), "Invalid frame length is accepted");
+                    assertEquals(client.read(ByteBuffer.allocate(1)), -1, "Connection is not closed");
+                    transport.close();
+                }
+            }
+        }
+    }
+
+    private static SimulationSettings settings(String controllersAddress) {
+        return SimulationSettings.builder()
+                .controllersCount(CONTROLLERS_COUNT)
+                .timeScale(TIME_SCALE)
+                .messageLogging(false)
+                .controllersAddress(controllersAddress)
+                .build();
+    }
+
+    /**
+     * Returns cycles of arrivals a second apart, which compete for runways, so that none of arrivals and landings
+     * happen at the same second and decisions don't depend on timing of threads. Cycles are preceded by single
+     * airplane, which lands the same way whenever it is ordered, while controller hosts are warming up.
+     */
+    private static List<AirplaneData> createSchedule() {
+        AirplaneData.AirplaneType[] types = {AirplaneData.AirplaneType.LARGE, AirplaneData.AirplaneType.REGULAR,
+                AirplaneData.AirplaneType.LARGE, AirplaneData.AirplaneType.REGULAR, AirplaneData.AirplaneType.REGULAR};
+        List<AirplaneData> schedule = new ArrayList<>();
+        schedule.add(AirplaneData.builder()
+                .airplaneName("Plane-0")
+                .airplaneType(AirplaneData.AirplaneType.REGULAR)
+                .landingType(AirplaneData.LandingType.NORMAL)
+                .noOfSeconds(0)
+                .build());
+        for (int cycle = 1; cycle <= CYCLES_COUNT; cycle++) {
+            for (int index = 0; index < types.length; index++) {
+                schedule.add(AirplaneData.builder()
+                        .airplaneName(String.format("Plane-%d-%d", cycle, index))
+                        .airplaneType(types[index])
+                        .landingType(index == types.length - 1 ?
+                                AirplaneData.LandingType.EMERGENCY : AirplaneData.LandingType.NORMAL)
+                        .noOfSeconds(cycle * CYCLE_IN_SECS + index)
+                        .build());
+            }
+        }
+        return schedule;
+    }
+
+    private static List<String> landingOrder(List<AirplaneLandingReport> reports) {
+        return reports.stream()
+                .sorted(Comparator.comparingLong(report -> TimeUnit.SECONDS.toMillis(report.getStartOffsetInSecs())
+                        + report.getLandingOrderLatencyInMillis()))
+                .map(AirplaneLandingReport::getAirplaneName)
+                .collect(Collectors.toList());
+    }
+
+    private static Process startHost(int port, int controllerId, String recording,
+                                     String checkpoints) throws Exception {
+        return new ProcessBuilder(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), ControllerHost.class.getName(),
+                String.valueOf(port), String.valueOf(controllerId), String.valueOf(CONTROLLERS_COUNT),
+                SimulationSettings.RunwayScheduling.GREEDY.name(), recording, UNDEFINED_ARGUMENT, checkpoints)
+                .redirectErrorStream(true)
+                .start();
+    }
+
+    /**
+     * Returns port printed by passed-in controller {@code host}, then drains its output, so it is never blocked by
+     * full pipe.
+     */
+    private static int awaitPort(Process host) throws Exception {
+        BufferedReader output = new BufferedReader(new InputStreamReader(host.getInputStream()));
+        String line = output.readLine();
+        while (line != null && !line.startsWith(LISTENING)) {
+            line = output.readLine();
+        }
+        assertNotNull(line, "Controller host exited before listening");
+        Thread drain = new Thread(() -> output.lines().forEach(ignored -> { }));
+        drain.setDaemon(true);
+        drain.start();
+        return Integer.parseInt(line.substring(LISTENING.length()).trim());
+    }
+}
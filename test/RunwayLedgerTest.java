@@ -0,0 +1,93 @@
+import com.atd.config.SimulationSettings;
+import com.atd.metrics.MetricsRegistry;
+import com.atd.metrics.MetricsSnapshot;
+import com.atd.simulation.AtomicRunwayLedger;
+import com.atd.simulation.RunwayLedger;
+import com.atd.simulation.TrafficSimulationExecutor;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+public class RunwayLedgerTest {
+
+    @Test
+    public void claimAndRelease() {
+        AtomicRunwayLedger ledger = new AtomicRunwayLedger(3);
+        long reservation = ledger.claim(1, 0);
+        assertNotEquals(reservation, RunwayLedger.NO_RESERVATION);
+        assertEquals(ledger.getOwner(1), 0);
+        assertEquals(ledger.getOwner(0), RunwayLedger.NO_OWNER);
+        assertEquals(ledger.getOccupiedRunways(), 0b010);
+        // Conflicting claim fails fast.
+        assertEquals(ledger.claim(1, 2), RunwayLedger.NO_RESERVATION);
+
+        assertTrue(ledger.release(1, reservation));
+        assertEquals(ledger.getOccupiedRunways(), 0);
+        // Released reservation is stale, it can't release next reservation of the same owner.
+        long nextReservation = ledger.claim(1, 0);
+        assertNotEquals(nextReservation, reservation);
+        assertFalse(ledger.release(1, reservation));
+        assertEquals(ledger.getOwner(1), 0);
+        assertTrue(ledger.release(1, nextReservation));
+    }
+
+    @Test
+    public void concurrentClaimsHaveSingleWinner() throws Exception {
+        int claimersCount = 8;
+        int roundsCount = 10000;
+        AtomicRunwayLedger ledger = new AtomicRunwayLedger(1);
+        ExecutorService executor = Executors.newFixedThreadPool(claimersCount);
+        try {
+            for (int round = 0; round < roundsCount; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Long>> claims = new ArrayList<>();
+                for (int owner = 0; owner < claimersCount; owner++) {
+                    int ownerId = owner;
+                    Callable<Long> claim = () -> {
+                        start.await();
+                        return ledger.claim(0, ownerId);
+                    };
+                    claims.add(executor.submit(claim));
+                }
+                start.countDown();
+                long winner = RunwayLedger.NO_RESERVATION;
+                for (Future<Long> claim : claims) {
+                    long reservation = claim.get();
+                    if (reservation != RunwayLedger.NO_RESERVATION) {
+                        assertEquals(winner, RunwayLedger.NO_RESERVATION, "Runway reserved twice");
+                        winner = reservation;
+                    }
+                }
+                assertTrue(ledger.release(0, winner));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void simulationReleasesAllReservations() throws Exception {
+        TrafficSimulationExecutor simulationExecutor = new TrafficSimulationExecutor();
+        simulationExecutor.simulate(
+                SimulationSettings.builder()
+                        .configPath("test/test-config1.txt")
+                        .runwaysConfigPath("test/test-runways1.txt")
+                        .timeScale(10)
+                        .controllersCount(3)
+                        .build());
+        MetricsSnapshot snapshot = simulationExecutor.getMetrics().snapshot();
+        assertEquals(snapshot.getCounter(MetricsRegistry.RESERVATION_CONFLICTS), 0);
+        assertEquals(snapshot.getGauges().get(MetricsRegistry.RESERVED_RUNWAYS), 0.0);
+    }
+}
@@ -0,0 +1,66 @@
+import com.atd.config.AirplaneData;
+import com.atd.config.SimulationSettings;
+import com.atd.simulation.scenario.ScenarioReport;
+import com.atd.simulation.scenario.ScenarioRunner;
+import com.atd.simulation.scenario.ScenarioVariation;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class ScenarioRunnerTest {
+
+    private static final int AIRPLANES_COUNT = 200;
+    private static final int RUNS_COUNT = 32;
+
+    private static final SimulationSettings SETTINGS = SimulationSettings.builder()
+            .mode(SimulationSettings.Mode.DISCRETE_EVENT)
+            .messageLogging(false)
+            .build();
+
+    @Test
+    public void aggregateRuns() throws Exception {
+        ScenarioReport report = new ScenarioRunner(SETTINGS, ScenarioVariation.builder().seed(7).build(), 4)
+                .run(baseSchedule(), RUNS_COUNT);
+        assertEquals(report.getRunsCount(), RUNS_COUNT);
+        assertEquals(report.getLandingsCount(), RUNS_COUNT * AIRPLANES_COUNT);
+        assertEquals(report.getNotLandedCount(), 0);
+        assertEquals(report.getWaitTime().getCount(), RUNS_COUNT * AIRPLANES_COUNT);
+        assertEquals(report.getThroughputPerHour().length, RUNS_COUNT);
+        // Two runways can't land more than one regular airplane per 5 seconds each.
+        double maxThroughput = 2 * 3600 / 5;
+        assertTrue(report.getThroughputPercentile(0) > 0);
+        assertTrue(report.getThroughputPercentile(100) <= maxThroughput, report.describe());
+        assertTrue(report.getThroughputPercentile(5) <= report.getThroughputPercentile(95));
+    }
+
+    @Test
+    public void reproduceRunsRegardlessOfParallelism() throws Exception {
+        ScenarioVariation variation = ScenarioVariation.builder().seed(42).build();
+        ScenarioReport sequential = new ScenarioRunner(SETTINGS, variation, 1).run(baseSchedule(), RUNS_COUNT);
+        ScenarioReport parallel = new ScenarioRunner(SETTINGS, variation, 4).run(baseSchedule(), RUNS_COUNT);
+        assertEquals(parallel.getThroughputPerHour(), sequential.getThroughputPerHour());
+        assertEquals(parallel.getWaitTime().getMean(), sequential.getWaitTime().getMean());
+        assertEquals(parallel.getWaitTime().getMax(), sequential.getWaitTime().getMax());
+    }
+
+    /**
+     * Returns schedule of airplanes arriving every 10 seconds, so queue builds up on default airport.
+     */
+    private static List<AirplaneData> baseSchedule() {
+        List<AirplaneData> schedule = new ArrayList<>();
+        for (int index = 0; index < AIRPLANES_COUNT; index++) {
+            schedule.add(AirplaneData.builder()
+                    .airplaneName("Plane-" + index)
+                    .airplaneType(index % 3 == 0 ? AirplaneData.AirplaneType.LARGE : AirplaneData.AirplaneType.REGULAR)
+                    .landingType(index % 50 == 0 ?
+                            AirplaneData.LandingType.EMERGENCY : AirplaneData.LandingType.NORMAL)
+                    .noOfSeconds(index * 10)
+                    .build());
+        }
+        return schedule;
+    }
+}
@@ -0,0 +1,78 @@
+import com.atd.config.AirplaneData;
+import com.atd.config.ConfigurationReader;
+import com.atd.config.ScheduleGenerator;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class ScheduleGeneratorTest {
+
+    private static final int FLIGHTS_COUNT = 10_000;
+
+    @Test
+    public void writePoissonSchedule() throws Exception {
+        ScheduleGenerator generator = ScheduleGenerator.builder()
+                .flightsCount(FLIGHTS_COUNT)
+                .arrivalsPerHour(600)
+                .largeShare(0.3)
+                .emergencyRate(0.05)
+                .seed(11)
+                .build();
+        Path config = Files.createTempFile("generated-config", ".txt");
+        try {
+            generator.write(config);
+            List<AirplaneData> airplanes = ConfigurationReader.read(config);
+            assertEquals(airplanes.size(), FLIGHTS_COUNT);
+            int largeCount = 0;
+            int emergencyCount = 0;
+            for (int index = 0; index < FLIGHTS_COUNT; index++) {
+                AirplaneData airplane = airplanes.get(index);
+                assertEquals(airplane.getAirplaneName(), "Plane-" + index);
+                if (index > 0) {
+                    assertTrue(airplane.getNoOfSeconds() >= airplanes.get(index - 1).getNoOfSeconds());
+                }
+                largeCount += airplane.getAirplaneType() == AirplaneData.AirplaneType.LARGE ? 1 : 0;
+                emergencyCount += airplane.getLandingType() == AirplaneData.LandingType.EMERGENCY ? 1 : 0;
+            }
+            assertEquals((double) largeCount / FLIGHTS_COUNT, 0.3, 0.03);
+            assertEquals((double) emergencyCount / FLIGHTS_COUNT, 0.05, 0.01);
+            // 600 arrivals per hour make 6 seconds between arrivals on average.
+            double meanInterval = (double) airplanes.get(FLIGHTS_COUNT - 1).getNoOfSeconds() / (FLIGHTS_COUNT - 1);
+            assertEquals(meanInterval, 6, 0.3);
+        } finally {
+            Files.delete(config);
+        }
+    }
+
+    @Test
+    public void concentrateArrivalsAtRushHours() {
+        ScheduleGenerator generator = ScheduleGenerator.builder()
+                .flightsCount(FLIGHTS_COUNT)
+                .arrivalProcess(ScheduleGenerator.ArrivalProcess.RUSH_HOUR)
+                .arrivalsPerHour(100)
+                .peakHours(new double[]{8})
+                .peakFactor(4)
+                .seed(3)
+                .build();
+        int[] arrivalsPerHourOfDay = new int[24];
+        List<AirplaneData> airplanes = new ArrayList<>();
+        generator.forEach(airplanes::add);
+        for (AirplaneData airplane : airplanes) {
+            arrivalsPerHourOfDay[airplane.getNoOfSeconds() / 3600 % 24]++;
+        }
+        // Rate at peak is five times the rate out of peak.
+        assertTrue(arrivalsPerHourOfDay[8] > 3 * arrivalsPerHourOfDay[20],
+                arrivalsPerHourOfDay[8] + " vs " + arrivalsPerHourOfDay[20]);
+        // Each iteration generates the same schedule.
+        List<AirplaneData> repeated = new ArrayList<>();
+        generator.forEach(repeated::add);
+        assertEquals(repeated.get(FLIGHTS_COUNT - 1).getNoOfSeconds(),
+                airplanes.get(FLIGHTS_COUNT - 1).getNoOfSeconds());
+    }
+}
@@ -0,0 +1,92 @@
+import com.atd.config.AirplaneData;
+import com.atd.config.ConfigurationReader;
+import com.atd.config.RunwayData;
+import com.atd.config.ScheduleReader;
+import org.testng.annotations.Test;
+
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+
+public class ScheduleReaderTest {
+
+    @Test
+    public void read() throws Exception {
+        List<AirplaneData> airplanes = ConfigurationReader.read(
+                Paths.get(getClass().getClassLoader().getResource("test/test-config1.txt").getPath()));
+        assertEquals(airplanes.size(), 5);
+        assertAirplane(airplanes.get(3), "Plane-4", AirplaneData.AirplaneType.LARGE,
+                AirplaneData.LandingType.EMERGENCY, 4);
+        assertAirplane(airplanes.get(4), "Plane-5", AirplaneData.AirplaneType.REGULAR,
+                AirplaneData.LandingType.NORMAL, 5);
+    }
+
+    @Test
+    public void readInParallelRanges() throws Exception {
+        // Enough lines for several byte ranges, with corrupted and blank lines in between.
+        int airplanesCount = 500_000;
+        Path config = Files.createTempFile("large-config", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(config)) {
+            for (int index = 0; index < airplanesCount; index++) {
+                writer.write(String.format("Plane-%d,  %s, %s,%d\r\n", index,
+                        index % 3 == 0 ? "Large" : index % 3 == 1 ? "Medium" : "Regular",
+                        index % 50 == 0 ? "Emergency" : "Normal",
+                        index));
+                if (index % 100_000 == 0) {
+                    writer.write("Plane-X, Huge, Normal, 1\n\n");
+                }
+            }
+        }
+        try {
+            List<AirplaneData> airplanes = new ArrayList<>();
+            try (ScheduleReader reader = new ScheduleReader(config, 4)) {
+                reader.forEachRemaining(airplanes::add);
+            }
+            assertEquals(airplanes.size(), airplanesCount);
+            for (int index = 0; index < airplanesCount; index++) {
+                assertAirplane(airplanes.get(index), "Plane-" + index,
+                        index % 3 == 0 ? AirplaneData.AirplaneType.LARGE :
+                                index % 3 == 1 ? AirplaneData.AirplaneType.MEDIUM : AirplaneData.AirplaneType.REGULAR,
+                        index % 50 == 0 ? AirplaneData.LandingType.EMERGENCY : AirplaneData.LandingType.NORMAL,
+                        index);
+            }
+        } finally {
+            Files.delete(config);
+        }
+    }
+
+    @Test
+    public void readRunways() throws Exception {
+        List<RunwayData> runways = ConfigurationReader.readRunways(
+                Paths.get(getClass().getClassLoader().getResource("test/test-runways1.txt").getPath()));
+        assertEquals(runways.size(), 6);
+        assertEquals(runways.get(2).getRunwayName(), "Runway-27L");
+        assertEquals(runways.get(2).getRunwayType(), RunwayData.RunwayType.LONG);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ".*line 3.*")
+    public void rejectCorruptedRunwayLine() throws Exception {
+        // Skipped line would shift indexes of the following runways, blank line is not a runway.
+        Path config = Files.createTempFile("runways", ".txt");
+        try {
+            Files.write(config, Arrays.asList("Runway-09L, Short", "", "Runway-09R, Huge", "Runway-27L, Long"));
+            ConfigurationReader.readRunways(config);
+        } finally {
+            Files.delete(config);
+        }
+    }
+
+    private static void assertAirplane(AirplaneData airplane, String name, AirplaneData.AirplaneType airplaneType,
+                                       AirplaneData.LandingType landingType, int noOfSeconds) {
+        assertEquals(airplane.getAirplaneName(), name);
+        assertEquals(airplane.getAirplaneType(), airplaneType);
+        assertEquals(airplane.getLandingType(), landingType);
+        assertEquals(airplane.getNoOfSeconds().intValue(), noOfSeconds);
+    }
+}
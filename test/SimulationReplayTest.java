@@ -0,0 +1,64 @@
+import com.atd.config.ScheduleGenerator;
+import com.atd.config.SimulationSettings;
+import com.atd.simulation.TrafficSimulationExecutor;
+import com.atd.simulation.replay.ReplayResult;
+import com.atd.simulation.replay.SimulationReplayer;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class SimulationReplayTest {
+
+    @Test
+    public void replayRealTimeRun() throws Exception {
+        Path recording = Files.createTempFile("recording", ".bin");
+        try {
+            new TrafficSimulationExecutor().simulate(
+                    SimulationSettings.builder()
+                            .configPath("test/test-config1.txt")
+                            .timeScale(10)
+                            .recordingPath(recording.toString())
+                            .build());
+            ReplayResult result = new SimulationReplayer().replay(recording);
+            assertEquals(result.getDivergences().size(), 0, result.getDivergences().toString());
+            assertEquals(result.getControllersCount(), 2);
+            assertTrue(result.getEventsCount() > 0);
+        } finally {
+            Files.delete(recording);
+        }
+    }
+
+    @Test
+    public void replayDiscreteEventRun() throws Exception {
+        // Airplane per each 6.7 seconds on average during one hour, with three traffic controllers sharing runways,
+        // strategy of scheduling is restored from recording.
+        ScheduleGenerator schedule = ScheduleGenerator.builder()
+                .flightsCount(TimeUnit.HOURS.toSeconds(1) / 20)
+                .arrivalsPerHour(540)
+                .largeShare(0.33)
+                .mediumShare(0.33)
+                .emergencyRate(0.14)
+                .build();
+        Path recording = Files.createTempFile("recording", ".bin");
+        try {
+            new TrafficSimulationExecutor().simulate(schedule.iterator(),
+                    SimulationSettings.builder()
+                            .runwaysConfigPath("test/test-runways1.txt")
+                            .controllersCount(3)
+                            .mode(SimulationSettings.Mode.DISCRETE_EVENT)
+                            .runwayScheduling(SimulationSettings.RunwayScheduling.LOOK_AHEAD)
+                            .recordingPath(recording.toString())
+                            .build());
+            ReplayResult result = new SimulationReplayer().replay(recording);
+            assertEquals(result.getDivergences().size(), 0, result.getDivergences().toString());
+            assertEquals(result.getControllersCount(), 3);
+        } finally {
+            Files.delete(recording);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+import com.atd.communication.DiscreteEventCommunicator;
+import com.atd.config.AirplaneData;
+import com.atd.simulation.Airplane;
+import com.atd.simulation.ControllerSettings;
+import com.atd.simulation.RunwayRegistry;
+import com.atd.simulation.RunwayState;
+import com.atd.simulation.TrafficController;
+import com.atd.simulation.data.LandingRequest;
+import com.atd.simulation.event.DiscreteEventScheduler;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+public class TrafficControllerTest {
+
+    @Test
+    public void reuseProposalsTillStateChanges() throws Exception {
+        DiscreteEventScheduler scheduler = new DiscreteEventScheduler();
+        DiscreteEventCommunicator communicator = new DiscreteEventCommunicator(scheduler);
+        RunwayRegistry runwayRegistry = RunwayRegistry.defaultRegistry();
+        TrafficController controller = new TrafficController(ControllerSettings.builder()
+                .id(0)
+                .controllersCount(1)
+                .communicator(communicator)
+                .runwayRegistry(runwayRegistry)
+                .scheduler(scheduler)
+                .build());
+
+        Map<Integer, LandingRequest> proposals = controller.getProposalForProcessing();
+        assertEquals(proposals, Collections.emptyMap());
+        controller.step();
+        assertSame(controller.getProposalForProcessing(), proposals);
+
+        // Request is ordered to land on short runway, so runway is proposed as occupied.
+        new Airplane(0, AirplaneData.builder()
+                .airplaneName("Plane-0")
+                .airplaneType(AirplaneData.AirplaneType.REGULAR)
+                .landingType(AirplaneData.LandingType.NORMAL)
+                .noOfSeconds(0)
+                .build(), communicator, new RunwayState(runwayRegistry.getRunwaysCount()), scheduler);
+        communicator.requestForLanding(0);
+        controller.step();
+        Map<Integer, LandingRequest> changedProposals = controller.getProposalForProcessing();
+        assertNotSame(changedProposals, proposals);
+        assertEquals(changedProposals, Collections.singletonMap(0, LandingRequest.ALREADY_IN_PROGRESS));
+        controller.step();
+        assertSame(controller.getProposalForProcessing(), changedProposals);
+    }
+}
@@ -1,3 +1,5 @@
+import com.atd.config.ScheduleGenerator;
+import com.atd.config.SimulationSettings;
 import com.atd.simulation.TrafficSimulationExecutor;
 import com.atd.simulation.data.AirplaneLandingReport;
 import com.google.common.collect.ImmutableList;
@@ -5,6 +7,7 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
@@ -50,6 +53,63 @@ public class TrafficSimulationExecutorTest {
                             .chosenRunwayIndex(0)
                             .build());
 
+    private static final List<AirplaneLandingReport> LANDING_REPORTS_FOR_TEST_COFIG_1_AND_RUNWAYS_1 =
+            ImmutableList.of(
+                    AirplaneLandingReport
+                            .builder()
+                            .landed(true)
+                            .airplaneName("Plane-1")
+                            .startOffsetInSecs(3L)
+                            .chosenRunwayIndex(0)
+                            .executionTime(5L)
+                            .build(),
+                    AirplaneLandingReport
+                            .builder()
+                            .landed(true)
+                            .airplaneName("Plane-2")
+                            .startOffsetInSecs(4L)
+                            .chosenRunwayIndex(4)
+                            .executionTime(5L)
+                            .build(),
+                    AirplaneLandingReport
+                            .builder()
+                            .landed(true)
+                            .airplaneName("Plane-3")
+                            .startOffsetInSecs(4L)
+                            .chosenRunwayIndex(3)
+                            .executionTime(7L)
+                            .build(),
+                    AirplaneLandingReport
+                            .builder()
+                            .landed(true)
+                            .airplaneName("Plane-4")
+                            .startOffsetInSecs(4L)
+                            .chosenRunwayIndex(2)
+                            .executionTime(7L)
+                            .build(),
+                    AirplaneLandingReport
+                            .builder()
+                            .landed(true)
+                            .airplaneName("Plane-5")
+                            .startOffsetInSecs(5L)
+                            .chosenRunwayIndex(1)
+                            .executionTime(5L)
+                            .build());
+
+    /**
+     * Limit of wall-clock time of simulation of day of traffic in discrete events.
+     */
+    private static final long DAY_OF_TRAFFIC_WALL_TIME_LIMIT_IN_SECS = 10;
+    /**
+     * Number of airplanes from the beginning of day of traffic, which are simulated in real time for comparison.
+     */
+    private static final int COMPARED_AIRPLANES_COUNT = 20;
+    private static final double COMPARED_TIME_SCALE = 120;
+    /**
+     * Allowed delay of landing in accelerated real time against discrete events in simulated seconds.
+     */
+    private static final long REAL_TIME_LATENCY_IN_SECS = 2;
+
     @DataProvider
     public static Object[][] multiSource() {
         return new Object[][] {
@@ -61,6 +121,102 @@ public class TrafficSimulationExecutorTest {
     public void simulate(String configPath, List<AirplaneLandingReport> expectedReports) throws Exception {
         TrafficSimulationExecutor simulationExecutor = new TrafficSimulationExecutor();
         List<AirplaneLandingReport> reports = simulationExecutor.simulate(configPath);
+        assertReports(reports, expectedReports);
+    }
+
+    @Test(dataProvider = "multiSource")
+    public void simulateAccelerated(String configPath, List<AirplaneLandingReport> expectedReports) throws Exception {
+        TrafficSimulationExecutor simulationExecutor = new TrafficSimulationExecutor();
+        List<AirplaneLandingReport> reports = simulationExecutor.simulate(
+                SimulationSettings.builder()
+                        .configPath(configPath)
+                        .timeScale(10)
+                        .build());
+        assertReports(reports, expectedReports);
+    }
+
+    @Test(dataProvider = "multiSource")
+    public void simulateDiscreteEvents(String configPath, List<AirplaneLandingReport> expectedReports) throws Exception {
+        TrafficSimulationExecutor simulationExecutor = new TrafficSimulationExecutor();
+        List<AirplaneLandingReport> reports = simulationExecutor.simulate(
+                SimulationSettings.builder()
+                        .configPath(configPath)
+                        .mode(SimulationSettings.Mode.DISCRETE_EVENT)
+                        .build());
+        assertReports(reports, expectedReports);
+    }
+
+    @Test(dataProvider = "multiSource")
+    public void simulateDiscreteEventsWithFourControllers(String configPath,
+                                                          List<AirplaneLandingReport> expectedReports) throws Exception {
+        TrafficSimulationExecutor simulationExecutor = new TrafficSimulationExecutor();
+        List<AirplaneLandingReport> reports = simulationExecutor.simulate(
+                SimulationSettings.builder()
+                        .configPath(configPath)
+                        .mode(SimulationSettings.Mode.DISCRETE_EVENT)
+                        .controllersCount(4)
+                        .build());
+        assertReports(reports, expectedReports);
+    }
+
+    @Test
+    public void simulateDiscreteEventsWithRunwaysConfig() throws Exception {
+        TrafficSimulationExecutor simulationExecutor = new TrafficSimulationExecutor();
+        List<AirplaneLandingReport> reports = simulationExecutor.simulate(
+                SimulationSettings.builder()
+                        .configPath("test/test-config1.txt")
+                        .runwaysConfigPath("test/test-runways1.txt")
+                        .mode(SimulationSettings.Mode.DISCRETE_EVENT)
+                        .build());
+        assertReports(reports, LANDING_REPORTS_FOR_TEST_COFIG_1_AND_RUNWAYS_1);
+    }
+
+    @Test
+    public void simulateDayOfTrafficInDiscreteEvents() throws Exception {
+        // Airplane per each minute on average during one day.
+        int airplanesCount = (int) TimeUnit.DAYS.toMinutes(1);
+        long start = System.nanoTime();
+        List<AirplaneLandingReport> reports = simulateDiscreteEvents(createDaySchedule(airplanesCount));
+        long elapsedNanos = System.nanoTime() - start;
+        assertTrue(elapsedNanos < TimeUnit.SECONDS.toNanos(DAY_OF_TRAFFIC_WALL_TIME_LIMIT_IN_SECS),
+                "Day of traffic is simulated in " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms");
+        assertEquals(reports.size(), airplanesCount);
+        assertTrue(reports.stream().allMatch(AirplaneLandingReport::isLanded));
+
+        // Beginning of the same day simulated in accelerated real time lands the same airplanes, only later by latency
+        // of decisions in wall-clock time.
+        ScheduleGenerator beginning = createDaySchedule(COMPARED_AIRPLANES_COUNT);
+        List<AirplaneLandingReport> expectedReports = simulateDiscreteEvents(beginning);
+        List<AirplaneLandingReport> realTimeReports = new TrafficSimulationExecutor().simulate(beginning.iterator(),
+                SimulationSettings.builder()
+                        .timeScale(COMPARED_TIME_SCALE)
+                        .build());
+        assertEquals(realTimeReports, expectedReports);
+        for (int index = 0; index < expectedReports.size(); index++) {
+            long expectedTime = expectedReports.get(index).getExecutionTime();
+            long realTime = realTimeReports.get(index).getExecutionTime();
+            assertTrue(realTime >= expectedTime && realTime <= expectedTime + REAL_TIME_LATENCY_IN_SECS,
+                    "Execution time in real time " + realTime + " s, in discrete events " + expectedTime + " s");
+        }
+    }
+
+    private static ScheduleGenerator createDaySchedule(int airplanesCount) {
+        return ScheduleGenerator.builder()
+                .flightsCount(airplanesCount)
+                .arrivalsPerHour(TimeUnit.HOURS.toMinutes(1))
+                .largeShare(0.33)
+                .emergencyRate(0.02)
+                .build();
+    }
+
+    private static List<AirplaneLandingReport> simulateDiscreteEvents(ScheduleGenerator schedule) throws Exception {
+        return new TrafficSimulationExecutor().simulate(schedule.iterator(),
+                SimulationSettings.builder()
+                        .mode(SimulationSettings.Mode.DISCRETE_EVENT)
+                        .build());
+    }
+
+    private static void assertReports(List<AirplaneLandingReport> reports, List<AirplaneLandingReport> expectedReports) {
         assertEquals(reports, expectedReports);
         // If in expected reports is defined execution time, then evaluate it as a maximum limit.
         // If in expected reports is defined chosenRunwayIndex, then check it also.